@@ -0,0 +1,122 @@
+package com.f1nity.engine.client;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Minimal circuit breaker for upstream calls.
+ * Opens after {@code failureThreshold} consecutive failures, rejects calls for
+ * {@code openDuration}, then lets a single trial call through (half-open).
+ * A successful trial closes the breaker, a failed one re-opens it.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openDurationMillis;
+    private final Predicate<Throwable> recordAsFailure;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private final AtomicBoolean trialInFlight = new AtomicBoolean();
+
+    public CircuitBreaker(String name, int failureThreshold, Duration openDuration,
+            Predicate<Throwable> recordAsFailure) {
+        this.name = name;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDurationMillis = openDuration.toMillis();
+        this.recordAsFailure = recordAsFailure;
+    }
+
+    /**
+     * Wraps a call so it is rejected with {@link CircuitBreakerOpenException}
+     * while the breaker is open and its outcome is recorded otherwise.
+     */
+    public <T> Mono<T> protect(Mono<T> call) {
+        return Mono.defer(() -> {
+            boolean trial = acquirePermission();
+            return call
+                    .doOnSuccess(value -> onSuccess(trial))
+                    .doOnError(e -> {
+                        if (recordAsFailure.test(e)) {
+                            onFailure(trial);
+                        } else {
+                            onSuccess(trial);
+                        }
+                    })
+                    .doOnCancel(() -> {
+                        if (trial) {
+                            trialInFlight.set(false);
+                        }
+                    });
+        });
+    }
+
+    /**
+     * @return true if the permitted call is the half-open trial call
+     * @throws CircuitBreakerOpenException if no call is permitted right now
+     */
+    private synchronized boolean acquirePermission() {
+        if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openDurationMillis) {
+            state = State.HALF_OPEN;
+        }
+        if (state == State.CLOSED) {
+            return false;
+        }
+        if (state == State.HALF_OPEN && trialInFlight.compareAndSet(false, true)) {
+            return true;
+        }
+        throw new CircuitBreakerOpenException(name);
+    }
+
+    private synchronized void onSuccess(boolean trial) {
+        consecutiveFailures = 0;
+        if (trial) {
+            trialInFlight.set(false);
+        }
+        if (state != State.CLOSED) {
+            System.out.println("Circuit breaker '" + name + "' closed");
+        }
+        state = State.CLOSED;
+    }
+
+    private synchronized void onFailure(boolean trial) {
+        if (trial) {
+            trialInFlight.set(false);
+        }
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            if (state != State.OPEN) {
+                System.err.println("Circuit breaker '" + name + "' opened after " + consecutiveFailures
+                        + " consecutive failures");
+            }
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Thrown instead of calling the upstream while the breaker is open.
+     */
+    public static class CircuitBreakerOpenException extends RuntimeException {
+        public CircuitBreakerOpenException(String name) {
+            super("Circuit breaker '" + name + "' is open; failing fast");
+        }
+    }
+}
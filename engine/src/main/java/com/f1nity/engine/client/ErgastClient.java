@@ -1,170 +1,386 @@
 package com.f1nity.engine.client;
 
-import java.util.function.Supplier;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Year;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.web.reactive.function.client.WebClient.Builder;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 
 import com.f1nity.library.models.engine.ErgastConstructor.ConstructorResponse;
 import com.f1nity.library.models.engine.ErgastDriver.ErgastResponse;
 import com.f1nity.library.models.engine.ErgastDriverStandingsResponse;
 import com.f1nity.library.models.engine.ErgastConstructorStandingsResponse;
+import com.f1nity.library.models.engine.MRData;
 import com.f1nity.library.models.engine.RaceResponse;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.netty.http.client.HttpClient;
+import reactor.util.retry.Retry;
 
+/**
+ * Client for the Ergast (Jolpica) API.
+ * Every endpoint has a non-blocking {@code *Mono} variant that applies a
+ * per-call timeout, jittered retries that honour {@code Retry-After}, and a
+ * circuit breaker so callers fail fast while the upstream is unhealthy.
+ * Every attempt, including retries, first takes a permit from the shared
+ * {@link UpstreamRateLimiter}. Responses go through the shared
+ * {@link ResponseCache}; finished seasons are answered from disk without
+ * taking a permit. The cache is bypassed while the {@link UpstreamRecorder}
+ * records or replays, so cassettes cover every request. Concurrent calls for the same URI share one upstream call
+ * and its deserialized result. Bodies received from the network are kept in
+ * the {@link RawPayloadArchive}.
+ * The blocking methods are thin adapters over the Mono variants.
+ */
 @Component
 public class ErgastClient {
 
+    public static final String SEASON_RESULTS = "results";
+    public static final String SEASON_QUALIFYING = "qualifying";
+    public static final String SEASON_SPRINT = "sprint";
+
     private final String ERGAST_F1 = "https://api.jolpi.ca/ergast/f1/";
+    private static final Pattern SEASON_PATH = Pattern.compile("/f1/(\\d{4})/");
     private final WebClient webClient;
+    private final CircuitBreaker circuitBreaker;
+    private final UpstreamRateLimiter rateLimiter;
+    private final ResponseCache responseCache;
+    private final boolean cached;
+    private final SingleFlight singleFlight;
+    private final Duration timeout;
+    private final int maxRetries;
+    private final Duration backoffMin;
+    private final Duration backoffMax;
+    private final Duration maxRetryAfter;
 
-    public ErgastClient(WebClient.Builder builder) {
+    @Autowired
+    public ErgastClient(WebClient.Builder builder, UpstreamRateLimiter rateLimiter, ResponseCache responseCache,
+            UpstreamRecorder recorder, RawPayloadArchive archive,
+            @Value("${ergast.timeout:10s}") Duration timeout,
+            @Value("${ergast.max-retries:5}") int maxRetries,
+            @Value("${ergast.backoff-min:2s}") Duration backoffMin,
+            @Value("${ergast.backoff-max:60s}") Duration backoffMax,
+            @Value("${ergast.max-retry-after:120s}") Duration maxRetryAfter,
+            @Value("${ergast.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${ergast.circuit-breaker.open-duration:30s}") Duration openDuration,
+            @Value("${upstream.single-flight.grace:1s}") Duration singleFlightGrace) {
         ExchangeStrategies strategies = ExchangeStrategies.builder()
                 .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(10 * 1024 * 1024))
                 .build();
 
-        this.webClient = builder
-                .baseUrl(ERGAST_F1)
-                .exchangeStrategies(strategies)
-                .clientConnector(new ReactorClientHttpConnector(HttpClient.create()))
-                .build();
+        this.cached = recorder.getMode() == UpstreamRecorder.Mode.OFF;
+        builder.baseUrl(ERGAST_F1).exchangeStrategies(strategies);
+        if (cached) {
+            builder.filter(
+                    responseCache.filter(UpstreamRateLimiter.ERGAST, strategies, ErgastClient::isFinishedSeason));
+        }
+        builder
+                .filter(archive.filter(UpstreamRateLimiter.ERGAST))
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create()));
+        this.webClient = recorder.apply(builder, UpstreamRateLimiter.ERGAST, strategies).build();
+        this.rateLimiter = rateLimiter;
+        this.responseCache = responseCache;
+        this.singleFlight = new SingleFlight(UpstreamRateLimiter.ERGAST, singleFlightGrace);
+        this.timeout = timeout;
+        this.maxRetries = maxRetries;
+        this.backoffMin = backoffMin;
+        this.backoffMax = backoffMax;
+        this.maxRetryAfter = maxRetryAfter;
+        this.circuitBreaker = new CircuitBreaker("ergast", failureThreshold, openDuration,
+                ErgastClient::isUpstreamFailure);
     }
 
     public Mono<ErgastResponse> getDrivers(int limit, int offset) {
         String uri = String.format("drivers.json?limit=%d&offset=%d", limit, offset);
-        return webClient.get().uri(uri).retrieve().bodyToMono(ErgastResponse.class);
+        return get(uri, ErgastResponse.class, "drivers offset " + offset);
     }
 
     public Mono<ConstructorResponse> getConstructors(int limit, int offset) {
         String uri = String.format("constructors.json?limit=%d&offset=%d", limit, offset);
-        return webClient.get().uri(uri).retrieve().bodyToMono(ConstructorResponse.class);
+        return get(uri, ConstructorResponse.class, "constructors offset " + offset);
+    }
+
+    // Non-blocking variants
+
+    public Mono<RaceResponse> getRaceResultsMono(int year, int round) {
+        return getRaceResultsMono(String.valueOf(year), String.valueOf(round));
+    }
+
+    public Mono<RaceResponse> getRaceResultsMono(String year, String round) {
+        String uri = String.format("%s/%s/results.json", year, round);
+        return get(uri, RaceResponse.class, "race results for year " + year + " round " + round);
+    }
+
+    public Mono<RaceResponse> getQualifyingResultsMono(int year, int round) {
+        return getQualifyingResultsMono(String.valueOf(year), String.valueOf(round));
+    }
+
+    public Mono<RaceResponse> getQualifyingResultsMono(String year, String round) {
+        String uri = String.format("%s/%s/qualifying.json", year, round);
+        return get(uri, RaceResponse.class, "qualifying results for year " + year + " round " + round);
+    }
+
+    public Mono<RaceResponse> getSprintResultsMono(int year, int round) {
+        return getSprintResultsMono(String.valueOf(year), String.valueOf(round));
+    }
+
+    public Mono<RaceResponse> getSprintResultsMono(String year, String round) {
+        String uri = String.format("%s/%s/sprint.json", year, round);
+        return get(uri, RaceResponse.class, "sprint results for year " + year + " round " + round);
     }
 
+    public Mono<ErgastDriverStandingsResponse> getDriverStandingsMono(int year) {
+        String uri = String.format("%d/driverstandings.json", year);
+        return get(uri, ErgastDriverStandingsResponse.class, "driver standings for " + year);
+    }
+
+    public Mono<ErgastConstructorStandingsResponse> getConstructorStandingsMono(int year) {
+        String uri = String.format("%d/constructorstandings.json", year);
+        return get(uri, ErgastConstructorStandingsResponse.class, "constructor standings for " + year);
+    }
+
+    public Mono<RaceResponse> getRacesMono(int year) {
+        String uri = String.format("%d/races.json", year);
+        return get(uri, RaceResponse.class, "races for " + year);
+    }
+
+    /**
+     * One page of a season-wide listing: {@code results}, {@code qualifying}
+     * or {@code sprint} for every round of {@code year}.
+     */
+    public Mono<RaceResponse> getSeasonPageMono(int year, String session, int limit, int offset) {
+        String uri = String.format("%d/%s.json?limit=%d&offset=%d", year, session, limit, offset);
+        return get(uri, RaceResponse.class, session + " for " + year + " offset " + offset);
+    }
+
+    /**
+     * Streams every page of a season-wide listing in offset order. Ergast pages
+     * by result row, so one round can be split across two pages. The first page
+     * reports the total and the limit the server actually applied; the remaining
+     * pages are requested two at a time. A season without data is empty.
+     */
+    public Flux<RaceResponse> getSeasonPagesFlux(int year, String session, int pageSize) {
+        return getSeasonPageMono(year, session, pageSize, 0).flatMapMany(first -> {
+            int limit = Math.max(1, pagingValue(first, MRData::getLimit, pageSize));
+            int total = pagingValue(first, MRData::getTotal, 0);
+            int pages = (total + limit - 1) / limit;
+            return Flux.just(first).concatWith(Flux.range(1, Math.max(0, pages - 1))
+                    .flatMapSequential(page -> getSeasonPageMono(year, session, limit, page * limit), 2));
+        });
+    }
+
+    // Blocking adapters
+
     public RaceResponse getRaceResults(int year, int round) {
-        String uri = String.format("%d/%d/results.json", year, round);
-        return fetchWithRetry(
-                () -> webClient.get().uri(uri).retrieve().bodyToMono(RaceResponse.class),
-                "race results for year " + year + " round " + round);
+        return await(getRaceResultsMono(year, round), "race results for year " + year + " round " + round);
     }
 
     public RaceResponse getRaceResults(int year, String round) {
-        String uri = String.format("%d/%s/results.json", year, round);
-        return fetchWithRetry(
-                () -> webClient.get().uri(uri).retrieve().bodyToMono(RaceResponse.class),
+        return await(getRaceResultsMono(String.valueOf(year), round),
                 "race results for year " + year + " round " + round);
     }
 
     public RaceResponse getQualifyingResults(int year, int round) {
-        String uri = String.format("%d/%d/qualifying.json", year, round);
-        return fetchWithRetry(
-                () -> webClient.get().uri(uri).retrieve().bodyToMono(RaceResponse.class),
+        return await(getQualifyingResultsMono(year, round),
                 "qualifying results for year " + year + " round " + round);
     }
 
     public RaceResponse getQualifyingResults(int year, String round) {
-        String uri = String.format("%d/%s/qualifying.json", year, round);
-        return fetchWithRetry(
-                () -> webClient.get().uri(uri).retrieve().bodyToMono(RaceResponse.class),
+        return await(getQualifyingResultsMono(String.valueOf(year), round),
                 "qualifying results for year " + year + " round " + round);
     }
 
     public RaceResponse getSprintResults(int year, int round) {
-        String uri = String.format("%d/%d/sprint.json", year, round);
-        return fetchWithRetry(
-                () -> webClient.get().uri(uri).retrieve().bodyToMono(RaceResponse.class),
-                "sprint results for year " + year + " round " + round);
+        return await(getSprintResultsMono(year, round), "sprint results for year " + year + " round " + round);
     }
 
     public RaceResponse getSprintResults(int year, String round) {
-        String uri = String.format("%d/%s/sprint.json", year, round);
-        return fetchWithRetry(
-                () -> webClient.get().uri(uri).retrieve().bodyToMono(RaceResponse.class),
+        return await(getSprintResultsMono(String.valueOf(year), round),
                 "sprint results for year " + year + " round " + round);
     }
 
     public ErgastDriverStandingsResponse getDriverStandings(int year) {
-        String uri = String.format("%d/driverstandings.json", year);
-        return fetchWithRetry(
-                () -> webClient.get().uri(uri).retrieve().bodyToMono(ErgastDriverStandingsResponse.class),
-                "driver standings for " + year);
+        return await(getDriverStandingsMono(year), "driver standings for " + year);
     }
 
     public ErgastConstructorStandingsResponse getConstructorStandings(int year) {
-        String uri = String.format("%d/constructorstandings.json", year);
-        return fetchWithRetry(
-                () -> webClient.get().uri(uri).retrieve().bodyToMono(ErgastConstructorStandingsResponse.class),
-                "constructor standings for " + year);
+        return await(getConstructorStandingsMono(year), "constructor standings for " + year);
     }
 
     public RaceResponse getRaces(int year) {
-        String uri = String.format("%d/races.json", year);
-        return webClient.get().uri(uri).retrieve().bodyToMono(RaceResponse.class).block();
+        return await(getRacesMono(year), "races for " + year);
     }
 
-    public Mono<RaceResponse> getRaceResultsMono(String year, String round) {
-        String uri = String.format("%s/%s/results.json", year, round);
-        return webClient.get().uri(uri).retrieve().bodyToMono(RaceResponse.class);
+    public CircuitBreaker.State getCircuitBreakerState() {
+        return circuitBreaker.getState();
+    }
+
+    public SingleFlight getSingleFlight() {
+        return singleFlight;
+    }
+
+    /**
+     * Single request pipeline: rate-limit permit, then timeout and circuit
+     * breaker per attempt, retries around all of them. Time spent queueing for a
+     * permit does not count towards the timeout. Responses already cached for a
+     * finished season skip all of that. A 404 means "no data" and completes
+     * empty. The whole pipeline is shared by concurrent callers of the same URI
+     * in the same lane, so a live poll never queues in the lane of a backfill
+     * that asked first.
+     */
+    private <T> Mono<T> get(String uri, Class<T> type, String contextForLogging) {
+        return Mono.deferContextual(ctx -> {
+            UpstreamRateLimiter.Priority priority = UpstreamRateLimiter.priorityOf(ctx);
+            return singleFlight.execute(priority + " " + uri, () -> call(uri, type, priority, contextForLogging));
+        });
+    }
+
+    private <T> Mono<T> call(String uri, Class<T> type, UpstreamRateLimiter.Priority priority,
+            String contextForLogging) {
+        Mono<T> call = webClient.get().uri(uri).retrieve().bodyToMono(type).timeout(timeout);
+        Mono<T> attempt = Mono.defer(() -> cached && responseCache.isServedLocally(URI.create(ERGAST_F1 + uri),
+                ErgastClient::isFinishedSeason)
+                        ? call
+                        : rateLimiter.acquire(UpstreamRateLimiter.ERGAST).then(circuitBreaker.protect(call)));
+        return attempt
+                .retryWhen(retrySpec(contextForLogging))
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> {
+                    System.out.println("API returned 404 for " + contextForLogging + ". Assuming no data.");
+                    return Mono.empty();
+                })
+                // Retries resubscribe on the timer thread, which has no lane of its own
+                .contextWrite(ctx -> ctx.put(UpstreamRateLimiter.PRIORITY_CONTEXT_KEY, priority));
     }
 
-    private <T> T fetchWithRetry(Supplier<Mono<T>> monoSupplier, String contextForLogging) {
-        int retryCount = 0;
-        int maxRetries = 5;
-        long waitTimeMillis = 60000; // Start with 60 seconds for Ergast
+    private Retry retrySpec(String contextForLogging) {
+        return Retry.from(signals -> signals.concatMap(signal -> {
+            Throwable failure = signal.failure();
+            long retry = signal.totalRetries() + 1;
+            if (retry > maxRetries || !isRetryable(failure)) {
+                return Mono.error(failure);
+            }
+            Duration retryAfter = retryAfter(failure);
+            if (retryAfter != null && retryAfter.compareTo(maxRetryAfter) > 0) {
+                System.err.println("Retry-After of " + retryAfter.toSeconds() + "s for " + contextForLogging
+                        + " exceeds limit. Giving up.");
+                return Mono.error(failure);
+            }
+            Duration delay = retryAfter != null ? retryAfter : jitteredBackoff(retry);
+            System.out.println("Retryable error for " + contextForLogging + " (" + describe(failure) + "). Retry "
+                    + retry + "/" + maxRetries + " in " + delay.toMillis() + " ms");
+            return Mono.delay(delay);
+        }));
+    }
+
+    /**
+     * Exponential backoff with "equal jitter": half the capped exponential delay
+     * plus a random share of the other half, so concurrent callers spread out.
+     */
+    private Duration jitteredBackoff(long retry) {
+        long base = backoffMin.toMillis() << Math.min(retry - 1, 20);
+        long capped = Math.min(Math.max(base, 1), backoffMax.toMillis());
+        long half = capped / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(half + 1));
+    }
 
-        while (retryCount <= maxRetries) {
+    /**
+     * Parses a {@code Retry-After} header given either as delta-seconds or as an
+     * HTTP date.
+     */
+    static Duration retryAfter(Throwable failure) {
+        if (!(failure instanceof WebClientResponseException)) {
+            return null;
+        }
+        String value = ((WebClientResponseException) failure).getHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
             try {
-                return monoSupplier.get().block(); // Blocking call
-            } catch (WebClientResponseException e) {
-                if (e.getRawStatusCode() == 429 && retryCount < maxRetries) {
-                    retryCount++;
-                    System.out.println("Rate limit (429) for " + contextForLogging +
-                            ". Retry " + retryCount + "/" + maxRetries +
-                            ". Waiting for " + (waitTimeMillis / 1000) + " seconds...");
-                    try {
-                        Thread.sleep(waitTimeMillis);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        System.err.println("Retry sleep interrupted for " + contextForLogging);
-                        throw e;
-                    }
-                    waitTimeMillis *= 2; // Exponential backoff
-                } else if (e.getRawStatusCode() == 404 || e.getRawStatusCode() == 503) {
-                    System.out.println("API returned " + e.getRawStatusCode() + " for " + contextForLogging
-                            + ". Assuming no data. Message: " + e.getMessage());
-                    return null; // Treat as no data available
-                } else {
-                    System.err.println("Non-retryable WebClientResponseException for " + contextForLogging + ": "
-                            + e.getRawStatusCode() + " - " + e.getMessage());
-                    throw e;
-                }
-            } catch (Exception e) {
-                if (retryCount < maxRetries) {
-                    retryCount++;
-                    System.out.println("General error for " + contextForLogging +
-                            ". Retry " + retryCount + "/" + maxRetries +
-                            ". Waiting for " + (waitTimeMillis / 1000) + " seconds... Error: " + e.getMessage());
-                    try {
-                        Thread.sleep(waitTimeMillis);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        System.err.println("Retry sleep interrupted for " + contextForLogging);
-                        throw e;
-                    }
-                    waitTimeMillis *= 1.5;
-                } else {
-                    System.err.println(
-                            "General error after max retries for " + contextForLogging + ": " + e.getMessage());
-                    throw e;
-                }
+                ZonedDateTime at = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                Duration until = Duration.between(ZonedDateTime.now(at.getZone()), at);
+                return until.isNegative() ? Duration.ZERO : until;
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Results for a season before the current year never change.
+     */
+    static boolean isFinishedSeason(URI uri) {
+        Matcher matcher = SEASON_PATH.matcher(uri.getPath());
+        return matcher.find() && Integer.parseInt(matcher.group(1)) < Year.now(ZoneOffset.UTC).getValue();
+    }
+
+    private static boolean isRetryable(Throwable e) {
+        if (e instanceof CircuitBreaker.CircuitBreakerOpenException) {
+            return false;
+        }
+        return isUpstreamFailure(e);
+    }
+
+    /**
+     * Rate limiting, server errors, timeouts and connection failures count
+     * against the upstream; other client errors (e.g. 404) do not.
+     */
+    private static boolean isUpstreamFailure(Throwable e) {
+        if (e instanceof WebClientResponseException) {
+            int status = ((WebClientResponseException) e).getStatusCode().value();
+            return status == 429 || status >= 500;
+        }
+        return e instanceof TimeoutException || e instanceof WebClientRequestException;
+    }
+
+    private static int pagingValue(RaceResponse response, Function<MRData, String> field, int fallback) {
+        if (response.getMrData() == null || field.apply(response.getMrData()) == null) {
+            return fallback;
+        }
+        try {
+            return Integer.parseInt(field.apply(response.getMrData()).trim());
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    private static String describe(Throwable e) {
+        if (e instanceof WebClientResponseException) {
+            return "HTTP " + ((WebClientResponseException) e).getStatusCode().value();
+        }
+        return e.getClass().getSimpleName();
+    }
+
+    private <T> T await(Mono<T> mono, String contextForLogging) {
+        try {
+            return mono.block();
+        } catch (WebClientResponseException e) {
+            if (e.getStatusCode().value() == 503) {
+                System.out.println("API returned 503 for " + contextForLogging + ". Assuming no data.");
+                return null;
             }
+            System.err.println("Request failed for " + contextForLogging + ": " + e.getStatusCode().value()
+                    + " - " + e.getMessage());
+            throw e;
         }
-        System.err.println("Max retries reached for " + contextForLogging + ". Returning null.");
-        return null;
     }
 }
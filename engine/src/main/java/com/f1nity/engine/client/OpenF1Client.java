@@ -1,5 +1,8 @@
 package com.f1nity.engine.client;
 
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.ExchangeStrategies;
@@ -15,31 +18,54 @@ public class OpenF1Client {
 
     private final String OPEN_F1 = "https://api.openf1.org/v1/";
     private final WebClient webClient;
+    private final UpstreamRateLimiter rateLimiter;
+    private final SingleFlight singleFlight;
 
-    public OpenF1Client(WebClient.Builder builder) {
+    public OpenF1Client(WebClient.Builder builder, UpstreamRateLimiter rateLimiter, ResponseCache responseCache,
+            UpstreamRecorder recorder, RawPayloadArchive archive, @Value("${upstream.single-flight.grace:1s}") Duration singleFlightGrace) {
+        this.rateLimiter = rateLimiter;
+        this.singleFlight = new SingleFlight(UpstreamRateLimiter.OPENF1, singleFlightGrace);
         ExchangeStrategies strategies = ExchangeStrategies.builder()
                 .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(10 * 1024 * 1024))
                 .build();
 
-        this.webClient = builder
-                .baseUrl(OPEN_F1)
-                .exchangeStrategies(strategies)
-                .clientConnector(new ReactorClientHttpConnector(HttpClient.create()))
-                .build();
+        builder.baseUrl(OPEN_F1).exchangeStrategies(strategies);
+        // Cassettes must hold full responses, not revalidated 304s
+        if (recorder.getMode() == UpstreamRecorder.Mode.OFF) {
+            builder.filter(responseCache.filter(UpstreamRateLimiter.OPENF1, strategies, uri -> false));
+        }
+        builder
+                .filter(archive.filter(UpstreamRateLimiter.OPENF1))
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create()));
+        this.webClient = recorder.apply(builder, UpstreamRateLimiter.OPENF1, strategies).build();
     }
 
     public Mono<OpenF1Driver[]> getAllDrivers() {
-        return webClient.get()
-                .uri("drivers")
-                .retrieve()
-                .bodyToMono(OpenF1Driver[].class);
+        return get("drivers");
     }
 
     public Mono<OpenF1Driver[]> getSessionDrivers(String meetingKey, String sessionKey) {
         String uri = String.format("drivers?meeting_key=%s&session_key=%s", meetingKey, sessionKey);
-        return webClient.get()
-                .uri(uri)
-                .retrieve()
-                .bodyToMono(OpenF1Driver[].class);
+        return get(uri);
+    }
+
+    public SingleFlight getSingleFlight() {
+        return singleFlight;
+    }
+
+    /**
+     * Concurrent requests for the same URI in the same lane share one upstream
+     * call.
+     */
+    private Mono<OpenF1Driver[]> get(String uri) {
+        return Mono.deferContextual(ctx -> {
+            UpstreamRateLimiter.Priority priority = UpstreamRateLimiter.priorityOf(ctx);
+            return singleFlight.execute(priority + " " + uri, () -> rateLimiter
+                    .acquire(UpstreamRateLimiter.OPENF1, priority)
+                    .then(webClient.get()
+                            .uri(uri)
+                            .retrieve()
+                            .bodyToMono(OpenF1Driver[].class)));
+        });
     }
 }
@@ -0,0 +1,355 @@
+package com.f1nity.engine.client;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.f1nity.library.models.engine.MRData;
+import com.f1nity.library.models.engine.Race;
+import com.f1nity.library.models.engine.RaceResponse;
+import com.f1nity.library.models.engine.RawPayload;
+import com.f1nity.library.repository.engine.RawPayloadRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Archive of every raw upstream payload the ingestion receives.
+ * Successful response bodies are gzip-compressed and stored in the
+ * {@code raw_payloads} collection, keyed by source, season, round and session
+ * (parsed from the request URI), with the SHA-256 of the uncompressed body.
+ * Identical content for the same request is stored once. Writes happen off the
+ * request path and never fail a call.
+ * The archive can be read back as a stream, e.g. as the pages of a season
+ * listing, so re-ingestion and migrations run without the network.
+ */
+@Component
+public class RawPayloadArchive {
+
+    // e.g. /ergast/f1/2025/5/results.json, /ergast/f1/2025/results.json, /ergast/f1/drivers.json
+    private static final Pattern ERGAST_PATH = Pattern
+            .compile("/f1/(?:(\\d{4})/)?(?:(\\d+)/)?([A-Za-z]+)\\.json$");
+    private static final Pattern OPENF1_PATH = Pattern.compile("/v1/([A-Za-z_]+)$");
+
+    private final boolean enabled;
+    private final RawPayloadRepository repository;
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private final AtomicLong archived = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong rawBytes = new AtomicLong();
+    private final AtomicLong storedBytes = new AtomicLong();
+
+    @Autowired
+    public RawPayloadArchive(@Value("${upstream.archive.enabled:true}") boolean enabled,
+            RawPayloadRepository repository) {
+        this.enabled = enabled;
+        this.repository = repository;
+    }
+
+    /**
+     * Builds the archiving filter for one upstream client. It belongs inside the
+     * response cache filter, so only bodies that came over the network (or from
+     * a replayed cassette) are archived.
+     */
+    public ExchangeFilterFunction filter(String upstream) {
+        return (request, next) -> {
+            if (!enabled || request.method() != HttpMethod.GET) {
+                return next.exchange(request);
+            }
+            return next.exchange(request).flatMap(response -> {
+                if (!response.statusCode().is2xxSuccessful()) {
+                    return Mono.just(response);
+                }
+                return response.bodyToMono(byte[].class)
+                        .defaultIfEmpty(new byte[0])
+                        .map(body -> {
+                            if (body.length > 0) {
+                                Mono.fromRunnable(() -> archive(upstream, request.url(), body))
+                                        .subscribeOn(Schedulers.boundedElastic())
+                                        .subscribe();
+                            }
+                            return response.mutate()
+                                    .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body)))
+                                    .build();
+                        });
+            });
+        };
+    }
+
+    /**
+     * Stores one payload unless the same content for the same request is
+     * already archived.
+     *
+     * @return true if a new version was stored
+     */
+    boolean archive(String source, URI uri, byte[] body) {
+        String sanitized = UpstreamRecorder.sanitize(uri);
+        try {
+            String contentHash = sha256(body);
+            String id = sha256((source + "\n" + sanitized + "\n" + contentHash).getBytes(StandardCharsets.UTF_8));
+            if (repository.existsById(id)) {
+                duplicates.incrementAndGet();
+                return false;
+            }
+            RawPayload payload = new RawPayload();
+            payload.setId(id);
+            payload.setSource(source);
+            payload.setUri(sanitized);
+            classify(source, uri, payload);
+            payload.setContentHash(contentHash);
+            payload.setEncoding(RawPayload.GZIP);
+            payload.setRawSize(body.length);
+            payload.setBody(gzip(body));
+            payload.setFetchedAt(System.currentTimeMillis());
+            repository.save(payload);
+
+            archived.incrementAndGet();
+            rawBytes.addAndGet(body.length);
+            storedBytes.addAndGet(payload.getBody().length);
+            return true;
+        } catch (RuntimeException e) {
+            failures.incrementAndGet();
+            System.err.println("Failed to archive payload for " + sanitized + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Season, round and session from the request path (and the {@code year}
+     * query parameter for OpenF1).
+     */
+    static void classify(String source, URI uri, RawPayload payload) {
+        if (UpstreamRateLimiter.ERGAST.equals(source)) {
+            Matcher matcher = ERGAST_PATH.matcher(uri.getPath());
+            if (matcher.find()) {
+                payload.setSeason(matcher.group(1) != null ? Integer.valueOf(matcher.group(1)) : null);
+                payload.setRound(matcher.group(2));
+                payload.setSession(matcher.group(3));
+            }
+        } else {
+            Matcher matcher = OPENF1_PATH.matcher(uri.getPath());
+            if (matcher.find()) {
+                payload.setSession(matcher.group(1));
+            }
+            String year = UriComponentsBuilder.fromUri(uri).build().getQueryParams().getFirst("year");
+            if (year != null && year.matches("\\d{4}")) {
+                payload.setSeason(Integer.valueOf(year));
+            }
+        }
+    }
+
+    /**
+     * Latest archived version of every request for a source, season and
+     * session, read from a cursor off the calling thread.
+     */
+    public Flux<RawPayload> latest(String source, int season, String session) {
+        return Flux.defer(() -> {
+            Map<String, RawPayload> latest = new LinkedHashMap<>();
+            try (Stream<RawPayload> payloads = repository.findBySourceAndSeasonAndSessionOrderByFetchedAtAsc(source,
+                    season, session)) {
+                payloads.forEach(p -> latest.put(p.getUri(), p));
+            }
+            return Flux.fromIterable(latest.values());
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Archived Ergast pages for one session of a season ({@code results},
+     * {@code qualifying} or {@code sprint}), each round's rows from exactly one
+     * source. The newest complete season listing fetched under one page size is
+     * replayed in offset order; listings fetched under other page sizes are
+     * ignored, since their rows would overlap. Rounds that listing does not
+     * cover (e.g. ingested later by the live poll) are added from their newest
+     * per-round payload. Without a complete listing, the newest partial one is
+     * used for the rounds no per-round payload covers.
+     */
+    public Flux<RaceResponse> ergastSeasonPages(int season, String session) {
+        return latest(UpstreamRateLimiter.ERGAST, season, session).collectList().flatMapMany(payloads -> {
+            Map<Integer, Map<Integer, ArchivedPage>> listings = new HashMap<>();
+            Map<Integer, ArchivedPage> perRound = new TreeMap<>();
+            for (RawPayload payload : payloads) {
+                ArchivedPage page = new ArchivedPage(payload, read(payload, RaceResponse.class));
+                if (payload.getRound() == null) {
+                    // Keyed by the page size the server applied, not the one asked for
+                    listings.computeIfAbsent(pagingValue(page.response, MRData::getLimit), k -> new TreeMap<>())
+                            .merge(pagingValue(page.response, MRData::getOffset), page, ArchivedPage::newer);
+                } else if (payload.getRound().matches("\\d+")) {
+                    perRound.merge(Integer.valueOf(payload.getRound()), page, ArchivedPage::newer);
+                }
+            }
+
+            Comparator<Map.Entry<Integer, Map<Integer, ArchivedPage>>> newest = Comparator
+                    .comparingLong(e -> fetchedAt(e.getValue().values()));
+            Map.Entry<Integer, Map<Integer, ArchivedPage>> complete = listings.entrySet().stream()
+                    .filter(e -> isComplete(e.getKey(), e.getValue()))
+                    .max(newest)
+                    .orElse(null);
+            Map.Entry<Integer, Map<Integer, ArchivedPage>> chosen = complete != null ? complete
+                    : listings.entrySet().stream().max(newest).orElse(null);
+
+            List<RaceResponse> pages = new ArrayList<>();
+            Set<Integer> covered = new HashSet<>();
+            if (chosen != null) {
+                for (ArchivedPage page : chosen.getValue().values()) {
+                    if (complete == null) {
+                        // A partial listing may hold only some rows of a round
+                        races(page.response).removeIf(race -> perRound.containsKey(round(race)));
+                    }
+                    races(page.response).forEach(race -> covered.add(round(race)));
+                    pages.add(page.response);
+                }
+            }
+            perRound.forEach((round, page) -> {
+                if (!covered.contains(round)) {
+                    pages.add(page.response);
+                }
+            });
+            return Flux.fromIterable(pages);
+        });
+    }
+
+    public <T> T read(RawPayload payload, Class<T> type) {
+        try {
+            return objectMapper.readValue(decompress(payload), type);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read archived payload " + payload.getUri(), e);
+        }
+    }
+
+    public byte[] decompress(RawPayload payload) {
+        if (!RawPayload.GZIP.equals(payload.getEncoding())) {
+            return payload.getBody();
+        }
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(payload.getBody()))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt archived payload " + payload.getUri(), e);
+        }
+    }
+
+    /**
+     * Archive counters since startup and the number of stored payloads.
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("enabled", enabled);
+        map.put("archived", archived.get());
+        map.put("duplicates", duplicates.get());
+        map.put("failures", failures.get());
+        map.put("rawBytes", rawBytes.get());
+        map.put("storedBytes", storedBytes.get());
+        return map;
+    }
+
+    /**
+     * True when the pages hold every offset up to the total the newest of them
+     * reported.
+     */
+    private static boolean isComplete(int limit, Map<Integer, ArchivedPage> pages) {
+        ArchivedPage newest = pages.values().stream().reduce(ArchivedPage::newer).orElse(null);
+        if (newest == null || limit <= 0) {
+            return false;
+        }
+        int total = pagingValue(newest.response, MRData::getTotal);
+        for (int offset = 0; offset < total; offset += limit) {
+            if (!pages.containsKey(offset)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long fetchedAt(Collection<ArchivedPage> pages) {
+        return pages.stream().mapToLong(p -> p.payload.getFetchedAt()).max().orElse(0);
+    }
+
+    private static List<Race> races(RaceResponse response) {
+        if (response.getMrData() == null || response.getMrData().getRaceTable() == null
+                || response.getMrData().getRaceTable().getRaces() == null) {
+            return new ArrayList<>();
+        }
+        return response.getMrData().getRaceTable().getRaces();
+    }
+
+    private static Integer round(Race race) {
+        return race.getRound() != null && race.getRound().matches("\\d+") ? Integer.valueOf(race.getRound()) : null;
+    }
+
+    private static int pagingValue(RaceResponse response, Function<MRData, String> field) {
+        String value = response.getMrData() != null ? field.apply(response.getMrData()) : null;
+        return value != null && value.trim().matches("\\d+") ? Integer.parseInt(value.trim()) : 0;
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (OutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * One archived payload with its parsed body.
+     */
+    private static final class ArchivedPage {
+        final RawPayload payload;
+        final RaceResponse response;
+
+        ArchivedPage(RawPayload payload, RaceResponse response) {
+            this.payload = payload;
+            this.response = response;
+        }
+
+        static ArchivedPage newer(ArchivedPage a, ArchivedPage b) {
+            return b.payload.getFetchedAt() >= a.payload.getFetchedAt() ? b : a;
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package com.f1nity.engine.client;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Persistent conditional-GET cache for upstream responses.
+ * Raw bodies are stored on local disk together with their ETag and
+ * Last-Modified validators, keyed by request URI. All entries are revalidated
+ * with If-None-Match / If-Modified-Since and a 304 replays the stored body.
+ * Only entries stored (or revalidated) once their URI is immutable (e.g. a
+ * finished season) are kept as final and served locally without touching the
+ * network, so nothing fetched while a season was running is frozen.
+ */
+@Component
+public class ResponseCache {
+
+    private static final String FINAL_SUFFIX = ".final.gz";
+
+    private final boolean enabled;
+    private final Path directory;
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ResponseCache(@Value("${upstream.cache.enabled:true}") boolean enabled,
+            @Value("${upstream.cache.directory:data/http-cache}") String directory) {
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+    }
+
+    /**
+     * Builds the caching filter for one upstream client.
+     *
+     * @param upstream   name used for the counters
+     * @param strategies codecs of the client, used for locally served responses
+     * @param immutable  URIs whose stored response never changes
+     */
+    public ExchangeFilterFunction filter(String upstream, ExchangeStrategies strategies, Predicate<URI> immutable) {
+        Counters stats = counters.computeIfAbsent(upstream, k -> new Counters());
+        return (request, next) -> {
+            if (!enabled || request.method() != HttpMethod.GET) {
+                return next.exchange(request);
+            }
+            boolean isImmutable = immutable.test(request.url());
+            String key = request.url().toString();
+            Path path = pathFor(key, false);
+            Path finalPath = pathFor(key, true);
+            return Mono.fromCallable(() -> {
+                        Entry entry = read(finalPath, true);
+                        return entry != null ? entry : read(path, false);
+                    })
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .map(entry -> {
+                        if (entry.isFinal) {
+                            stats.hits.incrementAndGet();
+                            return Mono.just(entry.toResponse(strategies));
+                        }
+                        return revalidate(request, entry, isImmutable ? finalPath : path, isImmutable,
+                                next::exchange, stats, strategies);
+                    })
+                    .defaultIfEmpty(Mono.defer(() -> fetch(request, isImmutable ? finalPath : path, isImmutable,
+                            next::exchange, stats)))
+                    .flatMap(response -> response);
+        };
+    }
+
+    /**
+     * True when {@code uri} would be answered from disk without a network call,
+     * so callers can skip rate limiting and circuit breaking for it.
+     */
+    public boolean isServedLocally(URI uri, Predicate<URI> immutable) {
+        return enabled && immutable.test(uri) && Files.exists(pathFor(uri.toString(), true));
+    }
+
+    /**
+     * Hit/miss/revalidate counters per upstream.
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        counters.forEach((upstream, c) -> result.put(upstream, c.snapshot()));
+        return result;
+    }
+
+    /**
+     * Revalidates a stored entry and stores the outcome at {@code path}. Once the
+     * URI has become immutable ({@code promote}) that is the final location, and
+     * a 304 copies the stored entry there.
+     */
+    private Mono<ClientResponse> revalidate(ClientRequest request, Entry entry, Path path, boolean promote,
+            Function<ClientRequest, Mono<ClientResponse>> exchange, Counters stats,
+            ExchangeStrategies strategies) {
+        if (entry.etag.isEmpty() && entry.lastModified.isEmpty()) {
+            return fetch(request, path, promote, exchange, stats);
+        }
+        ClientRequest conditional = ClientRequest.from(request)
+                .headers(headers -> {
+                    if (!entry.etag.isEmpty()) {
+                        headers.set(HttpHeaders.IF_NONE_MATCH, entry.etag);
+                    }
+                    if (!entry.lastModified.isEmpty()) {
+                        headers.set(HttpHeaders.IF_MODIFIED_SINCE, entry.lastModified);
+                    }
+                })
+                .build();
+        return exchange.apply(conditional).flatMap(response -> {
+            if (response.statusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                stats.revalidated.incrementAndGet();
+                Mono<Void> promoted = promote
+                        ? Mono.<Void>fromRunnable(() -> write(path, entry, stats))
+                                .subscribeOn(Schedulers.boundedElastic())
+                        : Mono.empty();
+                return response.releaseBody().then(promoted).thenReturn(entry.toResponse(strategies));
+            }
+            return store(response, path, promote, stats);
+        });
+    }
+
+    private Mono<ClientResponse> fetch(ClientRequest request, Path path, boolean immutable,
+            Function<ClientRequest, Mono<ClientResponse>> exchange, Counters stats) {
+        return exchange.apply(request).flatMap(response -> store(response, path, immutable, stats));
+    }
+
+    /**
+     * Stores successful responses that carry a validator or are immutable and
+     * hands the caller an equivalent response with the buffered body.
+     */
+    private Mono<ClientResponse> store(ClientResponse response, Path path, boolean immutable, Counters stats) {
+        stats.misses.incrementAndGet();
+        HttpHeaders headers = response.headers().asHttpHeaders();
+        String etag = headers.getETag();
+        String lastModified = headers.getFirst(HttpHeaders.LAST_MODIFIED);
+        if (!response.statusCode().is2xxSuccessful() || (!immutable && etag == null && lastModified == null)) {
+            return Mono.just(response);
+        }
+        return response.bodyToMono(byte[].class)
+                .defaultIfEmpty(new byte[0])
+                .flatMap(body -> {
+                    String contentType = headers.getContentType() != null ? headers.getContentType().toString()
+                            : "application/json";
+                    Entry entry = new Entry(etag, lastModified, contentType, body);
+                    return Mono.fromRunnable(() -> write(path, entry, stats))
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .thenReturn(response.mutate().body(Flux.just(wrap(body))).build());
+                });
+    }
+
+    /**
+     * Final entries live next to the revalidated ones under their own suffix, so
+     * entries written before the distinction existed are revalidated once.
+     */
+    private Path pathFor(String key, boolean isFinal) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return directory.resolve(HexFormat.of().formatHex(digest) + (isFinal ? FINAL_SUFFIX : ".gz"));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Entry read(Path path, boolean isFinal) {
+        try (InputStream in = Files.newInputStream(path);
+                DataInputStream data = new DataInputStream(new GZIPInputStream(in))) {
+            String etag = data.readUTF();
+            String lastModified = data.readUTF();
+            String contentType = data.readUTF();
+            byte[] body = data.readNBytes(data.readInt());
+            Entry entry = new Entry(etag, lastModified, contentType, body);
+            entry.isFinal = isFinal;
+            return entry;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            System.err.println("Ignoring unreadable cache entry " + path + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes to a temporary file and renames it, so readers never see a partial
+     * entry.
+     */
+    private void write(Path path, Entry entry, Counters stats) {
+        try {
+            Files.createDirectories(directory);
+            Path tmp = Files.createTempFile(directory, "entry", ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp);
+                    DataOutputStream data = new DataOutputStream(new GZIPOutputStream(out))) {
+                data.writeUTF(entry.etag);
+                data.writeUTF(entry.lastModified);
+                data.writeUTF(entry.contentType);
+                data.writeInt(entry.body.length);
+                data.write(entry.body);
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            stats.stored.incrementAndGet();
+        } catch (IOException e) {
+            System.err.println("Failed to write cache entry " + path + ": " + e.getMessage());
+        }
+    }
+
+    private static DataBuffer wrap(byte[] body) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(body);
+    }
+
+    private static final class Entry {
+        final String etag;
+        final String lastModified;
+        final String contentType;
+        final byte[] body;
+        boolean isFinal;
+
+        Entry(String etag, String lastModified, String contentType, byte[] body) {
+            this.etag = etag != null ? etag : "";
+            this.lastModified = lastModified != null ? lastModified : "";
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        ClientResponse toResponse(ExchangeStrategies strategies) {
+            return ClientResponse.create(HttpStatus.OK, strategies)
+                    .header(HttpHeaders.CONTENT_TYPE, contentType)
+                    .body(Flux.just(wrap(body)))
+                    .build();
+        }
+    }
+
+    private static final class Counters {
+        final AtomicLong hits = new AtomicLong();
+        final AtomicLong revalidated = new AtomicLong();
+        final AtomicLong misses = new AtomicLong();
+        final AtomicLong stored = new AtomicLong();
+
+        Map<String, Object> snapshot() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("hits", hits.get());
+            map.put("revalidated", revalidated.get());
+            map.put("misses", misses.get());
+            map.put("stored", stored.get());
+            return map;
+        }
+    }
+}
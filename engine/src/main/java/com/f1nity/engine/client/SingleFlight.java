@@ -0,0 +1,81 @@
+package com.f1nity.engine.client;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Coalesces concurrent calls for the same key into one upstream call.
+ * The first caller starts the call; everyone asking for the same key while it
+ * is in flight, or within {@code grace} after it succeeded, gets the same
+ * result. Failed or cancelled calls are forgotten as soon as they end.
+ */
+public class SingleFlight {
+
+    private final String name;
+    private final Duration grace;
+    private final Map<String, Mono<?>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    public SingleFlight(String name, Duration grace) {
+        this.name = name;
+        this.grace = grace;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> execute(String key, Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            boolean[] leader = { false };
+            Mono<T> flight = (Mono<T>) inFlight.computeIfAbsent(key, k -> {
+                leader[0] = true;
+                return share(k, call);
+            });
+            if (leader[0]) {
+                calls.incrementAndGet();
+            } else {
+                coalesced.incrementAndGet();
+            }
+            return flight;
+        });
+    }
+
+    private <T> Mono<T> share(String key, Supplier<Mono<T>> call) {
+        AtomicReference<Mono<T>> self = new AtomicReference<>();
+        Mono<T> shared = Mono.defer(call)
+                .doFinally(signal -> release(key, self.get(), signal))
+                .cache();
+        self.set(shared);
+        return shared;
+    }
+
+    private void release(String key, Mono<?> flight, SignalType signal) {
+        if (signal != SignalType.ON_COMPLETE || grace.isZero()) {
+            inFlight.remove(key, flight);
+        } else {
+            Mono.delay(grace).subscribe(tick -> inFlight.remove(key, flight));
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Upstream calls started vs. calls that joined one already in flight.
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("calls", calls.get());
+        map.put("coalesced", coalesced.get());
+        map.put("inFlight", inFlight.size());
+        return map;
+    }
+}
@@ -0,0 +1,328 @@
+package com.f1nity.engine.client;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.context.ContextView;
+
+/**
+ * Process-wide token-bucket rate limiter shared by every upstream client.
+ * Each upstream (Ergast, OpenF1, Open-Meteo) has its own bucket. Callers that
+ * cannot get a token immediately queue in priority order, so live race-day
+ * updates are admitted ahead of backfill traffic. Requests that would wait
+ * longer than the configured maximum are rejected up front.
+ */
+@Component
+public class UpstreamRateLimiter {
+
+    public static final String ERGAST = "ergast";
+    public static final String OPENF1 = "openf1";
+    public static final String OPEN_METEO = "open-meteo";
+
+    /**
+     * Admission lanes, highest priority first.
+     */
+    public enum Priority {
+        LIVE, DEFAULT, BACKFILL
+    }
+
+    /** Reactor context key that overrides the caller's priority. */
+    public static final String PRIORITY_CONTEXT_KEY = "upstream.priority";
+
+    private static final ThreadLocal<Priority> CURRENT_PRIORITY = ThreadLocal.withInitial(() -> Priority.DEFAULT);
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService drainer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "upstream-rate-limiter");
+        t.setDaemon(true);
+        return t;
+    });
+    private final Duration maxWait;
+    private final Duration backfillMaxWait;
+    private final int maxQueue;
+
+    @Value("${upstream.rate-limit.ergast.permits-per-second:4}")
+    private double ergastRate;
+
+    @Value("${upstream.rate-limit.ergast.burst:4}")
+    private int ergastBurst;
+
+    @Value("${upstream.rate-limit.openf1.permits-per-second:3}")
+    private double openF1Rate;
+
+    @Value("${upstream.rate-limit.openf1.burst:6}")
+    private int openF1Burst;
+
+    @Value("${upstream.rate-limit.open-meteo.permits-per-second:10}")
+    private double openMeteoRate;
+
+    @Value("${upstream.rate-limit.open-meteo.burst:10}")
+    private int openMeteoBurst;
+
+    @Autowired
+    public UpstreamRateLimiter(@Value("${upstream.rate-limit.max-wait:30s}") Duration maxWait,
+            @Value("${upstream.rate-limit.backfill-max-wait:10m}") Duration backfillMaxWait,
+            @Value("${upstream.rate-limit.max-queue:1000}") int maxQueue) {
+        this.maxWait = maxWait;
+        this.backfillMaxWait = backfillMaxWait;
+        this.maxQueue = maxQueue;
+    }
+
+    @PostConstruct
+    public void init() {
+        register(ERGAST, ergastRate, ergastBurst);
+        register(OPENF1, openF1Rate, openF1Burst);
+        register(OPEN_METEO, openMeteoRate, openMeteoBurst);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        drainer.shutdownNow();
+    }
+
+    /**
+     * Registers (or replaces) the bucket for an upstream. Upstreams without a
+     * bucket are not limited.
+     */
+    public void register(String upstream, double permitsPerSecond, int burst) {
+        if (permitsPerSecond > 0) {
+            buckets.put(upstream, new Bucket(upstream, permitsPerSecond, Math.max(1, burst)));
+        }
+    }
+
+    /**
+     * Runs a blocking call chain with the given priority. Every permit acquired
+     * on this thread while {@code call} runs uses that lane.
+     */
+    public static <T> T withPriority(Priority priority, Supplier<T> call) {
+        Priority previous = CURRENT_PRIORITY.get();
+        CURRENT_PRIORITY.set(priority);
+        try {
+            return call.get();
+        } finally {
+            CURRENT_PRIORITY.set(previous);
+        }
+    }
+
+    public static void withPriority(Priority priority, Runnable call) {
+        withPriority(priority, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    /**
+     * The lane set by {@link #withPriority} on the calling thread. Pipelines that
+     * resubscribe on other threads (retries) should capture it at assembly and
+     * carry it in the Reactor context under {@link #PRIORITY_CONTEXT_KEY}.
+     */
+    public static Priority currentPriority() {
+        return CURRENT_PRIORITY.get();
+    }
+
+    /**
+     * The lane of a subscription: the one in its Reactor context if present,
+     * otherwise the subscribing thread's.
+     */
+    public static Priority priorityOf(ContextView context) {
+        return context.getOrDefault(PRIORITY_CONTEXT_KEY, CURRENT_PRIORITY.get());
+    }
+
+    /**
+     * Completes when a permit for {@code upstream} is granted. The lane is taken
+     * from the Reactor context if present, otherwise from the assembling thread.
+     * Errors with {@link RateLimitRejectedException} when the permit is rejected.
+     */
+    public Mono<Void> acquire(String upstream) {
+        Priority assembled = CURRENT_PRIORITY.get();
+        return Mono.deferContextual(ctx -> acquire(upstream, ctx.getOrDefault(PRIORITY_CONTEXT_KEY, assembled)));
+    }
+
+    public Mono<Void> acquire(String upstream, Priority priority) {
+        Bucket bucket = buckets.get(upstream);
+        if (bucket == null) {
+            return Mono.empty();
+        }
+        return Mono.defer(() -> bucket.acquire(priority));
+    }
+
+    /**
+     * Point-in-time metrics per upstream: granted/rejected permits, queue depth
+     * and wait times.
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        buckets.values().forEach(b -> result.put(b.name, b.snapshot()));
+        return result;
+    }
+
+    private Duration maxWaitFor(Priority priority) {
+        return priority == Priority.BACKFILL ? backfillMaxWait : maxWait;
+    }
+
+    private static final class Waiter {
+        final Priority priority;
+        final long sequence;
+        final long enqueuedAt = System.nanoTime();
+        final long deadline;
+        final Sinks.One<Void> sink = Sinks.one();
+        volatile boolean cancelled;
+
+        Waiter(Priority priority, long sequence, long deadline) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.deadline = deadline;
+        }
+    }
+
+    private static final class LaneStats {
+        final AtomicLong granted = new AtomicLong();
+        final AtomicLong rejected = new AtomicLong();
+        final AtomicLong totalWaitNanos = new AtomicLong();
+        final AtomicLong maxWaitNanos = new AtomicLong();
+
+        void recordGrant(long waitNanos) {
+            granted.incrementAndGet();
+            totalWaitNanos.addAndGet(waitNanos);
+            maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+        }
+
+        Map<String, Object> snapshot() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            long grantedCount = granted.get();
+            map.put("granted", grantedCount);
+            map.put("rejected", rejected.get());
+            map.put("avgWaitMillis", grantedCount > 0 ? totalWaitNanos.get() / grantedCount / 1_000_000.0 : 0.0);
+            map.put("maxWaitMillis", maxWaitNanos.get() / 1_000_000.0);
+            return map;
+        }
+    }
+
+    private final class Bucket {
+        final String name;
+        final double permitsPerSecond;
+        final int burst;
+        final PriorityQueue<Waiter> waiters = new PriorityQueue<>(
+                Comparator.comparing((Waiter w) -> w.priority).thenComparingLong(w -> w.sequence));
+        final Map<Priority, LaneStats> lanes = new EnumMap<>(Priority.class);
+        double tokens;
+        long lastRefill = System.nanoTime();
+        long sequence;
+        boolean drainScheduled;
+
+        Bucket(String name, double permitsPerSecond, int burst) {
+            this.name = name;
+            this.permitsPerSecond = permitsPerSecond;
+            this.burst = burst;
+            this.tokens = burst;
+            for (Priority p : Priority.values()) {
+                lanes.put(p, new LaneStats());
+            }
+        }
+
+        synchronized Mono<Void> acquire(Priority priority) {
+            refill();
+            LaneStats stats = lanes.get(priority);
+            if (waiters.isEmpty() && tokens >= 1) {
+                tokens -= 1;
+                stats.recordGrant(0);
+                return Mono.empty();
+            }
+            long ahead = waiters.stream().filter(w -> w.priority.compareTo(priority) <= 0).count();
+            double estimatedWaitSeconds = (ahead + 1 - tokens) / permitsPerSecond;
+            Duration limit = maxWaitFor(priority);
+            if (waiters.size() >= maxQueue || estimatedWaitSeconds * 1000 > limit.toMillis()) {
+                stats.rejected.incrementAndGet();
+                return Mono.error(new RateLimitRejectedException(name, priority, estimatedWaitSeconds));
+            }
+            Waiter waiter = new Waiter(priority, sequence++, System.nanoTime() + limit.toNanos());
+            waiters.add(waiter);
+            scheduleDrain();
+            return waiter.sink.asMono().doOnCancel(() -> waiter.cancelled = true);
+        }
+
+        private void refill() {
+            long now = System.nanoTime();
+            tokens = Math.min(burst, tokens + (now - lastRefill) / 1_000_000_000.0 * permitsPerSecond);
+            lastRefill = now;
+        }
+
+        private void scheduleDrain() {
+            if (drainScheduled || waiters.isEmpty()) {
+                return;
+            }
+            drainScheduled = true;
+            long delayNanos = tokens >= 1 ? 0 : (long) ((1 - tokens) / permitsPerSecond * 1_000_000_000L);
+            drainer.schedule(this::drain, delayNanos, TimeUnit.NANOSECONDS);
+        }
+
+        private synchronized void drain() {
+            drainScheduled = false;
+            refill();
+            long now = System.nanoTime();
+            while (!waiters.isEmpty()) {
+                Waiter next = waiters.peek();
+                if (next.cancelled) {
+                    waiters.poll();
+                    continue;
+                }
+                if (now > next.deadline) {
+                    waiters.poll();
+                    lanes.get(next.priority).rejected.incrementAndGet();
+                    next.sink.tryEmitError(new RateLimitRejectedException(name, next.priority,
+                            (now - next.enqueuedAt) / 1_000_000_000.0));
+                    continue;
+                }
+                if (tokens < 1) {
+                    break;
+                }
+                waiters.poll();
+                tokens -= 1;
+                lanes.get(next.priority).recordGrant(now - next.enqueuedAt);
+                next.sink.tryEmitEmpty();
+            }
+            scheduleDrain();
+        }
+
+        synchronized Map<String, Object> snapshot() {
+            refill();
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("permitsPerSecond", permitsPerSecond);
+            map.put("burst", burst);
+            map.put("availableTokens", Math.floor(tokens * 100) / 100);
+            map.put("queued", waiters.size());
+            Map<String, Object> laneMap = new LinkedHashMap<>();
+            lanes.forEach((p, s) -> laneMap.put(p.name(), s.snapshot()));
+            map.put("lanes", laneMap);
+            return map;
+        }
+    }
+
+    /**
+     * Raised when a permit would exceed the maximum wait or the queue is full.
+     */
+    public static class RateLimitRejectedException extends RuntimeException {
+        public RateLimitRejectedException(String upstream, Priority priority, double waitSeconds) {
+            super(String.format("Rate limit permit for '%s' rejected (lane %s, wait %.1fs)", upstream, priority,
+                    waitSeconds));
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package com.f1nity.engine.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Record/replay layer for upstream HTTP traffic.
+ * In {@code record} mode every response is also written to a gzip cassette
+ * under {@code upstream.recording.directory/<upstream>/}. In {@code replay}
+ * mode responses are served from those cassettes without any network access,
+ * optionally with injected latency and 429s, so ingestion can be benchmarked
+ * deterministically and a new environment can be seeded offline. A request
+ * without a cassette fails with {@link CassetteMissingException} rather than
+ * passing for "no data". Clients bypass the {@link ResponseCache} in both
+ * modes, so every request reaches the cassettes. Only upstreams that name
+ * their volatile query parameters (e.g. the news date range) replay a
+ * recording made with other values for them; everything else must match
+ * exactly.
+ * Credentials in query parameters are never written to disk.
+ */
+@Component
+public class UpstreamRecorder {
+
+    public enum Mode {
+        OFF, RECORD, REPLAY
+    }
+
+    private static final List<String> SECRET_PARAMS = List.of("apikey", "api_key", "key", "token");
+
+    private final Mode mode;
+    private final Path directory;
+    private final Duration replayLatency;
+    private final double replayRateLimitedRatio;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    public UpstreamRecorder(@Value("${upstream.recording.mode:off}") String mode,
+            @Value("${upstream.recording.directory:data/cassettes}") String directory,
+            @Value("${upstream.recording.replay-latency:0ms}") Duration replayLatency,
+            @Value("${upstream.recording.replay-rate-limited-ratio:0.0}") double replayRateLimitedRatio) {
+        // An unquoted YAML "off" arrives as "false"
+        String normalized = mode.trim().toUpperCase(Locale.ROOT);
+        this.mode = normalized.isEmpty() || normalized.equals("FALSE") ? Mode.OFF : Mode.valueOf(normalized);
+        this.directory = Paths.get(directory);
+        this.replayLatency = replayLatency;
+        this.replayRateLimitedRatio = replayRateLimitedRatio;
+        if (this.mode != Mode.OFF) {
+            System.out.println("Upstream " + this.mode.name().toLowerCase(Locale.ROOT) + " mode using "
+                    + this.directory.toAbsolutePath());
+        }
+    }
+
+    /**
+     * Adds the record/replay filter for {@code upstream} to a client builder.
+     * It is registered last so it sits closest to the network.
+     */
+    public WebClient.Builder apply(WebClient.Builder builder, String upstream) {
+        return apply(builder, upstream, ExchangeStrategies.withDefaults());
+    }
+
+    /**
+     * @param volatileParams query parameters whose values may differ between
+     *                       recording and replay
+     */
+    public WebClient.Builder apply(WebClient.Builder builder, String upstream, Collection<String> volatileParams) {
+        return apply(builder, upstream, ExchangeStrategies.withDefaults(), volatileParams);
+    }
+
+    /**
+     * @param strategies codecs of the client, used for replayed responses
+     */
+    public WebClient.Builder apply(WebClient.Builder builder, String upstream, ExchangeStrategies strategies) {
+        return apply(builder, upstream, strategies, List.of());
+    }
+
+    public WebClient.Builder apply(WebClient.Builder builder, String upstream, ExchangeStrategies strategies,
+            Collection<String> volatileParams) {
+        if (mode == Mode.OFF) {
+            return builder;
+        }
+        return builder.filter(filter(upstream, strategies, volatileParams));
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    ExchangeFilterFunction filter(String upstream, ExchangeStrategies strategies, Collection<String> volatileParams) {
+        return (request, next) -> mode == Mode.REPLAY ? replay(upstream, request, strategies, volatileParams)
+                : record(upstream, request, next, volatileParams);
+    }
+
+    private Mono<ClientResponse> record(String upstream, ClientRequest request, ExchangeFunction next,
+            Collection<String> volatileParams) {
+        return next.exchange(request).flatMap(response -> {
+            int status = response.statusCode().value();
+            // Throttling and server errors are transient; replay injects its own
+            if (status == 429 || status >= 500) {
+                return Mono.just(response);
+            }
+            return response.bodyToMono(byte[].class)
+                    .defaultIfEmpty(new byte[0])
+                    .flatMap(body -> {
+                        Cassette cassette = new Cassette();
+                        cassette.setUri(sanitize(request.url()));
+                        cassette.setStatus(status);
+                        Map<String, String> headers = new LinkedHashMap<>();
+                        HttpHeaders responseHeaders = response.headers().asHttpHeaders();
+                        for (String name : List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.ETAG,
+                                HttpHeaders.LAST_MODIFIED)) {
+                            if (responseHeaders.getFirst(name) != null) {
+                                headers.put(name, responseHeaders.getFirst(name));
+                            }
+                        }
+                        cassette.setHeaders(headers);
+                        cassette.setBody(new String(body, StandardCharsets.UTF_8));
+                        return Mono.fromRunnable(() -> write(upstream, request.url(), cassette, volatileParams))
+                                .subscribeOn(Schedulers.boundedElastic())
+                                .thenReturn(response.mutate()
+                                        .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body)))
+                                        .build());
+                    });
+        });
+    }
+
+    private Mono<ClientResponse> replay(String upstream, ClientRequest request, ExchangeStrategies strategies,
+            Collection<String> volatileParams) {
+        Mono<ClientResponse> response = Mono.fromCallable(() -> read(upstream, request.url(), volatileParams))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(cassette -> toResponse(cassette, strategies))
+                .switchIfEmpty(Mono.error(() -> new CassetteMissingException(upstream, sanitize(request.url()))));
+        if (replayRateLimitedRatio > 0 && ThreadLocalRandom.current().nextDouble() < replayRateLimitedRatio) {
+            response = Mono.just(ClientResponse.create(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .build());
+        }
+        return replayLatency.isZero() ? response : Mono.delay(replayLatency).then(response);
+    }
+
+    private ClientResponse toResponse(Cassette cassette, ExchangeStrategies strategies) {
+        ClientResponse.Builder builder = ClientResponse.create(HttpStatus.valueOf(cassette.getStatus()), strategies);
+        if (cassette.getHeaders() != null) {
+            cassette.getHeaders().forEach(builder::header);
+        }
+        return builder.body(cassette.getBody() != null ? cassette.getBody() : "").build();
+    }
+
+    /**
+     * Writes the exact-match cassette. For upstreams with volatile parameters a
+     * "latest" cassette keyed without them is written too, which replay falls
+     * back to when only those differ. Only successful responses become the
+     * "latest" one.
+     */
+    private void write(String upstream, URI uri, Cassette cassette, Collection<String> volatileParams) {
+        try {
+            Path dir = directory.resolve(upstream);
+            Files.createDirectories(dir);
+            byte[] json = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(cassette);
+            List<Path> targets = new ArrayList<>();
+            targets.add(dir.resolve(hash(sanitize(uri)) + ".json.gz"));
+            if (cassette.getStatus() / 100 == 2 && !volatileParams.isEmpty()) {
+                targets.add(dir.resolve(hash(without(uri, volatileParams)) + ".latest.json.gz"));
+            }
+            for (Path target : targets) {
+                Path tmp = Files.createTempFile(dir, "cassette", ".tmp");
+                try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp))) {
+                    out.write(json);
+                }
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to record cassette for " + cassette.getUri() + ": " + e.getMessage());
+        }
+    }
+
+    private Cassette read(String upstream, URI uri, Collection<String> volatileParams) throws IOException {
+        Path dir = directory.resolve(upstream);
+        Cassette exact = read(dir.resolve(hash(sanitize(uri)) + ".json.gz"));
+        if (exact != null || volatileParams.isEmpty()) {
+            return exact;
+        }
+        return read(dir.resolve(hash(without(uri, volatileParams)) + ".latest.json.gz"));
+    }
+
+    private Cassette read(Path path) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(path))) {
+            return objectMapper.readValue(in, Cassette.class);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    static String sanitize(URI uri) {
+        return without(uri, SECRET_PARAMS);
+    }
+
+    /**
+     * The URI without the given query parameters (matched case-insensitively)
+     * or any credentials.
+     */
+    private static String without(URI uri, Collection<String> params) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromUri(uri);
+        UriComponentsBuilder.fromUri(uri).build().getQueryParams().keySet().stream()
+                .filter(name -> SECRET_PARAMS.contains(name.toLowerCase(Locale.ROOT))
+                        || params.stream().anyMatch(name::equalsIgnoreCase))
+                .forEach(name -> builder.replaceQueryParam(name));
+        return builder.build().toUriString();
+    }
+
+    private static String hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Raised in replay mode for a request that was never recorded.
+     */
+    public static class CassetteMissingException extends RuntimeException {
+        public CassetteMissingException(String upstream, String uri) {
+            super("No " + upstream + " cassette for " + uri + "; record it before replaying");
+        }
+    }
+
+    /**
+     * One recorded exchange as stored on disk.
+     */
+    public static class Cassette {
+        private String uri;
+        private int status;
+        private Map<String, String> headers;
+        private String body;
+
+        public String getUri() {
+            return uri;
+        }
+
+        public void setUri(String uri) {
+            this.uri = uri;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public void setStatus(int status) {
+            this.status = status;
+        }
+
+        public Map<String, String> getHeaders() {
+            return headers;
+        }
+
+        public void setHeaders(Map<String, String> headers) {
+            this.headers = headers;
+        }
+
+        public String getBody() {
+            return body;
+        }
+
+        public void setBody(String body) {
+            this.body = body;
+        }
+    }
+}
@@ -3,10 +3,12 @@ package com.f1nity.engine.config;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
 
@@ -40,6 +42,17 @@ public class MongoConfig {
         return new MongoTemplate(mongoDbFactory);
     }
 
+    /**
+     * Lets ingestion write its outbox events in the same transaction as the
+     * data they describe. Transactions need a replica set (Atlas is one), so
+     * this is off unless outbox.transactions=true, as in the prod profile.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "outbox.transactions", havingValue = "true")
+    public MongoTransactionManager transactionManager(MongoDatabaseFactory mongoDbFactory) {
+        return new MongoTransactionManager(mongoDbFactory);
+    }
+
     // Auth MongoDB configuration
     @Bean(name = "authMongoTemplate")
     public MongoTemplate authMongoTemplate() {
@@ -0,0 +1,54 @@
+package com.f1nity.engine.config;
+
+import java.net.URI;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
+
+/**
+ * Redis connection pool shared by the news cache and the live update relay.
+ * Connections are opened on first use, so the engine starts without Redis.
+ */
+@Configuration
+public class RedisConfig {
+
+    @Value("${redis.url}")
+    private String redisUrl;
+
+    @Value("${redis.password:}")
+    private String redisPassword;
+
+    @Bean(destroyMethod = "close")
+    public JedisPool jedisPool() {
+        String formattedUrl = redisUrl;
+        if (!formattedUrl.startsWith("redis://") && !formattedUrl.startsWith("rediss://")) {
+            formattedUrl = "redis://" + formattedUrl;
+        }
+        URI uri = URI.create(formattedUrl);
+
+        String password = redisPassword;
+        if (password == null || password.isEmpty()) {
+            // Try to get from URI if not in env prop
+            if (uri.getUserInfo() != null) {
+                String[] parts = uri.getUserInfo().split(":");
+                if (parts.length > 1)
+                    password = parts[1];
+                else if (parts.length == 1)
+                    password = parts[0];
+            }
+        }
+
+        JedisPoolConfig config = new JedisPoolConfig();
+        // One connection stays subscribed to the live update channel
+        config.setMaxTotal(16);
+        System.out.println("Redis pool for " + uri.getHost() + ":" + uri.getPort());
+        if (password != null && !password.isEmpty()) {
+            return new JedisPool(config, uri.getHost(), uri.getPort(), 2000, password);
+        }
+        return new JedisPool(config, uri);
+    }
+}
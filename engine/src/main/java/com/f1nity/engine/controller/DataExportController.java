@@ -1,11 +1,15 @@
 package com.f1nity.engine.controller;
 
+import java.util.Map;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.f1nity.engine.dto.MaintenanceReport;
 import com.f1nity.engine.service.DataIngestionService;
+import com.f1nity.engine.service.SnapshotService;
 
 @RestController
 @RequestMapping(value = "/api/v1")
@@ -14,10 +18,21 @@ public class DataExportController {
     @Autowired
     private DataIngestionService dataIngestionService;
 
+    @Autowired
+    private SnapshotService snapshotService;
+
     @GetMapping("/export-data")
     public String exportData() {
-        dataIngestionService.exportData();
-        return "Data export initiated to src/main/resources/historical_data.json";
+        return "Data export initiated to " + dataIngestionService.exportData();
+    }
+
+    /**
+     * Background snapshot writer state: pending changes, coalesced
+     * notifications and snapshots written.
+     */
+    @GetMapping("/snapshot/stats")
+    public Map<String, Object> getSnapshotStats() {
+        return snapshotService.snapshot();
     }
 
     @GetMapping("/import-data")
@@ -26,7 +41,7 @@ public class DataExportController {
     }
 
     @GetMapping("/cleanup-data")
-    public String cleanupData() {
+    public MaintenanceReport cleanupData() {
         return dataIngestionService.cleanupBadDrivers();
     }
 }
@@ -1,18 +1,34 @@
 package com.f1nity.engine.controller;
 
+import java.net.URI;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.f1nity.engine.client.UpstreamRateLimiter;
+import com.f1nity.engine.model.Job;
+import com.f1nity.engine.scheduler.FailedRequestReplayWorker;
+import com.f1nity.engine.scheduler.LeaderElection;
+import com.f1nity.engine.scheduler.OutboxRelay;
+import com.f1nity.engine.scheduler.RaceDataScheduler;
+import com.f1nity.engine.service.CareerStatsRecomputeService;
 import com.f1nity.engine.service.DataIngestionService;
 import com.f1nity.engine.service.F1nityService;
+import com.f1nity.engine.service.JobService;
+import com.f1nity.engine.service.SeasonBackfillService;
 import com.f1nity.library.models.engine.Constructor;
 import com.f1nity.library.models.engine.ConstructorStanding;
 import com.f1nity.library.models.engine.Driver;
@@ -35,6 +51,27 @@ public class F1nityController {
     @Autowired
     private F1nityService f1nityService;
 
+    @Autowired
+    private SeasonBackfillService seasonBackfillService;
+
+    @Autowired
+    private FailedRequestReplayWorker failedRequestReplayWorker;
+
+    @Autowired
+    private CareerStatsRecomputeService careerStatsRecomputeService;
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private RaceDataScheduler raceDataScheduler;
+
+    @Autowired
+    private LeaderElection leaderElection;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
     /**
      * Health check endpoint to keep the service awake.
      */
@@ -101,21 +138,30 @@ public class F1nityController {
     }
 
     /**
-     * Accumulates race data from the API.
+     * Accumulates race data from the API, on the leader only.
      * 
-     * @return List of accumulated races
+     * @return List of accumulated races, or 409 on a follower
      */
     @GetMapping("/accumulateRaces")
-    public List<Race> accumulateRaces() {
-        return dataIngestionService.accumulateRaces();
+    public ResponseEntity<Object> accumulateRaces() {
+        if (!leaderElection.isLeader()) {
+            return notLeader();
+        }
+        List<Race> races = dataIngestionService.accumulateRaces();
+        // Dates may have moved; poll against the new calendar
+        raceDataScheduler.refreshCalendar();
+        return ResponseEntity.ok(races);
     }
 
     /**
-     * Updates circuit image URLs for races.
+     * Updates circuit image URLs for races, as a job.
+     *
+     * @return 202 with the job; poll /jobs/{id} for its status
      */
     @GetMapping("/updateImagesForRaces")
-    public void updateImagesForRaces() {
-        dataIngestionService.updateCircuitUrls();
+    public ResponseEntity<Object> updateImagesForRaces() {
+        return submit("update-circuit-images", "update-circuit-images", JobService.GROUP_STATS,
+                job -> dataIngestionService.updateCircuitUrls());
     }
 
     // Results related endpoints
@@ -141,21 +187,87 @@ public class F1nityController {
     // Statistics and standings endpoints
 
     /**
-     * Updates podium statistics.
+     * Updates podium statistics. Same job as /update-history.
+     *
+     * @return 202 with the job; poll /jobs/{id} for its status
      */
     @GetMapping("/podiums")
-    public void getPodiums() {
-        dataIngestionService.updateStatistics();
+    public ResponseEntity<Object> getPodiums() {
+        return updateHistory();
     }
 
     /**
-     * Triggers historical data processing (Career Stats).
+     * Triggers historical data processing (Career Stats) as a job.
      * This may take a long time.
+     *
+     * @return 202 with the job; poll /jobs/{id} for its status
      */
     @GetMapping("/update-history")
-    public void updateHistory() {
-        // Run in a separate thread to avoid blocking the HTTP response entirely
-        new Thread(() -> dataIngestionService.updateStatistics()).start();
+    public ResponseEntity<Object> updateHistory() {
+        return submit("update-statistics", "update-statistics", JobService.GROUP_STATS, job -> {
+            UpstreamRateLimiter.withPriority(UpstreamRateLimiter.Priority.BACKFILL,
+                    () -> dataIngestionService.updateStatistics(job));
+            return null;
+        });
+    }
+
+    /**
+     * Runs the parallel season backfill for the given range of seasons as a
+     * job. The job result is the throughput report (rounds per second and
+     * wall-clock time) for comparison with /update-history.
+     *
+     * @param from    First season to backfill (inclusive)
+     * @param to      Last season to backfill (inclusive)
+     * @param archive Replay the raw payload archive instead of calling upstream
+     * @return 202 with the job; poll /jobs/{id} for progress and the report
+     */
+    @GetMapping("/backfill")
+    public ResponseEntity<Object> backfill(@RequestParam(defaultValue = "2026") int from,
+            @RequestParam(defaultValue = "2026") int to, @RequestParam(defaultValue = "false") boolean archive) {
+        return submit("backfill", "backfill:" + from + "-" + to + (archive ? ":archive" : ""),
+                JobService.GROUP_STATS, job -> seasonBackfillService.backfill(from, to, archive, job));
+    }
+
+    /**
+     * Recomputes all career statistics from the stored race, qualifying and
+     * sprint results and swaps them in. Refused when stored races miss a
+     * finished season unless {@code force} is set.
+     *
+     * @param dryRun  Only report what would change
+     * @param force   Swap even if finished seasons are missing
+     * @param archive Read the raw payload archive instead of the races collection
+     * @return 202 with the job; its result is the recompute report
+     */
+    @RequestMapping(value = "/recompute-stats", method = RequestMethod.POST)
+    public ResponseEntity<Object> recomputeStats(@RequestParam(defaultValue = "false") boolean dryRun,
+            @RequestParam(defaultValue = "false") boolean force,
+            @RequestParam(defaultValue = "false") boolean archive) {
+        // A dry run writes nothing and may run next to other jobs
+        return submit("recompute-stats", "recompute-stats" + (dryRun ? ":dry-run" : "") + (force ? ":force" : "")
+                + (archive ? ":archive" : ""), dryRun ? null : JobService.GROUP_STATS,
+                job -> careerStatsRecomputeService.recompute(dryRun, force, archive));
+    }
+
+    /**
+     * Returns the failed request replay queue: pending and dead-lettered
+     * records, age of the oldest pending one and replay counters.
+     *
+     * @return Replay queue metrics
+     */
+    @GetMapping("/failed-requests/stats")
+    public Map<String, Object> getFailedRequestStats() {
+        return failedRequestReplayWorker.snapshot();
+    }
+
+    /**
+     * Returns the outbox relay counters and the number of events not yet
+     * published to Kafka.
+     *
+     * @return Outbox metrics
+     */
+    @GetMapping("/outbox/stats")
+    public Map<String, Object> getOutboxStats() {
+        return outboxRelay.stats();
     }
 
     /**
@@ -165,14 +277,14 @@ public class F1nityController {
      */
 
     /**
-     * Updates standings data.
+     * Updates standings data as a job.
      * this is to update the db. not used by the application
      * 
-     * @return Status message
+     * @return 202 with the job; its result is the status message
      */
     @GetMapping("/standings")
-    public String getStandings() {
-        return dataIngestionService.updateStandings();
+    public ResponseEntity<Object> getStandings() {
+        return submit("update-standings", "update-standings", null, job -> dataIngestionService.updateStandings());
     }
 
     /**
@@ -211,12 +323,10 @@ public class F1nityController {
     }
 
     @GetMapping("/cleanup-races")
-    public String cleanupRaces() {
+    public ResponseEntity<Object> cleanupRaces() {
         // This is a temporary endpoint to help transition seasons
-        // Ideally this should be in the service layer, but for quick fix adding here or
-        // exposing service method
-        dataIngestionService.cleanupOldRaces();
-        return "Cleanup initiated";
+        return submit("cleanup-races", "cleanup-races", JobService.GROUP_STATS,
+                job -> dataIngestionService.cleanupOldRaces());
     }
 
     /**
@@ -224,11 +334,14 @@ public class F1nityController {
      * Useful for forcing an update if the scheduler misses it.
      * 
      * @param round The round number to update (e.g., "1")
-     * @return The results fetched
+     * @return The results fetched, or 409 on a follower
      */
     @GetMapping("/update-race/{year}/{round}")
-    public List<Result> updateRaceResults(@PathVariable String year, @PathVariable String round) {
-        return dataIngestionService.fetchAndStoreLatestRaceResults(year, round);
+    public ResponseEntity<Object> updateRaceResults(@PathVariable String year, @PathVariable String round) {
+        if (!leaderElection.isLeader()) {
+            return notLeader();
+        }
+        return ResponseEntity.ok(dataIngestionService.fetchAndStoreLatestRaceResults(year, round));
     }
 
     /**
@@ -242,11 +355,44 @@ public class F1nityController {
     }
 
     /**
-     * Manually triggers valid historical data import from JSON.
+     * Manually triggers valid historical data import from JSON, on the leader
+     * only.
      */
     @RequestMapping(value = "/import-data", method = RequestMethod.POST)
-    public String importData() {
-        return dataIngestionService.importHistoricalData();
+    public ResponseEntity<Object> importData() {
+        if (!leaderElection.isLeader()) {
+            return notLeader();
+        }
+        return ResponseEntity.ok(dataIngestionService.importHistoricalData());
     }
 
-}
\ No newline at end of file
+    /**
+     * Submits a job and answers 202 with its status and location, 409 if a
+     * conflicting job is still active or this instance is not the leader, or
+     * 503 if the job queue is full.
+     */
+    private ResponseEntity<Object> submit(String type, String key, String group, Function<Job, Object> task) {
+        if (!leaderElection.isLeader()) {
+            return notLeader();
+        }
+        try {
+            Job job = jobService.submit(type, key, group, task);
+            return ResponseEntity.accepted().location(URI.create("/api/v1/jobs/" + job.getId())).body(job);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", "Job queue is full"));
+        }
+    }
+
+    /**
+     * 409 naming the leader, for work that fetches upstream or writes and so
+     * only runs on the leader.
+     */
+    private ResponseEntity<Object> notLeader() {
+        Map<String, Object> body = new HashMap<>();
+        body.put("error", "Ingestion and jobs run on the leader instance");
+        body.put("leader", leaderElection.getLeaderId());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+    }
+}
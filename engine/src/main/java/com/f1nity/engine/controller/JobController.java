@@ -0,0 +1,58 @@
+package com.f1nity.engine.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.f1nity.engine.model.Job;
+import com.f1nity.engine.service.JobService;
+
+/**
+ * Status and cancellation of admin jobs submitted through the
+ * {@link F1nityController} endpoints.
+ */
+@RestController
+@RequestMapping("/api/v1/jobs")
+public class JobController {
+
+    @Autowired
+    private JobService jobService;
+
+    /**
+     * Lists known jobs, newest first.
+     *
+     * @return Queued, running and recently finished jobs
+     */
+    @GetMapping
+    public List<Job> getJobs() {
+        return jobService.list();
+    }
+
+    /**
+     * Returns the state, progress, ETA and (once finished) result of a job.
+     *
+     * @param id Job ID returned on submission
+     * @return The job, or 404 if unknown
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<Job> getJob(@PathVariable String id) {
+        return ResponseEntity.of(jobService.get(id));
+    }
+
+    /**
+     * Cancels a job. A running job stops at its next progress check.
+     *
+     * @param id Job ID returned on submission
+     * @return The job, or 404 if unknown
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Job> cancelJob(@PathVariable String id) {
+        return ResponseEntity.of(jobService.cancel(id));
+    }
+}
@@ -0,0 +1,58 @@
+package com.f1nity.engine.controller;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.f1nity.engine.service.LiveUpdateHub;
+
+/**
+ * Server-Sent Events stream of result, standings and race status changes,
+ * replacing polls of /driver-standings, /constructor-standings and
+ * /latest-race-results.
+ */
+@RestController
+@RequestMapping("/api/v1/live")
+public class LiveUpdateController {
+
+    @Autowired
+    private LiveUpdateHub liveUpdateHub;
+
+    /**
+     * Opens the stream. Events are named {@code results}, {@code standings}
+     * and {@code race-status} and carry the changed data as JSON; a
+     * {@code resync} event means some were dropped and the client should
+     * refetch.
+     *
+     * @param types       Event types to receive, all by default
+     * @param lastEventId Sent by the browser on reconnect to replay missed events
+     * @return The event stream, or 503 if this instance is at its subscriber limit
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribe(@RequestParam(required = false) Set<String> types,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        try {
+            return ResponseEntity.ok(liveUpdateHub.subscribe(lastEventId, types));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    /**
+     * Subscriber count, events published and dropped, and relay state.
+     */
+    @GetMapping("/status")
+    public Map<String, Object> getStatus() {
+        return liveUpdateHub.status();
+    }
+}
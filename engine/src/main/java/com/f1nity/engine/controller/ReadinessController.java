@@ -0,0 +1,41 @@
+package com.f1nity.engine.controller;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.f1nity.engine.scheduler.LeaderElection;
+import com.f1nity.engine.scheduler.StartupBootstrap;
+
+/**
+ * Readiness of this instance for the load balancer probe.
+ */
+@RestController
+@RequestMapping("/api/v1")
+public class ReadinessController {
+
+    @Autowired
+    private StartupBootstrap startupBootstrap;
+
+    @Autowired
+    private LeaderElection leaderElection;
+
+    /**
+     * Reports the bootstrap phase, startup timings and leadership. Followers
+     * are ready too: they serve reads while the leader runs scheduled work.
+     *
+     * @return 200 once data is loaded and caches are warm, 503 before that
+     */
+    @GetMapping("/ready")
+    public ResponseEntity<Map<String, Object>> getReadiness() {
+        HttpStatus status = startupBootstrap.isReady() ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE;
+        Map<String, Object> body = startupBootstrap.status();
+        body.put("leadership", leaderElection.status());
+        return ResponseEntity.status(status).body(body);
+    }
+}
@@ -0,0 +1,60 @@
+package com.f1nity.engine.controller;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.f1nity.engine.client.ErgastClient;
+import com.f1nity.engine.client.OpenF1Client;
+import com.f1nity.engine.client.RawPayloadArchive;
+import com.f1nity.engine.client.ResponseCache;
+import com.f1nity.engine.client.UpstreamRateLimiter;
+
+/**
+ * Operational view of the upstream APIs: rate-limit buckets, response cache,
+ * request coalescing, circuit breaker state and the raw payload archive.
+ */
+@RestController
+@RequestMapping("/api/v1/upstream")
+public class UpstreamController {
+
+    @Autowired
+    private UpstreamRateLimiter rateLimiter;
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    @Autowired
+    private ErgastClient ergastClient;
+
+    @Autowired
+    private OpenF1Client openF1Client;
+
+    @Autowired
+    private RawPayloadArchive rawPayloadArchive;
+
+    /**
+     * Returns granted/rejected permits, queue depth and wait times per upstream
+     * and lane, response cache hit/miss/revalidate counters, the number of
+     * coalesced calls per client and raw archive counters.
+     *
+     * @return Upstream metrics keyed by section
+     */
+    @GetMapping("/stats")
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("rateLimits", rateLimiter.snapshot());
+        stats.put("responseCache", responseCache.snapshot());
+        Map<String, Object> singleFlight = new LinkedHashMap<>();
+        singleFlight.put(ergastClient.getSingleFlight().getName(), ergastClient.getSingleFlight().snapshot());
+        singleFlight.put(openF1Client.getSingleFlight().getName(), openF1Client.getSingleFlight().snapshot());
+        stats.put("singleFlight", singleFlight);
+        stats.put("circuitBreakers", Map.of("ergast", ergastClient.getCircuitBreakerState().name()));
+        stats.put("rawArchive", rawPayloadArchive.snapshot());
+        return stats;
+    }
+}
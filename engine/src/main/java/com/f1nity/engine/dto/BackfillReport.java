@@ -0,0 +1,95 @@
+package com.f1nity.engine.dto;
+
+/**
+ * Summary of a season backfill run, used to compare throughput between runs.
+ */
+public class BackfillReport {
+    private int fromSeason;
+    private int toSeason;
+    private int roundsProcessed;
+    private int roundsSkipped;
+    private int roundsFailed;
+    private int upstreamRequests;
+    private long wallClockMillis;
+    private double roundsPerSecond;
+
+    public BackfillReport() {
+    }
+
+    public BackfillReport(int fromSeason, int toSeason) {
+        this.fromSeason = fromSeason;
+        this.toSeason = toSeason;
+    }
+
+    public int getFromSeason() {
+        return fromSeason;
+    }
+
+    public void setFromSeason(int fromSeason) {
+        this.fromSeason = fromSeason;
+    }
+
+    public int getToSeason() {
+        return toSeason;
+    }
+
+    public void setToSeason(int toSeason) {
+        this.toSeason = toSeason;
+    }
+
+    public int getRoundsProcessed() {
+        return roundsProcessed;
+    }
+
+    public void setRoundsProcessed(int roundsProcessed) {
+        this.roundsProcessed = roundsProcessed;
+    }
+
+    public int getRoundsSkipped() {
+        return roundsSkipped;
+    }
+
+    public void setRoundsSkipped(int roundsSkipped) {
+        this.roundsSkipped = roundsSkipped;
+    }
+
+    public int getRoundsFailed() {
+        return roundsFailed;
+    }
+
+    public void setRoundsFailed(int roundsFailed) {
+        this.roundsFailed = roundsFailed;
+    }
+
+    public int getUpstreamRequests() {
+        return upstreamRequests;
+    }
+
+    public void setUpstreamRequests(int upstreamRequests) {
+        this.upstreamRequests = upstreamRequests;
+    }
+
+    public long getWallClockMillis() {
+        return wallClockMillis;
+    }
+
+    public void setWallClockMillis(long wallClockMillis) {
+        this.wallClockMillis = wallClockMillis;
+        this.roundsPerSecond = wallClockMillis > 0 ? roundsProcessed * 1000.0 / wallClockMillis : 0.0;
+    }
+
+    public double getRoundsPerSecond() {
+        return roundsPerSecond;
+    }
+
+    public void setRoundsPerSecond(double roundsPerSecond) {
+        this.roundsPerSecond = roundsPerSecond;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Backfill %d-%d: %d processed, %d skipped, %d failed, %d requests in %d ms (%.2f rounds/s)",
+                fromSeason, toSeason, roundsProcessed, roundsSkipped, roundsFailed, upstreamRequests,
+                wallClockMillis, roundsPerSecond);
+    }
+}
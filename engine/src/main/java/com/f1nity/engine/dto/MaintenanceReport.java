@@ -0,0 +1,66 @@
+package com.f1nity.engine.dto;
+
+/**
+ * Outcome of a server-side bulk maintenance operation: documents matched,
+ * modified and deleted, and how long the round-trip took.
+ */
+public class MaintenanceReport {
+    private String operation;
+    private long matched;
+    private long modified;
+    private long deleted;
+    private long durationMillis;
+
+    public MaintenanceReport() {
+    }
+
+    public MaintenanceReport(String operation) {
+        this.operation = operation;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public long getMatched() {
+        return matched;
+    }
+
+    public void setMatched(long matched) {
+        this.matched = matched;
+    }
+
+    public long getModified() {
+        return modified;
+    }
+
+    public void setModified(long modified) {
+        this.modified = modified;
+    }
+
+    public long getDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(long deleted) {
+        this.deleted = deleted;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    @Override
+    public String toString() {
+        return operation + ": matched " + matched + ", modified " + modified + ", deleted " + deleted + " in "
+                + durationMillis + " ms";
+    }
+}
@@ -0,0 +1,147 @@
+package com.f1nity.engine.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Summary of a career statistics recompute: what was read, what changed
+ * against the live collections and whether the result was swapped in.
+ */
+public class RecomputeReport {
+    // races | archive
+    private String source;
+    private int firstSeason;
+    private int lastSeason;
+    private List<Integer> missingSeasons = new ArrayList<>();
+    private int racesRead;
+    private int sessionsAggregated;
+    private int drivers;
+    private int constructors;
+    private int driversChanged;
+    private int constructorsChanged;
+    private boolean swapped;
+    private String message;
+    private long aggregateMillis;
+    private long wallClockMillis;
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public int getFirstSeason() {
+        return firstSeason;
+    }
+
+    public void setFirstSeason(int firstSeason) {
+        this.firstSeason = firstSeason;
+    }
+
+    public int getLastSeason() {
+        return lastSeason;
+    }
+
+    public void setLastSeason(int lastSeason) {
+        this.lastSeason = lastSeason;
+    }
+
+    public List<Integer> getMissingSeasons() {
+        return missingSeasons;
+    }
+
+    public void setMissingSeasons(List<Integer> missingSeasons) {
+        this.missingSeasons = missingSeasons;
+    }
+
+    public int getRacesRead() {
+        return racesRead;
+    }
+
+    public void setRacesRead(int racesRead) {
+        this.racesRead = racesRead;
+    }
+
+    public int getSessionsAggregated() {
+        return sessionsAggregated;
+    }
+
+    public void setSessionsAggregated(int sessionsAggregated) {
+        this.sessionsAggregated = sessionsAggregated;
+    }
+
+    public int getDrivers() {
+        return drivers;
+    }
+
+    public void setDrivers(int drivers) {
+        this.drivers = drivers;
+    }
+
+    public int getConstructors() {
+        return constructors;
+    }
+
+    public void setConstructors(int constructors) {
+        this.constructors = constructors;
+    }
+
+    public int getDriversChanged() {
+        return driversChanged;
+    }
+
+    public void setDriversChanged(int driversChanged) {
+        this.driversChanged = driversChanged;
+    }
+
+    public int getConstructorsChanged() {
+        return constructorsChanged;
+    }
+
+    public void setConstructorsChanged(int constructorsChanged) {
+        this.constructorsChanged = constructorsChanged;
+    }
+
+    public boolean isSwapped() {
+        return swapped;
+    }
+
+    public void setSwapped(boolean swapped) {
+        this.swapped = swapped;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public long getAggregateMillis() {
+        return aggregateMillis;
+    }
+
+    public void setAggregateMillis(long aggregateMillis) {
+        this.aggregateMillis = aggregateMillis;
+    }
+
+    public long getWallClockMillis() {
+        return wallClockMillis;
+    }
+
+    public void setWallClockMillis(long wallClockMillis) {
+        this.wallClockMillis = wallClockMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Recompute %d-%d from %s: %d races, %d sessions, %d/%d drivers and %d/%d constructors changed, "
+                + "aggregated in %d ms, %d ms total, swapped=%s%s",
+                firstSeason, lastSeason, source, racesRead, sessionsAggregated, driversChanged, drivers,
+                constructorsChanged, constructors, aggregateMillis, wallClockMillis, swapped,
+                message != null ? " (" + message + ")" : "");
+    }
+}
@@ -1,5 +1,7 @@
 package com.f1nity.engine.impl;
 
+import com.f1nity.engine.client.UpstreamRecorder;
+import com.f1nity.engine.scheduler.LeaderElection;
 import com.f1nity.engine.service.NewsService;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.f1nity.library.models.news.NewsArticle;
@@ -96,67 +98,45 @@ public class NewsServiceImpl implements NewsService {
     @Value("${news.query.keywords}")
     private String keywords;
 
-    @Value("${redis.url}")
-    private String redisUrl;
-
     @Value("${redis.ttl}")
     private int redisTtl;
 
     private WebClient webClient;
-    private JedisPool jedisPool;
+    private final JedisPool jedisPool;
     private final WebClient.Builder webClientBuilder;
+    private final UpstreamRecorder upstreamRecorder;
+    private final LeaderElection leaderElection;
     private final Gson gson;
     private static final String KEY_PREFIX = "f1nity:news:";
     private static final java.time.format.DateTimeFormatter DATE_FORMAT = java.time.format.DateTimeFormatter.ISO_LOCAL_DATE;
     private static final Logger logger = LoggerFactory.getLogger(NewsServiceImpl.class);
 
-    public NewsServiceImpl(WebClient.Builder webClientBuilder) {
+    public NewsServiceImpl(WebClient.Builder webClientBuilder, UpstreamRecorder upstreamRecorder,
+            LeaderElection leaderElection, JedisPool jedisPool) {
         this.webClientBuilder = webClientBuilder;
+        this.jedisPool = jedisPool;
+        this.upstreamRecorder = upstreamRecorder;
+        this.leaderElection = leaderElection;
         this.gson = new GsonBuilder()
                 .registerTypeAdapter(OffsetDateTime.class, new OffsetDateTimeAdapter())
                 .create();
     }
 
-    @Value("${redis.password:}")
-    private String redisPassword;
-
     @jakarta.annotation.PostConstruct
     public void init() {
-        this.webClient = webClientBuilder.baseUrl(apiUrl).build();
-        try {
-            String formattedUrl = redisUrl;
-            if (!formattedUrl.startsWith("redis://") && !formattedUrl.startsWith("rediss://")) {
-                formattedUrl = "redis://" + formattedUrl;
-            }
-            java.net.URI uri = java.net.URI.create(formattedUrl);
-
-            String password = redisPassword;
-            if (password == null || password.isEmpty()) {
-                // Try to get from URI if not in env prop
-                if (uri.getUserInfo() != null) {
-                    String[] parts = uri.getUserInfo().split(":");
-                    if (parts.length > 1)
-                        password = parts[1];
-                    else if (parts.length == 1)
-                        password = parts[0];
-                }
-            }
-
-            if (password != null && !password.isEmpty()) {
-                this.jedisPool = new JedisPool(new redis.clients.jedis.JedisPoolConfig(), uri.getHost(), uri.getPort(),
-                        2000, password);
-            } else {
-                this.jedisPool = new JedisPool(uri);
-            }
-
-            logger.info("Initialized Redis connection to {}", uri.getHost());
-        } catch (Exception e) {
-            logger.error("Failed to initialize Redis connection: {}", e.getMessage(), e);
-        }
+        // The recorder strips the apiKey query parameter before anything is written;
+        // the date range moves every day, so replay may serve another range
+        this.webClient = upstreamRecorder.apply(webClientBuilder.baseUrl(apiUrl), "newsapi", List.of("from", "to"))
+                .build();
     }
 
     @Scheduled(cron = "0 0 */4 * * *") // every 4 hours, adjust as needed
     public void updateLatestNewsCache() {
+        // The cache is shared in Redis; one instance refreshing it is enough
+        if (!leaderElection.isLeader()) {
+            logger.debug("[Scheduler] Not the leader, skipping news cache update");
+            return;
+        }
         try {
             String defaultTicker = "F1";
             // Today and yesterday
@@ -0,0 +1,158 @@
+package com.f1nity.engine.model;
+
+import java.util.concurrent.Future;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * One long-running admin operation submitted to the
+ * {@link com.f1nity.engine.service.JobService}.
+ * The running task reports progress and checks {@link #isCancelRequested()}
+ * between units of work (rounds, seasons); the fields are read concurrently by
+ * the status endpoint, hence volatile.
+ */
+public class Job {
+
+    public enum State {
+        QUEUED, RUNNING, SUCCEEDED, FAILED, CANCELLED
+    }
+
+    private final String id;
+    private final String type;
+    private final String key;
+    private final String group;
+    private final long submittedAt = System.currentTimeMillis();
+
+    private volatile State state = State.QUEUED;
+    private volatile long startedAt;
+    private volatile long finishedAt;
+    private volatile int done;
+    private volatile int total;
+    private volatile String message;
+    private volatile Object result;
+    private volatile String error;
+    private volatile boolean cancelRequested;
+    private volatile Future<?> future;
+
+    public Job(String id, String type, String key, String group) {
+        this.id = id;
+        this.type = type;
+        this.key = key;
+        this.group = group;
+    }
+
+    /**
+     * Reports progress in units of the job's own choosing, e.g. rounds or
+     * seasons.
+     */
+    public void progress(int done, int total, String message) {
+        this.done = done;
+        this.total = total;
+        this.message = message;
+    }
+
+    public boolean isActive() {
+        return state == State.QUEUED || state == State.RUNNING;
+    }
+
+    /**
+     * Linear estimate from the progress reported so far, or null before the
+     * first unit is done.
+     */
+    public Long getEtaMillis() {
+        if (state != State.RUNNING || done <= 0 || total <= done) {
+            return null;
+        }
+        long elapsed = System.currentTimeMillis() - startedAt;
+        return elapsed * (total - done) / done;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getGroup() {
+        return group;
+    }
+
+    public long getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public void setState(State state) {
+        this.state = state;
+    }
+
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(long startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public long getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(long finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public int getDone() {
+        return done;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public Object getResult() {
+        return result;
+    }
+
+    public void setResult(Object result) {
+        this.result = result;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    public void setCancelRequested(boolean cancelRequested) {
+        this.cancelRequested = cancelRequested;
+    }
+
+    @JsonIgnore
+    public Future<?> getFuture() {
+        return future;
+    }
+
+    public void setFuture(Future<?> future) {
+        this.future = future;
+    }
+}
@@ -0,0 +1,48 @@
+package com.f1nity.engine.model;
+
+/**
+ * One change pushed to live update subscribers. The payload is serialized
+ * once when the event is published and shared by every subscriber.
+ */
+public class LiveEvent {
+
+    public static final String RESULTS = "results";
+    public static final String STANDINGS = "standings";
+    public static final String RACE_STATUS = "race-status";
+
+    private final long id;
+    private final String type;
+    private final String json;
+
+    public LiveEvent(long id, String type, String json) {
+        this.id = id;
+        this.type = type;
+        this.json = json;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getJson() {
+        return json;
+    }
+
+    /**
+     * Relay wire format: id, type and payload on separate lines.
+     */
+    public String encode() {
+        return id + "\n" + type + "\n" + json;
+    }
+
+    public static LiveEvent decode(String message) {
+        int first = message.indexOf('\n');
+        int second = message.indexOf('\n', first + 1);
+        return new LiveEvent(Long.parseLong(message.substring(0, first)), message.substring(first + 1, second),
+                message.substring(second + 1));
+    }
+}
@@ -0,0 +1,90 @@
+package com.f1nity.engine.model;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.f1nity.library.models.engine.Race;
+import com.f1nity.library.models.engine.Result;
+
+/**
+ * Everything fetched for one round: the race (with its classification),
+ * qualifying and sprint results. Qualifying and sprint are optional; when
+ * fetching one of them failed the error is kept in {@link #getFailures()}
+ * and its results are empty. A {@link #RACE} failure is only recorded by
+ * callers that keep going past a failed round.
+ */
+public class RoundBundle {
+
+    public static final String RACE = "race";
+    public static final String QUALIFYING = "qualifying";
+    public static final String SPRINT = "sprint";
+
+    private final int season;
+    private final String round;
+    private Race race;
+    private List<Result> qualifyingResults = Collections.emptyList();
+    private List<Result> sprintResults = Collections.emptyList();
+    private final Map<String, String> failures = new LinkedHashMap<>();
+
+    public RoundBundle(int season, String round) {
+        this.season = season;
+        this.round = round;
+    }
+
+    /**
+     * True when the race has a classification; rounds that have not been run
+     * yet come back without one.
+     */
+    public boolean hasResults() {
+        return race != null && race.getResults() != null && !race.getResults().isEmpty();
+    }
+
+    public List<Result> getRaceResults() {
+        return hasResults() ? race.getResults() : Collections.emptyList();
+    }
+
+    public int getSeason() {
+        return season;
+    }
+
+    public String getRound() {
+        return round;
+    }
+
+    public Race getRace() {
+        return race;
+    }
+
+    public void setRace(Race race) {
+        this.race = race;
+    }
+
+    public List<Result> getQualifyingResults() {
+        return qualifyingResults;
+    }
+
+    public void setQualifyingResults(List<Result> qualifyingResults) {
+        this.qualifyingResults = qualifyingResults != null ? qualifyingResults : Collections.emptyList();
+    }
+
+    public List<Result> getSprintResults() {
+        return sprintResults;
+    }
+
+    public void setSprintResults(List<Result> sprintResults) {
+        this.sprintResults = sprintResults != null ? sprintResults : Collections.emptyList();
+    }
+
+    /**
+     * Error message per optional session that could not be fetched.
+     */
+    public Map<String, String> getFailures() {
+        return failures;
+    }
+
+    public void addFailure(String session, String message) {
+        failures.put(session, message);
+    }
+}
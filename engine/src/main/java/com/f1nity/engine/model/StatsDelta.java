@@ -0,0 +1,263 @@
+package com.f1nity.engine.model;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import com.f1nity.library.models.engine.Result;
+
+/**
+ * Career statistic increments produced by one or more sessions.
+ * Deltas are computed without touching the database so rounds can be
+ * processed independently and applied later in a deterministic order.
+ */
+public class StatsDelta {
+
+    private final Map<String, Counters> drivers = new TreeMap<>();
+    private final Map<String, Counters> constructors = new TreeMap<>();
+
+    /**
+     * Builds the delta for a Grand Prix classification. Mirrors the rules used by
+     * the serial ingestion loop: wins/podiums from finishing order, points,
+     * fastest lap and one race start per driver and per constructor.
+     */
+    public static StatsDelta fromRaceResults(List<Result> results) {
+        StatsDelta delta = new StatsDelta();
+        if (results == null) {
+            return delta;
+        }
+        Set<String> constructorsCounted = new HashSet<>();
+        for (int i = 0; i < results.size(); i++) {
+            Result result = results.get(i);
+            if (result.getDriver() == null || result.getConstructor() == null) {
+                continue;
+            }
+            String constructorId = result.getConstructor().getConstructorId();
+            Counters driver = delta.driver(result.getDriver().getDriverId());
+            Counters constructor = delta.constructor(constructorId);
+
+            if (i == 0) {
+                driver.wins++;
+                constructor.wins++;
+            }
+            if (i < 3) {
+                driver.podiums++;
+                constructor.podiums++;
+            }
+            double points = parsePoints(result.getPoints());
+            driver.points += points;
+            constructor.points += points;
+
+            if (result.getFastestLap() != null && "1".equals(result.getFastestLap().getRank())) {
+                driver.fastestLaps++;
+                constructor.fastestLaps++;
+            }
+
+            driver.totalRaces++;
+            if (constructorsCounted.add(constructorId)) {
+                constructor.totalRaces++;
+            }
+        }
+        return delta;
+    }
+
+    /**
+     * Builds the delta for a sprint classification. Sprints add points and count
+     * as a start for the driver; only drivers track sprint wins and podiums.
+     */
+    public static StatsDelta fromSprintResults(List<Result> results) {
+        StatsDelta delta = new StatsDelta();
+        if (results == null) {
+            return delta;
+        }
+        for (int i = 0; i < results.size(); i++) {
+            Result result = results.get(i);
+            if (result.getDriver() == null || result.getConstructor() == null) {
+                continue;
+            }
+            Counters driver = delta.driver(result.getDriver().getDriverId());
+            Counters constructor = delta.constructor(result.getConstructor().getConstructorId());
+
+            double points = parsePoints(result.getPoints());
+            driver.points += points;
+            constructor.points += points;
+
+            driver.totalRaces++;
+            driver.sprintRaces++;
+            if (i == 0) {
+                driver.sprintWins++;
+            }
+            if (i < 3) {
+                driver.sprintPodiums++;
+            }
+        }
+        return delta;
+    }
+
+    /**
+     * Builds the delta for a qualifying classification (pole position only).
+     */
+    public static StatsDelta fromQualifyingResults(List<Result> results) {
+        StatsDelta delta = new StatsDelta();
+        if (results == null || results.isEmpty()) {
+            return delta;
+        }
+        Result pole = results.get(0);
+        if ("1".equals(pole.getPosition()) && pole.getDriver() != null && pole.getConstructor() != null) {
+            delta.driver(pole.getDriver().getDriverId()).poles++;
+            delta.constructor(pole.getConstructor().getConstructorId()).poles++;
+        }
+        return delta;
+    }
+
+    /**
+     * Adds every counter of {@code other} into this delta.
+     *
+     * @return this delta, for chaining
+     */
+    public StatsDelta merge(StatsDelta other) {
+        if (other != null) {
+            other.drivers.forEach((id, c) -> driver(id).add(c));
+            other.constructors.forEach((id, c) -> constructor(id).add(c));
+        }
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return drivers.isEmpty() && constructors.isEmpty();
+    }
+
+    /**
+     * Driver counters as {@code $inc} field amounts keyed by driver id, in the
+     * shape expected by {@code DriverRepository.incrementStats}.
+     */
+    public Map<String, Map<String, Number>> driverIncrements() {
+        Map<String, Map<String, Number>> increments = new TreeMap<>();
+        drivers.forEach((id, c) -> {
+            Map<String, Number> fields = new LinkedHashMap<>();
+            fields.put("wins", c.wins);
+            fields.put("podiums", c.podiums);
+            fields.put("points", c.points);
+            fields.put("poles", c.poles);
+            fields.put("fastestLaps", c.fastestLaps);
+            fields.put("totalRaces", c.totalRaces);
+            fields.put("sprintWins", c.sprintWins);
+            fields.put("sprintPodiums", c.sprintPodiums);
+            fields.put("sprintRaces", c.sprintRaces);
+            increments.put(id, fields);
+        });
+        return increments;
+    }
+
+    /**
+     * Constructor counters as {@code $inc} field amounts keyed by constructor id.
+     */
+    public Map<String, Map<String, Number>> constructorIncrements() {
+        Map<String, Map<String, Number>> increments = new TreeMap<>();
+        constructors.forEach((id, c) -> {
+            Map<String, Number> fields = new LinkedHashMap<>();
+            fields.put("wins", c.wins);
+            fields.put("podiums", c.podiums);
+            fields.put("points", c.points);
+            fields.put("polePositions", c.poles);
+            fields.put("fastestLaps", c.fastestLaps);
+            fields.put("totalRaces", c.totalRaces);
+            increments.put(id, fields);
+        });
+        return increments;
+    }
+
+    public Map<String, Counters> getDrivers() {
+        return drivers;
+    }
+
+    public Map<String, Counters> getConstructors() {
+        return constructors;
+    }
+
+    private Counters driver(String driverId) {
+        return drivers.computeIfAbsent(driverId, k -> new Counters());
+    }
+
+    private Counters constructor(String constructorId) {
+        return constructors.computeIfAbsent(constructorId, k -> new Counters());
+    }
+
+    private static double parsePoints(String points) {
+        if (points == null || points.isEmpty()) {
+            return 0.0;
+        }
+        try {
+            return Double.parseDouble(points);
+        } catch (NumberFormatException e) {
+            return 0.0;
+        }
+    }
+
+    /**
+     * Counter increments for a single driver or constructor.
+     * For constructors {@code poles} maps onto {@code polePositions}.
+     */
+    public static class Counters {
+        private int wins;
+        private int podiums;
+        private double points;
+        private int poles;
+        private int fastestLaps;
+        private int totalRaces;
+        private int sprintWins;
+        private int sprintPodiums;
+        private int sprintRaces;
+
+        public void add(Counters other) {
+            wins += other.wins;
+            podiums += other.podiums;
+            points += other.points;
+            poles += other.poles;
+            fastestLaps += other.fastestLaps;
+            totalRaces += other.totalRaces;
+            sprintWins += other.sprintWins;
+            sprintPodiums += other.sprintPodiums;
+            sprintRaces += other.sprintRaces;
+        }
+
+        public int getWins() {
+            return wins;
+        }
+
+        public int getPodiums() {
+            return podiums;
+        }
+
+        public double getPoints() {
+            return points;
+        }
+
+        public int getPoles() {
+            return poles;
+        }
+
+        public int getFastestLaps() {
+            return fastestLaps;
+        }
+
+        public int getTotalRaces() {
+            return totalRaces;
+        }
+
+        public int getSprintWins() {
+            return sprintWins;
+        }
+
+        public int getSprintPodiums() {
+            return sprintPodiums;
+        }
+
+        public int getSprintRaces() {
+            return sprintRaces;
+        }
+    }
+}
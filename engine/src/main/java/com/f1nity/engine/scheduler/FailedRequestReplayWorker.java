@@ -0,0 +1,235 @@
+package com.f1nity.engine.scheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import com.f1nity.engine.client.UpstreamRateLimiter;
+import com.f1nity.engine.service.DataIngestionService;
+import com.f1nity.engine.service.SeasonBackfillService;
+import com.f1nity.library.models.engine.FailedRequest;
+import com.f1nity.library.repository.engine.FailedRequestRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Background replay of {@link FailedRequest} records.
+ * Every tick claims a batch of due failures, groups them by season and round
+ * and repairs each round once through {@link SeasonBackfillService#repairRound}.
+ * Failed attempts are rescheduled with exponential backoff per record and
+ * dead-lettered after {@code failed-requests.replay.max-attempts}.
+ * Replay blocks on rate-limited upstream calls in the backfill lane, so it runs
+ * on its own thread rather than the race scheduler pool that serves race-day
+ * polls.
+ */
+@Component
+public class FailedRequestReplayWorker {
+
+    private static final int CURRENT_SEASON = 2026;
+
+    @Autowired
+    private FailedRequestRepository failedRequestRepo;
+
+    @Autowired
+    private SeasonBackfillService seasonBackfillService;
+
+    @Autowired
+    private DataIngestionService dataIngestionService;
+
+    @Autowired
+    private LeaderElection leaderElection;
+
+    @Value("${failed-requests.replay.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${failed-requests.replay.initial-delay-ms:30000}")
+    private long initialDelayMs = 30000;
+
+    @Value("${failed-requests.replay.interval-ms:15000}")
+    private long intervalMs = 15000;
+
+    @Value("${failed-requests.replay.batch-size:20}")
+    private int batchSize = 20;
+
+    @Value("${failed-requests.replay.max-attempts:5}")
+    private int maxAttempts = 5;
+
+    @Value("${failed-requests.replay.backoff-min:30s}")
+    private Duration backoffMin = Duration.ofSeconds(30);
+
+    @Value("${failed-requests.replay.backoff-max:30m}")
+    private Duration backoffMax = Duration.ofMinutes(30);
+
+    @Value("${failed-requests.replay.lease:5m}")
+    private Duration lease = Duration.ofMinutes(5);
+
+    private final AtomicLong roundsRepaired = new AtomicLong();
+    private final AtomicLong retriesScheduled = new AtomicLong();
+    private final AtomicLong deadLettered = new AtomicLong();
+
+    private ScheduledExecutorService executor;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "failed-request-replay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::tick, initialDelayMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    void tick() {
+        // Followers leave replay to the leader
+        if (!enabled || !leaderElection.isLeader()) {
+            return;
+        }
+        try {
+            replayBatch();
+        } catch (Exception e) {
+            System.err.println("Failed request replay failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Claims and replays one batch.
+     *
+     * @return number of rounds repaired
+     */
+    public int replayBatch() {
+        List<FailedRequest> claimed = failedRequestRepo.claimBatch(batchSize, lease.toMillis());
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        // season -> round -> records; a round with race and sprint failures is fetched once
+        Map<Integer, Map<Integer, List<FailedRequest>>> bySeason = new TreeMap<>();
+        List<FailedRequest> updated = new ArrayList<>();
+        for (FailedRequest request : claimed) {
+            Integer round = parseRound(request.getRound());
+            if (round == null) {
+                request.setError("Unparseable round " + request.getRound());
+                deadLetter(request);
+                updated.add(request);
+                continue;
+            }
+            bySeason.computeIfAbsent(request.getYear(), k -> new TreeMap<>())
+                    .computeIfAbsent(round, k -> new ArrayList<>()).add(request);
+        }
+
+        int repaired = 0;
+        boolean currentSeasonRepaired = false;
+        for (Map.Entry<Integer, Map<Integer, List<FailedRequest>>> season : bySeason.entrySet()) {
+            for (Map.Entry<Integer, List<FailedRequest>> round : season.getValue().entrySet()) {
+                String context = "year " + season.getKey() + ", round " + round.getKey();
+                String error;
+                try {
+                    // Repairs must not compete with live polls for permits
+                    boolean found = UpstreamRateLimiter.withPriority(UpstreamRateLimiter.Priority.BACKFILL,
+                            () -> seasonBackfillService.repairRound(season.getKey(), round.getKey()));
+                    error = found ? null : "No results upstream yet";
+                } catch (RuntimeException e) {
+                    error = e.getMessage();
+                }
+                for (FailedRequest request : round.getValue()) {
+                    if (error == null) {
+                        request.setProcessed(true);
+                        request.setClaimedUntil(0);
+                    } else {
+                        request.setError(error);
+                        retryLater(request);
+                    }
+                    updated.add(request);
+                }
+                if (error == null) {
+                    System.out.println("Replayed failed request(s) for " + context);
+                    roundsRepaired.incrementAndGet();
+                    repaired++;
+                    currentSeasonRepaired |= season.getKey() >= CURRENT_SEASON;
+                } else {
+                    System.err.println("Replay failed for " + context + ": " + error);
+                }
+            }
+        }
+        failedRequestRepo.saveAll(updated);
+
+        if (currentSeasonRepaired) {
+            dataIngestionService.updateStandings();
+        }
+        return repaired;
+    }
+
+    private void retryLater(FailedRequest request) {
+        request.setAttempts(request.getAttempts() + 1);
+        if (request.getAttempts() >= maxAttempts) {
+            deadLetter(request);
+            return;
+        }
+        request.setNextAttemptAt(System.currentTimeMillis() + backoff(request.getAttempts()).toMillis());
+        request.setClaimedUntil(0);
+        retriesScheduled.incrementAndGet();
+    }
+
+    private void deadLetter(FailedRequest request) {
+        request.setDead(true);
+        request.setClaimedUntil(0);
+        deadLettered.incrementAndGet();
+        System.err.println("Failed request " + request.getId() + " (" + request.getYear() + "/"
+                + request.getRound() + " " + request.getType() + ") moved to dead state");
+    }
+
+    /**
+     * backoffMin * 2^(attempts - 1), capped at backoffMax.
+     */
+    Duration backoff(int attempts) {
+        Duration delay = backoffMin.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(backoffMax) > 0 ? backoffMax : delay;
+    }
+
+    private static Integer parseRound(String round) {
+        try {
+            return round != null ? Integer.valueOf(round.trim()) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Queue depth, age of the oldest pending failure and replay counters.
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("pending", failedRequestRepo.countPending());
+        map.put("dead", failedRequestRepo.countByDeadTrue());
+        List<FailedRequest> oldest = failedRequestRepo.findPending(PageRequest.of(0, 1));
+        map.put("oldestPendingAgeMillis",
+                oldest.isEmpty() ? 0L : System.currentTimeMillis() - oldest.get(0).getTimestamp());
+        map.put("roundsRepaired", roundsRepaired.get());
+        map.put("retriesScheduled", retriesScheduled.get());
+        map.put("deadLettered", deadLettered.get());
+        return map;
+    }
+}
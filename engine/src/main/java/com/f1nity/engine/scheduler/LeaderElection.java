@@ -0,0 +1,236 @@
+package com.f1nity.engine.scheduler;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.f1nity.library.models.engine.Lease;
+import com.f1nity.library.repository.engine.LeaseRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Elects one engine instance to run scheduled and ingestion work, through a
+ * lease document in Mongo ({@code leader.lease-name}). Every instance tries to
+ * take or renew the lease each {@code leader.renew-interval}; the holder stays
+ * leader while it renews within {@code leader.ttl}. A leader that dies is
+ * replaced one TTL later at most, and one that shuts down cleanly releases
+ * the lease so another instance takes over on its next tick.
+ * <p>
+ * Each change of holder increments the lease token. Work that must not run
+ * twice calls {@link #fence()} before writing: a leader that was paused past
+ * its TTL finds its token superseded and stops. Listeners are called on the
+ * lease thread and must hand long work off.
+ */
+@Component
+public class LeaderElection {
+
+    @Autowired
+    private LeaseRepository leaseRepository;
+
+    /**
+     * When disabled every instance considers itself leader, as before.
+     */
+    @Value("${leader.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${leader.lease-name:engine-leader}")
+    private String leaseName = "engine-leader";
+
+    @Value("${leader.ttl:15s}")
+    private Duration ttl = Duration.ofSeconds(15);
+
+    @Value("${leader.renew-interval:5s}")
+    private Duration renewInterval = Duration.ofSeconds(5);
+
+    private final String instanceId = instanceId();
+
+    private final List<Runnable> electedListeners = new CopyOnWriteArrayList<>();
+    private final List<Runnable> demotedListeners = new CopyOnWriteArrayList<>();
+
+    private ScheduledExecutorService executor;
+
+    private volatile boolean leader;
+    private volatile long token;
+    // Local deadline for leadership, counted from before the renewal was sent
+    private volatile long validUntil;
+    private volatile long electedAt;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            System.out.println("Leader election disabled; this instance runs all scheduled work.");
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "leader-lease");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::tick, 0, renewInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Takes or renews the lease once and notifies listeners of any change.
+     */
+    void tick() {
+        long sentAt = System.currentTimeMillis();
+        Lease lease;
+        try {
+            lease = leaseRepository.acquireOrRenew(leaseName, instanceId, ttl.toMillis());
+        } catch (RuntimeException e) {
+            // Keep leading until the lease would have expired anyway
+            System.err.println("Leader lease renewal failed: " + e.getMessage());
+            if (leader && System.currentTimeMillis() >= validUntil) {
+                demote("lease expired without renewal");
+            }
+            return;
+        }
+        if (lease == null) {
+            if (leader) {
+                demote("lease taken over");
+            }
+            return;
+        }
+        validUntil = sentAt + ttl.toMillis();
+        if (!leader || token != lease.getToken()) {
+            token = lease.getToken();
+            electedAt = System.currentTimeMillis();
+            leader = true;
+            System.out.println("Elected leader " + instanceId + " with token " + token);
+            notify(electedListeners);
+        }
+    }
+
+    private void demote(String reason) {
+        leader = false;
+        System.out.println("Instance " + instanceId + " is no longer leader: " + reason);
+        notify(demotedListeners);
+    }
+
+    private void notify(List<Runnable> listeners) {
+        for (Runnable listener : listeners) {
+            try {
+                listener.run();
+            } catch (RuntimeException e) {
+                System.err.println("Leader listener failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Whether this instance leads, by its own clock; no database round trip.
+     */
+    public boolean isLeader() {
+        return !enabled || (leader && System.currentTimeMillis() < validUntil);
+    }
+
+    /**
+     * Confirms against the lease document that this instance still holds the
+     * lease with its token.
+     *
+     * @throws IllegalStateException if another instance took over
+     */
+    public void fence() {
+        if (!enabled) {
+            return;
+        }
+        if (!isLeader() || !leaseRepository.isHeld(leaseName, instanceId, token)) {
+            throw new IllegalStateException("Instance " + instanceId + " no longer holds lease " + leaseName
+                    + " with token " + token);
+        }
+    }
+
+    /**
+     * Runs {@code listener} whenever this instance becomes leader, and right
+     * away if it already is.
+     */
+    public void onElected(Runnable listener) {
+        electedListeners.add(listener);
+        if (isLeader()) {
+            listener.run();
+        }
+    }
+
+    public void onDemoted(Runnable listener) {
+        demotedListeners.add(listener);
+    }
+
+    /**
+     * The instance holding the lease, or null if it is free or unknown.
+     */
+    public String getLeaderId() {
+        if (!enabled || isLeader()) {
+            return instanceId;
+        }
+        try {
+            return leaseRepository.findById(leaseName)
+                    .filter(lease -> lease.getExpiresAt() > System.currentTimeMillis())
+                    .map(Lease::getHolder).orElse(null);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public long getToken() {
+        return token;
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("enabled", enabled);
+        map.put("instanceId", instanceId);
+        map.put("leader", isLeader());
+        if (enabled && isLeader()) {
+            map.put("token", token);
+            map.put("electedAt", electedAt);
+        }
+        return map;
+    }
+
+    /**
+     * Gives the lease up so another instance takes over without waiting for
+     * the TTL.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        if (leader) {
+            leader = false;
+            try {
+                leaseRepository.release(leaseName, instanceId, token);
+                System.out.println("Released leader lease " + leaseName + " with token " + token);
+            } catch (RuntimeException e) {
+                System.err.println("Leader lease release failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private static String instanceId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
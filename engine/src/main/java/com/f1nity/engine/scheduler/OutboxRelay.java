@@ -0,0 +1,327 @@
+package com.f1nity.engine.scheduler;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.errors.RecordTooLargeException;
+import org.apache.kafka.common.errors.SerializationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import com.f1nity.library.models.engine.OutboxEvent;
+import com.f1nity.library.repository.engine.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Publishes {@link OutboxEvent} records to the {@code outbox.topic} Kafka
+ * topic, keyed by season-round so each round's events share a partition.
+ * Runs on the leader only, on its own thread so a slow or unreachable broker
+ * never delays the race scheduler. Every tick claims a batch, sends it all
+ * before waiting so the producer can batch and compress it (see
+ * {@code spring.kafka.producer}), then deletes what was acknowledged.
+ * <p>
+ * Events of one key are published in creation order: a failed event holds
+ * back the later events of its key, in the batch and in later claims, until
+ * it is published. If the broker cannot be reached the rest of the batch
+ * waits with it. Failures are retried with exponential backoff and an event
+ * is dead after {@code outbox.relay.max-attempts}, or at once if it can never
+ * be published. Delivery is at least once, so consumers dedupe on the event
+ * id.
+ */
+@Component
+public class OutboxRelay {
+
+    @Autowired
+    private OutboxEventRepository outboxRepo;
+
+    @Autowired
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Autowired
+    private LeaderElection leaderElection;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${outbox.relay.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${outbox.topic:f1nity.engine.events}")
+    private String topic = "f1nity.engine.events";
+
+    @Value("${outbox.relay.initial-delay-ms:10000}")
+    private long initialDelayMs = 10000;
+
+    @Value("${outbox.relay.interval-ms:1000}")
+    private long intervalMs = 1000;
+
+    @Value("${outbox.relay.batch-size:100}")
+    private int batchSize = 100;
+
+    @Value("${outbox.relay.lease:1m}")
+    private Duration lease = Duration.ofMinutes(1);
+
+    @Value("${outbox.relay.send-timeout:30s}")
+    private Duration sendTimeout = Duration.ofSeconds(30);
+
+    @Value("${outbox.relay.backoff-max:5m}")
+    private Duration backoffMax = Duration.ofMinutes(5);
+
+    @Value("${outbox.relay.max-attempts:10}")
+    private int maxAttempts = 10;
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong deadLettered = new AtomicLong();
+
+    private ScheduledExecutorService executor;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            IndexOperations indexOps = mongoTemplate.indexOps(OutboxEvent.class);
+            new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext())
+                    .resolveIndexFor(OutboxEvent.class).forEach(indexOps::ensureIndex);
+        } catch (RuntimeException e) {
+            System.err.println("Could not create outbox indexes: " + e.getMessage());
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::tick, initialDelayMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    void tick() {
+        if (!enabled || !leaderElection.isLeader()) {
+            return;
+        }
+        try {
+            // Drain a backlog without waiting a tick, as long as every event goes out
+            int sent;
+            do {
+                sent = relayBatch();
+            } while (sent == batchSize && leaderElection.isLeader());
+        } catch (Exception e) {
+            System.err.println("Outbox relay failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Claims and publishes one batch.
+     *
+     * @return number of events published
+     */
+    public int relayBatch() {
+        List<OutboxEvent> claimed = outboxRepo.claimBatch(batchSize, lease.toMillis());
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        Map<OutboxEvent, CompletableFuture<SendResult<String, String>>> sends = new LinkedHashMap<>();
+        Set<String> failedKeys = new HashSet<>();
+        List<OutboxEvent> retry = new ArrayList<>();
+        List<OutboxEvent> held = new ArrayList<>();
+        OutboxEvent brokerFailure = null;
+        for (OutboxEvent event : claimed) {
+            if (brokerFailure != null || failedKeys.contains(event.getKey())) {
+                held.add(event);
+                continue;
+            }
+            CompletableFuture<SendResult<String, String>> send;
+            try {
+                send = kafkaTemplate.send(record(event));
+            } catch (RuntimeException e) {
+                send = CompletableFuture.failedFuture(e);
+            }
+            if (!send.isCompletedExceptionally()) {
+                sends.put(event, send);
+                continue;
+            }
+            // A metadata or buffer timeout fails the send right away: the broker is unreachable
+            Throwable error = unwrap(send.handle((result, e) -> e).join());
+            retry.add(fail(event, error, failedKeys));
+            if (!isPoison(error)) {
+                brokerFailure = event;
+            }
+        }
+        if (!sends.isEmpty()) {
+            kafkaTemplate.flush();
+        }
+
+        List<String> acknowledged = new ArrayList<>();
+        long deadline = System.nanoTime() + sendTimeout.toNanos();
+        for (Map.Entry<OutboxEvent, CompletableFuture<SendResult<String, String>>> send : sends.entrySet()) {
+            OutboxEvent event = send.getKey();
+            Throwable error;
+            try {
+                send.getValue().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                error = null;
+            } catch (ExecutionException e) {
+                error = unwrap(e);
+            } catch (TimeoutException e) {
+                error = new TimeoutException("Send timed out");
+            } catch (InterruptedException e) {
+                // Unacknowledged events are claimable again once the lease ends
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (error != null) {
+                retry.add(fail(event, error, failedKeys));
+            } else if (failedKeys.contains(event.getKey())) {
+                // Published after an earlier event of its key failed: publish it again after that one
+                held.add(event);
+            } else {
+                acknowledged.add(event.getId());
+            }
+        }
+
+        // Claimable again but held back by the failed event of their key, or left
+        // alone while the broker is down
+        long resumeAt = brokerFailure != null
+                ? System.currentTimeMillis() + backoff(brokerFailure.getAttempts()).toMillis()
+                : 0;
+        for (OutboxEvent event : held) {
+            event.setClaimedUntil(failedKeys.contains(event.getKey()) ? 0 : resumeAt);
+        }
+        retry.addAll(held);
+        if (!acknowledged.isEmpty()) {
+            outboxRepo.deleteAllById(acknowledged);
+            published.addAndGet(acknowledged.size());
+        }
+        if (!retry.isEmpty()) {
+            outboxRepo.saveAll(retry);
+            System.err.println("Outbox relay: " + (claimed.size() - acknowledged.size()) + " of " + claimed.size()
+                    + " events not published" + (brokerFailure != null ? ", broker unreachable: "
+                            + brokerFailure.getLastError() : ""));
+        }
+        return acknowledged.size();
+    }
+
+    /**
+     * Schedules a retry, or moves the event to dead state. A retried event
+     * holds back the rest of its key.
+     */
+    private OutboxEvent fail(OutboxEvent event, Throwable error, Set<String> failedKeys) {
+        event.setAttempts(event.getAttempts() + 1);
+        event.setLastError(error.getMessage());
+        failed.incrementAndGet();
+        if (isPoison(error) || event.getAttempts() >= maxAttempts) {
+            event.setDead(true);
+            deadLettered.incrementAndGet();
+            System.err.println("Outbox event " + event.getId() + " (" + event.getType() + " " + event.getKey()
+                    + ") moved to dead state after " + event.getAttempts() + " attempts: " + error.getMessage());
+        } else {
+            event.setClaimedUntil(System.currentTimeMillis() + backoff(event.getAttempts()).toMillis());
+            failedKeys.add(event.getKey());
+        }
+        return event;
+    }
+
+    /**
+     * Errors no retry can fix: an unreadable payload, or a record the broker
+     * will never accept.
+     */
+    private static boolean isPoison(Throwable error) {
+        return error instanceof UnpublishableEventException || error instanceof RecordTooLargeException
+                || error instanceof SerializationException;
+    }
+
+    /**
+     * The producer's error without the future and KafkaTemplate wrappers.
+     */
+    private static Throwable unwrap(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException
+                || error instanceof KafkaException) && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+
+    private ProducerRecord<String, String> record(OutboxEvent event) {
+        ProducerRecord<String, String> record = new ProducerRecord<>(topic, null, event.getCreatedAt(),
+                event.getKey(), envelope(event));
+        record.headers().add("eventType", event.getType().getBytes(StandardCharsets.UTF_8));
+        record.headers().add("eventId", event.getId().getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+
+    /**
+     * The event id, type, key and creation time around the payload.
+     */
+    private String envelope(OutboxEvent event) {
+        try {
+            ObjectNode node = objectMapper.createObjectNode();
+            node.put("id", event.getId());
+            node.put("type", event.getType());
+            node.put("key", event.getKey());
+            node.put("occurredAt", event.getCreatedAt());
+            node.set("payload", objectMapper.readTree(event.getPayload()));
+            return objectMapper.writeValueAsString(node);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            throw new UnpublishableEventException("Unreadable payload in outbox event " + event.getId(), e);
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration backoff = Duration.ofSeconds(1L << Math.min(attempts, 20));
+        return backoff.compareTo(backoffMax) > 0 ? backoffMax : backoff;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("published", published.get());
+        map.put("failed", failed.get());
+        map.put("deadLettered", deadLettered.get());
+        map.put("pending", outboxRepo.count());
+        map.put("dead", outboxRepo.countByDeadTrue());
+        return map;
+    }
+
+    private static class UnpublishableEventException extends IllegalStateException {
+        UnpublishableEventException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
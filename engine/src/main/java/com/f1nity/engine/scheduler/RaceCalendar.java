@@ -0,0 +1,190 @@
+package com.f1nity.engine.scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+import com.f1nity.engine.service.IngestionLedger;
+import com.f1nity.library.models.engine.Race;
+
+/**
+ * The results-bearing sessions of a season (qualifying, sprint and race),
+ * indexed by start time. Built from the season's races in one pass, so date and
+ * time strings are parsed once per build rather than on every scheduling
+ * decision. Tracks which sessions still wait for results: a session is done once
+ * its results are stored, and every session of a round is done once the race is.
+ */
+public class RaceCalendar {
+
+    public enum SessionType {
+        QUALIFYING(IngestionLedger.QUALIFYING, Duration.ofHours(1)),
+        SPRINT(IngestionLedger.SPRINT, Duration.ofHours(1)),
+        RACE(IngestionLedger.RACE, Duration.ofHours(2));
+
+        private final String ledgerSession;
+        private final Duration duration;
+
+        SessionType(String ledgerSession, Duration duration) {
+            this.ledgerSession = ledgerSession;
+            this.duration = duration;
+        }
+
+        public String getLedgerSession() {
+            return ledgerSession;
+        }
+    }
+
+    /**
+     * One session and its polling state. Only touched by the scheduler.
+     */
+    public static class Session {
+        private final String season;
+        private final String round;
+        private final String raceName;
+        private final SessionType type;
+        private final Instant start;
+        private boolean done;
+        private int polls;
+        private Instant lastPolledAt;
+
+        Session(String season, String round, String raceName, SessionType type, Instant start, boolean done) {
+            this.season = season;
+            this.round = round;
+            this.raceName = raceName;
+            this.type = type;
+            this.start = start;
+            this.done = done;
+        }
+
+        public String getSeason() {
+            return season;
+        }
+
+        public String getRound() {
+            return round;
+        }
+
+        public String getRaceName() {
+            return raceName;
+        }
+
+        public SessionType getType() {
+            return type;
+        }
+
+        public Instant getStart() {
+            return start;
+        }
+
+        public Instant getEnd() {
+            return start.plus(type.duration);
+        }
+
+        public int getPolls() {
+            return polls;
+        }
+
+        /**
+         * First poll {@code initial} after the session ends, then doubling up
+         * to {@code max} between polls.
+         */
+        Instant nextPollAt(Duration initial, Duration max) {
+            if (lastPolledAt == null) {
+                return getEnd().plus(initial);
+            }
+            Duration backoff = initial.multipliedBy(1L << Math.min(polls - 1, 20));
+            return lastPolledAt.plus(backoff.compareTo(max) > 0 ? max : backoff);
+        }
+
+        void polled(Instant at) {
+            polls++;
+            lastPolledAt = at;
+        }
+
+        @Override
+        public String toString() {
+            return raceName + " " + type + " (" + season + " round " + round + ", " + start + ")";
+        }
+    }
+
+    private final NavigableMap<Instant, Session> sessions = new TreeMap<>();
+    // Rounds whose race results are stored; their other sessions are covered
+    private final Set<String> roundsDone = new HashSet<>();
+
+    public static RaceCalendar build(List<Race> races) {
+        RaceCalendar calendar = new RaceCalendar();
+        for (Race race : races) {
+            if (race.getStandingsUpdated()) {
+                calendar.roundsDone.add(race.getRound());
+            }
+            calendar.add(race, SessionType.RACE, race.getDate(), race.getTime(), race.getStandingsUpdated());
+            if (race.getQualifying() != null) {
+                calendar.add(race, SessionType.QUALIFYING, race.getQualifying().getDate(),
+                        race.getQualifying().getTime(), hasResults(race.getQualifyingResults()));
+            }
+            if (race.getSprint() != null) {
+                calendar.add(race, SessionType.SPRINT, race.getSprint().getDate(), race.getSprint().getTime(),
+                        hasResults(race.getSprintResults()));
+            }
+        }
+        return calendar;
+    }
+
+    private void add(Race race, SessionType type, String date, String time, boolean done) {
+        if (date == null || time == null) {
+            return;
+        }
+        try {
+            Instant start = LocalDate.parse(date).atTime(LocalTime.parse(time.replace("Z", "")))
+                    .toInstant(ZoneOffset.UTC);
+            sessions.put(start, new Session(race.getSeason(), race.getRound(), race.getRaceName(), type, start, done));
+        } catch (RuntimeException e) {
+            System.err.println("Error parsing " + type + " date/time of " + race.getRaceName() + ": " + date + " "
+                    + time);
+        }
+    }
+
+    /**
+     * The earliest session still waiting for results. Qualifying and sprint
+     * sessions that ended more than {@code giveUp} ago are left to the race
+     * fetch, which applies every session of the round.
+     */
+    public Session firstPending(Instant now, Duration giveUp) {
+        for (Session session : sessions.values()) {
+            if (session.done || roundsDone.contains(session.round)) {
+                continue;
+            }
+            if (session.type != SessionType.RACE && session.getEnd().plus(giveUp).isBefore(now)) {
+                continue;
+            }
+            return session;
+        }
+        return null;
+    }
+
+    public void markDone(Session session) {
+        session.done = true;
+        if (session.type == SessionType.RACE) {
+            roundsDone.add(session.round);
+        }
+    }
+
+    private static boolean hasResults(List<?> results) {
+        return results != null && !results.isEmpty();
+    }
+
+    public boolean isEmpty() {
+        return sessions.isEmpty();
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+}
@@ -1,21 +1,22 @@
 package com.f1nity.engine.scheduler;
 
 import java.time.Duration;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.LocalTime;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
-import java.util.Date;
+import java.time.Instant;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ScheduledFuture;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.stereotype.Component;
 
+import com.f1nity.engine.client.UpstreamRateLimiter;
+import com.f1nity.engine.model.LiveEvent;
 import com.f1nity.engine.service.DataIngestionService;
+import com.f1nity.engine.service.LiveUpdateHub;
 import com.f1nity.library.models.engine.Race;
 import com.f1nity.library.models.engine.Result;
 import com.f1nity.library.repository.engine.RaceRepository;
@@ -24,12 +25,21 @@ import jakarta.annotation.PostConstruct;
 
 /**
  * Scheduler for periodic F1 data updates.
- * Handles automatic updates of race results and other data.
+ * Polls for the results of each qualifying, sprint and race session of the
+ * current season once it ends: the first poll {@code race-scheduler.poll-initial}
+ * after the end, then backing off up to {@code race-scheduler.poll-max}
+ * between polls, until the results are stored. Sessions come from a
+ * {@link RaceCalendar} built from the current season's races only.
+ * <p>
+ * Only the {@link LeaderElection} leader polls: polling starts when this
+ * instance is elected and stops when it loses the lease.
  */
 @Component
 @EnableScheduling
 public class RaceDataScheduler {
 
+    private static final String CURRENT_SEASON = "2026";
+
     @Autowired
     private DataIngestionService dataIngestionService;
 
@@ -39,193 +49,179 @@ public class RaceDataScheduler {
     @Autowired
     private TaskScheduler taskScheduler;
 
+    @Autowired
+    private LeaderElection leaderElection;
+
+    @Autowired
+    private LiveUpdateHub liveUpdateHub;
+
+    @Value("${race-scheduler.poll-initial:2m}")
+    private Duration pollInitial = Duration.ofMinutes(2);
+
+    @Value("${race-scheduler.poll-max:15m}")
+    private Duration pollMax = Duration.ofMinutes(15);
+
+    /**
+     * Qualifying and sprint results not found by then are left to the race.
+     */
+    @Value("${race-scheduler.give-up:12h}")
+    private Duration giveUp = Duration.ofHours(12);
+
     private ScheduledFuture<?> scheduledTask;
 
-    @PostConstruct
-    public void scheduleRaceResultsUpdate() {
-        // Ensure static data (drivers, constructors) is present
-        dataIngestionService.initializeStaticData();
+    private RaceCalendar calendar;
 
-        // Initial scheduling
-        scheduleNextRaceUpdate();
+    // Last session announced to live update subscribers
+    private RaceCalendar.Session announced;
+
+    @PostConstruct
+    public void registerWithLeaderElection() {
+        // Off the lease thread, which must keep renewing while the calendar loads
+        leaderElection.onElected(() -> taskScheduler.schedule(this::scheduleNextRaceUpdate, Instant.now()));
+        leaderElection.onDemoted(() -> taskScheduler.schedule(this::scheduleNextRaceUpdate, Instant.now()));
     }
 
     /**
-     * Schedules the next race update based on race dates
+     * Schedules the poll for the earliest session still waiting for results,
+     * or cancels polling if this instance is not the leader. Called by
+     * {@link StartupBootstrap}, on election and demotion, then after every poll.
      */
-    public void scheduleNextRaceUpdate() {
+    public synchronized void scheduleNextRaceUpdate() {
         // Cancel any existing scheduled task
         if (scheduledTask != null && !scheduledTask.isCancelled()) {
             scheduledTask.cancel(false);
         }
-        // Find the next race date and round
-        NextRaceInfo nextInfo = calculateNextExecutionTime();
-        if (nextInfo != null && nextInfo.nextExecution != null) {
-            // Schedule the task to run at the calculated time
-            scheduledTask = taskScheduler.schedule(
-                    () -> executeRaceResultsUpdate(nextInfo.nextSeason, nextInfo.nextRound),
-                    nextInfo.nextExecution);
-            System.out.println("Next race results update scheduled for: " + nextInfo.nextExecution);
-        } else {
-            // If no specific race date is found, schedule a default check in 24 hours
-            scheduledTask = taskScheduler.schedule(
-                    this::scheduleNextRaceUpdate,
-                    new Date(System.currentTimeMillis() + 24 * 60 * 60 * 1000));
-            System.out.println("No upcoming races found. Will check again in 24 hours.");
+        if (!leaderElection.isLeader()) {
+            scheduledTask = null;
+            return;
+        }
+        RaceCalendar current = calendar();
+        Instant now = Instant.now();
+        RaceCalendar.Session next = current != null ? current.firstPending(now, giveUp) : null;
+        if (next == null) {
+            // Season over or not published yet; look again with a fresh calendar tomorrow
+            calendar = null;
+            scheduledTask = taskScheduler.schedule(this::scheduleNextRaceUpdate, now.plus(Duration.ofHours(24)));
+            System.out.println("No sessions waiting for results. Will check again in 24 hours.");
+            return;
+        }
+        Instant at = next.nextPollAt(pollInitial, pollMax);
+        if (at.isBefore(now)) {
+            at = now;
+        }
+        scheduledTask = taskScheduler.schedule(() -> poll(next), at);
+        System.out.println("Next results poll for " + next + " scheduled for: " + at);
+        if (next != announced) {
+            announced = next;
+            announce(next, now);
         }
     }
 
     /**
-     * Executes the race results update and schedules the next update
+     * Tells live update subscribers which session results are expected for
+     * next, and whether it is still to come or over and awaiting results.
      */
-    private void executeRaceResultsUpdate(String nextSeason, String nextRound) {
-        updateLatestRaceResults(nextSeason, nextRound);
-        // After execution, schedule the next update
-        scheduleNextRaceUpdate();
+    private void announce(RaceCalendar.Session session, Instant now) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("season", session.getSeason());
+        event.put("round", session.getRound());
+        event.put("raceName", session.getRaceName());
+        event.put("session", session.getType().getLedgerSession());
+        event.put("start", session.getStart().toString());
+        event.put("end", session.getEnd().toString());
+        event.put("status", session.getEnd().isAfter(now) ? "upcoming" : "awaiting-results");
+        liveUpdateHub.publish(LiveEvent.RACE_STATUS, event);
     }
 
     /**
-     * Calculates when the next execution should happen based on race dates
-     * Returns a date that is 3 hours after the next upcoming race
+     * Drops the calendar so the next scheduling decision reloads it, e.g.
+     * after the season's races were fetched again.
      */
-    private static class NextRaceInfo {
-        public final Date nextExecution;
-        public final String nextRound;
-        public final String nextSeason;
-
-        public NextRaceInfo(Date nextExecution, String nextSeason, String nextRound) {
-            this.nextExecution = nextExecution;
-            this.nextSeason = nextSeason;
-            this.nextRound = nextRound;
-        }
+    public synchronized void refreshCalendar() {
+        calendar = null;
+        scheduleNextRaceUpdate();
     }
 
-    private NextRaceInfo calculateNextExecutionTime() {
-        // Get all races from the repository
-        List<Race> races = raceRepository.findAll();
-
-        
-        // Check if we have 2026 races
-        boolean hasCurrentSeason = races.stream().anyMatch(r -> "2026".equals(r.getSeason()));
-
-        if (races.isEmpty() || !hasCurrentSeason) {
-            // If no races or no 2026 races, fetch them
-            System.out.println("Missing 2026 race data. Fetching from API...");
-            // accumulatedRaces returns the list of SAVED races
-            List<Race> newRaces = dataIngestionService.accumulateRaces();
-
-            // If we fetched new races, refresh our main list to include them (and keep old
-            // ones if any)
-            if (newRaces != null && !newRaces.isEmpty()) {
-                races = raceRepository.findAll();
-            } else if (races.isEmpty()) {
-                // If we had nothing and fetched nothing, we can't proceed
-                return null;
-            }
+    private void poll(RaceCalendar.Session session) {
+        session.polled(Instant.now());
+        boolean found;
+        try {
+            leaderElection.fence();
+        } catch (IllegalStateException e) {
+            System.out.println("Skipping results poll for " + session + ": " + e.getMessage());
+            return;
         }
-
-        // Current date and time
-        ZonedDateTime nowUtc = ZonedDateTime.now(ZoneId.of("UTC"));
-
-        // 1. Check for any PAST races that haven't been updated yet
-        // This handles the case where the application was down, or the season just
-        // ended
-        for (Race race : races) {
-            if (race.getDate() != null && race.getTime() != null) {
-                try {
-                    ZonedDateTime raceDateTime = parseRaceDateTime(race);
-
-                    // If race is in the past AND standings haven't been updated
-                    // We add a small buffer (e.g. 2 hours) to ensure we don't try to update
-                    // *during* the race
-                    // before results are likely ready.
-                    if (raceDateTime.isBefore(nowUtc) && !race.getStandingsUpdated()) {
-                        System.out.println(
-                                "Found pending past race: " + race.getRaceName() + " (Round " + race.getRound() + ")");
-
-                        Date executionTime = new Date(System.currentTimeMillis() + 30 * 60 * 1000);
-                        return new NextRaceInfo(executionTime, race.getSeason(), race.getRound());
-                    }
-                } catch (Exception e) {
-                    System.err.println("Error checking past race: " + race.getRaceName());
+        try {
+            // Race-day updates take the live lane so they are admitted ahead of backfills
+            found = UpstreamRateLimiter.withPriority(UpstreamRateLimiter.Priority.LIVE, () -> {
+                if (session.getType() == RaceCalendar.SessionType.RACE) {
+                    return updateLatestRaceResults(session.getSeason(), session.getRound());
                 }
-            }
+                return dataIngestionService.fetchAndStoreSessionResults(session.getSeason(), session.getRound(),
+                        session.getType().getLedgerSession());
+            });
+        } catch (RuntimeException e) {
+            System.err.println("Results poll for " + session + " failed: " + e.getMessage());
+            found = false;
         }
-
-        // 2. Find the next upcoming race (existing logic)
-        Race nextRace = null;
-        ZonedDateTime nextRaceDateTime = null;
-        String nextRound = null;
-
-        for (Race race : races) {
-            if (race.getDate() != null && race.getTime() != null) {
-                try {
-                    ZonedDateTime utcRaceDateTime = parseRaceDateTime(race);
-
-                    // If race is in the future
-                    if (utcRaceDateTime.isAfter(nowUtc) &&
-                            (nextRaceDateTime == null || utcRaceDateTime.isBefore(nextRaceDateTime))) {
-                        nextRace = race;
-                        nextRaceDateTime = utcRaceDateTime;
-                        nextRound = race.getRound();
-                    }
-                } catch (Exception e) {
-                    System.err.println("Error parsing race date/time: " + race.getDate() + " " + race.getTime());
-                    e.printStackTrace();
-                }
+        synchronized (this) {
+            if (found && calendar != null) {
+                calendar.markDone(session);
             }
         }
-
-        if (nextRaceDateTime != null) {
-            // Add 4 hours to the race time
-            ZonedDateTime scheduledTime = nextRaceDateTime.plus(Duration.ofHours(4));
-            System.out.println("Next upcoming race: " + nextRace.getRaceName() + " at " + nextRaceDateTime);
-            System.out.println("Scheduled data fetch for 4 hours after race: " + scheduledTime);
-            return new NextRaceInfo(Date.from(scheduledTime.toInstant()), nextRace.getSeason(), nextRound);
+        if (!found) {
+            System.out.println("No results yet for " + session + " after " + session.getPolls() + " polls.");
         }
-
-        // If no future races found, but we might have missed something or just waiting
-        // for next season
-        System.out.println("No pending past races and no upcoming races found. checking again next day.");
-        return new NextRaceInfo(Date.from(ZonedDateTime.now(ZoneId.of("UTC")).plus(Duration.ofHours(24)).toInstant()),
-                null, null);
+        scheduleNextRaceUpdate();
     }
 
-    private ZonedDateTime parseRaceDateTime(Race race) {
-        LocalDate raceDate = LocalDate.parse(race.getDate());
-        // Parse time - remove any trailing 'Z' and parse as LocalTime
-        String timeStr = race.getTime().replace("Z", "");
-        LocalTime raceTime = LocalTime.parse(timeStr);
-        LocalDateTime raceDateTime = LocalDateTime.of(raceDate, raceTime);
-        return raceDateTime.atZone(ZoneId.of("UTC"));
+    private RaceCalendar calendar() {
+        if (calendar == null) {
+            List<Race> races = raceRepository.findBySeason(CURRENT_SEASON);
+            if (races == null || races.isEmpty()) {
+                System.out.println("Missing " + CURRENT_SEASON + " race data. Fetching from API...");
+                dataIngestionService.accumulateRaces();
+                races = raceRepository.findBySeason(CURRENT_SEASON);
+            }
+            if (races == null || races.isEmpty()) {
+                return null;
+            }
+            calendar = RaceCalendar.build(races);
+            System.out.println("Race calendar: " + calendar.size() + " sessions in " + races.size() + " rounds.");
+        }
+        return calendar;
     }
 
     /**
      * Updates the latest race results and standings.
      * This ensures that the data is always up-to-date without requiring API calls
      * on every user request.
-     * 
+     *
      * Note: This will replace any existing race entries for the latest race with
      * updated entries
      * containing results. This is particularly important for race entries that were
      * initially
      * stored without results (e.g., before the race was completed).
+     *
+     * @return whether results were found and stored
      */
-    public void updateLatestRaceResults(String nextSeason, String nextRound) {
+    public boolean updateLatestRaceResults(String nextSeason, String nextRound) {
         if (nextSeason == null || nextRound == null)
-            return;
+            return false;
         System.out.println(
                 "Scheduled task: Updating latest race results for year " + nextSeason + " round: " + nextRound);
         List<Result> latestRace = dataIngestionService.fetchAndStoreLatestRaceResults(nextSeason, nextRound);
-        if (latestRace != null) {
+        if (latestRace != null && !latestRace.isEmpty()) {
             System.out.println("Updated latest race results for: " + latestRace);
             // Update standings after race results are updated
             System.out.println("Updating driver and constructor standings...");
             String result = dataIngestionService.updateStandings();
             System.out.println("Standings update result: " + result);
+            return true;
         } else {
             System.out.println("Failed to update latest race results or no new results available.");
+            return false;
         }
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,152 @@
+package com.f1nity.engine.scheduler;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.f1nity.engine.service.CircuitGuideService;
+import com.f1nity.engine.service.DataIngestionService;
+import com.f1nity.engine.service.F1nityService;
+
+/**
+ * Brings the engine from "serving" to "ready" in the background.
+ * The data loading that used to run in {@code @PostConstruct} hooks (and held
+ * the HTTP port closed until it finished) starts once the application is up:
+ * static data and the race schedule load in parallel, then the cached read
+ * views are warmed so the first requests do not all miss. Circuit guides are
+ * read from their bundle, so their seeding runs alongside without gating. The
+ * phase is reported on {@code /api/v1/ready}, which answers 503 until the
+ * instance is READY; point the readiness probe there.
+ */
+@Component
+public class StartupBootstrap {
+
+    public enum Phase {
+        STARTING, LOADING, WARMING, READY, FAILED
+    }
+
+    @Autowired
+    private DataIngestionService dataIngestionService;
+
+    @Autowired
+    private CircuitGuideService circuitGuideService;
+
+    @Autowired
+    private RaceDataScheduler raceDataScheduler;
+
+    @Autowired
+    private F1nityService f1nityService;
+
+    private volatile Phase phase = Phase.STARTING;
+    private volatile String error;
+    private volatile long servingAt;
+    private volatile long readyAt;
+    // Step name -> duration in ms, in completion order
+    private final Map<String, Long> steps = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        servingAt = System.currentTimeMillis();
+        Thread thread = new Thread(this::run, "bootstrap");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Runs every phase on the calling thread.
+     */
+    void run() {
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(3, r -> {
+            Thread t = new Thread(r, "bootstrap-" + threads.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            phase = Phase.LOADING;
+            step("circuitGuides", circuitGuideService::seedGuides, executor);
+            // Independent collections; a failure here leaves the instance not ready
+            CompletableFuture.allOf(
+                    step("staticData", dataIngestionService::initializeStaticData, executor),
+                    step("raceSchedule", raceDataScheduler::scheduleNextRaceUpdate, executor)).join();
+
+            phase = Phase.WARMING;
+            // Through the proxies, so each result lands in its cache. A view
+            // that fails to warm is simply loaded on first use.
+            CompletableFuture.allOf(
+                    step("warm.races", f1nityService::getRacesOfCurrentYear, executor).exceptionally(e -> null),
+                    step("warm.driverStandings", f1nityService::getDriverStandings, executor)
+                            .exceptionally(e -> null),
+                    step("warm.constructorStandings", f1nityService::getConstructorStandings, executor)
+                            .exceptionally(e -> null),
+                    step("warm.latestResults", dataIngestionService::getLatestRaceResults, executor)
+                            .exceptionally(e -> null),
+                    step("warm.currentDrivers", f1nityService::getCurrentDrivers, executor)
+                            .exceptionally(e -> null))
+                    .join();
+
+            readyAt = System.currentTimeMillis();
+            phase = Phase.READY;
+            System.out.println("Bootstrap: ready " + (readyAt - servingAt) + " ms after serving, steps " + steps);
+        } catch (RuntimeException e) {
+            error = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+            phase = Phase.FAILED;
+            System.err.println("Bootstrap failed: " + error);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private CompletableFuture<Void> step(String name, Runnable task, ExecutorService executor) {
+        return CompletableFuture.runAsync(() -> {
+            long startedAt = System.currentTimeMillis();
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                System.err.println("Bootstrap step " + name + " failed: " + e.getMessage());
+                throw e;
+            } finally {
+                steps.put(name, System.currentTimeMillis() - startedAt);
+            }
+        }, executor);
+    }
+
+    public boolean isReady() {
+        return phase == Phase.READY;
+    }
+
+    public Phase getPhase() {
+        return phase;
+    }
+
+    /**
+     * Phase and startup timings, measured from JVM start: when the HTTP port
+     * started serving and when the instance became ready.
+     */
+    public Map<String, Object> status() {
+        long jvmStartedAt = ManagementFactory.getRuntimeMXBean().getStartTime();
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("phase", phase);
+        if (error != null) {
+            map.put("error", error);
+        }
+        if (servingAt > 0) {
+            map.put("servingAfterMillis", servingAt - jvmStartedAt);
+        }
+        if (readyAt > 0) {
+            map.put("readyAfterMillis", readyAt - jvmStartedAt);
+        }
+        map.put("steps", new LinkedHashMap<>(steps));
+        return map;
+    }
+}
@@ -0,0 +1,441 @@
+package com.f1nity.engine.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import com.f1nity.engine.dto.RecomputeReport;
+import com.f1nity.engine.model.RoundBundle;
+import com.f1nity.engine.model.StatsDelta;
+import com.f1nity.library.models.engine.Constructor;
+import com.f1nity.library.models.engine.Driver;
+import com.f1nity.library.models.engine.IngestionLedgerEntry;
+import com.f1nity.library.models.engine.Race;
+import com.f1nity.library.models.engine.Result;
+import com.f1nity.library.repository.engine.ConstructorRepository;
+import com.f1nity.library.repository.engine.DriverRepository;
+import com.f1nity.library.repository.engine.RaceRepository;
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.model.RenameCollectionOptions;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Rebuilds every career statistic from stored results instead of trusting
+ * years of accumulated increments, imports and fixes. The results are read
+ * from the races collection or, on request, from the compressed
+ * {@link com.f1nity.engine.client.RawPayloadArchive}. Races are aggregated in
+ * parallel on the fork-join pool with the same {@link StatsDelta} rules the
+ * ingestion uses; nothing is fetched upstream.
+ * <p>
+ * The result is written to shadow collections (drivers, constructors and a
+ * matching ingestion ledger). Once all three are verified, each is renamed
+ * over its live collection. A rename is atomic for readers of that one
+ * collection, but the three happen one after another, so for the few
+ * milliseconds between them a reader can see new drivers next to old
+ * constructors. If a rename fails, the collections already swapped are
+ * restored from copies taken just before, so a partial swap is never left
+ * behind. Non-statistic fields (names, images, colours) are carried over
+ * unchanged.
+ */
+@Service
+public class CareerStatsRecomputeService {
+
+    private static final int FIRST_SEASON = 1950;
+    private static final int CURRENT_SEASON = 2026;
+    private static final String SHADOW_SUFFIX = "_recompute";
+    private static final String PREVIOUS_SUFFIX = "_previous";
+
+    @Autowired
+    private RaceRepository raceRepo;
+
+    @Autowired
+    private DriverRepository driverRepo;
+
+    @Autowired
+    private ConstructorRepository constructorRepo;
+
+    @Autowired
+    private IngestionLedger ingestionLedger;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private SnapshotService snapshotService;
+
+    @Autowired
+    private RoundFetcher roundFetcher;
+
+    /**
+     * Recomputes all career statistics from the races collection and, unless
+     * {@code dryRun}, swaps them in.
+     */
+    @CacheEvict(value = "currentDrivers", allEntries = true)
+    public RecomputeReport recompute(boolean dryRun, boolean force) {
+        return recompute(dryRun, force, false);
+    }
+
+    /**
+     * Recomputes all career statistics and, unless {@code dryRun}, swaps them in.
+     * A recompute is refused when the source misses a finished season, because
+     * the swap would drop that season's statistics; {@code force} swaps anyway.
+     * Rounds are not applied by the ingestion while the swap is in progress.
+     *
+     * @param archive Read the season listings kept in the raw payload archive
+     *                instead of the races collection
+     * @return what was read, what changed and whether it was swapped in
+     * @throws IllegalStateException if a shadow collection is incomplete or
+     *                               the swap failed and was rolled back
+     */
+    @CacheEvict(value = "currentDrivers", allEntries = true)
+    public RecomputeReport recompute(boolean dryRun, boolean force, boolean archive) {
+        if (dryRun) {
+            return run(true, force, archive);
+        }
+        return ingestionLedger.exclusively(() -> run(false, force, archive));
+    }
+
+    private RecomputeReport run(boolean dryRun, boolean force, boolean archive) {
+        long startedAt = System.currentTimeMillis();
+        RecomputeReport report = new RecomputeReport();
+        report.setSource(archive ? "archive" : "races");
+
+        List<Race> races = onePerRound(archive ? archivedRaces() : raceRepo.findAll());
+        report.setRacesRead(races.size());
+        report.setMissingSeasons(missingSeasons(races, report));
+
+        long aggregateStart = System.nanoTime();
+        Function<List<Result>, String> hasher = ingestionLedger::hash;
+        Aggregate aggregate = races.parallelStream().collect(() -> new Aggregate(hasher), Aggregate::add,
+                Aggregate::combine);
+        report.setAggregateMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - aggregateStart));
+        report.setSessionsAggregated(aggregate.ledger.size());
+
+        List<Driver> drivers = recomputedDrivers(aggregate.totals.getDrivers(), report);
+        List<Constructor> constructors = recomputedConstructors(aggregate.totals.getConstructors(), report);
+
+        if (!report.getMissingSeasons().isEmpty() && !force) {
+            report.setMessage("Stored races miss " + report.getMissingSeasons().size()
+                    + " finished season(s); not swapping without force");
+        } else if (dryRun) {
+            report.setMessage("Dry run");
+        } else {
+            writeShadow(Driver.class, drivers);
+            writeShadow(Constructor.class, constructors);
+            writeShadow(IngestionLedgerEntry.class, aggregate.ledger);
+            verifyShadow(Driver.class, drivers.size());
+            verifyShadow(Constructor.class, constructors.size());
+            verifyShadow(IngestionLedgerEntry.class, aggregate.ledger.size());
+            swapAll(List.of(Driver.class, Constructor.class, IngestionLedgerEntry.class));
+            report.setSwapped(true);
+            snapshotService.markAllChanged();
+        }
+
+        report.setWallClockMillis(System.currentTimeMillis() - startedAt);
+        System.out.println(report);
+        return report;
+    }
+
+    /**
+     * Every archived season, rebuilt from its results, qualifying and sprint
+     * listings. Seasons that were never archived are missing from the result
+     * and reported like missing seasons in the races collection.
+     */
+    private List<Race> archivedRaces() {
+        List<RoundBundle> bundles = Flux.range(FIRST_SEASON, CURRENT_SEASON - FIRST_SEASON + 1)
+                .concatMap(roundFetcher::fetchArchivedSeasonMono)
+                .flatMapIterable(seasonBundles -> seasonBundles)
+                .collectList()
+                .block();
+        List<Race> races = new ArrayList<>();
+        for (RoundBundle bundle : bundles != null ? bundles : List.<RoundBundle>of()) {
+            Race race = bundle.getRace();
+            race.setQualifyingResults(bundle.getQualifyingResults());
+            race.setSprintResults(bundle.getSprintResults());
+            races.add(race);
+        }
+        return races;
+    }
+
+    /**
+     * Keeps one race per season and round; duplicates left behind by older
+     * imports keep the copy with the most result rows.
+     */
+    private static List<Race> onePerRound(List<Race> races) {
+        Map<String, Race> byRound = new LinkedHashMap<>();
+        for (Race race : races) {
+            if (race.getSeason() == null || race.getRound() == null) {
+                continue;
+            }
+            byRound.merge(race.getSeason() + "-" + race.getRound(), race,
+                    (a, b) -> rows(b) > rows(a) ? b : a);
+        }
+        return new ArrayList<>(byRound.values());
+    }
+
+    private static int rows(Race race) {
+        return size(race.getResults()) + size(race.getQualifyingResults()) + size(race.getSprintResults());
+    }
+
+    private static int size(List<Result> results) {
+        return results != null ? results.size() : 0;
+    }
+
+    private static List<Integer> missingSeasons(List<Race> races, RecomputeReport report) {
+        TreeSet<Integer> seasons = new TreeSet<>();
+        for (Race race : races) {
+            Integer season = parseSeason(race.getSeason());
+            if (season != null && size(race.getResults()) > 0) {
+                seasons.add(season);
+            }
+        }
+        report.setFirstSeason(seasons.isEmpty() ? 0 : seasons.first());
+        report.setLastSeason(seasons.isEmpty() ? 0 : seasons.last());
+        List<Integer> missing = new ArrayList<>();
+        for (int season = FIRST_SEASON; season < CURRENT_SEASON; season++) {
+            if (!seasons.contains(season)) {
+                missing.add(season);
+            }
+        }
+        return missing;
+    }
+
+    private List<Driver> recomputedDrivers(Map<String, StatsDelta.Counters> computed, RecomputeReport report) {
+        List<Driver> drivers = new ArrayList<>(driverRepo.findAll());
+        Set<String> seen = new HashSet<>();
+        int changed = 0;
+        for (Driver driver : drivers) {
+            seen.add(driver.getDriverId());
+            if (apply(driver, computed.getOrDefault(driver.getDriverId(), new StatsDelta.Counters()))) {
+                changed++;
+            }
+        }
+        for (Map.Entry<String, StatsDelta.Counters> entry : computed.entrySet()) {
+            if (!seen.contains(entry.getKey())) {
+                // Same as an $inc upsert for a driver that was never imported
+                Driver driver = new Driver();
+                driver.setDriverId(entry.getKey());
+                apply(driver, entry.getValue());
+                drivers.add(driver);
+                changed++;
+            }
+        }
+        report.setDrivers(drivers.size());
+        report.setDriversChanged(changed);
+        return drivers;
+    }
+
+    private List<Constructor> recomputedConstructors(Map<String, StatsDelta.Counters> computed,
+            RecomputeReport report) {
+        List<Constructor> constructors = new ArrayList<>(constructorRepo.findAll());
+        Set<String> seen = new HashSet<>();
+        int changed = 0;
+        for (Constructor constructor : constructors) {
+            seen.add(constructor.getConstructorId());
+            if (apply(constructor,
+                    computed.getOrDefault(constructor.getConstructorId(), new StatsDelta.Counters()))) {
+                changed++;
+            }
+        }
+        for (Map.Entry<String, StatsDelta.Counters> entry : computed.entrySet()) {
+            if (!seen.contains(entry.getKey())) {
+                Constructor constructor = new Constructor();
+                constructor.setConstructorId(entry.getKey());
+                apply(constructor, entry.getValue());
+                constructors.add(constructor);
+                changed++;
+            }
+        }
+        report.setConstructors(constructors.size());
+        report.setConstructorsChanged(changed);
+        return constructors;
+    }
+
+    /**
+     * @return true if any statistic differs from what the driver had
+     */
+    static boolean apply(Driver driver, StatsDelta.Counters c) {
+        boolean changed = !Objects.equals(driver.getWins(), c.getWins())
+                || !Objects.equals(driver.getPodiums(), c.getPodiums())
+                || Math.abs(driver.getPoints() - c.getPoints()) > 0.001
+                || !Objects.equals(driver.getPoles(), c.getPoles())
+                || !Objects.equals(driver.getFastestLaps(), c.getFastestLaps())
+                || !Objects.equals(driver.getTotalRaces(), c.getTotalRaces())
+                || !Objects.equals(driver.getSprintWins(), c.getSprintWins())
+                || !Objects.equals(driver.getSprintPodiums(), c.getSprintPodiums())
+                || !Objects.equals(driver.getSprintRaces(), c.getSprintRaces());
+        driver.setWins(c.getWins());
+        driver.setPodiums(c.getPodiums());
+        driver.setPoints(c.getPoints());
+        driver.setPoles(c.getPoles());
+        driver.setFastestLaps(c.getFastestLaps());
+        driver.setTotalRaces(c.getTotalRaces());
+        driver.setSprintWins(c.getSprintWins());
+        driver.setSprintPodiums(c.getSprintPodiums());
+        driver.setSprintRaces(c.getSprintRaces());
+        return changed;
+    }
+
+    /**
+     * @return true if any statistic differs from what the constructor had
+     */
+    static boolean apply(Constructor constructor, StatsDelta.Counters c) {
+        boolean changed = !Objects.equals(constructor.getWins(), c.getWins())
+                || !Objects.equals(constructor.getPodiums(), c.getPodiums())
+                || Math.abs(constructor.getPoints() - c.getPoints()) > 0.001
+                || !Objects.equals(constructor.getPolePositions(), c.getPoles())
+                || !Objects.equals(constructor.getFastestLaps(), c.getFastestLaps())
+                || !Objects.equals(constructor.getTotalRaces(), c.getTotalRaces());
+        constructor.setWins(c.getWins());
+        constructor.setPodiums(c.getPodiums());
+        constructor.setPoints(c.getPoints());
+        constructor.setPolePositions(c.getPoles());
+        constructor.setFastestLaps(c.getFastestLaps());
+        constructor.setTotalRaces(c.getTotalRaces());
+        return changed;
+    }
+
+    private <T> void writeShadow(Class<T> type, List<T> documents) {
+        String shadow = mongoTemplate.getCollectionName(type) + SHADOW_SUFFIX;
+        mongoTemplate.dropCollection(shadow);
+        mongoTemplate.createCollection(shadow);
+        IndexOperations indexOps = mongoTemplate.indexOps(shadow);
+        new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext())
+                .resolveIndexFor(type).forEach(indexOps::ensureIndex);
+        if (!documents.isEmpty()) {
+            mongoTemplate.insert(documents, shadow);
+        }
+    }
+
+    private void verifyShadow(Class<?> type, int expected) {
+        String shadow = mongoTemplate.getCollectionName(type) + SHADOW_SUFFIX;
+        long count = mongoTemplate.count(new Query(), shadow);
+        if (count != expected) {
+            throw new IllegalStateException("Shadow collection " + shadow + " has " + count + " documents, expected "
+                    + expected + "; nothing was swapped");
+        }
+    }
+
+    /**
+     * Renames every shadow collection over its live one with dropTarget, after
+     * copying the live collections aside. If a rename fails the collections
+     * already swapped are restored from their copies.
+     */
+    private void swapAll(List<Class<?>> types) {
+        for (Class<?> type : types) {
+            String live = mongoTemplate.getCollectionName(type);
+            mongoTemplate.aggregate(Aggregation.newAggregation(Aggregation.out(live + PREVIOUS_SUFFIX)), live,
+                    Document.class);
+        }
+        List<String> swapped = new ArrayList<>();
+        for (Class<?> type : types) {
+            String live = mongoTemplate.getCollectionName(type);
+            try {
+                rename(live + SHADOW_SUFFIX, live);
+            } catch (RuntimeException e) {
+                rollBack(swapped);
+                throw new IllegalStateException("Swapping in recomputed " + live + " failed; restored "
+                        + (swapped.isEmpty() ? "nothing" : String.join(", ", swapped)), e);
+            }
+            swapped.add(live);
+            System.out.println("Swapped recomputed " + live + " in");
+        }
+        for (String live : swapped) {
+            mongoTemplate.dropCollection(live + PREVIOUS_SUFFIX);
+        }
+    }
+
+    private void rollBack(List<String> swapped) {
+        for (int i = swapped.size() - 1; i >= 0; i--) {
+            String live = swapped.get(i);
+            try {
+                rename(live + PREVIOUS_SUFFIX, live);
+                System.err.println("Restored " + live + " after a failed swap");
+            } catch (RuntimeException e) {
+                // The copy is left in place for a manual restore
+                System.err.println("Could not restore " + live + " from " + live + PREVIOUS_SUFFIX + ": "
+                        + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * A single rename with dropTarget is atomic for readers of that collection.
+     */
+    private void rename(String from, String to) {
+        mongoTemplate.getCollection(from).renameCollection(new MongoNamespace(mongoTemplate.getDb().getName(), to),
+                new RenameCollectionOptions().dropTarget(true));
+    }
+
+    private static Integer parseSeason(String season) {
+        try {
+            return season != null ? Integer.valueOf(season.trim()) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Per fork-join task: summed counters and the ledger entries that record
+     * them per session, exactly as {@link IngestionLedger#applyRound} would.
+     */
+    private static class Aggregate {
+        final Function<List<Result>, String> hasher;
+        final StatsDelta totals = new StatsDelta();
+        final List<IngestionLedgerEntry> ledger = new ArrayList<>();
+
+        Aggregate(Function<List<Result>, String> hasher) {
+            this.hasher = hasher;
+        }
+
+        void add(Race race) {
+            Integer season = parseSeason(race.getSeason());
+            if (season == null) {
+                return;
+            }
+            add(season, race.getRound(), IngestionLedger.RACE, race.getResults(),
+                    StatsDelta.fromRaceResults(race.getResults()));
+            add(season, race.getRound(), IngestionLedger.SPRINT, race.getSprintResults(),
+                    StatsDelta.fromSprintResults(race.getSprintResults()));
+            add(season, race.getRound(), IngestionLedger.QUALIFYING, race.getQualifyingResults(),
+                    StatsDelta.fromQualifyingResults(race.getQualifyingResults()));
+        }
+
+        private void add(int season, String round, String session, List<Result> results, StatsDelta delta) {
+            if (results == null || results.isEmpty()) {
+                return;
+            }
+            totals.merge(delta);
+            IngestionLedgerEntry entry = new IngestionLedgerEntry(season, round, session);
+            entry.setPayloadHash(hasher.apply(results));
+            entry.setDrivers(delta.driverIncrements());
+            entry.setConstructors(delta.constructorIncrements());
+            entry.setAppliedAt(System.currentTimeMillis());
+            entry.setRevision(1);
+            ledger.add(entry);
+        }
+
+        void combine(Aggregate other) {
+            totals.merge(other.totals);
+            ledger.addAll(other.ledger);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.f1nity.engine.service;
 import java.time.LocalDate;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -11,16 +12,27 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.regex.Pattern;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CacheEvict;
 
 import com.f1nity.engine.client.ErgastClient;
 import com.f1nity.engine.client.OpenF1Client;
+import com.f1nity.engine.dto.MaintenanceReport;
+import com.f1nity.engine.model.Job;
+import com.f1nity.engine.model.LiveEvent;
+import com.f1nity.engine.model.RoundBundle;
+import com.f1nity.engine.model.StatsDelta;
 import com.f1nity.library.models.engine.Constructor;
 import com.f1nity.library.models.engine.ConstructorStanding;
 import com.f1nity.library.models.engine.Driver;
@@ -41,6 +53,8 @@ import com.f1nity.library.repository.engine.ConstructorStandingsRepository;
 import com.f1nity.library.repository.engine.DriverRepository;
 import com.f1nity.library.repository.engine.DriverStandingsRepository;
 import com.f1nity.library.repository.engine.RaceRepository;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.DeleteResult;
 
 @Service
 public class DataIngestionService {
@@ -117,6 +131,31 @@ public class DataIngestionService {
     @Autowired
     private HistoricalDataLoader historicalDataLoader;
 
+    @Autowired
+    private IngestionLedger ingestionLedger;
+
+    @Autowired
+    private SnapshotService snapshotService;
+
+    @Autowired
+    private RoundFetcher roundFetcher;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private LiveUpdateHub liveUpdateHub;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    /**
+     * Load every driver/constructor of a round up front instead of one
+     * findById per result row. Only switched off to benchmark the old path.
+     */
+    @Value("${ingestion.batch-preload:true}")
+    private boolean batchPreload = true;
+
     public void initializeStaticData() {
         // Check for forced reset environment variable
         String forceReset = System.getenv("FORCE_RESET_DATA");
@@ -138,26 +177,46 @@ public class DataIngestionService {
         }
     }
 
-    public void updateDriverActiveStatus() {
+    /**
+     * Flags the drivers of the 2026 lineup as active and everyone else as
+     * inactive, as two server-side updates in one round-trip.
+     */
+    @CacheEvict(value = "currentDrivers", allEntries = true)
+    public MaintenanceReport updateDriverActiveStatus() {
         System.out.println("Updating driver active status based on 2026 lineup...");
-        List<Driver> allDrivers = driverRepo.findAll();
-        for (Driver d : allDrivers) {
-            if (DRIVERS_2026.contains(d.getFullName().toUpperCase())) {
-                d.setActive(true);
-            } else {
-                d.setActive(false);
-            }
-        }
-        driverRepo.saveAll(allDrivers);
-        System.out.println("Updated active status for " + allDrivers.size() + " drivers.");
+        long startedAt = System.currentTimeMillis();
+        // The lineup is upper case; stored names are matched case-insensitively
+        List<Pattern> lineup = DRIVERS_2026.stream()
+                .map(name -> Pattern.compile("^" + Pattern.quote(name) + "$", Pattern.CASE_INSENSITIVE))
+                .toList();
+        BulkWriteResult result = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Driver.class)
+                .updateMulti(new Query(Criteria.where("fullName").in(lineup)), Update.update("isActive", true))
+                .updateMulti(new Query(Criteria.where("fullName").nin(lineup)), Update.update("isActive", false))
+                .execute();
+
+        MaintenanceReport report = report("updateDriverActiveStatus", result, startedAt);
+        System.out.println(report);
+        return report;
     }
 
     @Autowired
     private com.f1nity.library.repository.engine.FailedRequestRepository failedRequestRepo;
 
+    @CacheEvict(value = "currentDrivers", allEntries = true)
     public void updateStatistics() {
+        updateStatistics(null);
+    }
+
+    /**
+     * @param job when run as a job: receives progress per round and is checked
+     *            for cancellation between rounds; may be null
+     */
+    @CacheEvict(value = "currentDrivers", allEntries = true)
+    public void updateStatistics(Job job) {
         Integer year = 2026;
         Integer round = 1;
+        long startedAt = System.currentTimeMillis();
+        int roundsProcessed = 0;
 
         // Note: Global reset removed to support incremental JSON updates + new race
         // additions.
@@ -167,6 +226,13 @@ public class DataIngestionService {
         while (year >= 2026) {
             while (round <= MAX_ROUNDS) {
                 String context = "year " + year + ", round " + round;
+                if (job != null) {
+                    if (job.isCancelRequested()) {
+                        System.out.println("Statistics update cancelled before " + context);
+                        break;
+                    }
+                    job.progress(round - 1, MAX_ROUNDS, roundsProcessed + " rounds processed");
+                }
 
                 // First check if we already have this race processed to avoid unnecessary API
                 // calls
@@ -178,63 +244,36 @@ public class DataIngestionService {
                 }
 
                 try {
-                    // Check for nulls/empty responses without exception flow where possible
-                    RaceResponse raceResponse = null;
+                    // Race, qualifying and sprint are fetched concurrently
+                    RoundBundle bundle;
                     try {
-                        raceResponse = ergastClient.getRaceResults(year, round);
+                        bundle = roundFetcher.fetchRound(year, String.valueOf(round));
                     } catch (Exception e) {
                         System.err.println("Error fetching race results for " + context + ": " + e.getMessage());
                         saveFailedRequest(year, String.valueOf(round), "race", e.getMessage());
                         round++;
                         continue;
                     }
-
-                    if (raceResponse == null || raceResponse.getMrData() == null ||
-                            raceResponse.getMrData().getRaceTable() == null ||
-                            raceResponse.getMrData().getRaceTable().getRaces().isEmpty()) {
-                        System.out.println("No race data for " + context);
-                        round++;
-                        try {
-                            Thread.sleep(200);
-                        } catch (InterruptedException e) {
-                            Thread.currentThread().interrupt();
-                        }
-                        continue;
+                    if (bundle.getFailures().containsKey(RoundBundle.SPRINT)) {
+                        saveFailedRequest(year, String.valueOf(round), "sprint",
+                                bundle.getFailures().get(RoundBundle.SPRINT));
                     }
 
-                    Race race = raceResponse.getMrData().getRaceTable().getRaces().get(0);
-                    String circuitId = race.getCircuit().getCircuitId();
-                    List<Result> results = race.getResults();
-
-                    if (results == null || results.isEmpty()) {
-                        System.out.println("No results in race data for " + context);
+                    if (!bundle.hasResults()) {
+                        System.out.println("No race data for " + context);
                         round++;
                         continue;
                     }
 
-                    // ... Quali logic ...(rest of function)
-                    RaceResponse qualiResponse = null;
-                    try {
-                        qualiResponse = ergastClient.getQualifyingResults(year, round);
-                    } catch (Exception e) {
-                        System.err.println("Error fetching quali results for " + context + ": " + e.getMessage());
-                    }
-
-                    List<Result> qualiResults = Collections.emptyList();
-                    if (qualiResponse != null && qualiResponse.getMrData() != null &&
-                            qualiResponse.getMrData().getRaceTable() != null &&
-                            !qualiResponse.getMrData().getRaceTable().getRaces().isEmpty()) {
-                        Race qualiRace = qualiResponse.getMrData().getRaceTable().getRaces().get(0);
-                        if (qualiRace.getQualifyingResults() != null) {
-                            qualiResults = qualiRace.getQualifyingResults();
-                        }
-                    }
+                    Race race = bundle.getRace();
+                    List<Result> results = bundle.getRaceResults();
+                    List<Result> qualiResults = bundle.getQualifyingResults();
+                    List<Result> sprintResults = bundle.getSprintResults();
 
                     Map<String, Driver> updatedDrivers = new HashMap<>();
                     Map<String, Constructor> updatedConstructors = new HashMap<>();
                     Map<String, DriverStanding> updatedDriverStandings = new HashMap<>();
                     Map<String, ConstructorStanding> updatedConstructorStandings = new HashMap<>();
-                    Set<String> constructorsProcessedForTotalRaces = new HashSet<>();
                     Map<String, Race> updateRaces = new HashMap<>();
                     String currentRound = race.getRound();
 
@@ -244,68 +283,27 @@ public class DataIngestionService {
                     race.setStandingsUpdated(true);
                     updateRaces.put(currentRound, race);
 
-                    for (int i = 0; i < results.size(); i++) {
-                        processResultForStats(year, context, updatedDrivers, updatedConstructors,
-                                updatedDriverStandings, updatedConstructorStandings,
-                                constructorsProcessedForTotalRaces, i, results.get(i), false);
+                    if (!sprintResults.isEmpty()) {
+                        System.out.println("Processing Sprint results for " + context);
                     }
 
-                    // Process Sprint Results
-                    if (year >= 2021) {
-                        try {
-                            RaceResponse sprintResponse = ergastClient.getSprintResults(year, round);
-                            if (sprintResponse != null && sprintResponse.getMrData() != null &&
-                                    sprintResponse.getMrData().getRaceTable() != null &&
-                                    !sprintResponse.getMrData().getRaceTable().getRaces().isEmpty()) {
-
-                                Race sprintRace = sprintResponse.getMrData().getRaceTable().getRaces().get(0);
-                                List<Result> sprintResults = sprintRace.getSprintResults();
-
-                                if (sprintResults != null && !sprintResults.isEmpty()) {
-                                    System.out.println("Processing Sprint results for " + context);
-                                    for (int s = 0; s < sprintResults.size(); s++) {
-                                        processResultForStats(year, context + " (Sprint)", updatedDrivers,
-                                                updatedConstructors,
-                                                year == 2026 ? updatedDriverStandings : null,
-                                                year == 2026 ? updatedConstructorStandings : null,
-                                                constructorsProcessedForTotalRaces, s, sprintResults.get(s), true);
-                                    }
-                                }
-                            }
-                        } catch (Exception e) {
-                            System.err
-                                    .println("Error processing sprint results for " + context + ": " + e.getMessage());
-                            saveFailedRequest(year, String.valueOf(round), "sprint", e.getMessage());
+                    if (year == 2026) {
+                        // Standings only need display names
+                        preloadWorkingSet(updatedDrivers, updatedConstructors,
+                                Arrays.asList(results, sprintResults));
+                        for (int i = 0; i < results.size(); i++) {
+                            processResultForStandings(updatedDrivers, updatedConstructors,
+                                    updatedDriverStandings, updatedConstructorStandings, i, results.get(i), false);
                         }
-                    }
-
-                    // Process Quali (Poles) - existing logic
-                    if (qualiResults != null && !qualiResults.isEmpty()) {
-                        Result poleResult = qualiResults.get(0);
-                        if (poleResult.getPosition() != null && poleResult.getPosition().equals("1")) {
-                            ErgastDriver ergDriver = poleResult.getDriver();
-                            ErgastConstructor egConstructor = poleResult.getConstructor();
-                            if (ergDriver != null && egConstructor != null) {
-                                String driverId = ergDriver.getDriverId();
-                                String constructorId = egConstructor.getConstructorId();
-
-                                Driver driver = updatedDrivers.computeIfAbsent(driverId,
-                                        k -> driverRepo.findById(k).orElse(null));
-                                Constructor constructor = updatedConstructors.computeIfAbsent(constructorId,
-                                        k -> constructorRepo.findById(k).orElse(null));
-
-                                if (driver != null && constructor != null) {
-                                    driver.setPoles(driver.getPoles() + 1);
-                                    constructor.setPolePositions(constructor.getPolePositions() + 1);
-                                }
-                            }
+                        for (int s = 0; s < sprintResults.size(); s++) {
+                            processResultForStandings(updatedDrivers, updatedConstructors,
+                                    updatedDriverStandings, updatedConstructorStandings, s, sprintResults.get(s),
+                                    true);
                         }
                     }
 
-                    if (!updatedDrivers.isEmpty())
-                        driverRepo.saveAll(updatedDrivers.values());
-                    if (!updatedConstructors.isEmpty())
-                        constructorRepo.saveAll(updatedConstructors.values());
+                    // Career stats (race, sprint, poles) go out as $inc bulk writes
+                    applyRound(year, String.valueOf(round), results, sprintResults, qualiResults);
                     if (year == 2026) {
                         if (!updatedDriverStandings.isEmpty())
                             driverStandingsRepo.saveAll(updatedDriverStandings.values());
@@ -316,6 +314,7 @@ public class DataIngestionService {
                     }
 
                     System.out.println("Successfully processed " + context);
+                    roundsProcessed++;
 
                 } catch (Exception e) {
                     System.err.println("General error processing " + context + ": " + e.getMessage());
@@ -324,26 +323,25 @@ public class DataIngestionService {
                 }
 
                 round++;
-                // Polite delay
-                try {
-                    Thread.sleep(100);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
+                // Pacing is handled by UpstreamRateLimiter inside ErgastClient
             }
 
             year--;
             round = 1;
-            // Removed the massive 60s sleep to prevent connection drops.
-            // ErgastClient has its own rate limiting logic if we hit 429.
             System.out.println("Finished processing year " + (year + 1) + ". Moving to " + year);
         }
-        // Update JSON file after bulk update
-        historicalDataLoader.exportDataToJSON();
+        long elapsedMillis = System.currentTimeMillis() - startedAt;
+        System.out.println(String.format("Serial statistics update processed %d rounds in %d ms (%.2f rounds/s)",
+                roundsProcessed, elapsedMillis,
+                elapsedMillis > 0 ? roundsProcessed * 1000.0 / elapsedMillis : 0.0));
     }
 
-    private void saveFailedRequest(int year, String round, String type, String msg) {
+    void saveFailedRequest(int year, String round, String type, String msg) {
         try {
+            // One pending record per round and type is enough for the replay worker
+            if (failedRequestRepo.existsPending(year, String.valueOf(round), type)) {
+                return;
+            }
             com.f1nity.library.models.engine.FailedRequest fr = new com.f1nity.library.models.engine.FailedRequest(year,
                     String.valueOf(round), type, msg);
             failedRequestRepo.save(fr);
@@ -352,10 +350,97 @@ public class DataIngestionService {
         }
     }
 
-    private void processResultForStats(Integer year, String context, Map<String, Driver> updatedDrivers,
+    /**
+     * Applies the career statistics of one round through the ingestion ledger.
+     * Sessions already applied with the same upstream payload are skipped, and
+     * corrected payloads only apply the difference, so re-running a round is safe.
+     * The drivers and constructors of a written round are reported to the
+     * snapshot writer and recorded as a DriverStatsChanged event, in the same
+     * unit of work as the increments.
+     *
+     * @return number of sessions whose increments were written
+     */
+    public int applyRound(int season, String round, List<Result> raceResults, List<Result> sprintResults,
+            List<Result> qualiResults) {
+        StatsDelta race = StatsDelta.fromRaceResults(raceResults);
+        StatsDelta sprint = StatsDelta.fromSprintResults(sprintResults);
+        StatsDelta qualifying = StatsDelta.fromQualifyingResults(qualiResults);
+        return outboxService.inUnitOfWork(() -> {
+            int written = ingestionLedger.applyRound(season, round, Arrays.asList(
+                    IngestionLedger.session(IngestionLedger.RACE, raceResults, race),
+                    IngestionLedger.session(IngestionLedger.SPRINT, sprintResults, sprint),
+                    IngestionLedger.session(IngestionLedger.QUALIFYING, qualiResults, qualifying)));
+            if (written > 0) {
+                StatsDelta touched = new StatsDelta().merge(race).merge(sprint).merge(qualifying);
+                Map<String, Object> event = new HashMap<>();
+                event.put("season", season);
+                event.put("round", round);
+                event.put("sessionsWritten", written);
+                event.put("driverIds", touched.getDrivers().keySet());
+                event.put("constructorIds", touched.getConstructors().keySet());
+                outboxService.record(OutboxService.DRIVER_STATS_CHANGED, String.valueOf(season), round, event);
+                snapshotService.markChanged(touched.getDrivers().keySet(), touched.getConstructors().keySet());
+            }
+            return written;
+        });
+    }
+
+    /**
+     * Loads every driver and constructor referenced by a round's sessions with one
+     * findAllById per collection, so that processResultForStandings resolves
+     * display names from memory instead of issuing a findById per result row.
+     * Unknown ids get a fresh entity carrying that id.
+     */
+    private void preloadWorkingSet(Map<String, Driver> drivers, Map<String, Constructor> constructors,
+            List<List<Result>> sessions) {
+        if (!batchPreload) {
+            return;
+        }
+        Set<String> driverIds = new HashSet<>();
+        Set<String> constructorIds = new HashSet<>();
+        for (List<Result> session : sessions) {
+            if (session == null) {
+                continue;
+            }
+            for (Result result : session) {
+                if (result.getDriver() != null && result.getConstructor() != null) {
+                    driverIds.add(result.getDriver().getDriverId());
+                    constructorIds.add(result.getConstructor().getConstructorId());
+                }
+            }
+        }
+        driverIds.removeAll(drivers.keySet());
+        constructorIds.removeAll(constructors.keySet());
+
+        if (!driverIds.isEmpty()) {
+            driverRepo.findAllById(driverIds).forEach(d -> drivers.put(d.getDriverId(), d));
+            for (String driverId : driverIds) {
+                drivers.computeIfAbsent(driverId, k -> {
+                    Driver driver = new Driver();
+                    driver.setDriverId(k);
+                    return driver;
+                });
+            }
+        }
+        if (!constructorIds.isEmpty()) {
+            constructorRepo.findAllById(constructorIds).forEach(c -> constructors.put(c.getConstructorId(), c));
+            for (String constructorId : constructorIds) {
+                constructors.computeIfAbsent(constructorId, k -> {
+                    Constructor constructor = new Constructor();
+                    constructor.setConstructorId(k);
+                    return constructor;
+                });
+            }
+        }
+    }
+
+    /**
+     * Adds one classified result to the round's standings. Career counters are
+     * not touched here; they go through {@link #applyRound}.
+     */
+    private void processResultForStandings(Map<String, Driver> updatedDrivers,
             Map<String, Constructor> updatedConstructors, Map<String, DriverStanding> updatedDriverStandings,
-            Map<String, ConstructorStanding> updatedConstructorStandings,
-            Set<String> constructorsProcessedForTotalRaces, int i, Result result, boolean isSprint) {
+            Map<String, ConstructorStanding> updatedConstructorStandings, int i, Result result, boolean isSprint) {
 
         ErgastDriver ergDriver = result.getDriver();
         ErgastConstructor egConstructor = result.getConstructor();
@@ -370,104 +455,48 @@ public class DataIngestionService {
         Constructor constructor = updatedConstructors.computeIfAbsent(constructorId,
                 k -> constructorRepo.findById(k).orElse(new Constructor()));
 
-        if (driver == null || constructor == null)
-            return;
+        DriverStanding driverStanding = updatedDriverStandings.computeIfAbsent(driverId, k -> {
+            DriverStanding ds = new DriverStanding();
+            ds.setDriverId(driverId);
+            ds.setFullName(driver.getFullName());
+            ds.setTeamName(constructor.getName());
+            ds.setPoints(0.0);
+            ds.setWins(0);
+            ds.setPodiums(0);
+            ds.setPosition(0);
+            return ds;
+        });
+        ConstructorStanding constructorStanding = updatedConstructorStandings.computeIfAbsent(constructorId, k -> {
+            ConstructorStanding cs = new ConstructorStanding();
+            cs.setConstructorId(constructorId);
+            cs.setName(constructor.getName());
+            cs.setPoints(0.0);
+            cs.setWins(0);
+            cs.setPodiums(0);
+            cs.setPosition(0);
+            return cs;
+        });
 
-        // Update basic stats
         if (!isSprint) {
-            // Main Race Stats
-            if (i == 0) { // Winner
-                driver.setWins(driver.getWins() + 1);
-                driver.setPodiums(driver.getPodiums() + 1);
-                constructor.setWins(constructor.getWins() + 1);
-                constructor.setPodiums(constructor.getPodiums() + 1);
-            } else if (i < 3) { // Podium
-                driver.setPodiums(driver.getPodiums() + 1);
-                constructor.setPodiums(constructor.getPodiums() + 1);
+            if (i == 0) {
+                driverStanding.setWins(driverStanding.getWins() + 1);
+                driverStanding.setPodiums(driverStanding.getPodiums() + 1);
+                constructorStanding.setWins(constructorStanding.getWins() + 1);
+                constructorStanding.setPodiums(constructorStanding.getPodiums() + 1);
+            } else if (i < 3) {
+                driverStanding.setPodiums(driverStanding.getPodiums() + 1);
+                constructorStanding.setPodiums(constructorStanding.getPodiums() + 1);
             }
         }
-
-        // Points (Sprint + Main)
-        if (result.getPoints() != null && !result.getPoints().isEmpty()) {
+        double pointsVal = 0.0;
+        if (result.getPoints() != null) {
             try {
-                double points = Double.parseDouble(result.getPoints());
-                driver.setPoints(driver.getPoints() + points);
-                constructor.setPoints(constructor.getPoints() + points);
-            } catch (NumberFormatException e) {
-            }
-        }
-
-        // Fastest Lap (Main Only usually)
-        if (!isSprint && result.getFastestLap() != null && result.getFastestLap().getRank() != null &&
-                result.getFastestLap().getRank().equals("1")) {
-            driver.setFastestLaps(driver.getFastestLaps() != null ? driver.getFastestLaps() + 1 : 1);
-            constructor.setFastestLaps(constructor.getFastestLaps() != null ? constructor.getFastestLaps() + 1 : 1);
-        }
-
-        // Total Races - FIXED: Include Sprints
-        driver.setTotalRaces(driver.getTotalRaces() != null ? driver.getTotalRaces() + 1 : 1);
-
-        if (!isSprint) {
-            if (!constructorsProcessedForTotalRaces.contains(constructorId)) {
-                constructor.setTotalRaces(constructor.getTotalRaces() != null ? constructor.getTotalRaces() + 1 : 1);
-                constructorsProcessedForTotalRaces.add(constructorId);
-            }
-        } else {
-            // Sprint Specific Stats
-            driver.setSprintRaces(driver.getSprintRaces() != null ? driver.getSprintRaces() + 1 : 1);
-            if (i == 0) { // Sprint Winner
-                driver.setSprintWins(driver.getSprintWins() != null ? driver.getSprintWins() + 1 : 1);
-                driver.setSprintPodiums(driver.getSprintPodiums() != null ? driver.getSprintPodiums() + 1 : 1);
-            } else if (i < 3) { // Sprint Podium
-                driver.setSprintPodiums(driver.getSprintPodiums() != null ? driver.getSprintPodiums() + 1 : 1);
-            }
-        }
-
-        // Update Standings (2026 only)
-        if (year == 2026 && updatedDriverStandings != null && updatedConstructorStandings != null) {
-            DriverStanding driverStanding = updatedDriverStandings.computeIfAbsent(driverId, k -> {
-                DriverStanding ds = new DriverStanding();
-                ds.setDriverId(driverId);
-                ds.setFullName(driver.getFullName());
-                ds.setTeamName(constructor.getName());
-                ds.setPoints(0.0);
-                ds.setWins(0);
-                ds.setPodiums(0);
-                ds.setPosition(0);
-                return ds;
-            });
-            ConstructorStanding constructorStanding = updatedConstructorStandings.computeIfAbsent(constructorId, k -> {
-                ConstructorStanding cs = new ConstructorStanding();
-                cs.setConstructorId(constructorId);
-                cs.setName(constructor.getName());
-                cs.setPoints(0.0);
-                cs.setWins(0);
-                cs.setPodiums(0);
-                cs.setPosition(0);
-                return cs;
-            });
-
-            if (!isSprint) {
-                if (i == 0) {
-                    driverStanding.setWins(driverStanding.getWins() + 1);
-                    driverStanding.setPodiums(driverStanding.getPodiums() + 1);
-                    constructorStanding.setWins(constructorStanding.getWins() + 1);
-                    constructorStanding.setPodiums(constructorStanding.getPodiums() + 1);
-                } else if (i < 3) {
-                    driverStanding.setPodiums(driverStanding.getPodiums() + 1);
-                    constructorStanding.setPodiums(constructorStanding.getPodiums() + 1);
-                }
-            }
-            double pointsVal = 0.0;
-            if (result.getPoints() != null) {
-                try {
-                    pointsVal = Double.parseDouble(result.getPoints());
-                } catch (Exception e) {
-                }
+                pointsVal = Double.parseDouble(result.getPoints());
+            } catch (Exception e) {
             }
-            driverStanding.setPoints(driverStanding.getPoints() + pointsVal);
-            constructorStanding.setPoints(constructorStanding.getPoints() + pointsVal);
         }
+        driverStanding.setPoints(driverStanding.getPoints() + pointsVal);
+        constructorStanding.setPoints(constructorStanding.getPoints() + pointsVal);
     }
 
     /**
@@ -475,8 +504,11 @@ public class DataIngestionService {
      * Iterates 2021-2026 and adds missing sprint stats.
      */
 
-    @CacheEvict(value = { "driverStandings", "constructorStandings" }, allEntries = true)
+    @CacheEvict(value = { "driverStandings", "constructorStandings", "currentDrivers" }, allEntries = true)
     public String updateStandings() {
+        List<DriverStanding> updatedDriverStandings = new ArrayList<>();
+        List<ConstructorStanding> updatedConstructorStandings = new ArrayList<>();
+        String standingsRound = null;
         // Driver Standings
         try {
             ErgastDriverStandingsResponse driverResponse = ergastClient.getDriverStandings(2026);
@@ -486,7 +518,7 @@ public class DataIngestionService {
 
                 List<ErgastDriverStandingsResponse.DriverStanding> driverStandings = driverResponse.MRData.StandingsTable.StandingsLists
                         .get(0).DriverStandings;
-                List<DriverStanding> updatedDriverStandings = new ArrayList<>();
+                standingsRound = driverResponse.MRData.StandingsTable.StandingsLists.get(0).round;
 
                 for (ErgastDriverStandingsResponse.DriverStanding standing : driverStandings) {
                     String driverId = standing.Driver.getDriverId();
@@ -511,10 +543,6 @@ public class DataIngestionService {
                     updatedDriverStandings.add(ds);
                 }
 
-                if (!updatedDriverStandings.isEmpty()) {
-                    driverStandingsRepo.deleteAll();
-                    driverStandingsRepo.saveAll(updatedDriverStandings);
-                }
             }
 
             // Constructor Standings
@@ -525,7 +553,6 @@ public class DataIngestionService {
 
                 List<ErgastConstructorStandingsResponse.ConstructorStanding> constructorStandings = constructorResponse.MRData.StandingsTable.StandingsLists
                         .get(0).ConstructorStandings;
-                List<ConstructorStanding> updatedConstructorStandings = new ArrayList<>();
                 Set<String> processed = new HashSet<>();
 
                 for (ErgastConstructorStandingsResponse.ConstructorStanding standing : constructorStandings) {
@@ -555,10 +582,28 @@ public class DataIngestionService {
                     updatedConstructorStandings.add(cs);
                 }
 
-                if (!updatedConstructorStandings.isEmpty()) {
-                    constructorStandingsRepo.deleteAll();
-                    constructorStandingsRepo.saveAll(updatedConstructorStandings);
-                }
+            }
+            if (!updatedDriverStandings.isEmpty() || !updatedConstructorStandings.isEmpty()) {
+                Map<String, Object> event = new HashMap<>();
+                event.put("season", "2026");
+                event.put("round", standingsRound);
+                event.put("driverStandings", updatedDriverStandings);
+                event.put("constructorStandings", updatedConstructorStandings);
+                // Both tables and the event in one unit of work, so readers never see one table replaced alone
+                String round = standingsRound;
+                outboxService.inUnitOfWork(() -> {
+                    if (!updatedDriverStandings.isEmpty()) {
+                        driverStandingsRepo.deleteAll();
+                        driverStandingsRepo.saveAll(updatedDriverStandings);
+                    }
+                    if (!updatedConstructorStandings.isEmpty()) {
+                        constructorStandingsRepo.deleteAll();
+                        constructorStandingsRepo.saveAll(updatedConstructorStandings);
+                    }
+                    outboxService.record(OutboxService.STANDINGS_UPDATED, "2026", round, event);
+                    return null;
+                });
+                liveUpdateHub.publish(LiveEvent.STANDINGS, event);
             }
             return "Successfully updated standings";
 
@@ -624,162 +669,73 @@ public class DataIngestionService {
         return driverMapping;
     }
 
-    @Transactional
-    @CacheEvict(value = { "latestResults", "driverStandings", "constructorStandings" }, allEntries = true)
+    /**
+     * Fetches and stores a round's race results and applies the round's career
+     * statistics. The race document, the statistics and their outbox events
+     * are written in one unit of work.
+     *
+     * @return the race results, empty if not published yet or on failure
+     */
+    @CacheEvict(value = { "latestResults", "driverStandings", "constructorStandings", "currentDrivers" },
+            allEntries = true)
     public List<Result> fetchAndStoreLatestRaceResults(String yearStr, String round) {
         int year = Integer.parseInt(yearStr);
         System.out.println("Fetching race results for year " + year + ", round " + round);
 
         try {
-            RaceResponse raceResponse = ergastClient.getRaceResults(year, round);
-
-            if (raceResponse == null || raceResponse.getMrData() == null ||
-                    raceResponse.getMrData().getRaceTable() == null ||
-                    raceResponse.getMrData().getRaceTable().getRaces().isEmpty()) {
-                System.out.println("No race data found for round " + round);
-                return Collections.emptyList();
-            }
-
-            Race fetchedRace = raceResponse.getMrData().getRaceTable().getRaces().get(0);
-            List<Result> results = fetchedRace.getResults();
+            // Race, qualifying and sprint are fetched concurrently
+            RoundBundle bundle = roundFetcher.fetchRound(year, round);
 
-            if (results == null || results.isEmpty()) {
+            if (!bundle.hasResults()) {
                 System.out.println("No results found for round " + round);
                 return Collections.emptyList();
             }
 
-            // Update Race entity
-            List<Race> existingRaces = raceRepo.findBySeasonAndRound(String.valueOf(year), round);
-            Race existingRace = null;
-
-            if (existingRaces != null && !existingRaces.isEmpty()) {
-                existingRace = existingRaces.get(0);
-                if (existingRaces.size() > 1) {
-                    for (int k = 1; k < existingRaces.size(); k++) {
-                        raceRepo.delete(existingRaces.get(k));
-                    }
-                }
-                existingRace.setResults(results);
-                existingRace.setStandingsUpdated(true);
-                raceRepo.save(existingRace);
-            } else {
-                fetchedRace.setStandingsUpdated(true);
-                raceRepo.save(fetchedRace);
-                existingRace = fetchedRace;
-            }
-
-            // Prepare maps for stats updates
-            Map<String, Driver> updatedDrivers = new HashMap<>();
-            Map<String, Constructor> updatedConstructors = new HashMap<>();
-
-            // Note: For live updates, we might ideally want to fetch current standings
-            // state if we were doing incremental.
-            // But since our stats logic is "recalculate all or add to current", and
-            // processResultForStats
-            // ADDS to the driver object provided.
-            // So we fetch the current state of drivers/constructors from DB.
-
-            // However, processResultForStats expects us to pre-populate the maps with the
-            // DB entities
-            // OR it tries to find them. The method signature:
-            // processResultForStats(..., Map<String, Driver> updatedDrivers, ...)
-            // checks the map first, then the repo.
-            // So we can pass empty maps and let it fetch/update.
-
-            Map<String, DriverStanding> updatedDriverStandings = new HashMap<>();
-            Map<String, ConstructorStanding> updatedConstructorStandings = new HashMap<>();
-            Set<String> constructorsProcessedForTotalRaces = new HashSet<>();
+            Race fetchedRace = bundle.getRace();
+            List<Result> results = bundle.getRaceResults();
 
             String context = "Live Update " + year + " Round " + round;
 
-            // Process Main Race
-            for (int i = 0; i < results.size(); i++) {
-                processResultForStats(year, context, updatedDrivers, updatedConstructors,
-                        updatedDriverStandings, updatedConstructorStandings,
-                        constructorsProcessedForTotalRaces, i, results.get(i), false);
+            List<Result> sprintResults = bundle.getSprintResults();
+            if (bundle.getFailures().containsKey(RoundBundle.SPRINT)) {
+                System.err.println("Error processing sprint results in live update: "
+                        + bundle.getFailures().get(RoundBundle.SPRINT));
             }
 
-            // Process Sprint if available
-            try {
-                RaceResponse sprintResponse = ergastClient.getSprintResults(year, round);
-                if (sprintResponse != null && sprintResponse.getMrData() != null &&
-                        sprintResponse.getMrData().getRaceTable() != null &&
-                        !sprintResponse.getMrData().getRaceTable().getRaces().isEmpty()) {
-
-                    Race sprintRace = sprintResponse.getMrData().getRaceTable().getRaces().get(0);
-                    List<Result> sprintResults = sprintRace.getSprintResults();
+            outboxService.inUnitOfWork(() -> {
+                // Update Race entity
+                List<Race> existingRaces = raceRepo.findBySeasonAndRound(String.valueOf(year), round);
+                Race existingRace;
 
-                    if (sprintResults != null && !sprintResults.isEmpty()) {
-                        System.out.println("Processing Sprint results for " + context);
-                        for (int s = 0; s < sprintResults.size(); s++) {
-                            processResultForStats(year, context + " (Sprint)", updatedDrivers,
-                                    updatedConstructors,
-                                    updatedDriverStandings, updatedConstructorStandings,
-                                    constructorsProcessedForTotalRaces, s, sprintResults.get(s), true);
+                if (existingRaces != null && !existingRaces.isEmpty()) {
+                    existingRace = existingRaces.get(0);
+                    if (existingRaces.size() > 1) {
+                        for (int k = 1; k < existingRaces.size(); k++) {
+                            raceRepo.delete(existingRaces.get(k));
                         }
                     }
+                    existingRace.setResults(results);
+                    existingRace.setStandingsUpdated(true);
+                    raceRepo.save(existingRace);
+                } else {
+                    fetchedRace.setStandingsUpdated(true);
+                    raceRepo.save(fetchedRace);
+                    existingRace = fetchedRace;
                 }
-            } catch (Exception e) {
-                System.err.println("Error processing sprint results in live update: " + e.getMessage());
-            }
-
-            // SAVE UPDATES
-            if (!updatedDrivers.isEmpty()) {
-                driverRepo.saveAll(updatedDrivers.values());
-            }
-            if (!updatedConstructors.isEmpty()) {
-                constructorRepo.saveAll(updatedConstructors.values());
-            }
-            if (!updatedDriverStandings.isEmpty()) {
-                // For standings, typically we replace or update.
-                // Logic in updateStandings() (the bulk one) replaces ALL.
-                // Here we are adding points.
-                // Actually, processResultForStats ALSO updates standings maps if year==2026.
-                // But wait, processResultForStats adds points to 0 if new object.
-                // The Standings objects created in processResultForStats are `new
-                // DriverStanding()`.
-                // They don't fetch existing standings.
-                // This is a flaw in trying to reuse processResultForStats for INCREMENTAL
-                // updates if it assumes full recalc.
-
-                // Let's check processResultForStats implementation again:
-                // DriverStanding driverStanding = updatedDriverStandings.computeIfAbsent(...,
-                // new DriverStanding()... setPoints(0))
-
-                // YES, processResultForStats assumes it's building from scratch for that
-                // session.
-                // So if we run this for just ONE race, it calculates points ONLY for that race.
-                // It does NOT add to existing career total in the Standing object (it operates
-                // on a fresh object).
-                // BUT for Driver/Constructor entities, it DOES fetch from repo:
-                // updatedDrivers.putIfAbsent(driverId, driver) -> where driver comes from repo.
-
-                // SO:
-                // Driver/Constructor Entities: SAFE (Cumulative).
-                // Standings Entities: UNSAFE (Would overwrite with single-race points if we
-                // blindly save).
-
-                // HOWEVER, we have a separate method `updateStandings()` that fetches full
-                // standings from Ergast API.
-                // And `RaceDataScheduler` calls `updateStandings()` immediately after
-                // `fetchAndStoreLatestRaceResults`.
-                // So we don't strictly need to update Standings HERE manually.
-                // We can rely on `updateStandings()` to sync the official table.
-
-                // BUT `updateStandings` fetches from Ergast. If Ergast hasn't updated its
-                // standings endpoint yet (latency),
-                // we might be ahead.
-                // But typically, if results are out, standings are out.
-
-                // Given the complexity of incremental standings update (calculating positions
-                // etc),
-                // it's safer to rely on the `updateStandings` call which uses the official
-                // source.
-                // So we can IGNORE updatedDriverStandings here.
-            }
 
-            // Sync to JSON file after live update
-            historicalDataLoader.exportDataToJSON();
+                // Career stats go out as $inc bulk writes through the ingestion ledger,
+                // so a manual re-run or scheduler retry of this round is a no-op.
+                // Standings are left to updateStandings(), which RaceDataScheduler
+                // runs right after this and which uses the official table.
+                if (!sprintResults.isEmpty()) {
+                    System.out.println("Processing Sprint results for " + context);
+                }
+                applyRound(year, fetchedRace.getRound() != null ? fetchedRace.getRound() : round, results,
+                        sprintResults, bundle.getQualifyingResults());
+                recordResults(yearStr, round, IngestionLedger.RACE, existingRace.getRaceName(), results);
+                return null;
+            });
+            publishResults(yearStr, round, IngestionLedger.RACE, results);
 
             return results;
 
@@ -790,6 +746,73 @@ public class DataIngestionService {
         return Collections.emptyList();
     }
 
+    /**
+     * Stores and applies the results of one session that ends before the race
+     * (qualifying or sprint), as soon as they are published. Applying the whole
+     * round later is a no-op for this session thanks to the ingestion ledger.
+     *
+     * @param session {@link IngestionLedger#QUALIFYING} or {@link IngestionLedger#SPRINT}
+     * @return whether the session has results yet
+     */
+    @CacheEvict(value = { "races", "currentDrivers" }, allEntries = true)
+    public boolean fetchAndStoreSessionResults(String yearStr, String round, String session) {
+        int year = Integer.parseInt(yearStr);
+        RoundBundle bundle = roundFetcher.fetchRound(year, round);
+        boolean sprint = IngestionLedger.SPRINT.equals(session);
+        List<Result> results = sprint ? bundle.getSprintResults() : bundle.getQualifyingResults();
+        if (results.isEmpty()) {
+            System.out.println("No " + session + " results yet for " + year + " round " + round);
+            return false;
+        }
+
+        outboxService.inUnitOfWork(() -> {
+            List<Race> existingRaces = raceRepo.findBySeasonAndRound(yearStr, round);
+            String raceName = null;
+            if (existingRaces != null && !existingRaces.isEmpty()) {
+                Race race = existingRaces.get(0);
+                if (sprint) {
+                    race.setSprintResults(results);
+                } else {
+                    race.setQualifyingResults(results);
+                }
+                raceRepo.save(race);
+                raceName = race.getRaceName();
+            }
+            applyRound(year, round, Collections.emptyList(), sprint ? results : Collections.emptyList(),
+                    sprint ? Collections.emptyList() : results);
+            recordResults(yearStr, round, session, raceName, results);
+            return null;
+        });
+        System.out.println("Stored " + results.size() + " " + session + " results for " + year + " round " + round);
+        publishResults(yearStr, round, session, results);
+        return true;
+    }
+
+    private void recordResults(String season, String round, String session, String raceName,
+            List<Result> results) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("season", season);
+        event.put("round", round);
+        event.put("session", session);
+        event.put("raceName", raceName);
+        event.put("results", results);
+        outboxService.record(OutboxService.RACE_RESULTS_INGESTED, season, round, event);
+    }
+
+    /**
+     * Pushes a session's stored results to live update subscribers. The results
+     * travel with the event, since the read caches are only evicted once the
+     * ingesting method returns.
+     */
+    private void publishResults(String season, String round, String session, List<Result> results) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("season", season);
+        event.put("round", round);
+        event.put("session", session);
+        event.put("results", results);
+        liveUpdateHub.publish(LiveEvent.RESULTS, event);
+    }
+
     @Cacheable("latestResults")
     public List<Result> getLatestRaceResults() {
         System.out.println("CACHE MISS: Fetching Latest Results from DB");
@@ -840,7 +863,11 @@ public class DataIngestionService {
         }
     }
 
-    public void updateCircuitUrls() {
+    /**
+     * Sets the circuit image of every race, one multi-document update per
+     * circuit, sent as a single bulk write.
+     */
+    public MaintenanceReport updateCircuitUrls() {
         Map<String, String> circuitImages = new HashMap<>();
         // 2025 Calendar Circuit Images (Wikimedia/Public Domain)
         circuitImages.put("albert_park",
@@ -898,14 +925,15 @@ public class DataIngestionService {
         circuitImages.put("qatar",
                 "https://upload.wikimedia.org/wikipedia/commons/thumb/e/e0/Losail_International_Circuit_2021.svg/640px-Losail_International_Circuit_2021.svg.png");
 
-        List<Race> races = raceRepo.findAll();
-        for (Race race : races) {
-            if (race.getCircuit() != null && circuitImages.containsKey(race.getCircuit().getCircuitId())) {
-                race.setCircuitImageUrl(circuitImages.get(race.getCircuit().getCircuitId()));
-            }
+        long startedAt = System.currentTimeMillis();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Race.class);
+        for (Map.Entry<String, String> image : circuitImages.entrySet()) {
+            bulk.updateMulti(new Query(Criteria.where("circuit.circuitId").is(image.getKey())),
+                    Update.update("circuitImageUrl", image.getValue()));
         }
-        raceRepo.saveAll(races);
-        System.out.println("Updated circuit images for " + races.size() + " races.");
+        MaintenanceReport report = report("updateCircuitUrls", bulk.execute(), startedAt);
+        System.out.println(report);
+        return report;
     }
 
     public void updateDriverImages() {
@@ -917,37 +945,56 @@ public class DataIngestionService {
         System.out.println("Driver images are updated via syncAllDrivers.");
     }
 
-    public void cleanupOldRaces() {
+    public MaintenanceReport cleanupOldRaces() {
         // Delete races from 2025 if they exist, or just clear all and re-import
         System.out.println("Cleaning up races...");
-        List<Race> oldRaces = raceRepo.findBySeason("2025");
-        if (oldRaces != null && !oldRaces.isEmpty()) {
-            raceRepo.deleteAll(oldRaces);
-            System.out.println("Deleted " + oldRaces.size() + " races from 2025.");
-        }
+        long startedAt = System.currentTimeMillis();
+        DeleteResult result = mongoTemplate.remove(new Query(Criteria.where("season").is("2025")), Race.class);
+        MaintenanceReport report = report("cleanupOldRaces", result, startedAt);
+        System.out.println(report);
         // Also trigger accumulation for new season
         accumulateRaces();
+        return report;
     }
 
-    public void exportData() {
+    /**
+     * Queues a background export.
+     *
+     * @return the path the export is written to
+     */
+    public String exportData() {
         historicalDataLoader.exportDataToJSON();
+        return historicalDataLoader.getExportPath();
     }
 
     public String importHistoricalData() {
         return historicalDataLoader.loadHistoricalData();
     }
 
-    public String cleanupBadDrivers() {
+    public MaintenanceReport cleanupBadDrivers() {
         List<String> badIds = List.of("sergio perez", "valtteri bottas");
-        List<Driver> toDelete = new ArrayList<>();
-        for (String id : badIds) {
-            driverRepo.findById(id).ifPresent(toDelete::add);
-        }
-        if (!toDelete.isEmpty()) {
-            driverRepo.deleteAll(toDelete);
-            return "Deleted " + toDelete.size() + " bad driver records.";
-        }
-        return "No bad driver records found.";
+        long startedAt = System.currentTimeMillis();
+        DeleteResult result = mongoTemplate.remove(new Query(Criteria.where("_id").in(badIds)), Driver.class);
+        MaintenanceReport report = report("cleanupBadDrivers", result, startedAt);
+        System.out.println(report);
+        return report;
+    }
+
+    private static MaintenanceReport report(String operation, BulkWriteResult result, long startedAt) {
+        MaintenanceReport report = new MaintenanceReport(operation);
+        report.setMatched(result.getMatchedCount());
+        report.setModified(result.getModifiedCount());
+        report.setDeleted(result.getDeletedCount());
+        report.setDurationMillis(System.currentTimeMillis() - startedAt);
+        return report;
+    }
+
+    private static MaintenanceReport report(String operation, DeleteResult result, long startedAt) {
+        MaintenanceReport report = new MaintenanceReport(operation);
+        report.setMatched(result.getDeletedCount());
+        report.setDeleted(result.getDeletedCount());
+        report.setDurationMillis(System.currentTimeMillis() - startedAt);
+        return report;
     }
 
     public void resetDatabase() {
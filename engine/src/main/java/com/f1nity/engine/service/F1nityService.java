@@ -32,6 +32,7 @@ public class F1nityService {
      * 
      * @return List of current drivers
      */
+    @Cacheable("currentDrivers")
     public List<Driver> getCurrentDrivers() {
         return f1nityServiceImpl.getCurrentDrivers();
     }
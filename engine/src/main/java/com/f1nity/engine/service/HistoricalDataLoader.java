@@ -1,37 +1,131 @@
 package com.f1nity.engine.service;
 
-import com.f1nity.engine.model.HistoricalData;
 import com.f1nity.library.models.engine.Constructor;
 import com.f1nity.library.models.engine.Driver;
-import com.f1nity.library.repository.engine.ConstructorRepository;
-import com.f1nity.library.repository.engine.DriverRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Imports and exports the historical drivers and constructors file
+ * ({@code {"drivers": [...], "constructors": [...], "lastUpdated": "..."}}).
+ * Both directions stream: the import reads one entity at a time from a token
+ * stream and upserts in chunks of {@code historical-data.import.chunk-size}
+ * with unordered bulk writes; the export writes straight from a Mongo cursor
+ * into a gzip file next to {@code historical-data.export.path} and renames it
+ * into place. Memory use does not grow with the number of entities.
+ * Besides full exports there are delta exports holding only the entities that
+ * changed ({@code historical_data.delta-<millis>.*} next to the JSON export
+ * path); the import applies them in order after the full export, and the next
+ * full export removes them.
+ * <p>
+ * Exports are written in {@code historical-data.export.format}: {@code binary}
+ * (the default) is the same document encoded as Smile behind a header of magic
+ * bytes, format version, payload length and CRC32, and loads several times
+ * faster than parsing gzip JSON on a cold start. A binary file is verified
+ * before anything is imported from it; one that fails falls back to the JSON
+ * export or the bundled JSON, which stay the human-readable format.
+ */
 @Service
 public class HistoricalDataLoader {
 
     @Autowired
-    private DriverRepository driverRepo;
-
-    @Autowired
-    private ConstructorRepository constructorRepo;
+    private MongoTemplate mongoTemplate;
 
     @Autowired
     private ObjectMapper objectMapper;
 
     private static final String HISTORY_FILE = "historical_data.json";
 
+    public static final String FORMAT_BINARY = "binary";
+    public static final String FORMAT_JSON = "json";
+
+    // Binary header: magic, format version, payload length, CRC32 of the payload
+    private static final byte[] SNAPSHOT_MAGIC = { 'F', '1', 'H', 'S' };
+    static final int SNAPSHOT_VERSION = 1;
+    private static final int HEADER_LENGTH = SNAPSHOT_MAGIC.length + 4 + 8 + 8;
+
+    /**
+     * Where JSON exports are written, with the deltas of either format next to
+     * it. Outside the classpath, which is read-only in the container image.
+     */
+    @Value("${historical-data.export.path:data/historical_data.json.gz}")
+    private String exportPath = "data/historical_data.json.gz";
+
+    @Value("${historical-data.export.binary-path:data/historical_data.smile}")
+    private String binaryPath = "data/historical_data.smile";
+
+    @Value("${historical-data.export.format:binary}")
+    private String format = FORMAT_BINARY;
+
+    @Value("${historical-data.import.chunk-size:500}")
+    private int chunkSize = 500;
+
+    // Nationalities, team names and the like repeat; write each once
+    private final SmileFactory smileFactory = SmileFactory.builder()
+            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES).build();
+
+    private final ExecutorService exporter = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "historical-export");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean exportQueued = new AtomicBoolean();
+    // Full and delta exports share the directory; one writer at a time
+    private final Object exportLock = new Object();
+
     public String loadHistoricalData() {
         StringBuilder status = new StringBuilder();
         try {
-            // Try loading from source file first for dev loop
+            // Latest export first, then the source file for the dev loop
             String userDir = System.getProperty("user.dir");
             status.append("CWD: ").append(userDir).append("\n");
 
@@ -40,11 +134,25 @@ public class HistoricalDataLoader {
                 sourceFile = new File("engine/src/main/resources/" + HISTORY_FILE);
             }
 
-            HistoricalData data;
-            if (sourceFile.exists()) {
+            long startedAt = System.currentTimeMillis();
+            JsonParser parser = null;
+            boolean fromExport = false;
+            // Newest full export first; a damaged one falls back to the next
+            for (Path export : fullExports()) {
+                try {
+                    parser = openExport(export);
+                    fromExport = true;
+                    status.append("Loaded from EXPORT: ").append(export).append("\n");
+                    break;
+                } catch (IOException e) {
+                    status.append("Skipped EXPORT ").append(export).append(": ").append(e.getMessage()).append("\n");
+                }
+            }
+
+            if (parser == null && sourceFile.exists()) {
                 status.append("Loaded from SOURCE: ").append(sourceFile.getAbsolutePath()).append("\n");
-                data = objectMapper.readValue(sourceFile, HistoricalData.class);
-            } else {
+                parser = openJson(Files.newInputStream(sourceFile.toPath()));
+            } else if (parser == null) {
                 status.append("Source file not found at src/main/resources/").append(HISTORY_FILE)
                         .append(" or engine/src/main/resources/").append(HISTORY_FILE).append("\n");
 
@@ -54,61 +162,332 @@ public class HistoricalDataLoader {
                     return status.append("Failed: Classpath resource not found.").toString();
                 }
                 status.append("Loaded from CLASSPATH (might be stale).\n");
-                data = objectMapper.readValue(resource.getInputStream(), HistoricalData.class);
+                parser = openJson(resource.getInputStream());
             }
 
-            if (data.getDrivers() != null && !data.getDrivers().isEmpty()) {
-                status.append("Saving ").append(data.getDrivers().size()).append(" drivers... ");
-                driverRepo.saveAll(data.getDrivers());
-                status.append("Done.\n");
-                // Debug: Check one driver
-                Driver d = data.getDrivers().stream().filter(dr -> "leclerc".equals(dr.getDriverId())).findFirst()
-                        .orElse(null);
-                if (d != null)
-                    status.append("Leclerc Wins: ").append(d.getWins()).append("\n");
-            }
-
-            if (data.getConstructors() != null && !data.getConstructors().isEmpty()) {
-                constructorRepo.saveAll(data.getConstructors());
+            importStream(parser, status);
+            if (fromExport) {
+                for (Path delta : deltaFiles()) {
+                    status.append("Applying DELTA: ").append(delta.getFileName()).append("\n");
+                    importStream(openExport(delta), status);
+                }
             }
-
+            status.append("Import took ").append(System.currentTimeMillis() - startedAt).append(" ms\n");
             return status.toString();
 
-        } catch (IOException e) {
+        } catch (IOException | RuntimeException e) {
             e.printStackTrace();
             return status.append("Error: ").append(e.getMessage()).toString();
         }
     }
 
+    /**
+     * Reads the drivers and constructors arrays entity by entity and upserts
+     * them by id in chunks. Closes the parser.
+     */
+    void importStream(JsonParser source, StringBuilder status) throws IOException {
+        try (JsonParser parser = source) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected an object at the top of the historical data file");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if ("drivers".equals(field)) {
+                    status.append("Saving drivers... ");
+                    int count = importArray(parser, Driver.class, Driver::getDriverId, d -> {
+                        // Debug: Check one driver
+                        if ("leclerc".equals(d.getDriverId())) {
+                            status.append("(Leclerc Wins: ").append(d.getWins()).append(") ");
+                        }
+                    });
+                    status.append(count).append(" done.\n");
+                } else if ("constructors".equals(field)) {
+                    int count = importArray(parser, Constructor.class, Constructor::getConstructorId, c -> {
+                    });
+                    status.append("Saved ").append(count).append(" constructors.\n");
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    private <T> int importArray(JsonParser parser, Class<T> type, Function<T, String> id, Consumer<T> inspect)
+            throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return 0;
+        }
+        List<T> chunk = new ArrayList<>(chunkSize);
+        int count = 0;
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            T entity = objectMapper.readValue(parser, type);
+            inspect.accept(entity);
+            chunk.add(entity);
+            count++;
+            if (chunk.size() >= chunkSize) {
+                upsert(chunk, type, id);
+            }
+        }
+        upsert(chunk, type, id);
+        return count;
+    }
+
+    private <T> void upsert(List<T> chunk, Class<T> type, Function<T, String> id) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type);
+        for (T entity : chunk) {
+            bulk.replaceOne(new Query(Criteria.where("_id").is(id.apply(entity))), entity,
+                    FindAndReplaceOptions.options().upsert());
+        }
+        bulk.execute();
+        chunk.clear();
+    }
+
+    /**
+     * Queues an export on the background exporter and returns immediately.
+     * Calls arriving while an export is still queued are folded into it.
+     */
     public void exportDataToJSON() {
+        if (!exportQueued.compareAndSet(false, true)) {
+            return;
+        }
+        exporter.execute(() -> {
+            exportQueued.set(false);
+            try {
+                exportNow();
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Error exporting data: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Writes the export synchronously: streamed from Mongo cursors into a temp
+     * file in the target directory, then renamed over the previous export, so
+     * readers never see a partial file.
+     *
+     * @return the export file
+     */
+    public Path exportNow() throws IOException {
+        synchronized (exportLock) {
+            Path target = write(Paths.get(getExportPath()).toAbsolutePath(), new Query(), new Query());
+            // Everything the deltas held is in the full export now
+            for (Path delta : deltaFiles()) {
+                Files.deleteIfExists(delta);
+            }
+            return target;
+        }
+    }
+
+    /**
+     * Writes a delta export holding only the given drivers and constructors.
+     *
+     * @return the delta file
+     */
+    public Path exportDelta(Collection<String> driverIds, Collection<String> constructorIds)
+            throws IOException {
+        synchronized (exportLock) {
+            Path base = Paths.get(exportPath).toAbsolutePath();
+            long stamp = System.currentTimeMillis();
+            Path target;
+            // Names sort in write order; never reuse one within the same millisecond
+            do {
+                target = base.resolveSibling(String.format("%s%013d%s", deltaPrefix(), stamp++,
+                        isBinary() ? ".smile" : ".json.gz"));
+            } while (Files.exists(target));
+            return write(target, new Query(Criteria.where("_id").in(driverIds)),
+                    new Query(Criteria.where("_id").in(constructorIds)));
+        }
+    }
+
+    public boolean hasFullExport() {
+        return Files.exists(Paths.get(getExportPath()));
+    }
+
+    /**
+     * Delta exports newer than the full export, oldest first.
+     */
+    List<Path> deltaFiles() throws IOException {
+        Path dir = Paths.get(exportPath).toAbsolutePath().getParent();
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        String prefix = deltaPrefix();
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(f -> {
+                String name = f.getFileName().toString();
+                return name.startsWith(prefix) && (name.endsWith(".json.gz") || name.endsWith(".smile"));
+            }).sorted().toList();
+        }
+    }
+
+    private Path write(Path target, Query driverQuery, Query constructorQuery) throws IOException {
+        long startedAt = System.currentTimeMillis();
+        Files.createDirectories(target.getParent());
+        Path tmp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
         try {
-            HistoricalData data = new HistoricalData();
-            data.setDrivers(driverRepo.findAll());
-            data.setConstructors(constructorRepo.findAll());
-            data.setLastUpdated(LocalDateTime.now().toString());
-
-            // Write to src/main/resources so it's picked up on next run mostly for dev
-            // convenience
-            // In a real prod env you might want to write to an external volume or just a
-            // temp file to download.
-            // For now, let's write to a known path.
-            File file = new File("src/main/resources/" + HISTORY_FILE);
-            // If running in docker/jar, this path might not be writable or meaningful as
-            // expected,
-            // but for local dev (which seems to be the case here) it works.
-
-            // Fallback if src/main/resources doesn't exist (e.g. running from different
-            // CWD)
-            if (!file.getParentFile().exists()) {
-                file = new File("engine/src/main/resources/" + HISTORY_FILE);
-            }
-
-            objectMapper.writerWithDefaultPrettyPrinter().writeValue(file, data);
-            System.out.println("Data exported to " + file.getAbsolutePath());
-
-        } catch (IOException e) {
-            System.err.println("Error exporting data: " + e.getMessage());
-            e.printStackTrace();
+            int[] counts;
+            if (isBinary()) {
+                long crc;
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tmp), 64 * 1024)) {
+                    // Header is filled in once the payload is known
+                    out.write(new byte[HEADER_LENGTH]);
+                    CheckedOutputStream payload = new CheckedOutputStream(out, new CRC32());
+                    try (JsonGenerator generator = smileFactory.createGenerator(payload)) {
+                        counts = writeDocument(generator, driverQuery, constructorQuery);
+                    }
+                    crc = payload.getChecksum().getValue();
+                }
+                ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH).put(SNAPSHOT_MAGIC).putInt(SNAPSHOT_VERSION)
+                        .putLong(Files.size(tmp) - HEADER_LENGTH).putLong(crc).flip();
+                try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                    channel.write(header, 0);
+                }
+            } else {
+                try (OutputStream out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)));
+                        JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                    counts = writeDocument(generator, driverQuery, constructorQuery);
+                }
+            }
+            try {
+                Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            System.out.println("Exported " + counts[0] + " drivers and " + counts[1] + " constructors to "
+                    + target + " in " + (System.currentTimeMillis() - startedAt) + " ms");
+            return target;
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * The full export in the configured format.
+     */
+    public String getExportPath() {
+        return isBinary() ? binaryPath : exportPath;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        exporter.shutdown();
+    }
+
+    private int[] writeDocument(JsonGenerator generator, Query driverQuery, Query constructorQuery)
+            throws IOException {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        generator.writeStartObject();
+        generator.writeFieldName("drivers");
+        int drivers = writeArray(generator, writer, Driver.class, driverQuery);
+        generator.writeFieldName("constructors");
+        int constructors = writeArray(generator, writer, Constructor.class, constructorQuery);
+        generator.writeStringField("lastUpdated", LocalDateTime.now().toString());
+        generator.writeEndObject();
+        return new int[] { drivers, constructors };
+    }
+
+    private <T> int writeArray(JsonGenerator generator, ObjectWriter writer, Class<T> type, Query query)
+            throws IOException {
+        int count = 0;
+        generator.writeStartArray();
+        try (Stream<T> cursor = mongoTemplate.stream(query, type)) {
+            for (T entity : (Iterable<T>) cursor::iterator) {
+                writer.writeValue(generator, entity);
+                count++;
+            }
+        }
+        generator.writeEndArray();
+        return count;
+    }
+
+    private boolean isBinary() {
+        return !FORMAT_JSON.equalsIgnoreCase(format);
+    }
+
+    /**
+     * Full exports on disk in either format, newest first.
+     */
+    private List<Path> fullExports() {
+        return Stream.of(binaryPath, exportPath).map(Paths::get).filter(Files::isRegularFile)
+                .sorted(Comparator.comparing((Path f) -> f.toFile().lastModified()).reversed())
+                .toList();
+    }
+
+    /**
+     * Opens an export of either format, telling them apart by content. A binary
+     * snapshot is verified in full first.
+     */
+    private JsonParser openExport(Path file) throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(file), 64 * 1024);
+        try {
+            in.mark(SNAPSHOT_MAGIC.length);
+            byte[] magic = in.readNBytes(SNAPSHOT_MAGIC.length);
+            in.reset();
+            if (!Arrays.equals(magic, SNAPSHOT_MAGIC)) {
+                return openJson(in);
+            }
+            verifySnapshot(file);
+            in.skipNBytes(HEADER_LENGTH);
+            return smileFactory.createParser(in);
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    private JsonParser openJson(InputStream in) throws IOException {
+        return objectMapper.getFactory().createParser(decompressIfNeeded(in));
+    }
+
+    private static void verifySnapshot(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file), 64 * 1024))) {
+            in.skipNBytes(SNAPSHOT_MAGIC.length);
+            int version = in.readInt();
+            if (version != SNAPSHOT_VERSION) {
+                throw new IOException("Unsupported snapshot version " + version);
+            }
+            long length = in.readLong();
+            long expected = in.readLong();
+            if (length != Files.size(file) - HEADER_LENGTH) {
+                throw new IOException("Snapshot is truncated");
+            }
+            CRC32 crc = new CRC32();
+            byte[] buffer = new byte[64 * 1024];
+            for (int n; (n = in.read(buffer)) > 0;) {
+                crc.update(buffer, 0, n);
+            }
+            if (crc.getValue() != expected) {
+                throw new IOException("Snapshot checksum mismatch");
+            }
+        }
+    }
+
+    // historical_data.json.gz -> historical_data.delta-
+    private String deltaPrefix() {
+        String name = Paths.get(exportPath).getFileName().toString();
+        int dot = name.indexOf('.');
+        return (dot > 0 ? name.substring(0, dot) : name) + ".delta-";
+    }
+
+    /**
+     * JSON exports are gzip, the bundled source file is plain JSON; tell them
+     * apart by the gzip magic bytes.
+     */
+    private static InputStream decompressIfNeeded(InputStream in) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in, 64 * 1024);
+        buffered.mark(2);
+        int first = buffered.read();
+        int second = buffered.read();
+        buffered.reset();
+        if (first == 0x1f && second == 0x8b) {
+            return new GZIPInputStream(buffered, 64 * 1024);
         }
+        return buffered;
     }
 }
@@ -0,0 +1,307 @@
+package com.f1nity.engine.service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.f1nity.engine.model.StatsDelta;
+import com.f1nity.library.models.engine.IngestionLedgerEntry;
+import com.f1nity.library.models.engine.Result;
+import com.f1nity.library.repository.engine.ConstructorRepository;
+import com.f1nity.library.repository.engine.DriverRepository;
+import com.f1nity.library.repository.engine.IngestionLedgerRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+/**
+ * Makes career statistics ingestion idempotent.
+ * Every applied (season, round, session) is recorded in the ingestion ledger
+ * with a hash of the upstream payload and the increments it produced.
+ * Re-ingesting an identical payload is a no-op; a changed payload only applies
+ * the difference to what was recorded before. Ledger entries are claimed with
+ * optimistic locking before any increment is written, so concurrent or
+ * retried runs of the same round cannot double-count. Inside a transaction
+ * (see {@link OutboxService#inUnitOfWork}) a conflict aborts the transaction,
+ * so it is left to the unit of work to retry, and the rollback releases the
+ * claims.
+ */
+@Service
+public class IngestionLedger {
+
+    public static final String RACE = "race";
+    public static final String SPRINT = "sprint";
+    public static final String QUALIFYING = "qualifying";
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final DriverRepository driverRepo;
+    private final ConstructorRepository constructorRepo;
+    private final IngestionLedgerRepository ledgerRepo;
+    // Stable property and key order so equal payloads always hash the same
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true)
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true)
+            .build();
+    // Shared by every applyRound, exclusive for a full recompute
+    private final ReadWriteLock recomputeLock = new ReentrantReadWriteLock();
+
+    @Autowired
+    public IngestionLedger(DriverRepository driverRepo, ConstructorRepository constructorRepo,
+            IngestionLedgerRepository ledgerRepo) {
+        this.driverRepo = driverRepo;
+        this.constructorRepo = constructorRepo;
+        this.ledgerRepo = ledgerRepo;
+    }
+
+    /**
+     * One session of a round: its upstream results and the delta they produce.
+     */
+    public static Session session(String type, List<Result> results, StatsDelta delta) {
+        return new Session(type, results, delta);
+    }
+
+    /**
+     * Applies the sessions of one round through the ledger. Sessions without
+     * results are ignored, so a transient empty upstream response never takes
+     * back stats that were already applied.
+     *
+     * @return number of sessions whose increments were written (new or changed)
+     */
+    public int applyRound(int season, String round, List<Session> sessions) {
+        recomputeLock.readLock().lock();
+        try {
+            for (int attempt = 1;; attempt++) {
+                try {
+                    return tryApplyRound(season, round, sessions);
+                } catch (OptimisticLockingFailureException | DuplicateKeyException e) {
+                    // Another run claimed the same session first; re-read and diff again
+                    if (attempt >= MAX_ATTEMPTS || TransactionSynchronizationManager.isActualTransactionActive()) {
+                        throw e;
+                    }
+                    System.err.println("Ledger conflict for season " + season + ", round " + round + ", retrying");
+                }
+            }
+        } finally {
+            recomputeLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Runs {@code work} while no round is being applied in this process, and
+     * holds back new rounds until it returns.
+     */
+    public <T> T exclusively(Supplier<T> work) {
+        recomputeLock.writeLock().lock();
+        try {
+            return work.get();
+        } finally {
+            recomputeLock.writeLock().unlock();
+        }
+    }
+
+    private int tryApplyRound(int season, String round, List<Session> sessions) {
+        List<Session> present = new ArrayList<>();
+        for (Session session : sessions) {
+            if (session.results != null && !session.results.isEmpty()) {
+                present.add(session);
+            }
+        }
+        if (present.isEmpty()) {
+            return 0;
+        }
+
+        List<String> ids = present.stream().map(s -> IngestionLedgerEntry.key(season, round, s.type)).toList();
+        Map<String, IngestionLedgerEntry> existing = new HashMap<>();
+        ledgerRepo.findAllById(ids).forEach(e -> existing.put(e.getId(), e));
+
+        Map<String, Map<String, Number>> driverNet = new TreeMap<>();
+        Map<String, Map<String, Number>> constructorNet = new TreeMap<>();
+        List<Claim> claims = new ArrayList<>();
+        try {
+            for (Session session : present) {
+                String id = IngestionLedgerEntry.key(season, round, session.type);
+                String hash = hash(session.results);
+                IngestionLedgerEntry entry = existing.get(id);
+                if (entry != null && hash.equals(entry.getPayloadHash())) {
+                    System.out.println("Ledger: " + id + " unchanged, skipping");
+                    continue;
+                }
+
+                Map<String, Map<String, Number>> drivers = session.delta.driverIncrements();
+                Map<String, Map<String, Number>> constructors = session.delta.constructorIncrements();
+                Claim claim = new Claim(entry);
+                if (entry == null) {
+                    entry = new IngestionLedgerEntry(season, round, session.type);
+                    addInto(driverNet, drivers);
+                    addInto(constructorNet, constructors);
+                } else {
+                    System.out.println("Ledger: " + id + " changed upstream, applying the difference");
+                    addInto(driverNet, difference(drivers, entry.getDrivers()));
+                    addInto(constructorNet, difference(constructors, entry.getConstructors()));
+                }
+                entry.setPayloadHash(hash);
+                entry.setDrivers(drivers);
+                entry.setConstructors(constructors);
+                entry.setAppliedAt(System.currentTimeMillis());
+                entry.setRevision(entry.getRevision() + 1);
+                claim.saved = ledgerRepo.save(entry);
+                claims.add(claim);
+            }
+            if (claims.isEmpty()) {
+                return 0;
+            }
+
+            if (!driverNet.isEmpty()) {
+                driverRepo.incrementStats(driverNet);
+            }
+            if (!constructorNet.isEmpty()) {
+                constructorRepo.incrementStats(constructorNet);
+            }
+        } catch (RuntimeException e) {
+            if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+                revert(claims);
+            }
+            throw e;
+        }
+        return claims.size();
+    }
+
+    /**
+     * Puts claimed entries back to what they were, so a failed write can be
+     * retried and will compute the same difference again.
+     */
+    private void revert(List<Claim> claims) {
+        for (Claim claim : claims) {
+            try {
+                if (claim.previousHash == null) {
+                    ledgerRepo.delete(claim.saved);
+                } else {
+                    claim.saved.setPayloadHash(claim.previousHash);
+                    claim.saved.setDrivers(claim.previousDrivers);
+                    claim.saved.setConstructors(claim.previousConstructors);
+                    claim.saved.setRevision(claim.saved.getRevision() - 1);
+                    ledgerRepo.save(claim.saved);
+                }
+            } catch (RuntimeException e) {
+                System.err.println("Could not revert ledger entry " + claim.saved.getId() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    String hash(List<Result> results) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(results);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize results for hashing", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Per document and field, {@code current - previous}. Zero differences are
+     * left out.
+     */
+    static Map<String, Map<String, Number>> difference(Map<String, Map<String, Number>> current,
+            Map<String, Map<String, Number>> previous) {
+        Map<String, Map<String, Number>> result = new TreeMap<>();
+        Set<String> ids = new TreeSet<>(current.keySet());
+        if (previous != null) {
+            ids.addAll(previous.keySet());
+        }
+        for (String id : ids) {
+            Map<String, Number> now = current.getOrDefault(id, Map.of());
+            Map<String, Number> before = previous != null ? previous.getOrDefault(id, Map.of()) : Map.of();
+            Set<String> fields = new TreeSet<>(now.keySet());
+            fields.addAll(before.keySet());
+            Map<String, Number> fieldDiff = new LinkedHashMap<>();
+            for (String field : fields) {
+                Number diff = subtract(now.get(field), before.get(field));
+                if (diff.doubleValue() != 0) {
+                    fieldDiff.put(field, diff);
+                }
+            }
+            if (!fieldDiff.isEmpty()) {
+                result.put(id, fieldDiff);
+            }
+        }
+        return result;
+    }
+
+    private static void addInto(Map<String, Map<String, Number>> target, Map<String, Map<String, Number>> source) {
+        source.forEach((id, fields) -> {
+            Map<String, Number> targetFields = target.computeIfAbsent(id, k -> new LinkedHashMap<>());
+            fields.forEach((field, amount) -> targetFields.merge(field, amount, IngestionLedger::add));
+        });
+    }
+
+    private static Number add(Number a, Number b) {
+        if (isDecimal(a) || isDecimal(b)) {
+            return a.doubleValue() + b.doubleValue();
+        }
+        return Math.toIntExact(a.longValue() + b.longValue());
+    }
+
+    private static Number subtract(Number a, Number b) {
+        a = a != null ? a : 0;
+        b = b != null ? b : 0;
+        if (isDecimal(a) || isDecimal(b)) {
+            return a.doubleValue() - b.doubleValue();
+        }
+        return Math.toIntExact(a.longValue() - b.longValue());
+    }
+
+    private static boolean isDecimal(Number n) {
+        return n instanceof Double || n instanceof Float;
+    }
+
+    public static class Session {
+        private final String type;
+        private final List<Result> results;
+        private final StatsDelta delta;
+
+        Session(String type, List<Result> results, StatsDelta delta) {
+            this.type = type;
+            this.results = results;
+            this.delta = delta;
+        }
+
+        public String getType() {
+            return type;
+        }
+    }
+
+    private static class Claim {
+        final String previousHash;
+        final Map<String, Map<String, Number>> previousDrivers;
+        final Map<String, Map<String, Number>> previousConstructors;
+        IngestionLedgerEntry saved;
+
+        Claim(IngestionLedgerEntry previous) {
+            this.previousHash = previous != null ? previous.getPayloadHash() : null;
+            this.previousDrivers = previous != null ? previous.getDrivers() : null;
+            this.previousConstructors = previous != null ? previous.getConstructors() : null;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.f1nity.engine.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.f1nity.engine.model.Job;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs long admin operations (backfills, statistics updates, cleanups) as
+ * jobs on a bounded executor of their own, separate from the
+ * {@code race-scheduler-} pool, so a backfill never delays race-day updates or
+ * the news refresh.
+ * Submitting a job that is identical to a queued or running one returns the
+ * existing job. Jobs sharing a group (e.g. everything that writes career
+ * statistics) never run at the same time; a second one is refused while the
+ * first is active. Cancellation is cooperative: queued jobs are dropped, running
+ * ones stop at their next progress check.
+ */
+@Service
+public class JobService {
+
+    /**
+     * Jobs that write career statistics or race results.
+     */
+    public static final String GROUP_STATS = "stats";
+
+    private final ThreadPoolExecutor executor;
+    private final int history;
+    private final Map<String, Job> jobs = new LinkedHashMap<>();
+
+    @Autowired
+    public JobService(@Value("${jobs.pool-size:2}") int poolSize,
+            @Value("${jobs.queue-capacity:16}") int queueCapacity,
+            @Value("${jobs.history:100}") int history) {
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), r -> {
+                    Thread t = new Thread(r, "admin-job-" + threads.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        this.history = history;
+    }
+
+    /**
+     * Submits a job, or returns the active job with the same key.
+     *
+     * @param type  job type shown in the status, e.g. "backfill"
+     * @param key   identity used for dedupe, e.g. "backfill:1950-2025"
+     * @param group jobs of the same group never run concurrently; null for none
+     * @param task  the work; receives its job to report progress and check for
+     *              cancellation, and returns the job result
+     * @throws IllegalStateException      if another job of the group is active
+     * @throws RejectedExecutionException if the job queue is full
+     */
+    public synchronized Job submit(String type, String key, String group, Function<Job, Object> task) {
+        for (Job existing : jobs.values()) {
+            if (!existing.isActive()) {
+                continue;
+            }
+            if (existing.getKey().equals(key)) {
+                return existing;
+            }
+            if (group != null && group.equals(existing.getGroup())) {
+                throw new IllegalStateException("Job " + existing.getId() + " (" + existing.getKey()
+                        + ") is still " + existing.getState().name().toLowerCase());
+            }
+        }
+
+        Job job = new Job(UUID.randomUUID().toString(), type, key, group);
+        job.setFuture(executor.submit(() -> run(job, task)));
+        jobs.put(job.getId(), job);
+        evictFinished();
+        System.out.println("Submitted job " + job.getId() + " (" + key + ")");
+        return job;
+    }
+
+    public synchronized Optional<Job> get(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    /**
+     * All known jobs, newest first.
+     */
+    public synchronized List<Job> list() {
+        List<Job> list = new ArrayList<>(jobs.values());
+        list.sort(Comparator.comparingLong(Job::getSubmittedAt).reversed());
+        return list;
+    }
+
+    /**
+     * Requests cancellation. A queued job is cancelled at once; a running job
+     * stops at its next progress check.
+     *
+     * @return the job, or empty if unknown
+     */
+    public synchronized Optional<Job> cancel(String id) {
+        Job job = jobs.get(id);
+        if (job == null || !job.isActive()) {
+            return Optional.ofNullable(job);
+        }
+        job.setCancelRequested(true);
+        if (job.getState() == Job.State.QUEUED && job.getFuture().cancel(false)) {
+            executor.remove((Runnable) job.getFuture());
+            job.setState(Job.State.CANCELLED);
+            job.setFinishedAt(System.currentTimeMillis());
+        }
+        return Optional.of(job);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(Job job, Function<Job, Object> task) {
+        // Serialised with cancel(), so a job is either dropped while queued or runs
+        synchronized (this) {
+            if (job.isCancelRequested()) {
+                return;
+            }
+            job.setStartedAt(System.currentTimeMillis());
+            job.setState(Job.State.RUNNING);
+        }
+        try {
+            job.setResult(task.apply(job));
+            job.setState(job.isCancelRequested() ? Job.State.CANCELLED : Job.State.SUCCEEDED);
+        } catch (Exception e) {
+            System.err.println("Job " + job.getId() + " (" + job.getKey() + ") failed: " + e.getMessage());
+            job.setError(e.getMessage());
+            job.setState(Job.State.FAILED);
+        } finally {
+            job.setFinishedAt(System.currentTimeMillis());
+            System.out.println("Job " + job.getId() + " (" + job.getKey() + ") " + job.getState().name().toLowerCase()
+                    + " after " + (job.getFinishedAt() - job.getStartedAt()) + " ms");
+        }
+    }
+
+    private void evictFinished() {
+        int excess = jobs.size() - history;
+        Iterator<Job> it = jobs.values().iterator();
+        while (excess > 0 && it.hasNext()) {
+            if (!it.next().isActive()) {
+                it.remove();
+                excess--;
+            }
+        }
+    }
+}
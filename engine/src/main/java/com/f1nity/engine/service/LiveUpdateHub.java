@@ -0,0 +1,474 @@
+package com.f1nity.engine.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.f1nity.engine.model.LiveEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPubSub;
+
+/**
+ * Pushes result, standings and race status changes to Server-Sent Events
+ * subscribers, so clients hold one connection instead of polling.
+ * <p>
+ * Ingestion runs on the leader only, so with {@code live.relay=redis} events
+ * are published to a Redis channel and every instance, the leader included,
+ * delivers them to its own subscribers. Each subscriber has a buffer of
+ * {@code live.buffer-size} events drained by a small sender pool; when a slow
+ * client lets it fill up the oldest event is dropped and the client gets a
+ * {@code resync} event telling it to refetch. A send that blocks for longer
+ * than {@code live.write-timeout} (a client that stopped reading) disconnects
+ * that client, and the pool grows up to {@code live.max-sender-threads} so
+ * the threads stuck in such writes do not hold up everyone else. Idle connections get a heartbeat
+ * comment every {@code live.heartbeat-ms}, and a reconnecting client sends
+ * {@code Last-Event-ID} to replay what it missed from the last
+ * {@code live.replay-size} events.
+ */
+@Service
+public class LiveUpdateHub {
+
+    static final String CHANNEL = "f1nity:live";
+
+    private static final String RESYNC = "resync";
+
+    // Queued as a comment when a subscriber has nothing else pending
+    private static final LiveEvent HEARTBEAT = new LiveEvent(0, null, null);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JedisPool jedisPool;
+
+    /**
+     * redis | none; none only reaches subscribers of the publishing instance.
+     */
+    @Value("${live.relay:redis}")
+    private String relay = "redis";
+
+    @Value("${live.buffer-size:32}")
+    private int bufferSize = 32;
+
+    @Value("${live.replay-size:128}")
+    private int replaySize = 128;
+
+    @Value("${live.max-subscribers:5000}")
+    private int maxSubscribers = 5000;
+
+    /**
+     * Clients reconnect with Last-Event-ID when a connection times out.
+     */
+    @Value("${live.timeout:30m}")
+    private Duration timeout = Duration.ofMinutes(30);
+
+    @Value("${live.sender-threads:4}")
+    private int senderThreads = 4;
+
+    @Value("${live.max-sender-threads:32}")
+    private int maxSenderThreads = 32;
+
+    @Value("${live.write-timeout:10s}")
+    private Duration writeTimeout = Duration.ofSeconds(10);
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    // Most recent events for Last-Event-ID replay; guarded by itself
+    private final Deque<LiveEvent> recent = new ArrayDeque<>();
+    private long evictedUpTo;
+
+    private final AtomicLong lastId = new AtomicLong();
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong stalled = new AtomicLong();
+
+    private ThreadPoolExecutor sender;
+    private ScheduledExecutorService watchdog;
+    private volatile boolean running;
+    private volatile JedisPubSub relaySubscription;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threads = new AtomicInteger();
+        // Extra threads above the core size only start while sends are stuck
+        sender = new ThreadPoolExecutor(senderThreads, Math.max(senderThreads, maxSenderThreads), 60,
+                TimeUnit.SECONDS, new SynchronousQueue<>(), r -> {
+                    Thread t = new Thread(r, "live-sender-" + threads.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "live-watchdog");
+            t.setDaemon(true);
+            return t;
+        });
+        long checkMillis = Math.max(10, writeTimeout.toMillis() / 4);
+        watchdog.scheduleWithFixedDelay(this::expireStalledSends, checkMillis, checkMillis, TimeUnit.MILLISECONDS);
+        running = true;
+        if (relayEnabled()) {
+            Thread thread = new Thread(this::relayLoop, "live-relay");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    private boolean relayEnabled() {
+        return "redis".equalsIgnoreCase(relay);
+    }
+
+    /**
+     * Publishes a change to every subscriber of {@code type} on every
+     * instance. Never throws: live updates must not fail ingestion.
+     *
+     * @param type One of the {@link LiveEvent} types
+     * @param data Payload, serialized once as JSON
+     */
+    public void publish(String type, Object data) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            System.err.println("Could not serialize " + type + " live update: " + e.getMessage());
+            return;
+        }
+        // Time-based, so ids keep growing across a leader failover
+        LiveEvent event = new LiveEvent(lastId.updateAndGet(prev -> Math.max(prev + 1, System.currentTimeMillis())),
+                type, json);
+        if (relayEnabled()) {
+            try (Jedis jedis = jedisPool.getResource()) {
+                jedis.publish(CHANNEL, event.encode());
+                return;
+            } catch (RuntimeException e) {
+                System.err.println("Live update relay failed, delivering locally only: " + e.getMessage());
+            }
+        }
+        dispatch(event);
+    }
+
+    /**
+     * Delivers an event to this instance's subscribers.
+     */
+    void dispatch(LiveEvent event) {
+        lastId.accumulateAndGet(event.getId(), Math::max);
+        synchronized (recent) {
+            recent.addLast(event);
+            while (recent.size() > replaySize) {
+                evictedUpTo = recent.removeFirst().getId();
+            }
+        }
+        published.incrementAndGet();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.accepts(event.getType())) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    /**
+     * Opens a stream of the given event types (all if empty).
+     *
+     * @param lastEventId Id of the last event the client saw, to replay newer ones
+     * @throws IllegalStateException if this instance has too many subscribers
+     */
+    public SseEmitter subscribe(Long lastEventId, Set<String> types) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new IllegalStateException("Too many live update subscribers");
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        register(emitter, lastEventId, types);
+        return emitter;
+    }
+
+    void register(SseEmitter emitter, Long lastEventId, Set<String> types) {
+        Subscriber subscriber = new Subscriber(emitter, types);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        if (lastEventId == null) {
+            // Flushes the response headers through proxies right away
+            subscriber.heartbeat();
+            return;
+        }
+        List<LiveEvent> missed;
+        boolean gap;
+        synchronized (recent) {
+            missed = recent.stream().filter(e -> e.getId() > lastEventId).toList();
+            gap = lastEventId < evictedUpTo;
+        }
+        if (gap) {
+            subscriber.missed(1);
+        }
+        for (LiveEvent event : missed) {
+            if (subscriber.accepts(event.getType())) {
+                subscriber.offer(event);
+            }
+        }
+        subscriber.heartbeat();
+    }
+
+    @Scheduled(fixedDelayString = "${live.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeat();
+        }
+    }
+
+    /**
+     * Disconnects subscribers whose current send has blocked for longer than
+     * the write timeout.
+     */
+    void expireStalledSends() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.expireIfStalled(now);
+        }
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("subscribers", subscribers.size());
+        map.put("published", published.get());
+        map.put("dropped", dropped.get());
+        map.put("stalled", stalled.get());
+        map.put("relay", relay);
+        map.put("relayConnected", relaySubscription != null && relaySubscription.isSubscribed());
+        return map;
+    }
+
+    private void relayLoop() {
+        while (running) {
+            JedisPubSub subscription = new JedisPubSub() {
+                @Override
+                public void onMessage(String channel, String message) {
+                    try {
+                        dispatch(LiveEvent.decode(message));
+                    } catch (RuntimeException e) {
+                        System.err.println("Bad live update on " + channel + ": " + e.getMessage());
+                    }
+                }
+            };
+            relaySubscription = subscription;
+            try (Jedis jedis = jedisPool.getResource()) {
+                // Blocks until unsubscribed or disconnected
+                jedis.subscribe(subscription, CHANNEL);
+            } catch (RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                System.err.println("Live update relay disconnected: " + e.getMessage());
+                try {
+                    Thread.sleep(5000);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        JedisPubSub subscription = relaySubscription;
+        if (subscription != null && subscription.isSubscribed()) {
+            subscription.unsubscribe();
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+        if (sender != null) {
+            sender.shutdownNow();
+        }
+        if (watchdog != null) {
+            watchdog.shutdownNow();
+        }
+    }
+
+    /**
+     * One connection and its bounded buffer. At most one sender thread drains
+     * a subscriber at a time, so events go out in order.
+     */
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Set<String> types;
+        private final Deque<LiveEvent> buffer = new ArrayDeque<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        // Events dropped since the last resync; guarded by buffer
+        private int missed;
+        // Start of the send in progress (0 if none) and its thread; guarded by itself
+        private final Object sendState = new Object();
+        private long sendingSince;
+        private Thread sendingThread;
+        private volatile boolean expired;
+
+        Subscriber(SseEmitter emitter, Set<String> types) {
+            this.emitter = emitter;
+            this.types = types;
+        }
+
+        boolean accepts(String type) {
+            return types == null || types.isEmpty() || types.contains(type);
+        }
+
+        void offer(LiveEvent event) {
+            synchronized (buffer) {
+                if (buffer.size() >= bufferSize) {
+                    buffer.removeFirst();
+                    missed++;
+                    dropped.incrementAndGet();
+                }
+                buffer.addLast(event);
+            }
+            schedule();
+        }
+
+        void missed(int count) {
+            synchronized (buffer) {
+                missed += count;
+            }
+        }
+
+        void heartbeat() {
+            synchronized (buffer) {
+                if (!buffer.isEmpty()) {
+                    return;
+                }
+                buffer.addLast(HEARTBEAT);
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                while (true) {
+                    LiveEvent next;
+                    int resync;
+                    synchronized (buffer) {
+                        next = buffer.pollFirst();
+                        resync = missed;
+                        missed = 0;
+                    }
+                    if (resync > 0) {
+                        write(SseEmitter.event().name(RESYNC)
+                                .data("{\"dropped\":" + resync + "}", MediaType.APPLICATION_JSON));
+                    }
+                    if (next == null) {
+                        break;
+                    }
+                    send(next);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client gone, emitter completed or write timed out
+                subscribers.remove(this);
+                synchronized (buffer) {
+                    buffer.clear();
+                }
+                if (expired) {
+                    emitter.complete();
+                }
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // An event may have been offered after the last poll but before the flag was cleared
+            boolean pending;
+            synchronized (buffer) {
+                pending = !buffer.isEmpty();
+            }
+            if (pending && subscribers.contains(this)) {
+                schedule();
+            }
+        }
+
+        private void send(LiveEvent event) throws IOException {
+            if (event == HEARTBEAT) {
+                write(SseEmitter.event().comment("heartbeat"));
+            } else {
+                write(SseEmitter.event().id(String.valueOf(event.getId())).name(event.getType())
+                        .data(event.getJson(), MediaType.APPLICATION_JSON));
+            }
+        }
+
+        private void write(SseEmitter.SseEventBuilder event) throws IOException {
+            synchronized (sendState) {
+                sendingSince = System.nanoTime();
+                sendingThread = Thread.currentThread();
+            }
+            boolean timedOut;
+            try {
+                emitter.send(event);
+            } finally {
+                synchronized (sendState) {
+                    sendingSince = 0;
+                    sendingThread = null;
+                    timedOut = expired;
+                    // An expiry interrupt must not leak into the next subscriber's drain
+                    Thread.interrupted();
+                }
+            }
+            if (timedOut) {
+                throw new IOException("write timed out");
+            }
+        }
+
+        /**
+         * Drops the subscriber and interrupts its write if that has been blocked
+         * for longer than the write timeout. The emitter is completed by the
+         * drain once the write returns: completing it here would wait on the
+         * lock the stuck send holds.
+         */
+        void expireIfStalled(long now) {
+            synchronized (sendState) {
+                if (expired || sendingSince == 0 || now - sendingSince <= writeTimeout.toNanos()) {
+                    return;
+                }
+                expired = true;
+                subscribers.remove(this);
+                stalled.incrementAndGet();
+                sendingThread.interrupt();
+            }
+            System.err.println("Live update subscriber stopped reading for over " + writeTimeout.toMillis()
+                    + " ms; disconnecting it");
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.f1nity.engine.service;
+
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.f1nity.library.models.engine.OutboxEvent;
+import com.f1nity.library.repository.engine.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.MongoException;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Records engine domain events in the outbox collection, from where
+ * {@link com.f1nity.engine.scheduler.OutboxRelay} publishes them to Kafka.
+ * Ingestion runs each data change and its events through
+ * {@link #inUnitOfWork}, a Mongo transaction, so an event exists if and only
+ * if its change was committed. Without a transaction manager
+ * ({@code outbox.transactions=false}) the event is written right after the
+ * change and is lost if the engine dies in between.
+ */
+@Service
+public class OutboxService {
+
+    public static final String RACE_RESULTS_INGESTED = "RaceResultsIngested";
+    public static final String STANDINGS_UPDATED = "StandingsUpdated";
+    public static final String DRIVER_STATS_CHANGED = "DriverStatsChanged";
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Autowired
+    private OutboxEventRepository outboxRepo;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired(required = false)
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${outbox.enabled:true}")
+    private boolean enabled = true;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        if (transactionManager != null) {
+            transactionTemplate = new TransactionTemplate(transactionManager);
+        }
+    }
+
+    /**
+     * Runs {@code work} in one transaction, joining the caller's if there is
+     * one. Any exception rolls back both the data and its events. A write
+     * conflict with a concurrent transaction aborts the whole transaction, so
+     * the outermost unit of work runs {@code work} again, up to three times;
+     * {@code work} must re-read what it depends on.
+     */
+    public <T> T inUnitOfWork(Supplier<T> work) {
+        if (transactionTemplate == null || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return work.get();
+        }
+        for (int attempt = 1;; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (RuntimeException e) {
+                if (attempt >= MAX_ATTEMPTS || !isConflict(e)) {
+                    throw e;
+                }
+                System.err.println("Unit of work conflicted with a concurrent write, retrying: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * A TransientTransactionError from the server (a WriteConflict, for one),
+     * or an optimistic locking or duplicate key failure of a concurrent claim.
+     */
+    static boolean isConflict(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof OptimisticLockingFailureException || t instanceof DuplicateKeyException) {
+                return true;
+            }
+            if (t instanceof MongoException mongo
+                    && mongo.hasErrorLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Writes an event keyed by {@code season-round} (or the season alone), in
+     * the current unit of work.
+     *
+     * @throws IllegalStateException if the payload cannot be serialized, so
+     *                               the change is rolled back with it
+     */
+    public void record(String type, String season, String round, Object payload) {
+        if (!enabled) {
+            return;
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + type + " event", e);
+        }
+        outboxRepo.save(new OutboxEvent(type, round != null ? season + "-" + round : season, json));
+    }
+}
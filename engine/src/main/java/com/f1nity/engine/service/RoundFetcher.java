@@ -0,0 +1,240 @@
+package com.f1nity.engine.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.f1nity.engine.client.ErgastClient;
+import com.f1nity.engine.client.RawPayloadArchive;
+import com.f1nity.engine.model.RoundBundle;
+import com.f1nity.library.models.engine.Race;
+import com.f1nity.library.models.engine.RaceResponse;
+import com.f1nity.library.models.engine.Result;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Fetches the race, qualifying and sprint results of a round concurrently and
+ * combines them into a {@link RoundBundle}, so a round costs the latency of
+ * the slowest call instead of the sum of all three.
+ * A failed race call fails the bundle; qualifying and sprint failures are
+ * recorded on the bundle and leave those sessions empty. Sprints are only
+ * requested from 2021 on.
+ * Whole seasons are fetched with the paged season-wide listings instead, which
+ * costs a handful of requests rather than up to three per round.
+ */
+@Component
+public class RoundFetcher {
+
+    private static final int FIRST_SPRINT_SEASON = 2021;
+
+    @Autowired
+    private ErgastClient ergastClient;
+
+    @Autowired
+    private RawPayloadArchive rawPayloadArchive;
+
+    @Value("${ergast.season-page-size:100}")
+    private int seasonPageSize = 100;
+
+    public Mono<RoundBundle> fetchRoundMono(int season, String round) {
+        String year = String.valueOf(season);
+        return Mono.defer(() -> {
+            RoundBundle bundle = new RoundBundle(season, round);
+
+            Mono<Optional<Race>> race = firstRace(ergastClient.getRaceResultsMono(year, round))
+                    .onErrorResume(WebClientResponseException.ServiceUnavailable.class, e -> {
+                        // Same as the blocking client: a 503 means no data yet
+                        System.out.println("API returned 503 for race results for year " + year + " round "
+                                + round + ". Assuming no data.");
+                        return Mono.just(Optional.empty());
+                    });
+            Mono<List<Result>> qualifying = optionalSession(bundle, RoundBundle.QUALIFYING,
+                    firstRace(ergastClient.getQualifyingResultsMono(year, round))
+                            .flatMap(r -> Mono.justOrEmpty(r.map(Race::getQualifyingResults))));
+            Mono<List<Result>> sprint = season < FIRST_SPRINT_SEASON
+                    ? Mono.just(Collections.emptyList())
+                    : optionalSession(bundle, RoundBundle.SPRINT,
+                            firstRace(ergastClient.getSprintResultsMono(year, round))
+                                    .flatMap(r -> Mono.justOrEmpty(r.map(Race::getSprintResults))));
+
+            return Mono.zip(race, qualifying, sprint).map(sessions -> {
+                bundle.setRace(sessions.getT1().orElse(null));
+                bundle.setQualifyingResults(sessions.getT2());
+                bundle.setSprintResults(sessions.getT3());
+                return bundle;
+            });
+        });
+    }
+
+    /**
+     * Blocking variant for the scheduler and the serial ingestion loop.
+     */
+    public RoundBundle fetchRound(int season, String round) {
+        return fetchRoundMono(season, round).block();
+    }
+
+    /**
+     * Fetches every round of {@code season} through the paged season-wide
+     * results, qualifying and sprint listings (fetched concurrently) and splits
+     * the rows into one bundle per round, in round order. Only rounds with race
+     * results are returned, so the season ends at the last populated round and
+     * no request is spent on rounds that have not been run. Unlike
+     * {@link #fetchRoundMono}, any failed listing fails the whole season.
+     *
+     * @param upstreamRequests incremented once per page received
+     */
+    public Mono<List<RoundBundle>> fetchSeasonMono(int season, AtomicInteger upstreamRequests) {
+        return seasonBundles(season, "season listings", session -> ergastClient
+                .getSeasonPagesFlux(season, session, seasonPageSize)
+                .doOnNext(page -> upstreamRequests.incrementAndGet()));
+    }
+
+    /**
+     * Same as {@link #fetchSeasonMono} but replays the pages kept in the
+     * {@link RawPayloadArchive} instead of calling upstream. A season that was
+     * never archived comes back empty.
+     */
+    public Mono<List<RoundBundle>> fetchArchivedSeasonMono(int season) {
+        return seasonBundles(season, "the raw archive",
+                session -> rawPayloadArchive.ergastSeasonPages(season, session));
+    }
+
+    private Mono<List<RoundBundle>> seasonBundles(int season, String source,
+            Function<String, Flux<RaceResponse>> pages) {
+        Mono<Map<Integer, Race>> races = byRound(pages.apply(ErgastClient.SEASON_RESULTS),
+                ErgastClient.SEASON_RESULTS);
+        Mono<Map<Integer, Race>> qualifying = byRound(pages.apply(ErgastClient.SEASON_QUALIFYING),
+                ErgastClient.SEASON_QUALIFYING);
+        Mono<Map<Integer, Race>> sprints = season < FIRST_SPRINT_SEASON
+                ? Mono.just(Collections.emptyMap())
+                : byRound(pages.apply(ErgastClient.SEASON_SPRINT), ErgastClient.SEASON_SPRINT);
+
+        return Mono.zip(races, qualifying, sprints).map(sessions -> {
+            List<RoundBundle> bundles = new ArrayList<>();
+            for (Map.Entry<Integer, Race> entry : sessions.getT1().entrySet()) {
+                RoundBundle bundle = new RoundBundle(season, String.valueOf(entry.getKey()));
+                bundle.setRace(entry.getValue());
+                if (!bundle.hasResults()) {
+                    continue;
+                }
+                Race quali = sessions.getT2().get(entry.getKey());
+                Race sprint = sessions.getT3().get(entry.getKey());
+                bundle.setQualifyingResults(quali != null ? quali.getQualifyingResults() : null);
+                bundle.setSprintResults(sprint != null ? sprint.getSprintResults() : null);
+                bundles.add(bundle);
+            }
+            System.out.println("Fetched " + bundles.size() + " rounds of " + season + " from " + source);
+            return bundles;
+        });
+    }
+
+    /**
+     * Number of upstream calls one round costs for {@code season}.
+     */
+    public int callsPerRound(int season) {
+        return season < FIRST_SPRINT_SEASON ? 2 : 3;
+    }
+
+    private Mono<List<Result>> optionalSession(RoundBundle bundle, String session, Mono<List<Result>> results) {
+        return results
+                .defaultIfEmpty(Collections.emptyList())
+                .onErrorResume(e -> {
+                    String context = session + " results for year " + bundle.getSeason() + ", round "
+                            + bundle.getRound();
+                    System.err.println("Error fetching " + context + ": " + e.getMessage());
+                    bundle.addFailure(session, e.getMessage());
+                    return Mono.just(Collections.emptyList());
+                });
+    }
+
+    /**
+     * Merges the pages of one season listing by round. A round split across two
+     * pages ends up with all of its rows.
+     */
+    private static Mono<Map<Integer, Race>> byRound(Flux<RaceResponse> pages, String session) {
+        return pages
+                .<Map<Integer, Race>>reduceWith(TreeMap::new, (rounds, page) -> {
+                    mergePage(rounds, page, session);
+                    return rounds;
+                });
+    }
+
+    private static void mergePage(Map<Integer, Race> rounds, RaceResponse page, String session) {
+        if (page.getMrData() == null || page.getMrData().getRaceTable() == null
+                || page.getMrData().getRaceTable().getRaces() == null) {
+            return;
+        }
+        for (Race race : page.getMrData().getRaceTable().getRaces()) {
+            Integer round = parseRound(race.getRound());
+            if (round == null) {
+                continue;
+            }
+            List<Result> rows = rows(race, session);
+            Race merged = rounds.get(round);
+            if (merged == null) {
+                setRows(race, session, new ArrayList<>(rows != null ? rows : Collections.emptyList()));
+                rounds.put(round, race);
+            } else if (rows != null) {
+                rows(merged, session).addAll(rows);
+            }
+        }
+    }
+
+    private static List<Result> rows(Race race, String session) {
+        switch (session) {
+            case ErgastClient.SEASON_QUALIFYING:
+                return race.getQualifyingResults();
+            case ErgastClient.SEASON_SPRINT:
+                return race.getSprintResults();
+            default:
+                return race.getResults();
+        }
+    }
+
+    private static void setRows(Race race, String session, List<Result> rows) {
+        switch (session) {
+            case ErgastClient.SEASON_QUALIFYING:
+                race.setQualifyingResults(rows);
+                break;
+            case ErgastClient.SEASON_SPRINT:
+                race.setSprintResults(rows);
+                break;
+            default:
+                race.setResults(rows);
+        }
+    }
+
+    private static Integer parseRound(String round) {
+        try {
+            return round != null ? Integer.valueOf(round.trim()) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // 404s complete empty; an empty race table is "no data" as well
+    private static Mono<Optional<Race>> firstRace(Mono<RaceResponse> response) {
+        return response
+                .map(r -> {
+                    if (r.getMrData() == null || r.getMrData().getRaceTable() == null
+                            || r.getMrData().getRaceTable().getRaces() == null
+                            || r.getMrData().getRaceTable().getRaces().isEmpty()) {
+                        return Optional.<Race>empty();
+                    }
+                    return Optional.of(r.getMrData().getRaceTable().getRaces().get(0));
+                })
+                .defaultIfEmpty(Optional.empty());
+    }
+}
@@ -0,0 +1,225 @@
+package com.f1nity.engine.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.stereotype.Service;
+
+import com.f1nity.engine.client.UpstreamRateLimiter;
+import com.f1nity.engine.dto.BackfillReport;
+import com.f1nity.engine.model.Job;
+import com.f1nity.engine.model.RoundBundle;
+import com.f1nity.library.models.engine.Race;
+import com.f1nity.library.repository.engine.RaceRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * Parallel season backfill.
+ * Each season is fetched through the paged season-wide listings (a handful of
+ * requests instead of up to three per round), up to {@code backfill.max-in-flight}
+ * seasons at a time, in the backfill lane of the shared
+ * {@link UpstreamRateLimiter}, so live updates are admitted first. A season
+ * whose listings fail falls back to per-round fetches. Seasons can also be
+ * replayed from the raw payload archive without any upstream call.
+ * Rounds are committed strictly in season/round order through the ingestion
+ * ledger, so career totals are identical to the serial loop and a re-run is a
+ * no-op.
+ */
+@Service
+public class SeasonBackfillService {
+
+    private static final int MAX_ROUNDS = 24;
+    private static final int CURRENT_SEASON = 2026;
+
+    @Autowired
+    private RoundFetcher roundFetcher;
+
+    @Autowired
+    private RaceRepository raceRepo;
+
+    @Autowired
+    private DataIngestionService dataIngestionService;
+
+    @Value("${backfill.max-in-flight:4}")
+    private int maxInFlight;
+
+    /**
+     * Backfills every round between {@code fromSeason} and {@code toSeason}
+     * (inclusive) that is not yet stored.
+     *
+     * @return throughput report for the run
+     */
+    @CacheEvict(value = { "races", "latestResults", "currentDrivers" }, allEntries = true)
+    public BackfillReport backfill(int fromSeason, int toSeason) {
+        return backfill(fromSeason, toSeason, false);
+    }
+
+    /**
+     * @param fromArchive replay the raw payload archive instead of calling
+     *                    upstream; seasons that were never archived are skipped
+     */
+    @CacheEvict(value = { "races", "latestResults", "currentDrivers" }, allEntries = true)
+    public BackfillReport backfill(int fromSeason, int toSeason, boolean fromArchive) {
+        return backfill(fromSeason, toSeason, fromArchive, null);
+    }
+
+    /**
+     * @param job when run as a job: receives progress per season and is checked
+     *            for cancellation between seasons; may be null
+     */
+    @CacheEvict(value = { "races", "latestResults", "currentDrivers" }, allEntries = true)
+    public BackfillReport backfill(int fromSeason, int toSeason, boolean fromArchive, Job job) {
+        long startedAt = System.currentTimeMillis();
+        BackfillReport report = new BackfillReport(fromSeason, toSeason);
+        AtomicInteger upstreamRequests = new AtomicInteger();
+        int seasonCount = Math.max(0, toSeason - fromSeason + 1);
+        int seasonsDone = 0;
+
+        // Seasons are fetched concurrently but handed over in season order
+        Iterable<List<RoundBundle>> seasons = Flux.range(fromSeason, seasonCount)
+                .flatMapSequential(season -> fromArchive ? roundFetcher.fetchArchivedSeasonMono(season)
+                        : fetchSeason(season, upstreamRequests), Math.max(1, maxInFlight))
+                // Stops the fetches still in flight once a job is cancelled
+                .takeWhile(rounds -> job == null || !job.isCancelRequested())
+                .contextWrite(Context.of(UpstreamRateLimiter.PRIORITY_CONTEXT_KEY,
+                        UpstreamRateLimiter.Priority.BACKFILL))
+                .toIterable();
+
+        Map<Integer, Map<String, Race>> storedBySeason = new HashMap<>();
+        for (List<RoundBundle> rounds : seasons) {
+            // Seasons already fetched ahead are dropped too
+            if (job != null && job.isCancelRequested()) {
+                System.out.println("Backfill cancelled after " + seasonsDone + " of " + seasonCount + " seasons");
+                break;
+            }
+            for (RoundBundle bundle : rounds) {
+                String context = "year " + bundle.getSeason() + ", round " + bundle.getRound();
+                Race stored = storedBySeason.computeIfAbsent(bundle.getSeason(), this::storedRaces)
+                        .get(bundle.getRound());
+                if (stored != null && stored.getResults() != null && !stored.getResults().isEmpty()) {
+                    report.setRoundsSkipped(report.getRoundsSkipped() + 1);
+                    continue;
+                }
+                String raceFailure = bundle.getFailures().get(RoundBundle.RACE);
+                if (raceFailure != null) {
+                    System.err.println("Backfill failed for " + context + ": " + raceFailure);
+                    dataIngestionService.saveFailedRequest(bundle.getSeason(), bundle.getRound(), "general",
+                            raceFailure);
+                    report.setRoundsFailed(report.getRoundsFailed() + 1);
+                    continue;
+                }
+                if (bundle.getFailures().containsKey(RoundBundle.SPRINT)) {
+                    dataIngestionService.saveFailedRequest(bundle.getSeason(), bundle.getRound(), "sprint",
+                            bundle.getFailures().get(RoundBundle.SPRINT));
+                }
+                commit(stored, bundle);
+                report.setRoundsProcessed(report.getRoundsProcessed() + 1);
+            }
+            seasonsDone++;
+            if (job != null) {
+                job.progress(seasonsDone, seasonCount, report.getRoundsProcessed() + " rounds stored, "
+                        + report.getRoundsSkipped() + " skipped, " + report.getRoundsFailed() + " failed");
+            }
+        }
+
+        if (report.getRoundsProcessed() > 0 && toSeason >= CURRENT_SEASON) {
+            dataIngestionService.updateStandings();
+        }
+
+        report.setUpstreamRequests(upstreamRequests.get());
+        report.setWallClockMillis(System.currentTimeMillis() - startedAt);
+        System.out.println(report);
+        return report;
+    }
+
+    /**
+     * Re-fetches a single round and commits it like a backfilled one. Used to
+     * repair rounds recorded as failed requests without rerunning a backfill.
+     * Upstream errors, including a failed sprint fetch, are thrown to the caller
+     * so the round is retried.
+     *
+     * @return true if the round was stored, false if upstream has no results yet
+     */
+    @CacheEvict(value = { "races", "latestResults", "currentDrivers" }, allEntries = true)
+    public boolean repairRound(int season, int round) {
+        RoundBundle bundle = roundFetcher.fetchRound(season, String.valueOf(round));
+        if (!bundle.hasResults()) {
+            return false;
+        }
+        if (bundle.getFailures().containsKey(RoundBundle.SPRINT)) {
+            throw new IllegalStateException(bundle.getFailures().get(RoundBundle.SPRINT));
+        }
+        List<Race> stored = raceRepo.findBySeasonAndRound(String.valueOf(season), String.valueOf(round));
+        commit(stored != null && !stored.isEmpty() ? stored.get(0) : null, bundle);
+        return true;
+    }
+
+    /**
+     * Season listings first; if they fail, round by round until the first
+     * round without results. A round whose race fetch fails is kept as a bundle
+     * with a {@link RoundBundle#RACE} failure and does not end the season.
+     */
+    private Mono<List<RoundBundle>> fetchSeason(int season, AtomicInteger upstreamRequests) {
+        return roundFetcher.fetchSeasonMono(season, upstreamRequests)
+                .onErrorResume(e -> {
+                    System.err.println("Season listings failed for " + season + " (" + e.getMessage()
+                            + "). Falling back to per-round requests.");
+                    return Flux.range(1, MAX_ROUNDS)
+                            .concatMap(round -> {
+                                upstreamRequests.addAndGet(roundFetcher.callsPerRound(season));
+                                return roundFetcher.fetchRoundMono(season, String.valueOf(round))
+                                        .onErrorResume(roundError -> {
+                                            RoundBundle failed = new RoundBundle(season, String.valueOf(round));
+                                            failed.addFailure(RoundBundle.RACE, roundError.getMessage());
+                                            return Mono.just(failed);
+                                        });
+                            })
+                            .takeWhile(b -> b.hasResults() || b.getFailures().containsKey(RoundBundle.RACE))
+                            .collectList();
+                });
+    }
+
+    private void commit(Race stored, RoundBundle bundle) {
+        Race race = bundle.getRace();
+        race.setQualifyingResults(bundle.getQualifyingResults());
+        race.setSprintResults(bundle.getSprintResults());
+        race.setStandingsUpdated(true);
+        raceRepo.save(mergeIntoStored(stored, race));
+        dataIngestionService.applyRound(bundle.getSeason(), bundle.getRound(), bundle.getRaceResults(),
+                bundle.getSprintResults(), bundle.getQualifyingResults());
+    }
+
+    private Map<String, Race> storedRaces(int season) {
+        Map<String, Race> races = new HashMap<>();
+        List<Race> stored = raceRepo.findBySeason(String.valueOf(season));
+        if (stored != null) {
+            for (Race race : stored) {
+                races.putIfAbsent(race.getRound(), race);
+            }
+        }
+        return races;
+    }
+
+    /**
+     * Schedule entries created by accumulateRaces have no results yet; fill them
+     * in place so the round keeps its id and circuit image.
+     */
+    private Race mergeIntoStored(Race stored, Race fetched) {
+        if (stored == null) {
+            return fetched;
+        }
+        stored.setResults(fetched.getResults());
+        stored.setQualifyingResults(fetched.getQualifyingResults());
+        stored.setSprintResults(fetched.getSprintResults());
+        stored.setStandingsUpdated(true);
+        return stored;
+    }
+}
@@ -0,0 +1,186 @@
+package com.f1nity.engine.service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Background writer of the historical data snapshot.
+ * Ingestion only reports which drivers and constructors changed; the first
+ * change after a write schedules the next snapshot {@code snapshot.debounce}
+ * later, but never sooner than {@code snapshot.min-interval} after the previous
+ * one, and every change arriving meanwhile is folded into it. In
+ * {@code delta} mode only the changed entities are written, with a full
+ * snapshot every {@code snapshot.full-every} deltas (and whenever there is no
+ * full snapshot yet) so the chain replayed on import stays short.
+ */
+@Service
+public class SnapshotService {
+
+    public static final String MODE_FULL = "full";
+    public static final String MODE_DELTA = "delta";
+
+    @Autowired
+    private HistoricalDataLoader historicalDataLoader;
+
+    @Value("${snapshot.mode:delta}")
+    private String mode = MODE_DELTA;
+
+    @Value("${snapshot.debounce:30s}")
+    private Duration debounce = Duration.ofSeconds(30);
+
+    @Value("${snapshot.min-interval:5m}")
+    private Duration minInterval = Duration.ofMinutes(5);
+
+    @Value("${snapshot.full-every:20}")
+    private int fullEvery = 20;
+
+    private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "snapshot-writer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Guarded by this
+    private final Set<String> changedDrivers = new HashSet<>();
+    private final Set<String> changedConstructors = new HashSet<>();
+    private boolean fullRequested;
+    private ScheduledFuture<?> scheduled;
+    private long lastWriteStartedAt;
+    private int deltasSinceFull;
+
+    private final AtomicLong notifications = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong fullSnapshots = new AtomicLong();
+    private final AtomicLong deltaSnapshots = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    /**
+     * Records that these drivers and constructors changed. Returns at once.
+     */
+    public void markChanged(Collection<String> driverIds, Collection<String> constructorIds) {
+        synchronized (this) {
+            changedDrivers.addAll(driverIds);
+            changedConstructors.addAll(constructorIds);
+            scheduleWrite();
+        }
+    }
+
+    /**
+     * Records a change that a delta cannot describe, e.g. a recompute that
+     * replaced every document; the next snapshot is a full one.
+     */
+    public void markAllChanged() {
+        synchronized (this) {
+            fullRequested = true;
+            scheduleWrite();
+        }
+    }
+
+    /**
+     * Writes pending changes now, on the calling thread.
+     */
+    public void flush() {
+        synchronized (this) {
+            if (scheduled != null) {
+                scheduled.cancel(false);
+                scheduled = null;
+            }
+        }
+        write();
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        synchronized (this) {
+            map.put("mode", mode);
+            map.put("pending", scheduled != null);
+            map.put("pendingDrivers", changedDrivers.size());
+            map.put("pendingConstructors", changedConstructors.size());
+            map.put("deltasSinceFull", deltasSinceFull);
+            map.put("lastWriteStartedAt", lastWriteStartedAt);
+        }
+        map.put("notifications", notifications.get());
+        map.put("coalesced", coalesced.get());
+        map.put("fullSnapshots", fullSnapshots.get());
+        map.put("deltaSnapshots", deltaSnapshots.get());
+        map.put("failures", failures.get());
+        return map;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writer.shutdownNow();
+        // Do not lose the last changes on a clean shutdown
+        flush();
+    }
+
+    private void scheduleWrite() {
+        notifications.incrementAndGet();
+        if (scheduled != null) {
+            coalesced.incrementAndGet();
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long at = Math.max(now + debounce.toMillis(), lastWriteStartedAt + minInterval.toMillis());
+        scheduled = writer.schedule(this::write, at - now, TimeUnit.MILLISECONDS);
+    }
+
+    private void write() {
+        Set<String> drivers;
+        Set<String> constructors;
+        boolean full;
+        synchronized (this) {
+            scheduled = null;
+            if (changedDrivers.isEmpty() && changedConstructors.isEmpty() && !fullRequested) {
+                return;
+            }
+            drivers = new HashSet<>(changedDrivers);
+            constructors = new HashSet<>(changedConstructors);
+            changedDrivers.clear();
+            changedConstructors.clear();
+            full = fullRequested || !MODE_DELTA.equals(mode) || deltasSinceFull >= fullEvery
+                    || !historicalDataLoader.hasFullExport();
+            fullRequested = false;
+            lastWriteStartedAt = System.currentTimeMillis();
+        }
+
+        try {
+            if (full) {
+                historicalDataLoader.exportNow();
+                fullSnapshots.incrementAndGet();
+            } else {
+                historicalDataLoader.exportDelta(drivers, constructors);
+                deltaSnapshots.incrementAndGet();
+            }
+            synchronized (this) {
+                deltasSinceFull = full ? 0 : deltasSinceFull + 1;
+            }
+        } catch (Exception e) {
+            failures.incrementAndGet();
+            System.err.println("Snapshot failed, retrying later: " + e.getMessage());
+            synchronized (this) {
+                changedDrivers.addAll(drivers);
+                changedConstructors.addAll(constructors);
+                fullRequested |= full;
+                if (!writer.isShutdown()) {
+                    scheduleWrite();
+                }
+            }
+        }
+    }
+}
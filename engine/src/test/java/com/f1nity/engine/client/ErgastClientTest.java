@@ -0,0 +1,235 @@
+package com.f1nity.engine.client;
+
+import com.f1nity.library.models.engine.RaceResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.context.Context;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ErgastClientTest {
+
+    private static final String RACE_JSON = "{\"MRData\":{\"RaceTable\":{\"Races\":[{\"season\":\"2025\",\"round\":\"1\"}]}}}";
+
+    @Test
+    void testRetriesAfterRateLimitHonouringRetryAfter() {
+        AtomicInteger calls = new AtomicInteger();
+        ErgastClient client = client(calls, 5, 5, n -> n == 1
+                ? ClientResponse.create(HttpStatus.TOO_MANY_REQUESTS).header("Retry-After", "0").build()
+                : ok());
+
+        RaceResponse response = client.getRaceResults(2025, 1);
+
+        assertNotNull(response);
+        assertEquals("1", response.getMrData().getRaceTable().getRaces().get(0).getRound());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void testRetriesKeepTheLiveLane() {
+        AtomicInteger calls = new AtomicInteger();
+        UpstreamRateLimiter rateLimiter = new UpstreamRateLimiter(Duration.ofSeconds(30), Duration.ofMinutes(10), 100);
+        rateLimiter.register(UpstreamRateLimiter.ERGAST, 100, 10);
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> Mono.fromSupplier(
+                () -> calls.incrementAndGet() < 3
+                        ? ClientResponse.create(HttpStatus.TOO_MANY_REQUESTS).header("Retry-After", "0").build()
+                        : ok()));
+        ErgastClient client = client(builder, rateLimiter, 5, 5);
+
+        try {
+            assertNotNull(UpstreamRateLimiter.withPriority(UpstreamRateLimiter.Priority.LIVE,
+                    () -> client.getRaceResults(2025, 1)));
+        } finally {
+            rateLimiter.shutdown();
+        }
+
+        assertEquals(3, calls.get());
+        assertEquals(3L, lane(rateLimiter, "LIVE").get("granted"));
+        assertEquals(0L, lane(rateLimiter, "DEFAULT").get("granted"));
+    }
+
+    @Test
+    void testLivePollDoesNotJoinABackfillFlight() {
+        AtomicInteger calls = new AtomicInteger();
+        Sinks.One<ClientResponse> backfillResponse = Sinks.one();
+        UpstreamRateLimiter rateLimiter = new UpstreamRateLimiter(Duration.ofSeconds(30), Duration.ofMinutes(10), 100);
+        rateLimiter.register(UpstreamRateLimiter.ERGAST, 100, 10);
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> calls.incrementAndGet() == 1
+                ? backfillResponse.asMono()
+                : Mono.just(ok()));
+        ErgastClient client = client(builder, rateLimiter, 0, 5);
+
+        try {
+            // A backfill of the same round is still waiting for the upstream
+            Mono<RaceResponse> backfill = client.getRaceResultsMono(2025, 1)
+                    .contextWrite(Context.of(UpstreamRateLimiter.PRIORITY_CONTEXT_KEY,
+                            UpstreamRateLimiter.Priority.BACKFILL))
+                    .cache();
+            backfill.subscribe();
+
+            assertNotNull(UpstreamRateLimiter.withPriority(UpstreamRateLimiter.Priority.LIVE,
+                    () -> client.getRaceResultsMono(2025, 1).block(Duration.ofSeconds(2))));
+            assertEquals(2, calls.get());
+            assertEquals(1L, lane(rateLimiter, "LIVE").get("granted"));
+
+            backfillResponse.tryEmitValue(ok());
+            assertNotNull(backfill.block(Duration.ofSeconds(2)));
+        } finally {
+            rateLimiter.shutdown();
+        }
+        assertEquals(2L, client.getSingleFlight().snapshot().get("calls"));
+        assertEquals(0L, client.getSingleFlight().snapshot().get("coalesced"));
+    }
+
+    @Test
+    void testRecordingBypassesTheResponseCache(@TempDir Path dir) {
+        AtomicInteger calls = new AtomicInteger();
+        ResponseCache responseCache = new ResponseCache(true, dir.resolve("cache").toString());
+        WebClient.Builder network = WebClient.builder()
+                .exchangeFunction(request -> Mono.fromSupplier(() -> {
+                    calls.incrementAndGet();
+                    return ok();
+                }));
+        // Warms the cache for a finished season
+        assertNotNull(client(network.clone(), responseCache, new UpstreamRecorder("off", "unused", Duration.ZERO, 0.0))
+                .getRaceResults(2020, 1));
+
+        String cassettes = dir.resolve("cassettes").toString();
+        UpstreamRecorder recorder = new UpstreamRecorder("record", cassettes, Duration.ZERO, 0.0);
+        assertNotNull(client(network.clone(), responseCache, recorder).getRaceResults(2020, 1));
+        assertEquals(2, calls.get());
+
+        ErgastClient replaying = client(network.clone(), responseCache,
+                new UpstreamRecorder("replay", cassettes, Duration.ZERO, 0.0));
+        assertEquals("1", replaying.getRaceResults(2020, 1).getMrData().getRaceTable().getRaces().get(0).getRound());
+        assertThrows(UpstreamRecorder.CassetteMissingException.class, () -> replaying.getRaceResults(2020, 2));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void testNotFoundMeansNoData() {
+        AtomicInteger calls = new AtomicInteger();
+        ErgastClient client = client(calls, 5, 5, n -> ClientResponse.create(HttpStatus.NOT_FOUND).build());
+
+        assertNull(client.getSprintResults(2025, 1));
+        assertEquals(1, calls.get());
+        assertEquals(CircuitBreaker.State.CLOSED, client.getCircuitBreakerState());
+    }
+
+    @Test
+    void testCircuitBreakerFailsFastWhenOpen() {
+        AtomicInteger calls = new AtomicInteger();
+        ErgastClient client = client(calls, 0, 2,
+                n -> ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR).build());
+
+        assertThrows(WebClientResponseException.class, () -> client.getRaceResults(2025, 1));
+        assertThrows(WebClientResponseException.class, () -> client.getRaceResults(2025, 2));
+        assertEquals(CircuitBreaker.State.OPEN, client.getCircuitBreakerState());
+
+        assertThrows(CircuitBreaker.CircuitBreakerOpenException.class, () -> client.getRaceResults(2025, 3));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void testSeasonListingIsFetchedPageByPage() {
+        List<String> requested = new CopyOnWriteArrayList<>();
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> {
+            requested.add(request.url().getPath() + "?" + request.url().getQuery());
+            int offset = Integer.parseInt(UriComponentsBuilder.fromUri(request.url()).build()
+                    .getQueryParams().getFirst("offset"));
+            // The server caps the page size at 100 rows whatever was asked for
+            String page = String.format("{\"MRData\":{\"limit\":\"100\",\"offset\":\"%d\",\"total\":\"450\","
+                    + "\"RaceTable\":{\"Races\":[{\"season\":\"2025\",\"round\":\"%d\"}]}}}",
+                    offset, offset / 100 + 1);
+            return Mono.just(ClientResponse.create(HttpStatus.OK)
+                    .header("Content-Type", "application/json").body(page).build());
+        });
+
+        List<RaceResponse> pages = client(builder, 0, 5).getSeasonPagesFlux(2025, ErgastClient.SEASON_RESULTS, 1000)
+                .collectList().block();
+
+        assertEquals(5, pages.size());
+        assertEquals(List.of("1", "2", "3", "4", "5"), pages.stream()
+                .map(p -> p.getMrData().getRaceTable().getRaces().get(0).getRound()).toList());
+        assertEquals("/ergast/f1/2025/results.json?limit=1000&offset=0", requested.get(0));
+        assertTrue(requested.contains("/ergast/f1/2025/results.json?limit=100&offset=400"));
+        assertEquals(5, requested.size());
+    }
+
+    @Test
+    void testRetryAfterParsesSecondsAndDates() {
+        WebClientResponseException seconds = WebClientResponseException.create(429, "Too Many Requests",
+                headers("Retry-After", "7"), new byte[0], null);
+        assertEquals(Duration.ofSeconds(7), ErgastClient.retryAfter(seconds));
+
+        WebClientResponseException past = WebClientResponseException.create(429, "Too Many Requests",
+                headers("Retry-After", "Wed, 21 Oct 2015 07:28:00 GMT"), new byte[0], null);
+        assertEquals(Duration.ZERO, ErgastClient.retryAfter(past));
+    }
+
+    private static HttpHeaders headers(String name, String value) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(name, value);
+        return headers;
+    }
+
+    private static ClientResponse ok() {
+        return ClientResponse.create(HttpStatus.OK)
+                .header("Content-Type", "application/json")
+                .body(RACE_JSON)
+                .build();
+    }
+
+    private static ErgastClient client(AtomicInteger calls, int maxRetries, int failureThreshold,
+            IntFunction<ClientResponse> responder) {
+        WebClient.Builder builder = WebClient.builder()
+                .exchangeFunction(request -> Mono.fromSupplier(() -> responder.apply(calls.incrementAndGet())));
+        return client(builder, maxRetries, failureThreshold);
+    }
+
+    private static ErgastClient client(WebClient.Builder builder, int maxRetries, int failureThreshold) {
+        return client(builder, new UpstreamRateLimiter(Duration.ofSeconds(30), Duration.ofMinutes(10), 100),
+                maxRetries, failureThreshold);
+    }
+
+    private static ErgastClient client(WebClient.Builder builder, ResponseCache responseCache,
+            UpstreamRecorder recorder) {
+        return client(builder, new UpstreamRateLimiter(Duration.ofSeconds(30), Duration.ofMinutes(10), 100),
+                responseCache, recorder, 0, 5);
+    }
+
+    private static ErgastClient client(WebClient.Builder builder, UpstreamRateLimiter rateLimiter, int maxRetries,
+            int failureThreshold) {
+        return client(builder, rateLimiter, new ResponseCache(false, "unused"),
+                new UpstreamRecorder("off", "unused", Duration.ZERO, 0.0), maxRetries, failureThreshold);
+    }
+
+    private static ErgastClient client(WebClient.Builder builder, UpstreamRateLimiter rateLimiter,
+            ResponseCache responseCache, UpstreamRecorder recorder, int maxRetries, int failureThreshold) {
+        RawPayloadArchive archive = new RawPayloadArchive(false, null);
+        return new ErgastClient(builder, rateLimiter, responseCache, recorder, archive, Duration.ofSeconds(5), maxRetries, Duration.ofMillis(1),
+                Duration.ofMillis(5), Duration.ofSeconds(30), failureThreshold, Duration.ofMinutes(1), Duration.ZERO);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> lane(UpstreamRateLimiter rateLimiter, String lane) {
+        Map<String, Object> bucket = (Map<String, Object>) rateLimiter.snapshot().get(UpstreamRateLimiter.ERGAST);
+        return ((Map<String, Map<String, Object>>) bucket.get("lanes")).get(lane);
+    }
+}
@@ -0,0 +1,164 @@
+package com.f1nity.engine.client;
+
+import com.f1nity.library.models.engine.RaceResponse;
+import com.f1nity.library.models.engine.RawPayload;
+import com.f1nity.library.repository.engine.RawPayloadRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RawPayloadArchiveTest {
+
+    private static final String BASE = "https://api.jolpi.ca/ergast/f1/";
+
+    private RawPayloadRepository repository;
+    private RawPayloadArchive archive;
+    private final Map<String, RawPayload> stored = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(RawPayloadRepository.class);
+        when(repository.existsById(anyString())).thenAnswer(inv -> stored.containsKey(inv.<String>getArgument(0)));
+        when(repository.save(any())).thenAnswer(inv -> {
+            RawPayload payload = inv.getArgument(0);
+            stored.put(payload.getId(), payload);
+            return payload;
+        });
+        when(repository.findBySourceAndSeasonAndSessionOrderByFetchedAtAsc(anyString(), anyInt(), anyString()))
+                .thenAnswer(inv -> stored.values().stream()
+                        .filter(p -> p.getSource().equals(inv.getArgument(0))
+                                && inv.getArgument(1).equals(p.getSeason())
+                                && p.getSession().equals(inv.getArgument(2)))
+                        .sorted(Comparator.comparingLong(RawPayload::getFetchedAt)));
+        archive = new RawPayloadArchive(true, repository);
+    }
+
+    @Test
+    void testResponsesAreArchivedCompressedAndOnlyOnce() {
+        String body = page(2025, 5, 0, 20);
+        WebClient client = WebClient.builder()
+                .baseUrl(BASE)
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header("Content-Type", "application/json").body(body).build()))
+                .filter(archive.filter(UpstreamRateLimiter.ERGAST))
+                .build();
+
+        RaceResponse first = client.get().uri("2025/5/results.json").retrieve().bodyToMono(RaceResponse.class).block();
+        verify(repository, timeout(2000)).save(any());
+        client.get().uri("2025/5/results.json").retrieve().bodyToMono(RaceResponse.class).block();
+        verify(repository, timeout(2000).times(2)).existsById(anyString());
+
+        // The caller still gets the full body
+        assertEquals(20, first.getMrData().getRaceTable().getRaces().get(0).getResults().size());
+        verify(repository, times(1)).save(any());
+        RawPayload payload = stored.values().iterator().next();
+        assertEquals(2025, payload.getSeason());
+        assertEquals("5", payload.getRound());
+        assertEquals("results", payload.getSession());
+        assertEquals(body, new String(archive.decompress(payload), StandardCharsets.UTF_8));
+        System.out.println("Archived " + payload.getRawSize() + " bytes as " + payload.getBody().length
+                + " gzip bytes");
+        assertTrue(payload.getBody().length * 3 < payload.getRawSize());
+    }
+
+    @Test
+    void testSeasonPagesReplayInOffsetOrderPreferringListings() {
+        // A per-round payload and two listing pages, archived out of order
+        archive.archive(UpstreamRateLimiter.ERGAST, URI.create(BASE + "2025/1/results.json"), bytes(page(2025, 1, 0, 20)));
+        archive.archive(UpstreamRateLimiter.ERGAST, URI.create(BASE + "2025/results.json?limit=100&offset=100"),
+                bytes(page(2025, 6, 100, 20)));
+        archive.archive(UpstreamRateLimiter.ERGAST, URI.create(BASE + "2025/results.json?limit=100&offset=0"),
+                bytes(page(2025, 1, 0, 20)));
+
+        List<RaceResponse> pages = archive.ergastSeasonPages(2025, "results").collectList().block();
+
+        assertEquals(2, pages.size());
+        assertEquals("0", pages.get(0).getMrData().getOffset());
+        assertEquals("100", pages.get(1).getMrData().getOffset());
+        assertTrue(archive.ergastSeasonPages(2024, "results").collectList().block().isEmpty());
+    }
+
+    @Test
+    void testSeasonPagesUseOneListingAndAddRoundsItMisses() {
+        // An older listing of 40 rows fetched 30 at a time
+        archive(BASE + "2025/results.json?limit=30&offset=0", page(2025, 1, 0, 20, 30, 40), 1000);
+        archive(BASE + "2025/results.json?limit=30&offset=30", page(2025, 2, 30, 20, 30, 40), 1001);
+        // The same 40 rows, fetched later under the server's cap of 100
+        archive(BASE + "2025/results.json?limit=1000&offset=0", twoRounds(2025, 40), 2000);
+        // Round 3 was only ever ingested by the live poll
+        archive(BASE + "2025/3/results.json", page(2025, 3, 0, 20), 3000);
+        archive(BASE + "2025/2/results.json", page(2025, 2, 0, 20), 3001);
+
+        List<RaceResponse> pages = archive.ergastSeasonPages(2025, "results").collectList().block();
+
+        assertEquals(2, pages.size());
+        Map<String, Integer> rowsByRound = new TreeMap<>();
+        pages.forEach(page -> page.getMrData().getRaceTable().getRaces()
+                .forEach(race -> rowsByRound.merge(race.getRound(), race.getResults().size(), Integer::sum)));
+        assertEquals(Map.of("1", 20, "2", 20, "3", 20), rowsByRound);
+    }
+
+    @Test
+    void testOpenF1RequestsAreClassifiedByEndpoint() {
+        RawPayload payload = new RawPayload();
+        RawPayloadArchive.classify(UpstreamRateLimiter.OPENF1,
+                URI.create("https://api.openf1.org/v1/sessions?year=2025&country_name=Italy"), payload);
+
+        assertEquals("sessions", payload.getSession());
+        assertEquals(2025, payload.getSeason());
+        assertNull(payload.getRound());
+    }
+
+    private void archive(String uri, String body, long fetchedAt) {
+        archive.archive(UpstreamRateLimiter.ERGAST, URI.create(uri), bytes(body));
+        stored.values().stream().filter(p -> p.getUri().equals(uri)).forEach(p -> p.setFetchedAt(fetchedAt));
+    }
+
+    private static String twoRounds(int season, int total) {
+        String first = page(season, 1, 0, 20, 100, total);
+        String second = page(season, 2, 0, 20, 100, total);
+        String secondRace = second.substring(second.indexOf("{\"season\":\"" + season + "\",\"round\""),
+                second.lastIndexOf("]}}}"));
+        return first.substring(0, first.lastIndexOf("]}}}")) + "," + secondRace + "]}}}";
+    }
+
+    private static byte[] bytes(String body) {
+        return body.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String page(int season, int round, int offset, int rows) {
+        return page(season, round, offset, rows, 100, 200);
+    }
+
+    private static String page(int season, int round, int offset, int rows, int limit, int total) {
+        StringBuilder results = new StringBuilder();
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                results.append(',');
+            }
+            results.append(String.format("{\"number\":\"%d\",\"position\":\"%d\",\"points\":\"%d\","
+                    + "\"Driver\":{\"driverId\":\"driver%d\",\"givenName\":\"Given%d\",\"familyName\":\"Family%d\"},"
+                    + "\"Constructor\":{\"constructorId\":\"team%d\",\"name\":\"Team %d\"},"
+                    + "\"grid\":\"%d\",\"laps\":\"57\",\"status\":\"Finished\"}",
+                    i + 1, i + 1, Math.max(0, 25 - i), i, i, i, i / 2, i / 2, i + 1));
+        }
+        return String.format("{\"MRData\":{\"limit\":\"%d\",\"offset\":\"%d\",\"total\":\"%d\",\"RaceTable\":"
+                + "{\"season\":\"%d\",\"Races\":[{\"season\":\"%d\",\"round\":\"%d\",\"raceName\":\"Grand Prix\","
+                + "\"Results\":[%s]}]}}}", limit, offset, total, season, season, round, results);
+    }
+}
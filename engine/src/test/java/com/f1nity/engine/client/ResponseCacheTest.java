@@ -0,0 +1,131 @@
+package com.f1nity.engine.client;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheTest {
+
+    @TempDir
+    Path cacheDir;
+
+    @Test
+    void testImmutableResponsesAreServedFromDisk() {
+        ResponseCache cache = new ResponseCache(true, cacheDir.toString());
+        List<ClientRequest> requests = new CopyOnWriteArrayList<>();
+        WebClient client = client(cache, uri -> true, requests, request -> ok("\"2024\"", null));
+
+        assertEquals("\"2024\"", get(client));
+        assertEquals("\"2024\"", get(client));
+
+        assertEquals(1, requests.size());
+        assertTrue(cache.isServedLocally(URI.create("http://upstream/2024/1/results.json"), uri -> true));
+        assertEquals(1L, counters(cache).get("hits"));
+        assertEquals(1L, counters(cache).get("misses"));
+    }
+
+    @Test
+    void testMutableResponsesAreRevalidated() {
+        ResponseCache cache = new ResponseCache(true, cacheDir.toString());
+        List<ClientRequest> requests = new CopyOnWriteArrayList<>();
+        WebClient client = client(cache, uri -> false, requests, request -> request.headers()
+                .containsKey(HttpHeaders.IF_NONE_MATCH)
+                        ? ClientResponse.create(HttpStatus.NOT_MODIFIED).build()
+                        : ok("\"live\"", "\"v1\""));
+
+        assertEquals("\"live\"", get(client));
+        assertEquals("\"live\"", get(client));
+
+        assertEquals(2, requests.size());
+        assertEquals("\"v1\"", requests.get(1).headers().getFirst(HttpHeaders.IF_NONE_MATCH));
+        assertEquals(1L, counters(cache).get("revalidated"));
+        assertFalse(cache.isServedLocally(URI.create("http://upstream/2024/1/results.json"), uri -> false));
+    }
+
+    @Test
+    void testEntriesStoredBeforeTheSeasonEndedAreRevalidatedOnce() {
+        ResponseCache cache = new ResponseCache(true, cacheDir.toString());
+        AtomicBoolean finished = new AtomicBoolean();
+        List<ClientRequest> requests = new CopyOnWriteArrayList<>();
+        WebClient client = client(cache, uri -> finished.get(), requests, request -> request.headers()
+                .containsKey(HttpHeaders.IF_NONE_MATCH)
+                        ? ClientResponse.create(HttpStatus.NOT_MODIFIED).build()
+                        : ok("\"partial\"", "\"v1\""));
+        URI uri = URI.create("http://upstream/2024/1/results.json");
+
+        assertEquals("\"partial\"", get(client));
+        // The season is over, but the entry was stored while it ran
+        finished.set(true);
+        assertFalse(cache.isServedLocally(uri, u -> true));
+
+        assertEquals("\"partial\"", get(client));
+        assertEquals(2, requests.size());
+        assertEquals("\"v1\"", requests.get(1).headers().getFirst(HttpHeaders.IF_NONE_MATCH));
+        assertTrue(cache.isServedLocally(uri, u -> true));
+
+        assertEquals("\"partial\"", get(client));
+        assertEquals(2, requests.size());
+        assertEquals(1L, counters(cache).get("hits"));
+    }
+
+    @Test
+    void testResponsesWithoutValidatorsAreNotStored() {
+        ResponseCache cache = new ResponseCache(true, cacheDir.toString());
+        List<ClientRequest> requests = new CopyOnWriteArrayList<>();
+        WebClient client = client(cache, uri -> false, requests, request -> ok("\"x\"", null));
+
+        get(client);
+        get(client);
+
+        assertEquals(2, requests.size());
+        assertEquals(0L, counters(cache).get("stored"));
+    }
+
+    private static String get(WebClient client) {
+        return client.get().uri("/2024/1/results.json").retrieve().bodyToMono(String.class).block();
+    }
+
+    private static ClientResponse ok(String body, String etag) {
+        ClientResponse.Builder builder = ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                .body(body);
+        if (etag != null) {
+            builder.header(HttpHeaders.ETAG, etag);
+        }
+        return builder.build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> counters(ResponseCache cache) {
+        return (Map<String, Object>) cache.snapshot().get("test");
+    }
+
+    private static WebClient client(ResponseCache cache, Predicate<URI> immutable,
+            List<ClientRequest> requests, Function<ClientRequest, ClientResponse> responder) {
+        return WebClient.builder()
+                .baseUrl("http://upstream")
+                .filter(cache.filter("test", ExchangeStrategies.withDefaults(), immutable))
+                .exchangeFunction(request -> {
+                    requests.add(request);
+                    return Mono.fromSupplier(() -> responder.apply(request));
+                })
+                .build();
+    }
+}
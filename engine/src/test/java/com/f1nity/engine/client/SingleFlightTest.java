@@ -0,0 +1,72 @@
+package com.f1nity.engine.client;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    @Test
+    void testConcurrentCallsShareOneUpstreamCall() {
+        SingleFlight singleFlight = new SingleFlight("test", Duration.ZERO);
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        Sinks.One<String> response = Sinks.one();
+
+        Mono<String> first = singleFlight.execute("2026/1/results.json", () -> {
+            upstreamCalls.incrementAndGet();
+            return response.asMono();
+        });
+        Mono<String> second = singleFlight.execute("2026/1/results.json", () -> {
+            upstreamCalls.incrementAndGet();
+            return Mono.just("unused");
+        });
+
+        Mono<String> firstResult = first.cache();
+        Mono<String> secondResult = second.cache();
+        firstResult.subscribe();
+        secondResult.subscribe();
+        response.tryEmitValue("results");
+
+        assertEquals("results", firstResult.block(Duration.ofSeconds(1)));
+        assertEquals("results", secondResult.block(Duration.ofSeconds(1)));
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(1L, singleFlight.snapshot().get("coalesced"));
+        assertEquals(0, singleFlight.snapshot().get("inFlight"));
+    }
+
+    @Test
+    void testGraceWindowReusesCompletedResult() {
+        SingleFlight singleFlight = new SingleFlight("test", Duration.ofSeconds(5));
+        AtomicInteger upstreamCalls = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("results", singleFlight.execute("key", () -> {
+                upstreamCalls.incrementAndGet();
+                return Mono.just("results");
+            }).block());
+        }
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(2L, singleFlight.snapshot().get("coalesced"));
+    }
+
+    @Test
+    void testFailuresAreNotShared() {
+        SingleFlight singleFlight = new SingleFlight("test", Duration.ofSeconds(5));
+        AtomicInteger upstreamCalls = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute("key", () -> {
+            upstreamCalls.incrementAndGet();
+            return Mono.<String>error(new IllegalStateException("boom"));
+        }).block());
+        assertEquals("results", singleFlight.execute("key", () -> {
+            upstreamCalls.incrementAndGet();
+            return Mono.just("results");
+        }).block());
+        assertEquals(2, upstreamCalls.get());
+    }
+}
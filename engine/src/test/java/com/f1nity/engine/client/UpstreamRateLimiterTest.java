@@ -0,0 +1,86 @@
+package com.f1nity.engine.client;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamRateLimiterTest {
+
+    private final UpstreamRateLimiter limiter = new UpstreamRateLimiter(Duration.ofSeconds(2), Duration.ofSeconds(10),
+            100);
+
+    @AfterEach
+    void tearDown() {
+        limiter.shutdown();
+    }
+
+    @Test
+    void testBurstIsGrantedImmediately() {
+        limiter.register("test", 1, 3);
+
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("test", UpstreamRateLimiter.Priority.DEFAULT).block(Duration.ofMillis(50));
+        }
+        assertEquals(3L, lane("DEFAULT").get("granted"));
+    }
+
+    @Test
+    void testLiveLaneIsAdmittedBeforeBackfill() {
+        limiter.register("test", 20, 1);
+        limiter.acquire("test", UpstreamRateLimiter.Priority.DEFAULT).block();
+
+        List<String> order = new CopyOnWriteArrayList<>();
+        Mono<Void> backfill1 = limiter.acquire("test", UpstreamRateLimiter.Priority.BACKFILL)
+                .doOnSuccess(v -> order.add("backfill1"));
+        Mono<Void> backfill2 = limiter.acquire("test", UpstreamRateLimiter.Priority.BACKFILL)
+                .doOnSuccess(v -> order.add("backfill2"));
+        Mono<Void> live = limiter.acquire("test", UpstreamRateLimiter.Priority.LIVE)
+                .doOnSuccess(v -> order.add("live"));
+
+        Mono.when(backfill1, backfill2, live).block(Duration.ofSeconds(2));
+
+        assertEquals(List.of("live", "backfill1", "backfill2"), order);
+    }
+
+    @Test
+    void testRejectsWhenWaitWouldExceedLimit() {
+        limiter.register("test", 1, 1);
+        limiter.acquire("test", UpstreamRateLimiter.Priority.DEFAULT).block();
+        limiter.acquire("test", UpstreamRateLimiter.Priority.DEFAULT).subscribe();
+        limiter.acquire("test", UpstreamRateLimiter.Priority.DEFAULT).subscribe();
+
+        assertThrows(UpstreamRateLimiter.RateLimitRejectedException.class,
+                () -> limiter.acquire("test", UpstreamRateLimiter.Priority.DEFAULT).block());
+        assertEquals(1L, lane("DEFAULT").get("rejected"));
+    }
+
+    @Test
+    void testThreadPriorityIsUsedForAssembly() {
+        limiter.register("test", 1, 1);
+        limiter.acquire("test", UpstreamRateLimiter.Priority.DEFAULT).block();
+
+        UpstreamRateLimiter.withPriority(UpstreamRateLimiter.Priority.BACKFILL,
+                () -> limiter.acquire("test").block(Duration.ofSeconds(3)));
+
+        assertEquals(1L, lane("BACKFILL").get("granted"));
+    }
+
+    @Test
+    void testUnregisteredUpstreamIsNotLimited() {
+        assertNull(limiter.acquire("unknown").block(Duration.ofMillis(50)));
+        assertTrue(limiter.snapshot().isEmpty());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> lane(String lane) {
+        Map<String, Object> bucket = (Map<String, Object>) limiter.snapshot().get("test");
+        return ((Map<String, Map<String, Object>>) bucket.get("lanes")).get(lane);
+    }
+}
@@ -0,0 +1,122 @@
+package com.f1nity.engine.client;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamRecorderTest {
+
+    @TempDir
+    Path cassetteDir;
+
+    @Test
+    void testRecordedResponsesAreReplayedWithoutNetwork() {
+        AtomicInteger calls = new AtomicInteger();
+        UpstreamRecorder recorder = new UpstreamRecorder("record", cassetteDir.toString(), Duration.ZERO, 0.0);
+        WebClient recording = client(recorder, calls, List.of("from", "to"));
+        assertEquals("{\"live\":true}", get(recording, "/news?q=F1&from=2026-10-16&apiKey=secret"));
+
+        UpstreamRecorder replayer = new UpstreamRecorder("replay", cassetteDir.toString(), Duration.ZERO, 0.0);
+        WebClient replaying = client(replayer, calls, List.of("from", "to"));
+        assertEquals("{\"live\":true}", get(replaying, "/news?q=F1&from=2026-10-16&apiKey=other"));
+        // Another date range falls back to the latest recording without one
+        assertEquals("{\"live\":true}", get(replaying, "/news?q=F1&from=2026-10-17"));
+        assertThrows(UpstreamRecorder.CassetteMissingException.class, () -> get(replaying, "/news?q=F2"));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testMissingPageFailsInsteadOfReplayingAnother() {
+        AtomicInteger calls = new AtomicInteger();
+        UpstreamRecorder recorder = new UpstreamRecorder("record", cassetteDir.toString(), Duration.ZERO, 0.0);
+        get(client(recorder, calls), "/2025/results.json?limit=100&offset=0");
+
+        WebClient replaying = client(new UpstreamRecorder("replay", cassetteDir.toString(), Duration.ZERO, 0.0),
+                calls);
+        assertEquals("{\"live\":true}", get(replaying, "/2025/results.json?limit=100&offset=0"));
+        assertThrows(UpstreamRecorder.CassetteMissingException.class,
+                () -> get(replaying, "/2025/results.json?limit=100&offset=100"));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testSecretsAreNotWrittenToDisk() throws IOException {
+        UpstreamRecorder recorder = new UpstreamRecorder("record", cassetteDir.toString(), Duration.ZERO, 0.0);
+        get(client(recorder, new AtomicInteger()), "/news?q=F1&apiKey=secret");
+
+        List<Path> cassettes;
+        try (Stream<Path> files = Files.walk(cassetteDir)) {
+            cassettes = files.filter(Files::isRegularFile).toList();
+        }
+        assertEquals(1, cassettes.size());
+        for (Path cassette : cassettes) {
+            try (InputStream in = new GZIPInputStream(Files.newInputStream(cassette))) {
+                assertFalse(new String(in.readAllBytes()).contains("secret"));
+            }
+        }
+        assertEquals("http://upstream/news?q=F1", UpstreamRecorder.sanitize(URI.create(
+                "http://upstream/news?q=F1&apiKey=secret")));
+    }
+
+    @Test
+    void testReplayCanInjectRateLimiting() {
+        UpstreamRecorder replayer = new UpstreamRecorder("replay", cassetteDir.toString(), Duration.ZERO, 1.0);
+        WebClientResponseException e = assertThrows(WebClientResponseException.class,
+                () -> get(client(replayer, new AtomicInteger()), "/news"));
+        assertEquals(429, e.getStatusCode().value());
+    }
+
+    @Test
+    void testReplayFailsOnMissingCassette() {
+        UpstreamRecorder replayer = new UpstreamRecorder("replay", cassetteDir.toString(), Duration.ZERO, 0.0);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(UpstreamRecorder.CassetteMissingException.class, () -> get(client(replayer, calls), "/news"));
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    void testUnquotedYamlOffDisablesRecording() {
+        assertEquals(UpstreamRecorder.Mode.OFF,
+                new UpstreamRecorder("false", cassetteDir.toString(), Duration.ZERO, 0.0).getMode());
+    }
+
+    private static String get(WebClient client, String uri) {
+        return client.get().uri(uri).retrieve().bodyToMono(String.class).block();
+    }
+
+    private static WebClient client(UpstreamRecorder recorder, AtomicInteger calls) {
+        return client(recorder, calls, List.of());
+    }
+
+    private static WebClient client(UpstreamRecorder recorder, AtomicInteger calls, List<String> volatileParams) {
+        WebClient.Builder builder = WebClient.builder()
+                .baseUrl("http://upstream")
+                .exchangeFunction(request -> Mono.fromSupplier(() -> {
+                    calls.incrementAndGet();
+                    return ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                            .body("{\"live\":true}")
+                            .build();
+                }));
+        return recorder.apply(builder, "test", volatileParams).build();
+    }
+}
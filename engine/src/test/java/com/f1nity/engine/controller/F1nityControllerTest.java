@@ -1,5 +1,8 @@
 package com.f1nity.engine.controller;
 
+import com.f1nity.engine.scheduler.LeaderElection;
+import com.f1nity.engine.scheduler.RaceDataScheduler;
+import com.f1nity.engine.service.JobService;
 import com.f1nity.engine.service.DataIngestionService;
 import com.f1nity.engine.service.F1nityService;
 import com.f1nity.library.models.engine.Driver;
@@ -10,13 +13,17 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 class F1nityControllerTest {
@@ -27,6 +34,15 @@ class F1nityControllerTest {
     @Mock
     private F1nityService f1nityService;
 
+    @Mock
+    private RaceDataScheduler raceDataScheduler;
+
+    @Mock
+    private JobService jobService;
+
+    @Mock
+    private LeaderElection leaderElection;
+
     @InjectMocks
     private F1nityController f1nityController;
 
@@ -82,12 +98,15 @@ class F1nityControllerTest {
 
     @Test
     void testAccumulateRaces() {
+        when(leaderElection.isLeader()).thenReturn(true);
         when(dataIngestionService.accumulateRaces()).thenReturn(Arrays.asList(new Race()));
 
-        List<Race> races = f1nityController.accumulateRaces();
+        ResponseEntity<Object> response = f1nityController.accumulateRaces();
 
-        assertNotNull(races);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, ((List<?>) response.getBody()).size());
         verify(dataIngestionService).accumulateRaces();
+        verify(raceDataScheduler).refreshCalendar();
     }
 
     @Test
@@ -99,4 +118,27 @@ class F1nityControllerTest {
         assertNotNull(standings);
         verify(f1nityService).getDriverStandings();
     }
+
+    @Test
+    void testJobsAreRefusedOnFollowers() {
+        when(leaderElection.isLeader()).thenReturn(false);
+        when(leaderElection.getLeaderId()).thenReturn("engine-1-abcd1234");
+
+        ResponseEntity<Object> response = f1nityController.getStandings();
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals("engine-1-abcd1234", ((Map<?, ?>) response.getBody()).get("leader"));
+        verifyNoInteractions(jobService);
+    }
+
+    @Test
+    void testIngestionEndpointsAreRefusedOnFollowers() {
+        when(leaderElection.isLeader()).thenReturn(false);
+        when(leaderElection.getLeaderId()).thenReturn("engine-1-abcd1234");
+
+        assertEquals(HttpStatus.CONFLICT, f1nityController.accumulateRaces().getStatusCode());
+        assertEquals(HttpStatus.CONFLICT, f1nityController.updateRaceResults("2026", "5").getStatusCode());
+        assertEquals(HttpStatus.CONFLICT, f1nityController.importData().getStatusCode());
+        verifyNoInteractions(dataIngestionService, raceDataScheduler);
+    }
 }
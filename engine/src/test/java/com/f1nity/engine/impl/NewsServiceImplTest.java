@@ -2,6 +2,7 @@ package com.f1nity.engine.impl;
 
 import com.f1nity.library.models.news.NewsArticle;
 import com.f1nity.engine.dto.PagedResponse;
+import com.f1nity.engine.scheduler.LeaderElection;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -35,6 +36,8 @@ class NewsServiceImplTest {
     private WebClient.RequestHeadersSpec requestHeadersSpec;
     @Mock
     private WebClient.ResponseSpec responseSpec;
+    @Mock
+    private LeaderElection leaderElection;
 
     @InjectMocks
     private NewsServiceImpl newsService;
@@ -77,4 +80,13 @@ class NewsServiceImplTest {
         newsService.clearAllNews();
         verify(jedis).flushDB();
     }
+
+    @Test
+    void testFollowersSkipTheScheduledCacheUpdate() {
+        when(leaderElection.isLeader()).thenReturn(false);
+
+        newsService.updateLatestNewsCache();
+
+        verifyNoInteractions(webClient, jedisPool);
+    }
 }
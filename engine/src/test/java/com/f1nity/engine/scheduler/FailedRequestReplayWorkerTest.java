@@ -0,0 +1,105 @@
+package com.f1nity.engine.scheduler;
+
+import com.f1nity.engine.client.UpstreamRateLimiter;
+import com.f1nity.engine.service.DataIngestionService;
+import com.f1nity.engine.service.SeasonBackfillService;
+import com.f1nity.library.models.engine.FailedRequest;
+import com.f1nity.library.repository.engine.FailedRequestRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class FailedRequestReplayWorkerTest {
+
+    @Mock
+    private FailedRequestRepository failedRequestRepo;
+    @Mock
+    private SeasonBackfillService seasonBackfillService;
+    @Mock
+    private DataIngestionService dataIngestionService;
+    @Mock
+    private LeaderElection leaderElection;
+
+    @InjectMocks
+    private FailedRequestReplayWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testRoundIsRepairedOnceForAllItsFailures() {
+        FailedRequest race = new FailedRequest(2025, "7", "race", "timeout");
+        FailedRequest sprint = new FailedRequest(2025, "7", "sprint", "timeout");
+        FailedRequest other = new FailedRequest(2024, "3", "general", "503");
+        when(failedRequestRepo.claimBatch(anyInt(), anyLong())).thenReturn(List.of(race, sprint, other));
+        // Only a repair in the backfill lane finds anything
+        when(seasonBackfillService.repairRound(anyInt(), anyInt())).thenAnswer(
+                inv -> UpstreamRateLimiter.currentPriority() == UpstreamRateLimiter.Priority.BACKFILL);
+
+        assertEquals(2, worker.replayBatch());
+
+        verify(seasonBackfillService, times(1)).repairRound(2025, 7);
+        verify(seasonBackfillService, times(1)).repairRound(2024, 3);
+        assertTrue(race.isProcessed());
+        assertTrue(sprint.isProcessed());
+        assertTrue(other.isProcessed());
+        verify(failedRequestRepo).saveAll(List.of(other, race, sprint));
+        // Past seasons only: no standings refresh
+        verify(dataIngestionService, never()).updateStandings();
+    }
+
+    @Test
+    void testFailuresBackOffThenGoDead() {
+        FailedRequest request = new FailedRequest(2026, "4", "race", "timeout");
+        when(failedRequestRepo.claimBatch(anyInt(), anyLong())).thenReturn(List.of(request));
+        when(seasonBackfillService.repairRound(2026, 4)).thenThrow(new IllegalStateException("upstream down"));
+
+        long before = System.currentTimeMillis();
+        assertEquals(0, worker.replayBatch());
+        assertEquals(1, request.getAttempts());
+        assertFalse(request.isDead());
+        assertTrue(request.getNextAttemptAt() >= before + Duration.ofSeconds(30).toMillis());
+        assertEquals("upstream down", request.getError());
+
+        for (int i = 0; i < 4; i++) {
+            worker.replayBatch();
+        }
+        assertEquals(5, request.getAttempts());
+        assertTrue(request.isDead());
+        assertFalse(request.isProcessed());
+        verify(dataIngestionService, never()).updateStandings();
+    }
+
+    @Test
+    void testBackoffDoublesUpToTheCap() {
+        assertEquals(Duration.ofSeconds(30), worker.backoff(1));
+        assertEquals(Duration.ofSeconds(60), worker.backoff(2));
+        assertEquals(Duration.ofMinutes(4), worker.backoff(4));
+        assertEquals(Duration.ofMinutes(30), worker.backoff(12));
+    }
+
+    @Test
+    void testFollowersDoNotReplay() {
+        when(leaderElection.isLeader()).thenReturn(false);
+
+        worker.tick();
+        verifyNoInteractions(failedRequestRepo);
+
+        when(leaderElection.isLeader()).thenReturn(true);
+        when(failedRequestRepo.claimBatch(anyInt(), anyLong())).thenReturn(List.of());
+        worker.tick();
+        verify(failedRequestRepo).claimBatch(anyInt(), anyLong());
+    }
+}
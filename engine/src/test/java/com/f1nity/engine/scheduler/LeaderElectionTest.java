@@ -0,0 +1,103 @@
+package com.f1nity.engine.scheduler;
+
+import com.f1nity.library.models.engine.Lease;
+import com.f1nity.library.repository.engine.LeaseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class LeaderElectionTest {
+
+    @Mock
+    private LeaseRepository leaseRepository;
+
+    @InjectMocks
+    private LeaderElection leaderElection;
+
+    private final AtomicInteger elected = new AtomicInteger();
+    private final AtomicInteger demoted = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        leaderElection.onElected(elected::incrementAndGet);
+        leaderElection.onDemoted(demoted::incrementAndGet);
+    }
+
+    @Test
+    void testAcquiresAndRenewsTheLease() {
+        when(leaseRepository.acquireOrRenew(eq("engine-leader"), eq(leaderElection.getInstanceId()), eq(15000L)))
+                .thenReturn(lease(3));
+
+        leaderElection.tick();
+        leaderElection.tick();
+
+        assertTrue(leaderElection.isLeader());
+        assertEquals(3, leaderElection.getToken());
+        // Renewals keep the token and do not notify again
+        assertEquals(1, elected.get());
+        assertEquals(0, demoted.get());
+    }
+
+    @Test
+    void testDemotedWhenAnotherInstanceTakesOver() {
+        when(leaseRepository.acquireOrRenew(anyString(), anyString(), anyLong())).thenReturn(lease(1), (Lease) null);
+
+        leaderElection.tick();
+        leaderElection.tick();
+
+        assertFalse(leaderElection.isLeader());
+        assertEquals(1, demoted.get());
+    }
+
+    @Test
+    void testKeepsLeadingThroughBriefDatabaseErrors() {
+        when(leaseRepository.acquireOrRenew(anyString(), anyString(), anyLong())).thenReturn(lease(1))
+                .thenThrow(new RuntimeException("timeout"));
+
+        leaderElection.tick();
+        leaderElection.tick();
+
+        // Still within the TTL of the last renewal
+        assertTrue(leaderElection.isLeader());
+        assertEquals(0, demoted.get());
+    }
+
+    @Test
+    void testFenceRejectsASupersededToken() {
+        when(leaseRepository.acquireOrRenew(anyString(), anyString(), anyLong())).thenReturn(lease(4));
+        leaderElection.tick();
+        when(leaseRepository.isHeld("engine-leader", leaderElection.getInstanceId(), 4)).thenReturn(true, false);
+
+        assertDoesNotThrow(leaderElection::fence);
+        assertThrows(IllegalStateException.class, leaderElection::fence);
+    }
+
+    @Test
+    void testShutdownReleasesTheLease() {
+        when(leaseRepository.acquireOrRenew(anyString(), anyString(), anyLong())).thenReturn(lease(2));
+        leaderElection.tick();
+
+        leaderElection.shutdown();
+
+        verify(leaseRepository).release("engine-leader", leaderElection.getInstanceId(), 2);
+        assertFalse(leaderElection.isLeader());
+    }
+
+    private Lease lease(long token) {
+        Lease lease = new Lease();
+        lease.setId("engine-leader");
+        lease.setHolder(leaderElection.getInstanceId());
+        lease.setToken(token);
+        lease.setExpiresAt(System.currentTimeMillis() + 15000);
+        return lease;
+    }
+}
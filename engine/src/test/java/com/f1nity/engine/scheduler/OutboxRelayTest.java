@@ -0,0 +1,233 @@
+package com.f1nity.engine.scheduler;
+
+import com.f1nity.library.models.engine.OutboxEvent;
+import com.f1nity.library.repository.engine.OutboxEventRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.errors.NotLeaderOrFollowerException;
+import org.apache.kafka.common.errors.RecordTooLargeException;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaProducerException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.condition.EmbeddedKafkaCondition;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@EmbeddedKafka(partitions = 1, topics = OutboxRelayTest.TOPIC)
+class OutboxRelayTest {
+
+    static final String TOPIC = "f1nity.engine.events";
+
+    @Mock
+    private OutboxEventRepository outboxRepo;
+    @Mock
+    private LeaderElection leaderElection;
+
+    @InjectMocks
+    private OutboxRelay relay;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private DefaultKafkaProducerFactory<String, String> producerFactory;
+    private Consumer<String, String> consumer;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        EmbeddedKafkaBroker broker = EmbeddedKafkaCondition.getBroker();
+        // Same producer settings as spring.kafka.producer in application.yml
+        Map<String, Object> props = KafkaTestUtils.producerProps(broker);
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4");
+        props.put(ProducerConfig.LINGER_MS_CONFIG, 20);
+        producerFactory = new DefaultKafkaProducerFactory<>(props, new StringSerializer(), new StringSerializer());
+        ReflectionTestUtils.setField(relay, "kafkaTemplate", new KafkaTemplate<>(producerFactory));
+        ReflectionTestUtils.setField(relay, "objectMapper", objectMapper);
+
+        Map<String, Object> consumerProps = KafkaTestUtils.consumerProps("outbox-relay-test", "false", broker);
+        consumer = new DefaultKafkaConsumerFactory<>(consumerProps, new StringDeserializer(), new StringDeserializer())
+                .createConsumer();
+        broker.consumeFromAnEmbeddedTopic(consumer, TOPIC);
+    }
+
+    @AfterEach
+    void tearDown() {
+        consumer.close();
+        producerFactory.destroy();
+    }
+
+    @Test
+    void testEventsArePublishedKeyedBySeasonRoundThenDeleted() throws Exception {
+        List<OutboxEvent> events = List.of(
+                event("e1", "RaceResultsIngested", "2026-5", "{\"round\":\"5\"}"),
+                event("e2", "DriverStatsChanged", "2026-5", "{\"driverIds\":[\"max_verstappen\"]}"),
+                event("e3", "StandingsUpdated", "2026-5", "{\"season\":\"2026\"}"));
+        when(outboxRepo.claimBatch(anyInt(), anyLong())).thenReturn(events);
+
+        assertEquals(3, relay.relayBatch());
+
+        List<ConsumerRecord<String, String>> records = new ArrayList<>();
+        long deadline = System.currentTimeMillis() + 10000;
+        while (records.size() < 3 && System.currentTimeMillis() < deadline) {
+            ConsumerRecords<String, String> polled = KafkaTestUtils.getRecords(consumer, Duration.ofSeconds(1), 3);
+            polled.forEach(records::add);
+        }
+        assertEquals(3, records.size());
+        // One key, so one partition and creation order
+        assertEquals(List.of("e1", "e2", "e3"), records.stream()
+                .map(r -> new String(r.headers().lastHeader("eventId").value(), StandardCharsets.UTF_8)).toList());
+        ConsumerRecord<String, String> first = records.get(0);
+        assertEquals("2026-5", first.key());
+        assertEquals("RaceResultsIngested",
+                new String(first.headers().lastHeader("eventType").value(), StandardCharsets.UTF_8));
+        JsonNode envelope = objectMapper.readTree(first.value());
+        assertEquals("e1", envelope.get("id").asText());
+        assertEquals("5", envelope.get("payload").get("round").asText());
+
+        verify(outboxRepo).deleteAllById(List.of("e1", "e2", "e3"));
+        verify(outboxRepo, never()).saveAll(any());
+    }
+
+    @Test
+    void testUnreachableBrokerStopsTheBatch() {
+        KafkaTemplate<String, String> template = mockTemplate();
+        when(template.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.completedFuture(null))
+                .thenReturn(CompletableFuture.failedFuture(
+                        new KafkaProducerException(null, "send failed", new TimeoutException("metadata"))));
+        OutboxEvent e2 = event("e2", "StandingsUpdated", "2026-5", "{}");
+        OutboxEvent e3 = event("e3", "StandingsUpdated", "2026-6", "{}");
+        when(outboxRepo.claimBatch(anyInt(), anyLong())).thenReturn(List.of(
+                event("e1", "StandingsUpdated", "2026-4", "{}"), e2, e3));
+
+        assertEquals(1, relay.relayBatch());
+
+        // e3 is not even tried once e2 found the broker unreachable
+        verify(template, times(2)).send(any(ProducerRecord.class));
+        verify(outboxRepo).deleteAllById(List.of("e1"));
+        verify(outboxRepo).saveAll(List.of(e2, e3));
+        assertEquals(1, e2.getAttempts());
+        assertEquals("metadata", e2.getLastError());
+        assertTrue(e2.getClaimedUntil() > System.currentTimeMillis());
+        assertEquals(0, e3.getAttempts());
+        assertTrue(e3.getClaimedUntil() > System.currentTimeMillis());
+    }
+
+    @Test
+    void testFailedEventHoldsBackLaterEventsOfItsKey() {
+        KafkaTemplate<String, String> template = mockTemplate();
+        CompletableFuture<SendResult<String, String>> first = new CompletableFuture<>();
+        when(template.send(any(ProducerRecord.class))).thenReturn(first,
+                CompletableFuture.completedFuture(null), CompletableFuture.completedFuture(null));
+        doAnswer(inv -> first.completeExceptionally(
+                new KafkaProducerException(null, "send failed", new NotLeaderOrFollowerException("moved"))))
+                .when(template).flush();
+        OutboxEvent e1 = event("e1", "RaceResultsIngested", "2026-5", "{}");
+        OutboxEvent e3 = event("e3", "StandingsUpdated", "2026-5", "{}");
+        when(outboxRepo.claimBatch(anyInt(), anyLong())).thenReturn(List.of(
+                e1, event("e2", "RaceResultsIngested", "2026-6", "{}"), e3));
+
+        assertEquals(1, relay.relayBatch());
+
+        // e3 went out after e1 failed, so it goes out again after e1
+        verify(outboxRepo).deleteAllById(List.of("e2"));
+        verify(outboxRepo).saveAll(List.of(e1, e3));
+        assertEquals(1, e1.getAttempts());
+        assertTrue(e1.getClaimedUntil() > System.currentTimeMillis());
+        assertEquals(0, e3.getAttempts());
+        assertEquals(0, e3.getClaimedUntil());
+    }
+
+    @Test
+    void testUnpublishableEventsAreDead() {
+        KafkaTemplate<String, String> template = mockTemplate();
+        when(template.send(any(ProducerRecord.class))).thenAnswer(inv -> {
+            ProducerRecord<String, String> record = inv.getArgument(0);
+            return "2026-6".equals(record.key())
+                    ? CompletableFuture.failedFuture(new RecordTooLargeException("too large"))
+                    : CompletableFuture.completedFuture(null);
+        });
+        OutboxEvent unreadable = event("e1", "StandingsUpdated", "2026-5", "{not json");
+        OutboxEvent tooLarge = event("e3", "StandingsUpdated", "2026-6", "{}");
+        when(outboxRepo.claimBatch(anyInt(), anyLong())).thenReturn(List.of(unreadable,
+                event("e2", "StandingsUpdated", "2026-5", "{}"), tooLarge));
+
+        assertEquals(1, relay.relayBatch());
+
+        assertTrue(unreadable.isDead());
+        assertTrue(tooLarge.isDead());
+        // A dead event holds nothing back
+        verify(outboxRepo).deleteAllById(List.of("e2"));
+        verify(outboxRepo).saveAll(List.of(unreadable, tooLarge));
+    }
+
+    @Test
+    void testEventIsDeadAfterMaxAttempts() {
+        KafkaTemplate<String, String> template = mockTemplate();
+        CompletableFuture<SendResult<String, String>> send = new CompletableFuture<>();
+        when(template.send(any(ProducerRecord.class))).thenReturn(send);
+        doAnswer(inv -> send.completeExceptionally(new NotLeaderOrFollowerException("moved"))).when(template).flush();
+        ReflectionTestUtils.setField(relay, "maxAttempts", 3);
+        OutboxEvent exhausted = event("e1", "StandingsUpdated", "2026-5", "{}");
+        exhausted.setAttempts(2);
+        when(outboxRepo.claimBatch(anyInt(), anyLong())).thenReturn(List.of(exhausted));
+
+        relay.relayBatch();
+
+        assertTrue(exhausted.isDead());
+        assertEquals(3, exhausted.getAttempts());
+        verify(outboxRepo).saveAll(List.of(exhausted));
+    }
+
+    @Test
+    void testFollowersDoNotRelay() {
+        when(leaderElection.isLeader()).thenReturn(false);
+
+        relay.tick();
+
+        verifyNoInteractions(outboxRepo);
+    }
+
+    @SuppressWarnings("unchecked")
+    private KafkaTemplate<String, String> mockTemplate() {
+        KafkaTemplate<String, String> template = mock(KafkaTemplate.class);
+        ReflectionTestUtils.setField(relay, "kafkaTemplate", template);
+        return template;
+    }
+
+    private static OutboxEvent event(String id, String type, String key, String payload) {
+        OutboxEvent event = new OutboxEvent(type, key, payload);
+        event.setId(id);
+        return event;
+    }
+}
@@ -0,0 +1,150 @@
+package com.f1nity.engine.scheduler;
+
+import com.f1nity.engine.service.DataIngestionService;
+import com.f1nity.engine.service.IngestionLedger;
+import com.f1nity.engine.service.LiveUpdateHub;
+import com.f1nity.library.models.engine.Race;
+import com.f1nity.library.models.engine.Result;
+import com.f1nity.library.repository.engine.RaceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RaceDataSchedulerTest {
+
+    @Mock
+    private DataIngestionService dataIngestionService;
+    @Mock
+    private RaceRepository raceRepository;
+    @Mock
+    private TaskScheduler taskScheduler;
+    @Mock
+    private LeaderElection leaderElection;
+    @Mock
+    private LiveUpdateHub liveUpdateHub;
+
+    @InjectMocks
+    private RaceDataScheduler raceDataScheduler;
+
+    private final List<Runnable> tasks = new ArrayList<>();
+    private final List<Instant> times = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(taskScheduler.schedule(any(Runnable.class), any(Instant.class))).thenAnswer(inv -> {
+            tasks.add(inv.getArgument(0));
+            times.add(inv.getArgument(1));
+            return null;
+        });
+        when(leaderElection.isLeader()).thenReturn(true);
+    }
+
+    @Test
+    void testPollsEachSessionAfterItEndsAndBacksOff() {
+        // Sprint weekend: qualifying and sprint have ended, the race is tomorrow
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MINUTES);
+        Race race = race("2026", "5", now.plus(Duration.ofDays(1)));
+        race.setQualifying(session(now.minus(Duration.ofHours(6))));
+        race.setSprint(session(now.minus(Duration.ofHours(3))));
+        Race finished = race("2026", "4", now.minus(Duration.ofDays(14)));
+        finished.setStandingsUpdated(true);
+        finished.setQualifying(session(now.minus(Duration.ofDays(15))));
+        when(raceRepository.findBySeason("2026")).thenReturn(List.of(finished, race));
+        when(dataIngestionService.fetchAndStoreSessionResults("2026", "5", IngestionLedger.QUALIFYING))
+                .thenReturn(true);
+        when(dataIngestionService.fetchAndStoreSessionResults("2026", "5", IngestionLedger.SPRINT))
+                .thenReturn(false, false, true);
+
+        raceDataScheduler.scheduleNextRaceUpdate();
+        // Qualifying ended hours ago and has no results yet: poll right away
+        assertFalse(times.get(0).isAfter(Instant.now()));
+        tasks.get(0).run();
+        verify(dataIngestionService).fetchAndStoreSessionResults("2026", "5", IngestionLedger.QUALIFYING);
+
+        // Then the sprint, backing off 2 then 4 minutes while results are missing
+        tasks.get(1).run();
+        long firstBackoff = Duration.between(Instant.now(), times.get(2)).toSeconds();
+        tasks.get(2).run();
+        long secondBackoff = Duration.between(Instant.now(), times.get(3)).toSeconds();
+        assertTrue(firstBackoff > 100 && firstBackoff <= 120, "first backoff " + firstBackoff);
+        assertTrue(secondBackoff > 220 && secondBackoff <= 240, "second backoff " + secondBackoff);
+        tasks.get(3).run();
+        verify(dataIngestionService, times(3)).fetchAndStoreSessionResults("2026", "5", IngestionLedger.SPRINT);
+
+        // Race results are polled 2 minutes after the race is over
+        assertEquals(now.plus(Duration.ofDays(1)).plus(Duration.ofHours(2)).plus(Duration.ofMinutes(2)),
+                times.get(4));
+        when(dataIngestionService.fetchAndStoreLatestRaceResults("2026", "5")).thenReturn(List.of(new Result()));
+        tasks.get(4).run();
+        verify(dataIngestionService).updateStandings();
+
+        // One season-scoped query; round 4 was never polled
+        verify(raceRepository, times(1)).findBySeason("2026");
+        verify(raceRepository, never()).findAll();
+        verify(dataIngestionService, never()).fetchAndStoreLatestRaceResults(eq("2026"), eq("4"));
+        verify(dataIngestionService, never()).accumulateRaces();
+    }
+
+    @Test
+    void testMissingSeasonIsFetchedOnce() {
+        when(raceRepository.findBySeason("2026")).thenReturn(List.of());
+
+        raceDataScheduler.scheduleNextRaceUpdate();
+
+        verify(dataIngestionService).accumulateRaces();
+        assertTrue(times.get(0).isAfter(Instant.now().plus(Duration.ofHours(23))));
+    }
+
+    @Test
+    void testOnlyTheLeaderPolls() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MINUTES);
+        Race race = race("2026", "5", now.minus(Duration.ofHours(3)));
+        when(raceRepository.findBySeason("2026")).thenReturn(List.of(race));
+        when(leaderElection.isLeader()).thenReturn(false);
+
+        raceDataScheduler.scheduleNextRaceUpdate();
+        assertTrue(tasks.isEmpty());
+        verifyNoInteractions(raceRepository);
+
+        // Elected: polling starts; the lease is then lost before the poll runs
+        when(leaderElection.isLeader()).thenReturn(true);
+        raceDataScheduler.scheduleNextRaceUpdate();
+        doThrow(new IllegalStateException("lease lost")).when(leaderElection).fence();
+        tasks.get(0).run();
+
+        verify(dataIngestionService, never()).fetchAndStoreLatestRaceResults(anyString(), anyString());
+        assertEquals(1, tasks.size());
+    }
+
+    private static Race race(String season, String round, Instant start) {
+        Race race = new Race();
+        race.setSeason(season);
+        race.setRound(round);
+        race.setRaceName("Round " + round);
+        race.setDate(start.atOffset(ZoneOffset.UTC).toLocalDate().toString());
+        race.setTime(start.atOffset(ZoneOffset.UTC).toLocalTime() + ":00Z");
+        return race;
+    }
+
+    private static Race.Practice session(Instant start) {
+        Race.Practice practice = new Race.Practice();
+        practice.setDate(start.atOffset(ZoneOffset.UTC).toLocalDate().toString());
+        practice.setTime(start.atOffset(ZoneOffset.UTC).toLocalTime() + ":00Z");
+        return practice;
+    }
+}
@@ -0,0 +1,81 @@
+package com.f1nity.engine.scheduler;
+
+import com.f1nity.engine.service.CircuitGuideService;
+import com.f1nity.engine.service.DataIngestionService;
+import com.f1nity.engine.service.F1nityService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class StartupBootstrapTest {
+
+    @Mock
+    private DataIngestionService dataIngestionService;
+    @Mock
+    private CircuitGuideService circuitGuideService;
+    @Mock
+    private RaceDataScheduler raceDataScheduler;
+    @Mock
+    private F1nityService f1nityService;
+
+    @InjectMocks
+    private StartupBootstrap startupBootstrap;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testLoadsInParallelThenWarmsEveryView() throws Exception {
+        // Each loading step waits for the other: they must run side by side
+        CountDownLatch allStarted = new CountDownLatch(2);
+        doAnswer(inv -> awaitOthers(allStarted)).when(dataIngestionService).initializeStaticData();
+        doAnswer(inv -> awaitOthers(allStarted)).when(raceDataScheduler).scheduleNextRaceUpdate();
+        // Guide seeding does not hold readiness back
+        CountDownLatch seedReleased = new CountDownLatch(1);
+        doAnswer(inv -> seedReleased.await(5, TimeUnit.SECONDS)).when(circuitGuideService).seedGuides();
+        when(f1nityService.getDriverStandings()).thenThrow(new RuntimeException("standings not computed yet"));
+
+        startupBootstrap.run();
+
+        assertEquals(StartupBootstrap.Phase.READY, startupBootstrap.getPhase());
+        Map<?, ?> steps = (Map<?, ?>) startupBootstrap.status().get("steps");
+        assertFalse(steps.containsKey("circuitGuides"));
+        seedReleased.countDown();
+        verify(circuitGuideService, timeout(2000)).seedGuides();
+        verify(f1nityService).getRacesOfCurrentYear();
+        verify(f1nityService).getConstructorStandings();
+        verify(f1nityService).getCurrentDrivers();
+        verify(dataIngestionService).getLatestRaceResults();
+        // A view that failed to warm does not hold readiness back
+        assertTrue(steps.containsKey("warm.driverStandings"));
+    }
+
+    @Test
+    void testFailedLoadIsNeverReady() {
+        doThrow(new IllegalStateException("Mongo unreachable")).when(dataIngestionService).initializeStaticData();
+
+        startupBootstrap.run();
+
+        assertFalse(startupBootstrap.isReady());
+        assertEquals(StartupBootstrap.Phase.FAILED, startupBootstrap.getPhase());
+        assertEquals("Mongo unreachable", startupBootstrap.status().get("error"));
+        verifyNoInteractions(f1nityService);
+    }
+
+    private static Object awaitOthers(CountDownLatch allStarted) throws InterruptedException {
+        allStarted.countDown();
+        assertTrue(allStarted.await(5, TimeUnit.SECONDS), "loading steps ran one after another");
+        return null;
+    }
+}
@@ -0,0 +1,287 @@
+package com.f1nity.engine.service;
+
+import com.f1nity.engine.dto.RecomputeReport;
+import com.f1nity.engine.model.RoundBundle;
+import com.f1nity.engine.model.StatsDelta;
+import com.f1nity.library.models.engine.*;
+import com.f1nity.library.repository.engine.ConstructorRepository;
+import com.f1nity.library.repository.engine.DriverRepository;
+import com.f1nity.library.repository.engine.IngestionLedgerRepository;
+import com.f1nity.library.repository.engine.RaceRepository;
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.RenameCollectionOptions;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import reactor.core.publisher.Mono;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CareerStatsRecomputeServiceTest {
+
+    private static final int GRID_SIZE = 20;
+    private static final int ROUNDS = 22;
+
+    @Mock
+    private RaceRepository raceRepo;
+    @Mock
+    private DriverRepository driverRepo;
+    @Mock
+    private ConstructorRepository constructorRepo;
+    @Mock
+    private IngestionLedgerRepository ledgerRepo;
+    @Mock
+    private MongoTemplate mongoTemplate;
+    @Mock
+    private MongoDatabase database;
+    @Mock
+    private MongoCollection<Document> collection;
+    @Mock
+    private SnapshotService snapshotService;
+    @Mock
+    private RoundFetcher roundFetcher;
+
+    @InjectMocks
+    private CareerStatsRecomputeService recomputeService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(recomputeService, "ingestionLedger",
+                new IngestionLedger(driverRepo, constructorRepo, ledgerRepo));
+
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE,
+                new MongoMappingContext());
+        converter.afterPropertiesSet();
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+        when(mongoTemplate.getCollectionName(Driver.class)).thenReturn("drivers");
+        when(mongoTemplate.getCollectionName(Constructor.class)).thenReturn("constructors");
+        when(mongoTemplate.getCollectionName(IngestionLedgerEntry.class)).thenReturn("ingestion_ledger");
+        when(mongoTemplate.indexOps(anyString())).thenReturn(mock(IndexOperations.class));
+        when(mongoTemplate.getCollection(anyString())).thenReturn(collection);
+        when(mongoTemplate.getDb()).thenReturn(database);
+        when(database.getName()).thenReturn("f1nity");
+        Map<String, Integer> inserted = new HashMap<>();
+        when(mongoTemplate.insert(anyCollection(), anyString())).thenAnswer(inv -> {
+            inserted.put(inv.getArgument(1), ((Collection<?>) inv.getArgument(0)).size());
+            return inv.getArgument(0);
+        });
+        when(mongoTemplate.count(any(Query.class), anyString()))
+                .thenAnswer(inv -> (long) inserted.getOrDefault((String) inv.getArgument(1), 0));
+    }
+
+    /**
+     * Rebuilds 76 seasons of a full grid and compares against the totals the
+     * incremental path would have produced round by round.
+     */
+    @Test
+    void testRecomputeMatchesIncrementalTotalsAndSwapsShadows() {
+        List<Race> races = seasons(1950, 2025);
+        // A duplicate schedule entry without results must not count twice
+        Race duplicate = new Race();
+        duplicate.setSeason("2025");
+        duplicate.setRound("1");
+        races.add(duplicate);
+        when(raceRepo.findAll()).thenReturn(races);
+        Driver stale = new Driver();
+        stale.setDriverId("driver0");
+        stale.setFullName("Driver Zero");
+        stale.setWins(3);
+        when(driverRepo.findAll()).thenReturn(new ArrayList<>(List.of(stale)));
+        when(constructorRepo.findAll()).thenReturn(new ArrayList<>());
+
+        StatsDelta expected = new StatsDelta();
+        for (Race race : seasons(1950, 2025)) {
+            expected.merge(StatsDelta.fromRaceResults(race.getResults()))
+                    .merge(StatsDelta.fromSprintResults(race.getSprintResults()))
+                    .merge(StatsDelta.fromQualifyingResults(race.getQualifyingResults()));
+        }
+
+        RecomputeReport report = recomputeService.recompute(false, false);
+        System.out.println("Recomputed " + report.getRacesRead() + " races in " + report.getAggregateMillis()
+                + " ms (aggregation), " + report.getWallClockMillis() + " ms total");
+
+        assertTrue(report.isSwapped());
+        assertTrue(report.getMissingSeasons().isEmpty());
+        assertEquals(76 * ROUNDS, report.getRacesRead());
+
+        ArgumentCaptor<Collection<Driver>> drivers = ArgumentCaptor.forClass(Collection.class);
+        verify(mongoTemplate).insert(drivers.capture(), eq("drivers_recompute"));
+        Map<String, Driver> byId = drivers.getValue().stream()
+                .collect(Collectors.toMap(Driver::getDriverId, Function.identity()));
+        assertEquals(GRID_SIZE, byId.size());
+        for (Map.Entry<String, StatsDelta.Counters> e : expected.getDrivers().entrySet()) {
+            Driver driver = byId.get(e.getKey());
+            assertEquals(e.getValue().getWins(), driver.getWins());
+            assertEquals(e.getValue().getPodiums(), driver.getPodiums());
+            assertEquals(e.getValue().getPoles(), driver.getPoles());
+            assertEquals(e.getValue().getTotalRaces(), driver.getTotalRaces());
+            assertEquals(e.getValue().getSprintRaces(), driver.getSprintRaces());
+            assertEquals(e.getValue().getPoints(), driver.getPoints(), 0.001);
+        }
+        // Non-statistic fields survive
+        assertEquals("Driver Zero", byId.get("driver0").getFullName());
+
+        ArgumentCaptor<Collection<IngestionLedgerEntry>> ledger = ArgumentCaptor.forClass(Collection.class);
+        verify(mongoTemplate).insert(ledger.capture(), eq("ingestion_ledger_recompute"));
+        assertTrue(ledger.getValue().stream().anyMatch(entry -> entry.getId().equals("2025-1-race")));
+
+        InOrder inOrder = inOrder(mongoTemplate, collection);
+        inOrder.verify(mongoTemplate).insert(anyCollection(), eq("ingestion_ledger_recompute"));
+        inOrder.verify(collection, times(3)).renameCollection(any(MongoNamespace.class),
+                any(RenameCollectionOptions.class));
+        verify(raceRepo, times(1)).findAll();
+        verify(snapshotService).markAllChanged();
+    }
+
+    @Test
+    void testMissingSeasonsBlockTheSwapUnlessForced() {
+        when(raceRepo.findAll()).thenReturn(seasons(2020, 2025));
+        when(driverRepo.findAll()).thenReturn(new ArrayList<>());
+        when(constructorRepo.findAll()).thenReturn(new ArrayList<>());
+
+        RecomputeReport report = recomputeService.recompute(false, false);
+
+        assertFalse(report.isSwapped());
+        assertEquals(70, report.getMissingSeasons().size());
+        assertEquals(GRID_SIZE, report.getDriversChanged());
+        verify(mongoTemplate, never()).insert(anyCollection(), anyString());
+        verify(collection, never()).renameCollection(any(MongoNamespace.class), any(RenameCollectionOptions.class));
+
+        assertTrue(recomputeService.recompute(false, true).isSwapped());
+    }
+
+    @Test
+    void testDryRunWritesNothing() {
+        when(raceRepo.findAll()).thenReturn(seasons(1950, 2025));
+        when(driverRepo.findAll()).thenReturn(new ArrayList<>());
+        when(constructorRepo.findAll()).thenReturn(new ArrayList<>());
+
+        RecomputeReport report = recomputeService.recompute(true, false);
+
+        assertFalse(report.isSwapped());
+        assertEquals(GRID_SIZE, report.getDrivers());
+        verify(mongoTemplate, never()).insert(anyCollection(), anyString());
+        verify(mongoTemplate, never()).dropCollection(anyString());
+    }
+
+    @Test
+    void testFailedRenameRestoresTheCollectionsAlreadySwapped() {
+        when(raceRepo.findAll()).thenReturn(seasons(1950, 2025));
+        when(driverRepo.findAll()).thenReturn(new ArrayList<>());
+        when(constructorRepo.findAll()).thenReturn(new ArrayList<>());
+        // drivers swaps, constructors fails, drivers is restored
+        doNothing().doThrow(new IllegalStateException("rename failed")).doNothing().when(collection)
+                .renameCollection(any(MongoNamespace.class), any(RenameCollectionOptions.class));
+
+        assertThrows(IllegalStateException.class, () -> recomputeService.recompute(false, false));
+
+        verify(mongoTemplate).getCollection("drivers_previous");
+        verify(collection, times(3)).renameCollection(any(MongoNamespace.class), any(RenameCollectionOptions.class));
+        verify(mongoTemplate, never()).dropCollection("drivers_previous");
+        verify(snapshotService, never()).markAllChanged();
+    }
+
+    @Test
+    void testIncompleteShadowIsNotSwapped() {
+        when(raceRepo.findAll()).thenReturn(seasons(1950, 2025));
+        when(driverRepo.findAll()).thenReturn(new ArrayList<>());
+        when(constructorRepo.findAll()).thenReturn(new ArrayList<>());
+        when(mongoTemplate.count(any(Query.class), eq("constructors_recompute"))).thenReturn(3L);
+
+        assertThrows(IllegalStateException.class, () -> recomputeService.recompute(false, false));
+
+        verify(collection, never()).renameCollection(any(MongoNamespace.class), any(RenameCollectionOptions.class));
+    }
+
+    @Test
+    void testRecomputeFromTheRawArchive() {
+        when(roundFetcher.fetchArchivedSeasonMono(anyInt())).thenAnswer(inv -> {
+            int season = inv.getArgument(0);
+            List<RoundBundle> bundles = new ArrayList<>();
+            for (Race race : seasons(season, season)) {
+                RoundBundle bundle = new RoundBundle(season, race.getRound());
+                bundle.setRace(race);
+                bundle.setQualifyingResults(race.getQualifyingResults());
+                bundle.setSprintResults(race.getSprintResults());
+                race.setQualifyingResults(null);
+                race.setSprintResults(null);
+                bundles.add(bundle);
+            }
+            return Mono.just(bundles);
+        });
+        when(driverRepo.findAll()).thenReturn(new ArrayList<>());
+        when(constructorRepo.findAll()).thenReturn(new ArrayList<>());
+
+        RecomputeReport report = recomputeService.recompute(true, false, true);
+
+        assertEquals("archive", report.getSource());
+        assertTrue(report.getMissingSeasons().isEmpty());
+        assertEquals(77 * ROUNDS, report.getRacesRead());
+        // Race, qualifying and sprint sessions all come from the archived listings
+        assertEquals(77 * ROUNDS * 2 + 6 * (ROUNDS / 4), report.getSessionsAggregated());
+        verify(raceRepo, never()).findAll();
+    }
+
+    private static List<Race> seasons(int from, int to) {
+        List<Race> races = new ArrayList<>();
+        for (int season = from; season <= to; season++) {
+            for (int round = 1; round <= ROUNDS; round++) {
+                Race race = new Race();
+                race.setSeason(String.valueOf(season));
+                race.setRound(String.valueOf(round));
+                // Rotate the order so every driver wins now and then
+                race.setResults(grid(season + round));
+                race.setQualifyingResults(grid(season + round + 1));
+                if (season >= 2021 && round % 4 == 0) {
+                    race.setSprintResults(grid(season + round + 2));
+                }
+                races.add(race);
+            }
+        }
+        return races;
+    }
+
+    private static List<Result> grid(int shift) {
+        List<Result> results = new ArrayList<>();
+        for (int p = 0; p < GRID_SIZE; p++) {
+            int d = (p + shift) % GRID_SIZE;
+            ErgastDriver driver = new ErgastDriver();
+            driver.setDriverId("driver" + d);
+            ErgastConstructor constructor = new ErgastConstructor();
+            constructor.setConstructorId("team" + d / 2);
+            Result result = new Result();
+            result.setDriver(driver);
+            result.setConstructor(constructor);
+            result.setPosition(String.valueOf(p + 1));
+            result.setPoints(String.valueOf(Math.max(0, 10 - p)));
+            results.add(result);
+        }
+        return results;
+    }
+}
@@ -0,0 +1,108 @@
+package com.f1nity.engine.service;
+
+import com.f1nity.library.models.engine.CircuitGuide;
+import com.f1nity.library.repository.engine.CircuitGuideRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CircuitGuideServiceTest {
+
+    @Mock
+    private CircuitGuideRepository repository;
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @InjectMocks
+    private CircuitGuideService circuitGuideService;
+
+    private BulkOperations bulk;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(circuitGuideService, "objectMapper", Jackson2ObjectMapperBuilder.json().build());
+        bulk = mock(BulkOperations.class, RETURNS_SELF);
+        when(mongoTemplate.bulkOps(eq(BulkOperations.BulkMode.UNORDERED), eq(CircuitGuide.class))).thenReturn(bulk);
+    }
+
+    @Test
+    void testFirstSeedUpsertsEveryGuideInOneBulk() {
+        circuitGuideService.seedGuides();
+
+        ArgumentCaptor<Object> guides = ArgumentCaptor.forClass(Object.class);
+        verify(bulk, times(24)).replaceOne(any(Query.class), guides.capture(), any(FindAndReplaceOptions.class));
+        verify(bulk).execute();
+        assertNotNull(((CircuitGuide) guides.getValue()).getContentHash());
+        ArgumentCaptor<Document> state = ArgumentCaptor.forClass(Document.class);
+        verify(mongoTemplate).save(state.capture(), eq(CircuitGuideService.SEED_STATE_COLLECTION));
+        assertEquals(1, state.getValue().get("version"));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void testUnchangedBundleIsSkipped() {
+        circuitGuideService.seedGuides();
+        ArgumentCaptor<Document> state = ArgumentCaptor.forClass(Document.class);
+        verify(mongoTemplate).save(state.capture(), eq(CircuitGuideService.SEED_STATE_COLLECTION));
+        clearInvocations(mongoTemplate, bulk);
+        when(mongoTemplate.findById(any(), eq(Document.class), eq(CircuitGuideService.SEED_STATE_COLLECTION)))
+                .thenReturn(state.getValue());
+
+        circuitGuideService.seedGuides();
+
+        verify(mongoTemplate, never()).find(any(Query.class), eq(CircuitGuide.class));
+        verifyNoInteractions(bulk);
+    }
+
+    @Test
+    void testOnlyChangedGuidesAreWritten() {
+        circuitGuideService.seedGuides();
+        ArgumentCaptor<Object> seeded = ArgumentCaptor.forClass(Object.class);
+        verify(bulk, times(24)).replaceOne(any(Query.class), seeded.capture(), any(FindAndReplaceOptions.class));
+        clearInvocations(bulk);
+
+        // Stored copies match the bundle except for Monza, edited in the database
+        List<CircuitGuide> stored = seeded.getAllValues().stream().map(g -> {
+            CircuitGuide copy = new CircuitGuide();
+            copy.setCircuitId(((CircuitGuide) g).getCircuitId());
+            copy.setContentHash("monza".equals(copy.getCircuitId()) ? "stale" : ((CircuitGuide) g).getContentHash());
+            return copy;
+        }).toList();
+        when(mongoTemplate.find(any(Query.class), eq(CircuitGuide.class))).thenReturn(stored);
+
+        circuitGuideService.seedGuides();
+
+        ArgumentCaptor<Object> written = ArgumentCaptor.forClass(Object.class);
+        verify(bulk).replaceOne(any(Query.class), written.capture(), any(FindAndReplaceOptions.class));
+        assertEquals("monza", ((CircuitGuide) written.getValue()).getCircuitId());
+        verify(bulk).execute();
+    }
+
+    @Test
+    void testGuidesAreReadFromTheBundle() {
+        CircuitGuide monza = circuitGuideService.getGuideByCircuitId("monza");
+        assertEquals("Italy", monza.getCountry());
+        verifyNoInteractions(repository, mongoTemplate);
+
+        when(repository.findByCircuitId("las_vegas_old")).thenReturn(Optional.empty());
+        assertEquals("Unknown Circuit", circuitGuideService.getGuideByCircuitId("las_vegas_old").getCircuitName());
+    }
+}
@@ -2,15 +2,26 @@ package com.f1nity.engine.service;
 
 import com.f1nity.engine.client.ErgastClient;
 import com.f1nity.engine.client.OpenF1Client;
+import com.f1nity.engine.dto.MaintenanceReport;
+import com.f1nity.engine.model.LiveEvent;
 import com.f1nity.library.models.engine.*;
 import com.f1nity.library.models.engine.ErgastConstructor.ConstructorResponse;
 import com.f1nity.library.models.engine.ErgastDriver.ErgastResponse;
 import com.f1nity.library.repository.engine.*;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.DeleteResult;
+import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDate;
@@ -18,12 +29,15 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class DataIngestionServiceTest {
@@ -42,6 +56,16 @@ class DataIngestionServiceTest {
     private ConstructorStandingsRepository constructorStandingsRepo;
     @Mock
     private RaceRepository raceRepo;
+    @Mock
+    private IngestionLedgerRepository ledgerRepo;
+    @Mock
+    private MongoTemplate mongoTemplate;
+    @Mock
+    private SnapshotService snapshotService;
+    @Mock
+    private OutboxService outboxService;
+    @Mock
+    private LiveUpdateHub liveUpdateHub;
 
     @InjectMocks
     private DataIngestionService dataIngestionService;
@@ -49,6 +73,14 @@ class DataIngestionServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(ledgerRepo.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        when(outboxService.inUnitOfWork(any())).thenAnswer(inv -> ((Supplier<?>) inv.getArgument(0)).get());
+        ReflectionTestUtils.setField(dataIngestionService, "ingestionLedger",
+                new IngestionLedger(driverRepo, constructorRepo, ledgerRepo));
+        RoundFetcher roundFetcher = new RoundFetcher();
+        ReflectionTestUtils.setField(roundFetcher, "ergastClient", ergastClient);
+        ReflectionTestUtils.setField(dataIngestionService, "roundFetcher", roundFetcher);
+        when(ergastClient.getQualifyingResultsMono(anyString(), anyString())).thenReturn(Mono.empty());
     }
 
     @Test
@@ -104,35 +136,85 @@ class DataIngestionServiceTest {
         sprintResponse.getMrData().getRaceTable().setRaces(Collections.singletonList(sprintRace));
 
         // Mocks
-        when(ergastClient.getRaceResults(year, round)).thenReturn(gpResponse);
-        when(ergastClient.getSprintResults(year, round)).thenReturn(sprintResponse);
+        when(ergastClient.getRaceResultsMono(String.valueOf(year), round)).thenReturn(Mono.just(gpResponse));
+        when(ergastClient.getSprintResultsMono(String.valueOf(year), round)).thenReturn(Mono.just(sprintResponse));
 
         when(raceRepo.findBySeasonAndRound("2025", round)).thenReturn(new ArrayList<>());
-        Driver initialDriver = new Driver();
-        initialDriver.setPoints(0.0); // Initialize points to avoid NPE
-        initialDriver.setWins(0);
-        initialDriver.setPodiums(0);
-        initialDriver.setTotalRaces(0);
-        when(driverRepo.findById("d1")).thenReturn(Optional.of(initialDriver));
-
-        Constructor initialConstructor = new Constructor();
-        initialConstructor.setPoints(0.0);
-        initialConstructor.setWins(0);
-        initialConstructor.setPodiums(0);
-        initialConstructor.setTotalRaces(0);
-        when(constructorRepo.findById("c1")).thenReturn(Optional.of(initialConstructor));
+        when(driverRepo.incrementStats(any())).thenReturn(1);
+        when(constructorRepo.incrementStats(any())).thenReturn(1);
 
         dataIngestionService.fetchAndStoreLatestRaceResults(String.valueOf(year), round);
 
+        // Career stats are written as server-side increments without reading documents
+        verify(driverRepo, never()).findAllById(any());
+        verify(driverRepo, never()).findById(anyString());
+        verify(driverRepo, never()).saveAll(any());
+        verify(constructorRepo, never()).saveAll(any());
+
         // Verify points accumulation: 25 (GP) + 8 (Sprint) = 33
-        // The service updates 'updatedDrivers' map and saves them.
-        verify(driverRepo).saveAll(argThat(drivers -> {
-            for (Driver d : drivers) {
-                // Check for generic 0.0 vs 33.0 comparison
-                if (Math.abs(d.getPoints() - 33.0) < 0.001)
-                    return true;
-            }
-            return false;
+        verify(driverRepo).incrementStats(argThat(increments -> {
+            Map<String, Number> d1Inc = increments.get("d1");
+            return d1Inc != null && Math.abs(d1Inc.get("points").doubleValue() - 33.0) < 0.001
+                    && d1Inc.get("totalRaces").intValue() == 2
+                    && d1Inc.get("sprintRaces").intValue() == 1;
         }));
+        verify(constructorRepo).incrementStats(argThat(increments -> increments.containsKey("c1")
+                && Math.abs(increments.get("c1").get("points").doubleValue() - 33.0) < 0.001));
+        // The snapshot writer is only notified, no export on the live path
+        verify(snapshotService).markChanged(argThat(ids -> ids.contains("d1")), argThat(ids -> ids.contains("c1")));
+        // Subscribers get the results with the event
+        verify(liveUpdateHub).publish(eq(LiveEvent.RESULTS),
+                argThat(event -> ((Map<?, ?>) event).get("results").equals(Collections.singletonList(gpResult))));
+        // Outbox events go in the same unit of work as the race and the increments
+        verify(outboxService).record(eq(OutboxService.RACE_RESULTS_INGESTED), eq("2025"), eq(round), any());
+        verify(outboxService).record(eq(OutboxService.DRIVER_STATS_CHANGED), eq("2025"), eq(round),
+                argThat(event -> ((Map<?, ?>) event).get("driverIds").equals(Set.of("d1"))));
+        verify(outboxService, times(2)).inUnitOfWork(any());
+    }
+
+    @Test
+    void testMaintenanceRunsAsServerSideBulkWrites() {
+        BulkOperations bulk = mock(BulkOperations.class, RETURNS_SELF);
+        when(mongoTemplate.bulkOps(eq(BulkOperations.BulkMode.UNORDERED), any(Class.class))).thenReturn(bulk);
+        when(bulk.execute()).thenReturn(BulkWriteResult.acknowledged(0, 180, 0, 24, Collections.emptyList(),
+                Collections.emptyList()));
+
+        MaintenanceReport images = dataIngestionService.updateCircuitUrls();
+        MaintenanceReport active = dataIngestionService.updateDriverActiveStatus();
+
+        assertEquals(180, images.getMatched());
+        assertEquals(24, images.getModified());
+        assertEquals(24, active.getModified());
+        verify(raceRepo, never()).findAll();
+        verify(driverRepo, never()).findAll();
+        verify(raceRepo, never()).saveAll(any());
+        verify(driverRepo, never()).saveAll(any());
+
+        // One update per circuit keyed by circuitId, plus the two lineup updates
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        verify(bulk, times(26)).updateMulti(queries.capture(), any(Update.class));
+        assertEquals("monza", queries.getAllValues().stream().map(Query::getQueryObject)
+                .filter(q -> "monza".equals(q.get("circuit.circuitId"))).findFirst().orElseThrow()
+                .get("circuit.circuitId"));
+        Document lineup = (Document) queries.getAllValues().get(24).getQueryObject().get("fullName");
+        List<Pattern> names = (List<Pattern>) lineup.get("$in");
+        assertTrue(names.stream().anyMatch(p -> p.matcher("Lando Norris").matches()));
+        assertFalse(names.stream().anyMatch(p -> p.matcher("Michael Schumacher").matches()));
+        verify(bulk, times(2)).execute();
+    }
+
+    @Test
+    void testCleanupDeletesBySeasonInOneCall() {
+        when(mongoTemplate.remove(any(Query.class), eq(Race.class))).thenReturn(DeleteResult.acknowledged(24));
+        when(ergastClient.getRaces(anyInt())).thenReturn(null);
+
+        MaintenanceReport report = dataIngestionService.cleanupOldRaces();
+
+        assertEquals(24, report.getDeleted());
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).remove(query.capture(), eq(Race.class));
+        assertEquals("2025", query.getValue().getQueryObject().get("season"));
+        verify(raceRepo, never()).findBySeason(anyString());
+        verify(raceRepo, never()).deleteAll(any());
     }
 }
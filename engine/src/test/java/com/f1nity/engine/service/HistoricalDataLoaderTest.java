@@ -0,0 +1,180 @@
+package com.f1nity.engine.service;
+
+import com.f1nity.library.models.engine.Constructor;
+import com.f1nity.library.models.engine.Driver;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class HistoricalDataLoaderTest {
+
+    @TempDir
+    Path dir;
+
+    // Configured like the application mapper (unknown fields are ignored)
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private MongoTemplate mongoTemplate;
+    private BulkOperations bulk;
+    private HistoricalDataLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        bulk = mock(BulkOperations.class, RETURNS_SELF);
+        when(mongoTemplate.bulkOps(eq(BulkOperations.BulkMode.UNORDERED), any(Class.class))).thenReturn(bulk);
+
+        loader = new HistoricalDataLoader();
+        ReflectionTestUtils.setField(loader, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(loader, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(loader, "exportPath", dir.resolve("export/historical_data.json.gz").toString());
+        ReflectionTestUtils.setField(loader, "binaryPath", dir.resolve("export/historical_data.smile").toString());
+        ReflectionTestUtils.setField(loader, "chunkSize", 100);
+    }
+
+    @Test
+    void testExportStreamsToGzipAndImportUpsertsInChunks() throws Exception {
+        ReflectionTestUtils.setField(loader, "format", HistoricalDataLoader.FORMAT_JSON);
+        // Cursors are consumed lazily; nothing is collected into a list
+        when(mongoTemplate.stream(any(Query.class), eq(Driver.class)))
+                .thenReturn(IntStream.range(0, 1000).mapToObj(HistoricalDataLoaderTest::driver));
+        when(mongoTemplate.stream(any(Query.class), eq(Constructor.class)))
+                .thenReturn(IntStream.range(0, 10).mapToObj(HistoricalDataLoaderTest::constructor));
+
+        Path export = loader.exportNow();
+
+        try (InputStream in = Files.newInputStream(export)) {
+            assertEquals(0x1f, in.read());
+            assertEquals(0x8b, in.read());
+        }
+        // Only the renamed export is left behind
+        try (Stream<Path> files = Files.list(export.getParent())) {
+            assertEquals(1, files.count());
+        }
+        System.out.println("Export of 1000 drivers is " + Files.size(export) + " bytes");
+
+        String status = loader.loadHistoricalData();
+
+        assertTrue(status.contains("Loaded from EXPORT"), status);
+        assertTrue(status.contains("1000 done"), status);
+        assertTrue(status.contains("Saved 10 constructors"), status);
+        ArgumentCaptor<Object> replaced = ArgumentCaptor.forClass(Object.class);
+        verify(bulk, times(1010)).replaceOne(any(Query.class), replaced.capture(), any(FindAndReplaceOptions.class));
+        assertEquals("driver999", ((Driver) replaced.getAllValues().get(999)).getDriverId());
+        assertEquals(42, ((Driver) replaced.getAllValues().get(0)).getWins());
+        // 10 driver chunks and one constructor chunk
+        verify(bulk, times(11)).execute();
+    }
+
+    @Test
+    void testBinarySnapshotRoundTripsAndIsVerifiedBeforeImport() throws Exception {
+        when(mongoTemplate.stream(any(Query.class), eq(Driver.class)))
+                .thenAnswer(inv -> IntStream.range(0, 50).mapToObj(HistoricalDataLoaderTest::driver));
+        when(mongoTemplate.stream(any(Query.class), eq(Constructor.class)))
+                .thenAnswer(inv -> IntStream.range(0, 5).mapToObj(HistoricalDataLoaderTest::constructor));
+
+        Path binary = loader.exportNow();
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(binary))) {
+            assertEquals('F', in.read());
+            assertEquals('1', in.read());
+            assertEquals('H', in.read());
+            assertEquals('S', in.read());
+            assertEquals(HistoricalDataLoader.SNAPSHOT_VERSION, in.readInt());
+            assertEquals(Files.size(binary) - 24, in.readLong());
+        }
+
+        String status = loader.loadHistoricalData();
+        assertTrue(status.contains("Loaded from EXPORT: " + binary), status);
+        ArgumentCaptor<Object> replaced = ArgumentCaptor.forClass(Object.class);
+        verify(bulk, times(55)).replaceOne(any(Query.class), replaced.capture(), any(FindAndReplaceOptions.class));
+        assertEquals("driver49", ((Driver) replaced.getAllValues().get(49)).getDriverId());
+        assertEquals(42, ((Driver) replaced.getAllValues().get(49)).getWins());
+
+        // A flipped payload byte is caught before anything is written
+        byte[] bytes = Files.readAllBytes(binary);
+        bytes[bytes.length - 10] ^= 0x55;
+        Files.write(binary, bytes);
+        clearInvocations(bulk);
+
+        status = loader.loadHistoricalData();
+        assertTrue(status.contains("Snapshot checksum mismatch"), status);
+        assertTrue(status.contains("Loaded from SOURCE"), status);
+        verify(bulk, never()).replaceOne(any(Query.class), argThat(d -> d instanceof Driver
+                && "driver49".equals(((Driver) d).getDriverId())), any(FindAndReplaceOptions.class));
+    }
+
+    @Test
+    void testDeltasAreAppliedAfterTheFullExportAndFoldedIntoTheNext() throws Exception {
+        when(mongoTemplate.stream(any(Query.class), eq(Driver.class)))
+                .thenAnswer(inv -> IntStream.range(0, 20).mapToObj(HistoricalDataLoaderTest::driver))
+                .thenAnswer(inv -> Stream.of(driver(3)))
+                .thenAnswer(inv -> Stream.of(driver(3)))
+                .thenAnswer(inv -> IntStream.range(0, 20).mapToObj(HistoricalDataLoaderTest::driver));
+        when(mongoTemplate.stream(any(Query.class), eq(Constructor.class))).thenAnswer(inv -> Stream.empty());
+
+        loader.exportNow();
+        Path first = loader.exportDelta(List.of("driver3"), List.of());
+        Path second = loader.exportDelta(List.of("driver3"), List.of());
+
+        assertEquals(List.of(first, second), loader.deltaFiles());
+        ArgumentCaptor<Query> deltaQuery = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(3)).stream(deltaQuery.capture(), eq(Driver.class));
+        assertTrue(deltaQuery.getAllValues().get(1).getQueryObject().toJson().contains("driver3"));
+
+        String status = loader.loadHistoricalData();
+        assertTrue(status.contains("Applying DELTA: " + first.getFileName()), status);
+        // Full export first, then both deltas
+        verify(bulk, times(22)).replaceOne(any(Query.class), any(), any(FindAndReplaceOptions.class));
+
+        loader.exportNow();
+        assertTrue(loader.deltaFiles().isEmpty());
+    }
+
+    @Test
+    void testBundledJsonIsImportedWhenNoExportExists() throws Exception {
+        File source = new File("src/main/resources/historical_data.json");
+        int drivers = objectMapper.readTree(source).get("drivers").size();
+        int constructors = objectMapper.readTree(source).get("constructors").size();
+
+        String status = loader.loadHistoricalData();
+
+        assertTrue(status.contains("Loaded from SOURCE"), status);
+        verify(bulk, times(drivers + constructors)).replaceOne(any(Query.class), any(),
+                any(FindAndReplaceOptions.class));
+    }
+
+    private static Driver driver(int i) {
+        Driver driver = new Driver();
+        driver.setDriverId("driver" + i);
+        driver.setFullName("Driver " + i);
+        driver.setWins(42);
+        return driver;
+    }
+
+    private static Constructor constructor(int i) {
+        Constructor constructor = new Constructor();
+        constructor.setConstructorId("team" + i);
+        constructor.setName("Team " + i);
+        return constructor;
+    }
+}
@@ -0,0 +1,138 @@
+package com.f1nity.engine.service;
+
+import com.f1nity.engine.model.StatsDelta;
+import com.f1nity.library.models.engine.*;
+import com.f1nity.library.repository.engine.ConstructorRepository;
+import com.f1nity.library.repository.engine.DriverRepository;
+import com.f1nity.library.repository.engine.IngestionLedgerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class IngestionLedgerTest {
+
+    @Mock
+    private DriverRepository driverRepo;
+    @Mock
+    private ConstructorRepository constructorRepo;
+    @Mock
+    private IngestionLedgerRepository ledgerRepo;
+
+    private IngestionLedger ledger;
+    private final List<IngestionLedgerEntry> stored = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ledger = new IngestionLedger(driverRepo, constructorRepo, ledgerRepo);
+        when(ledgerRepo.save(any())).thenAnswer(inv -> {
+            IngestionLedgerEntry entry = inv.getArgument(0);
+            stored.removeIf(e -> e.getId().equals(entry.getId()));
+            stored.add(entry);
+            return entry;
+        });
+        when(ledgerRepo.findAllById(any())).thenAnswer(inv -> new ArrayList<>(stored));
+        doAnswer(inv -> stored.remove((IngestionLedgerEntry) inv.getArgument(0))).when(ledgerRepo).delete(any());
+    }
+
+    @Test
+    void testIdenticalPayloadIsAppliedOnce() {
+        List<Result> results = List.of(result("max_verstappen", "red_bull", "25"), result("norris", "mclaren", "18"));
+
+        assertEquals(1, ledger.applyRound(2026, "5", race(results)));
+        assertEquals(0, ledger.applyRound(2026, "5", race(copy(results))));
+
+        verify(driverRepo, times(1)).incrementStats(any());
+        verify(constructorRepo, times(1)).incrementStats(any());
+        assertEquals("2026-5-race", stored.get(0).getId());
+    }
+
+    @Test
+    void testCorrectedPayloadAppliesOnlyTheDifference() {
+        ledger.applyRound(2026, "5", race(List.of(result("max_verstappen", "red_bull", "25"),
+                result("norris", "mclaren", "18"))));
+        clearInvocations(driverRepo, constructorRepo);
+
+        // Post-race penalty swaps the top two
+        assertEquals(1, ledger.applyRound(2026, "5", race(List.of(result("norris", "mclaren", "25"),
+                result("max_verstappen", "red_bull", "18")))));
+
+        ArgumentCaptor<Map<String, Map<String, Number>>> increments = ArgumentCaptor.forClass(Map.class);
+        verify(driverRepo).incrementStats(increments.capture());
+        Map<String, Number> verstappen = increments.getValue().get("max_verstappen");
+        Map<String, Number> norris = increments.getValue().get("norris");
+        assertEquals(-1, verstappen.get("wins"));
+        assertEquals(-7.0, verstappen.get("points").doubleValue(), 0.001);
+        assertEquals(1, norris.get("wins"));
+        assertEquals(7.0, norris.get("points").doubleValue(), 0.001);
+        // Both still started once and finished on the podium
+        assertFalse(verstappen.containsKey("totalRaces"));
+        assertFalse(norris.containsKey("podiums"));
+        assertEquals(2, stored.get(0).getRevision());
+    }
+
+    @Test
+    void testFailedWriteReleasesTheClaim() {
+        List<Result> results = List.of(result("max_verstappen", "red_bull", "25"));
+        when(driverRepo.incrementStats(any())).thenThrow(new IllegalStateException("mongo down")).thenReturn(1);
+
+        assertThrows(IllegalStateException.class, () -> ledger.applyRound(2026, "5", race(results)));
+        assertTrue(stored.isEmpty());
+
+        // The retry applies the full delta again
+        assertEquals(1, ledger.applyRound(2026, "5", race(results)));
+        verify(driverRepo, times(2)).incrementStats(any());
+    }
+
+    @Test
+    void testConflictInATransactionIsLeftToTheUnitOfWork() {
+        List<Result> results = List.of(result("max_verstappen", "red_bull", "25"));
+        when(driverRepo.incrementStats(any())).thenThrow(new OptimisticLockingFailureException("write conflict"));
+
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertThrows(OptimisticLockingFailureException.class, () -> ledger.applyRound(2026, "5", race(results)));
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+        // No retry against the aborted transaction, and its rollback releases the claim
+        verify(driverRepo, times(1)).incrementStats(any());
+        verify(ledgerRepo, never()).delete(any());
+    }
+
+    private static List<IngestionLedger.Session> race(List<Result> results) {
+        return List.of(IngestionLedger.session(IngestionLedger.RACE, results, StatsDelta.fromRaceResults(results)));
+    }
+
+    private static List<Result> copy(List<Result> results) {
+        List<Result> copy = new ArrayList<>();
+        for (Result r : results) {
+            copy.add(result(r.getDriver().getDriverId(), r.getConstructor().getConstructorId(), r.getPoints()));
+        }
+        return copy;
+    }
+
+    private static Result result(String driverId, String constructorId, String points) {
+        ErgastDriver driver = new ErgastDriver();
+        driver.setDriverId(driverId);
+        ErgastConstructor constructor = new ErgastConstructor();
+        constructor.setConstructorId(constructorId);
+        Result result = new Result();
+        result.setDriver(driver);
+        result.setConstructor(constructor);
+        result.setPoints(points);
+        return result;
+    }
+}
@@ -0,0 +1,119 @@
+package com.f1nity.engine.service;
+
+import com.f1nity.engine.model.Job;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobServiceTest {
+
+    private JobService jobService = new JobService(1, 1, 10);
+
+    @AfterEach
+    void tearDown() {
+        jobService.shutdown();
+    }
+
+    @Test
+    void testIdenticalJobsAreDedupedAndGroupsExcludeEachOther() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Job first = jobService.submit("backfill", "backfill:2020-2025", JobService.GROUP_STATS, job -> {
+            job.progress(1, 4, "season 2020");
+            await(release);
+            return Thread.currentThread().getName();
+        });
+
+        assertSame(first, jobService.submit("backfill", "backfill:2020-2025", JobService.GROUP_STATS, job -> null));
+        assertThrows(IllegalStateException.class,
+                () -> jobService.submit("backfill", "backfill:1950-1960", JobService.GROUP_STATS, job -> null));
+
+        waitFor(first, Job.State.RUNNING);
+        release.countDown();
+        waitFor(first, Job.State.SUCCEEDED);
+
+        // Runs on the job pool, never on the race scheduler threads
+        assertTrue(((String) first.getResult()).startsWith("admin-job-"));
+        assertEquals(1, first.getDone());
+        assertEquals(4, first.getTotal());
+        assertEquals(first, jobService.get(first.getId()).orElseThrow());
+
+        // Finished jobs no longer block their group
+        Job next = jobService.submit("backfill", "backfill:1950-1960", JobService.GROUP_STATS, job -> "done");
+        assertNotSame(first, next);
+        waitFor(next, Job.State.SUCCEEDED);
+        assertEquals(next, jobService.list().get(0));
+    }
+
+    @Test
+    void testCancelStopsRunningJobsAndDropsQueuedOnes() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        Job running = jobService.submit("update-statistics", "update-statistics", null, job -> {
+            int rounds = 1;
+            job.progress(rounds, 1_000_000, null);
+            started.countDown();
+            while (!job.isCancelRequested()) {
+                job.progress(++rounds, 1_000_000, null);
+                sleep(1);
+            }
+            return rounds;
+        });
+        await(started);
+        Job queued = jobService.submit("update-standings", "update-standings", null, job -> "never");
+        assertEquals(Job.State.QUEUED, queued.getState());
+        assertNotNull(running.getEtaMillis());
+
+        jobService.cancel(queued.getId());
+        assertEquals(Job.State.CANCELLED, queued.getState());
+        jobService.cancel(running.getId());
+        waitFor(running, Job.State.CANCELLED);
+
+        assertNull(queued.getResult());
+        assertTrue(jobService.cancel("unknown").isEmpty());
+    }
+
+    @Test
+    void testFullQueueRejectsAndFailuresAreReported() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Job failing = jobService.submit("cleanup-races", "cleanup-races", null, job -> {
+            await(release);
+            throw new IllegalStateException("mongo down");
+        });
+        jobService.submit("update-standings", "update-standings", null, job -> null);
+
+        assertThrows(RejectedExecutionException.class,
+                () -> jobService.submit("update-circuit-images", "update-circuit-images", null, job -> null));
+
+        release.countDown();
+        waitFor(failing, Job.State.FAILED);
+        assertEquals("mongo down", failing.getError());
+    }
+
+    private static void waitFor(Job job, Job.State state) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (job.getState() != state && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(state, job.getState());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.f1nity.engine.service;
+
+import com.f1nity.engine.model.LiveEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LiveUpdateHubTest {
+
+    private LiveUpdateHub hub;
+
+    @BeforeEach
+    void setUp() {
+        hub = new LiveUpdateHub();
+        ReflectionTestUtils.setField(hub, "objectMapper", Jackson2ObjectMapperBuilder.json().build());
+        ReflectionTestUtils.setField(hub, "relay", "none");
+        ReflectionTestUtils.setField(hub, "bufferSize", 2);
+        ReflectionTestUtils.setField(hub, "replaySize", 3);
+        hub.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.shutdown();
+    }
+
+    @Test
+    void testEventsReachSubscribersOfTheirType() throws Exception {
+        RecordingEmitter all = new RecordingEmitter(null);
+        RecordingEmitter standingsOnly = new RecordingEmitter(null);
+        hub.register(all, null, null);
+        hub.register(standingsOnly, null, Set.of(LiveEvent.STANDINGS));
+        // With a buffer of two, an unsent initial heartbeat would be dropped for the second event
+        all.await(1);
+        standingsOnly.await(1);
+
+        hub.publish(LiveEvent.RESULTS, Map.of("round", "5"));
+        hub.publish(LiveEvent.STANDINGS, Map.of("season", "2026"));
+
+        all.await(3);
+        standingsOnly.await(2);
+        assertTrue(all.frames.get(0).contains(":heartbeat"));
+        assertTrue(all.frames.get(1).contains("event:results\ndata:{\"round\":\"5\"}"));
+        assertTrue(all.frames.get(2).contains("event:standings"));
+        assertTrue(standingsOnly.frames.get(1).contains("event:standings"));
+        assertEquals(2L, hub.status().get("published"));
+    }
+
+    @Test
+    void testSlowSubscriberDropsOldestEventsAndIsToldToResync() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        hub.register(slow, null, null);
+        // The first heartbeat is stuck in send while five events arrive
+        assertTrue(slow.sending.await(5, TimeUnit.SECONDS));
+        for (int id = 1; id <= 5; id++) {
+            hub.dispatch(new LiveEvent(id, LiveEvent.RESULTS, "{}"));
+        }
+        release.countDown();
+
+        slow.await(4);
+        assertTrue(slow.frames.get(1).contains("event:resync\ndata:{\"dropped\":3}"));
+        assertTrue(slow.frames.get(2).startsWith("id:4\n"));
+        assertTrue(slow.frames.get(3).startsWith("id:5\n"));
+        assertEquals(3L, hub.status().get("dropped"));
+    }
+
+    @Test
+    void testClientsThatStopReadingDoNotBlockOthers() throws Exception {
+        hub.shutdown();
+        hub = new LiveUpdateHub();
+        ReflectionTestUtils.setField(hub, "objectMapper", Jackson2ObjectMapperBuilder.json().build());
+        ReflectionTestUtils.setField(hub, "relay", "none");
+        ReflectionTestUtils.setField(hub, "senderThreads", 2);
+        ReflectionTestUtils.setField(hub, "maxSenderThreads", 4);
+        ReflectionTestUtils.setField(hub, "writeTimeout", Duration.ofMillis(200));
+        hub.start();
+
+        // Both core sender threads end up stuck writing to clients that never read
+        CountDownLatch never = new CountDownLatch(1);
+        RecordingEmitter stuck1 = new RecordingEmitter(never);
+        RecordingEmitter stuck2 = new RecordingEmitter(never);
+        hub.register(stuck1, null, null);
+        hub.register(stuck2, null, null);
+        assertTrue(stuck1.sending.await(5, TimeUnit.SECONDS));
+        assertTrue(stuck2.sending.await(5, TimeUnit.SECONDS));
+
+        RecordingEmitter healthy = new RecordingEmitter(null);
+        hub.register(healthy, null, null);
+        hub.publish(LiveEvent.RESULTS, Map.of("round", "5"));
+        healthy.await(2);
+        assertTrue(healthy.frames.get(1).contains("event:results"));
+
+        // The stuck clients are disconnected once the write timeout passes
+        assertTrue(stuck1.completed.await(5, TimeUnit.SECONDS));
+        assertTrue(stuck2.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(2L, hub.status().get("stalled"));
+        assertEquals(1, hub.status().get("subscribers"));
+    }
+
+    @Test
+    void testReconnectReplaysMissedEvents() throws Exception {
+        for (int id = 1; id <= 4; id++) {
+            hub.dispatch(new LiveEvent(id, LiveEvent.STANDINGS, "{}"));
+        }
+
+        RecordingEmitter resumed = new RecordingEmitter(null);
+        hub.register(resumed, 2L, null);
+        resumed.await(2);
+        assertTrue(resumed.frames.get(0).startsWith("id:3\n"));
+        assertTrue(resumed.frames.get(1).startsWith("id:4\n"));
+
+        // Event 1 was evicted from the replay window: the client has to refetch
+        RecordingEmitter stale = new RecordingEmitter(null);
+        hub.register(stale, 0L, null);
+        stale.await(1);
+        assertTrue(stale.frames.get(0).contains("event:resync"));
+    }
+
+    /**
+     * Records each event as its SSE text, optionally blocking the first send.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<String> frames = new CopyOnWriteArrayList<>();
+        private final CountDownLatch release;
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sending.countDown();
+            if (release != null) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            frames.add(builder.build().stream().map(d -> d.getData().toString()).collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            super.complete();
+            completed.countDown();
+        }
+
+        void await(int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (frames.size() < count && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(frames.size() >= count, "frames " + frames);
+        }
+    }
+}
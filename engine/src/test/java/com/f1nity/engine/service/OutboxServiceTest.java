@@ -0,0 +1,80 @@
+package com.f1nity.engine.service;
+
+import com.mongodb.MongoException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.mongodb.UncategorizedMongoDbException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class OutboxServiceTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private OutboxService outboxService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        outboxService.init();
+    }
+
+    @Test
+    void testTransientTransactionErrorRetriesTheWholeUnit() {
+        AtomicInteger runs = new AtomicInteger();
+
+        String result = outboxService.inUnitOfWork(() -> {
+            if (runs.incrementAndGet() == 1) {
+                throw new UncategorizedMongoDbException("Write conflict", writeConflict());
+            }
+            return "applied";
+        });
+
+        assertEquals("applied", result);
+        assertEquals(2, runs.get());
+        verify(transactionManager, times(1)).rollback(any());
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void testOtherErrorsAreNotRetried() {
+        AtomicInteger runs = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> outboxService.inUnitOfWork(() -> {
+            runs.incrementAndGet();
+            throw new IllegalStateException("bad payload");
+        }));
+
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void testPersistentConflictGivesUpAfterThreeAttempts() {
+        AtomicInteger runs = new AtomicInteger();
+
+        assertThrows(UncategorizedMongoDbException.class, () -> outboxService.inUnitOfWork(() -> {
+            runs.incrementAndGet();
+            throw new UncategorizedMongoDbException("Write conflict", writeConflict());
+        }));
+
+        assertEquals(3, runs.get());
+    }
+
+    private static MongoException writeConflict() {
+        MongoException e = new MongoException(112, "WriteConflict");
+        e.addLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL);
+        return e;
+    }
+}
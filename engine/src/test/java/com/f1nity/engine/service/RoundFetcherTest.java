@@ -0,0 +1,169 @@
+package com.f1nity.engine.service;
+
+import com.f1nity.engine.client.ErgastClient;
+import com.f1nity.engine.client.RawPayloadArchive;
+import com.f1nity.engine.model.RoundBundle;
+import com.f1nity.library.models.engine.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RoundFetcherTest {
+
+    private static final long CALL_LATENCY_MILLIS = 100;
+
+    @Mock
+    private ErgastClient ergastClient;
+    @Mock
+    private RawPayloadArchive rawPayloadArchive;
+
+    @InjectMocks
+    private RoundFetcher roundFetcher;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    /**
+     * Three calls of ~100ms each: fetched one after the other a round takes
+     * at least 300ms, fanned out it takes about as long as the slowest call.
+     */
+    @Test
+    void testSessionsAreFetchedConcurrently() {
+        Duration latency = Duration.ofMillis(CALL_LATENCY_MILLIS);
+        when(ergastClient.getRaceResultsMono("2025", "5"))
+                .thenReturn(Mono.just(response(Race::setResults)).delayElement(latency));
+        when(ergastClient.getQualifyingResultsMono("2025", "5"))
+                .thenReturn(Mono.just(response(Race::setQualifyingResults)).delayElement(latency));
+        when(ergastClient.getSprintResultsMono("2025", "5"))
+                .thenReturn(Mono.just(response(Race::setSprintResults)).delayElement(latency));
+
+        long startedAt = System.nanoTime();
+        RoundBundle bundle = roundFetcher.fetchRound(2025, "5");
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+        System.out.println("Round fetched in " + elapsedMillis + " ms (sequential lower bound "
+                + 3 * CALL_LATENCY_MILLIS + " ms)");
+        assertTrue(elapsedMillis < 3 * CALL_LATENCY_MILLIS);
+        assertTrue(bundle.hasResults());
+        assertEquals(1, bundle.getQualifyingResults().size());
+        assertEquals(1, bundle.getSprintResults().size());
+        assertTrue(bundle.getFailures().isEmpty());
+    }
+
+    @Test
+    void testFailedSprintKeepsTheOtherSessions() {
+        when(ergastClient.getRaceResultsMono("2025", "5")).thenReturn(Mono.just(response(Race::setResults)));
+        when(ergastClient.getQualifyingResultsMono("2025", "5"))
+                .thenReturn(Mono.just(response(Race::setQualifyingResults)));
+        when(ergastClient.getSprintResultsMono("2025", "5"))
+                .thenReturn(Mono.error(new IllegalStateException("timeout")));
+
+        RoundBundle bundle = roundFetcher.fetchRound(2025, "5");
+
+        assertTrue(bundle.hasResults());
+        assertEquals(1, bundle.getQualifyingResults().size());
+        assertTrue(bundle.getSprintResults().isEmpty());
+        assertEquals("timeout", bundle.getFailures().get(RoundBundle.SPRINT));
+    }
+
+    @Test
+    void testNoSprintRequestBefore2021() {
+        when(ergastClient.getRaceResultsMono("2019", "5")).thenReturn(Mono.just(response(Race::setResults)));
+        when(ergastClient.getQualifyingResultsMono("2019", "5")).thenReturn(Mono.empty());
+
+        RoundBundle bundle = roundFetcher.fetchRound(2019, "5");
+
+        assertTrue(bundle.hasResults());
+        assertTrue(bundle.getQualifyingResults().isEmpty());
+        verify(ergastClient, never()).getSprintResultsMono(anyString(), anyString());
+        assertEquals(2, roundFetcher.callsPerRound(2019));
+    }
+
+    @Test
+    void testSeasonListingsAreSplitIntoRounds() {
+        // Round 2 is split across the first and second results page; qualifying
+        // already lists round 3, which has not been raced yet
+        when(ergastClient.getSeasonPagesFlux(eq(2025), eq(ErgastClient.SEASON_RESULTS), anyInt()))
+                .thenReturn(Flux.just(page(Race::setResults, 1, 2), page(Race::setResults, 2)));
+        when(ergastClient.getSeasonPagesFlux(eq(2025), eq(ErgastClient.SEASON_QUALIFYING), anyInt()))
+                .thenReturn(Flux.just(page(Race::setQualifyingResults, 1, 2, 3)));
+        when(ergastClient.getSeasonPagesFlux(eq(2025), eq(ErgastClient.SEASON_SPRINT), anyInt()))
+                .thenReturn(Flux.just(page(Race::setSprintResults, 2)));
+        AtomicInteger requests = new AtomicInteger();
+
+        List<RoundBundle> rounds = roundFetcher.fetchSeasonMono(2025, requests).block();
+
+        assertEquals(List.of("1", "2"), rounds.stream().map(RoundBundle::getRound).toList());
+        assertEquals(1, rounds.get(0).getRaceResults().size());
+        assertEquals(2, rounds.get(1).getRaceResults().size());
+        assertEquals(1, rounds.get(1).getQualifyingResults().size());
+        assertTrue(rounds.get(0).getSprintResults().isEmpty());
+        assertEquals(1, rounds.get(1).getSprintResults().size());
+        assertEquals(4, requests.get());
+        verify(ergastClient, never()).getRaceResultsMono(anyString(), anyString());
+    }
+
+    @Test
+    void testArchivedSeasonIsReplayedWithoutUpstreamCalls() {
+        when(rawPayloadArchive.ergastSeasonPages(2019, ErgastClient.SEASON_RESULTS))
+                .thenReturn(Flux.just(page(Race::setResults, 1, 2)));
+        when(rawPayloadArchive.ergastSeasonPages(2019, ErgastClient.SEASON_QUALIFYING))
+                .thenReturn(Flux.empty());
+
+        List<RoundBundle> rounds = roundFetcher.fetchArchivedSeasonMono(2019).block();
+
+        assertEquals(2, rounds.size());
+        assertTrue(rounds.get(0).getQualifyingResults().isEmpty());
+        verify(rawPayloadArchive, never()).ergastSeasonPages(2019, ErgastClient.SEASON_SPRINT);
+        verifyNoInteractions(ergastClient);
+    }
+
+    private static RaceResponse page(BiConsumer<Race, List<Result>> session, int... rounds) {
+        List<Race> races = new ArrayList<>();
+        for (int round : rounds) {
+            Race race = new Race();
+            race.setSeason("2025");
+            race.setRound(String.valueOf(round));
+            session.accept(race, Collections.singletonList(result()));
+            races.add(race);
+        }
+        RaceResponse response = new RaceResponse();
+        response.setMrData(new MRData());
+        response.getMrData().setRaceTable(new RaceTable());
+        response.getMrData().getRaceTable().setRaces(races);
+        return response;
+    }
+
+    private static RaceResponse response(BiConsumer<Race, List<Result>> session) {
+        return page(session, 5);
+    }
+
+    private static Result result() {
+        ErgastDriver driver = new ErgastDriver();
+        driver.setDriverId("max_verstappen");
+        Result result = new Result();
+        result.setDriver(driver);
+        result.setPosition("1");
+        return result;
+    }
+}
@@ -0,0 +1,167 @@
+package com.f1nity.engine.service;
+
+import com.f1nity.engine.dto.BackfillReport;
+import com.f1nity.engine.model.Job;
+import com.f1nity.engine.model.RoundBundle;
+import com.f1nity.library.models.engine.*;
+import com.f1nity.library.repository.engine.RaceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SeasonBackfillServiceTest {
+
+    @Mock
+    private RoundFetcher roundFetcher;
+    @Mock
+    private RaceRepository raceRepo;
+    @Mock
+    private DataIngestionService dataIngestionService;
+
+    @InjectMocks
+    private SeasonBackfillService seasonBackfillService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(seasonBackfillService, "maxInFlight", 4);
+        when(raceRepo.findBySeason(anyString())).thenReturn(new ArrayList<>());
+    }
+
+    @Test
+    void testBackfillCommitsRoundsInOrder() {
+        // The earlier season arrives last; rounds are still committed in order
+        when(roundFetcher.fetchSeasonMono(eq(2024), any())).thenAnswer(inv -> {
+            inv.<AtomicInteger>getArgument(1).addAndGet(3);
+            return Mono.just(List.of(bundle(2024, 1, "winner1"))).delayElement(Duration.ofMillis(50));
+        });
+        when(roundFetcher.fetchSeasonMono(eq(2025), any())).thenAnswer(inv -> {
+            inv.<AtomicInteger>getArgument(1).addAndGet(3);
+            return Mono.just(List.of(bundle(2025, 1, "winner1"), bundle(2025, 2, "winner2"),
+                    bundle(2025, 3, "winner3")));
+        });
+
+        BackfillReport report = seasonBackfillService.backfill(2024, 2025);
+
+        assertEquals(4, report.getRoundsProcessed());
+        assertEquals(0, report.getRoundsFailed());
+        assertEquals(6, report.getUpstreamRequests());
+        verify(roundFetcher, never()).fetchRoundMono(anyInt(), anyString());
+
+        ArgumentCaptor<Race> saved = ArgumentCaptor.forClass(Race.class);
+        verify(raceRepo, times(4)).save(saved.capture());
+        assertEquals(List.of("2024/1", "2025/1", "2025/2", "2025/3"), saved.getAllValues().stream()
+                .map(r -> r.getSeason() + "/" + r.getRound()).toList());
+
+        ArgumentCaptor<String> rounds = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<List<Result>> raceResults = ArgumentCaptor.forClass(List.class);
+        InOrder inOrder = inOrder(dataIngestionService);
+        inOrder.verify(dataIngestionService).applyRound(eq(2024), eq("1"), any(), any(), any());
+        inOrder.verify(dataIngestionService, times(3)).applyRound(eq(2025), rounds.capture(),
+                raceResults.capture(), any(), any());
+        assertEquals(List.of("1", "2", "3"), rounds.getAllValues());
+        assertEquals("winner1", raceResults.getAllValues().get(0).get(0).getDriver().getDriverId());
+        assertEquals("winner3", raceResults.getAllValues().get(2).get(0).getDriver().getDriverId());
+
+        verify(dataIngestionService, never()).updateStandings();
+    }
+
+    @Test
+    void testFailedSeasonListingFallsBackToRounds() {
+        Race stored = new Race();
+        stored.setRound("1");
+        stored.setResults(Collections.singletonList(new Result()));
+        when(raceRepo.findBySeason("2025")).thenReturn(new ArrayList<>(List.of(stored)));
+        when(roundFetcher.fetchSeasonMono(eq(2025), any()))
+                .thenReturn(Mono.error(new IllegalStateException("listing down")));
+        when(roundFetcher.callsPerRound(2025)).thenReturn(3);
+        when(roundFetcher.fetchRoundMono(eq(2025), anyString())).thenAnswer(inv -> {
+            int round = Integer.parseInt(inv.getArgument(1));
+            if (round == 2) {
+                return Mono.error(new IllegalStateException("upstream down"));
+            }
+            return Mono.just(round <= 3 ? bundle(2025, round, "winner" + round) : new RoundBundle(2025, "4"));
+        });
+
+        BackfillReport report = seasonBackfillService.backfill(2025, 2025);
+
+        assertEquals(1, report.getRoundsSkipped());
+        assertEquals(1, report.getRoundsFailed());
+        assertEquals(1, report.getRoundsProcessed());
+        assertEquals(12, report.getUpstreamRequests());
+        verify(dataIngestionService).saveFailedRequest(eq(2025), eq("2"), eq("general"), anyString());
+        // The first round without results ends the season
+        verify(roundFetcher, never()).fetchRoundMono(2025, "5");
+    }
+
+    @Test
+    void testCancelledJobStopsAfterCurrentSeason() {
+        Job job = new Job("job-1", "backfill", "backfill:2023-2025", JobService.GROUP_STATS);
+        when(roundFetcher.fetchSeasonMono(anyInt(), any()))
+                .thenAnswer(inv -> Mono.just(List.of(bundle(inv.getArgument(0), 1, "winner1"))));
+        // Cancelled while the first season is being committed
+        when(dataIngestionService.applyRound(eq(2023), anyString(), any(), any(), any())).thenAnswer(inv -> {
+            job.setCancelRequested(true);
+            return 3;
+        });
+
+        BackfillReport report = seasonBackfillService.backfill(2023, 2025, false, job);
+
+        assertEquals(1, report.getRoundsProcessed());
+        assertEquals(1, job.getDone());
+        assertEquals(3, job.getTotal());
+        verify(dataIngestionService, never()).applyRound(eq(2024), anyString(), any(), any(), any());
+        verify(dataIngestionService, never()).applyRound(eq(2025), anyString(), any(), any(), any());
+    }
+
+    private RoundBundle bundle(int season, int round, String winnerId) {
+        RoundBundle bundle = new RoundBundle(season, String.valueOf(round));
+        bundle.setRace(raceResponse(String.valueOf(season), round, winnerId).getMrData().getRaceTable()
+                .getRaces().get(0));
+        return bundle;
+    }
+
+    private RaceResponse raceResponse(String season, int round, String winnerId) {
+        Race race = new Race();
+        race.setSeason(season);
+        race.setRound(String.valueOf(round));
+        List<Result> results = new ArrayList<>();
+        results.add(result(winnerId, "red_bull", "25"));
+        results.add(result("second" + round, "ferrari", "18"));
+        race.setResults(results);
+
+        RaceResponse response = new RaceResponse();
+        response.setMrData(new MRData());
+        response.getMrData().setRaceTable(new RaceTable());
+        response.getMrData().getRaceTable().setRaces(Collections.singletonList(race));
+        return response;
+    }
+
+    private Result result(String driverId, String constructorId, String points) {
+        ErgastDriver driver = new ErgastDriver();
+        driver.setDriverId(driverId);
+        ErgastConstructor constructor = new ErgastConstructor();
+        constructor.setConstructorId(constructorId);
+        Result result = new Result();
+        result.setDriver(driver);
+        result.setConstructor(constructor);
+        result.setPoints(points);
+        return result;
+    }
+}
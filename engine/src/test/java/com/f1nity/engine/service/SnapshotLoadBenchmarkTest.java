@@ -0,0 +1,99 @@
+package com.f1nity.engine.service;
+
+import com.f1nity.library.models.engine.Constructor;
+import com.f1nity.library.models.engine.Driver;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Compares load times of the JSON and binary snapshots of the bundled
+ * {@code historical_data.json}. Mongo writes are stubbed out, so the numbers
+ * are the cost of reading and mapping the file. Tagged {@code benchmark} and
+ * left out of the default test run; run it with
+ * {@code mvn test -Dexcluded.test.groups=none -Dtest=SnapshotLoadBenchmarkTest}.
+ */
+@Tag("benchmark")
+class SnapshotLoadBenchmarkTest {
+
+    private static final int WARMUP = 200;
+    private static final int RUNS = 500;
+
+    @TempDir
+    Path dir;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void benchmarkJsonVersusBinaryLoad() throws Exception {
+        JsonNode history;
+        try (InputStream in = new ClassPathResource("historical_data.json").getInputStream()) {
+            history = objectMapper.readTree(in);
+        }
+        List<Driver> drivers = List.of(objectMapper.convertValue(history.path("drivers"), Driver[].class));
+        List<Constructor> constructors = List.of(objectMapper.convertValue(history.path("constructors"),
+                Constructor[].class));
+        assertFalse(drivers.isEmpty());
+
+        long[] json = measure(HistoricalDataLoader.FORMAT_JSON, drivers, constructors);
+        long[] binary = measure(HistoricalDataLoader.FORMAT_BINARY, drivers, constructors);
+
+        System.out.println(String.format("Snapshot load of %d drivers and %d constructors: "
+                + "json %d bytes, %.3f ms/load; binary %d bytes, %.3f ms/load",
+                drivers.size(), constructors.size(), json[0], json[1] / 1e6 / RUNS,
+                binary[0], binary[1] / 1e6 / RUNS));
+        assertTrue(binary[1] < json[1], "binary load should be faster than the gzip JSON load");
+    }
+
+    /**
+     * @return the export size in bytes and the total time of the measured loads in nanoseconds
+     */
+    private long[] measure(String format, List<Driver> drivers, List<Constructor> constructors) throws Exception {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        // Not recorded: only the file handling is measured
+        BulkOperations bulk = mock(BulkOperations.class, withSettings().stubOnly().defaultAnswer(RETURNS_SELF));
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), any(Class.class))).thenReturn(bulk);
+        when(mongoTemplate.stream(any(Query.class), eq(Driver.class))).thenAnswer(inv -> drivers.stream());
+        when(mongoTemplate.stream(any(Query.class), eq(Constructor.class))).thenAnswer(inv -> constructors.stream());
+
+        HistoricalDataLoader loader = new HistoricalDataLoader();
+        ReflectionTestUtils.setField(loader, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(loader, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(loader, "exportPath", dir.resolve(format + "/historical_data.json.gz").toString());
+        ReflectionTestUtils.setField(loader, "binaryPath", dir.resolve(format + "/historical_data.smile").toString());
+        ReflectionTestUtils.setField(loader, "format", format);
+
+        Path export = loader.exportNow();
+        for (int i = 0; i < WARMUP; i++) {
+            loader.loadHistoricalData();
+        }
+        long startedAt = System.nanoTime();
+        String status = "";
+        for (int i = 0; i < RUNS; i++) {
+            status = loader.loadHistoricalData();
+        }
+        long elapsedNanos = System.nanoTime() - startedAt;
+
+        assertTrue(status.contains("Loaded from EXPORT: " + export), status);
+        assertTrue(status.contains(drivers.size() + " done"), status);
+        assertTrue(status.contains("Saved " + constructors.size() + " constructors"), status);
+        return new long[] { Files.size(export), elapsedNanos };
+    }
+}
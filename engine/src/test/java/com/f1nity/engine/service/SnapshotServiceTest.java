@@ -0,0 +1,102 @@
+package com.f1nity.engine.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SnapshotServiceTest {
+
+    @Mock
+    private HistoricalDataLoader historicalDataLoader;
+
+    @InjectMocks
+    private SnapshotService snapshotService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(snapshotService, "debounce", Duration.ofMillis(50));
+        ReflectionTestUtils.setField(snapshotService, "minInterval", Duration.ZERO);
+        when(historicalDataLoader.hasFullExport()).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        snapshotService.shutdown();
+    }
+
+    @Test
+    void testBurstOfChangesIsOneDeltaSnapshot() throws Exception {
+        // A race-day burst: every round of a season reports its grid
+        for (int round = 1; round <= 24; round++) {
+            snapshotService.markChanged(List.of("driver" + round, "driver" + (round + 1)), List.of("team" + round % 10));
+        }
+
+        ArgumentCaptor<Collection<String>> drivers = ArgumentCaptor.forClass(Collection.class);
+        ArgumentCaptor<Collection<String>> constructors = ArgumentCaptor.forClass(Collection.class);
+        verify(historicalDataLoader, timeout(2000)).exportDelta(drivers.capture(), constructors.capture());
+        assertEquals(25, drivers.getValue().size());
+        assertEquals(10, constructors.getValue().size());
+        assertEquals(23L, snapshotService.snapshot().get("coalesced"));
+        verify(historicalDataLoader, never()).exportNow();
+
+        // Nothing changed since, nothing more to write
+        Thread.sleep(150);
+        verify(historicalDataLoader, times(1)).exportDelta(any(), any());
+    }
+
+    @Test
+    void testSnapshotsAreAtLeastMinIntervalApart() throws Exception {
+        ReflectionTestUtils.setField(snapshotService, "minInterval", Duration.ofMillis(400));
+        snapshotService.markChanged(List.of("max_verstappen"), List.of());
+        verify(historicalDataLoader, timeout(2000)).exportDelta(any(), any());
+        long firstWrite = System.currentTimeMillis();
+
+        snapshotService.markChanged(List.of("leclerc"), List.of());
+        verify(historicalDataLoader, timeout(2000).times(2)).exportDelta(any(), any());
+
+        assertTrue(System.currentTimeMillis() - firstWrite >= 300);
+    }
+
+    @Test
+    void testFullSnapshotWhenRequestedOrDue() throws Exception {
+        ReflectionTestUtils.setField(snapshotService, "fullEvery", 1);
+        snapshotService.markAllChanged();
+        verify(historicalDataLoader, timeout(2000)).exportNow();
+
+        snapshotService.markChanged(List.of("max_verstappen"), List.of());
+        verify(historicalDataLoader, timeout(2000)).exportDelta(any(), any());
+
+        // One delta since the last full snapshot is the limit here
+        snapshotService.markChanged(List.of("leclerc"), List.of());
+        verify(historicalDataLoader, timeout(2000).times(2)).exportNow();
+        assertEquals(2L, snapshotService.snapshot().get("fullSnapshots"));
+    }
+
+    @Test
+    void testFailedSnapshotKeepsItsChanges() throws Exception {
+        when(historicalDataLoader.exportDelta(any(), any())).thenThrow(new IOException("disk full"))
+                .thenReturn(Path.of("delta"));
+        snapshotService.markChanged(List.of("max_verstappen"), List.of("red_bull"));
+
+        ArgumentCaptor<Collection<String>> drivers = ArgumentCaptor.forClass(Collection.class);
+        verify(historicalDataLoader, timeout(2000).times(2)).exportDelta(drivers.capture(), any());
+        assertEquals(List.of("max_verstappen"), List.copyOf(drivers.getAllValues().get(1)));
+        assertEquals(1L, snapshotService.snapshot().get("failures"));
+    }
+}
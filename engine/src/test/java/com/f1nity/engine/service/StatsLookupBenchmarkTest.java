@@ -0,0 +1,147 @@
+package com.f1nity.engine.service;
+
+import com.f1nity.engine.client.ErgastClient;
+import com.f1nity.library.models.engine.*;
+import com.f1nity.library.repository.engine.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Measures Mongo round-trips and latency per round for the live ingestion
+ * path. Every repository call is given a fixed simulated latency. Before the
+ * {@code $inc} write path a round cost one findAllById plus one saveAll per
+ * collection (or one findById per result row without the batch preload).
+ */
+class StatsLookupBenchmarkTest {
+
+    private static final long ROUND_TRIP_MILLIS = 2;
+    private static final int GRID_SIZE = 20;
+    private static final int TEAMS = 10;
+
+    @Mock
+    private ErgastClient ergastClient;
+    @Mock
+    private DriverRepository driverRepo;
+    @Mock
+    private ConstructorRepository constructorRepo;
+    @Mock
+    private RaceRepository raceRepo;
+    @Mock
+    private IngestionLedgerRepository ledgerRepo;
+    @Mock
+    private SnapshotService snapshotService;
+    @Mock
+    private OutboxService outboxService;
+    @Mock
+    private LiveUpdateHub liveUpdateHub;
+
+    @InjectMocks
+    private DataIngestionService dataIngestionService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(ledgerRepo.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        when(outboxService.inUnitOfWork(any())).thenAnswer(inv -> ((Supplier<?>) inv.getArgument(0)).get());
+        ReflectionTestUtils.setField(dataIngestionService, "ingestionLedger",
+                new IngestionLedger(driverRepo, constructorRepo, ledgerRepo));
+        RoundFetcher roundFetcher = new RoundFetcher();
+        ReflectionTestUtils.setField(roundFetcher, "ergastClient", ergastClient);
+        ReflectionTestUtils.setField(dataIngestionService, "roundFetcher", roundFetcher);
+        when(ergastClient.getQualifyingResultsMono(anyString(), anyString())).thenReturn(Mono.empty());
+        when(ergastClient.getRaceResultsMono(anyString(), anyString()))
+                .thenReturn(Mono.just(response(race(GRID_SIZE), false)));
+        when(ergastClient.getSprintResultsMono(anyString(), anyString()))
+                .thenReturn(Mono.just(response(race(8), true)));
+        when(raceRepo.findBySeasonAndRound(anyString(), anyString())).thenReturn(new ArrayList<>());
+
+        when(driverRepo.incrementStats(any())).thenAnswer(inv -> {
+            roundTrip();
+            return ((Map<?, ?>) inv.getArgument(0)).size();
+        });
+        when(constructorRepo.incrementStats(any())).thenAnswer(inv -> {
+            roundTrip();
+            return ((Map<?, ?>) inv.getArgument(0)).size();
+        });
+    }
+
+    @Test
+    void testLiveRoundIsOneBulkIncrementPerCollection() {
+        for (boolean batchPreload : new boolean[] { false, true }) {
+            long[] measured = measure(batchPreload);
+            System.out.println(String.format("Stats round-trips per round (batchPreload=%s): %d round-trips / %d ms",
+                    batchPreload, measured[0], measured[1]));
+
+            // No reads at all, and one $inc bulk write per collection
+            assertEquals(2, measured[0]);
+            verify(driverRepo, times(1)).incrementStats(any());
+            verify(constructorRepo, times(1)).incrementStats(any());
+        }
+    }
+
+    private long[] measure(boolean batchPreload) {
+        Mockito.clearInvocations(driverRepo, constructorRepo);
+        ReflectionTestUtils.setField(dataIngestionService, "batchPreload", batchPreload);
+
+        long startedAt = System.nanoTime();
+        dataIngestionService.fetchAndStoreLatestRaceResults("2025", "5");
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+        long roundTrips = Mockito.mockingDetails(driverRepo).getInvocations().size()
+                + Mockito.mockingDetails(constructorRepo).getInvocations().size();
+        return new long[] { roundTrips, elapsedMillis };
+    }
+
+    private static void roundTrip() throws InterruptedException {
+        TimeUnit.MILLISECONDS.sleep(ROUND_TRIP_MILLIS);
+    }
+
+    private static List<Result> race(int entries) {
+        List<Result> results = new ArrayList<>();
+        for (int i = 0; i < entries; i++) {
+            ErgastDriver driver = new ErgastDriver();
+            driver.setDriverId("driver" + i);
+            ErgastConstructor constructor = new ErgastConstructor();
+            constructor.setConstructorId("team" + (i % TEAMS));
+            Result result = new Result();
+            result.setDriver(driver);
+            result.setConstructor(constructor);
+            result.setPoints(String.valueOf(Math.max(0, 25 - i)));
+            results.add(result);
+        }
+        return results;
+    }
+
+    private static RaceResponse response(List<Result> results, boolean sprint) {
+        Race race = new Race();
+        race.setSeason("2025");
+        race.setRound("5");
+        if (sprint) {
+            race.setSprintResults(results);
+        } else {
+            race.setResults(results);
+        }
+        RaceResponse response = new RaceResponse();
+        response.setMrData(new MRData());
+        response.getMrData().setRaceTable(new RaceTable());
+        response.getMrData().getRaceTable().setRaces(Collections.singletonList(race));
+        return response;
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import lombok.Data;
@@ -37,6 +38,10 @@ public class CircuitGuide {
     private Integer firstGrandPrix; // e.g., 1950
     private Integer numberOfLaps; // e.g., 78
 
+    // SHA-256 of the guide as seeded from the bundle; unchanged guides are skipped
+    @JsonIgnore
+    private String contentHash;
+
     public String getId() {
         return id;
     }
@@ -140,4 +145,13 @@ public class CircuitGuide {
     public void setNumberOfLaps(Integer numberOfLaps) {
         this.numberOfLaps = numberOfLaps;
     }
+
+    @JsonIgnore
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
 }
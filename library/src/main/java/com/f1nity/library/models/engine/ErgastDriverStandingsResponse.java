@@ -16,6 +16,8 @@ public class ErgastDriverStandingsResponse {
     }
 
     public static class StandingsList {
+        public String season;
+        public String round;
         public List<DriverStanding> DriverStandings;
     }
 
@@ -14,6 +14,12 @@ public class FailedRequest {
     private long timestamp;
     private boolean processed;
 
+    // Replay bookkeeping
+    private int attempts;
+    private long nextAttemptAt;
+    private long claimedUntil;
+    private boolean dead;
+
     public FailedRequest() {
     }
 
@@ -82,4 +88,36 @@ public class FailedRequest {
     public void setProcessed(boolean processed) {
         this.processed = processed;
     }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public long getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(long nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public long getClaimedUntil() {
+        return claimedUntil;
+    }
+
+    public void setClaimedUntil(long claimedUntil) {
+        this.claimedUntil = claimedUntil;
+    }
+
+    public boolean isDead() {
+        return dead;
+    }
+
+    public void setDead(boolean dead) {
+        this.dead = dead;
+    }
 }
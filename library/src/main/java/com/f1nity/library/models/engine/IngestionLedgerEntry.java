@@ -0,0 +1,133 @@
+package com.f1nity.library.models.engine;
+
+import java.util.Map;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * One applied ingestion session (race, sprint or qualifying of a round).
+ * Stores the hash of the upstream payload and the career statistic increments
+ * that were applied for it, so re-ingesting the same session can be skipped
+ * and a corrected payload only applies the difference.
+ * Stored in the "ingestion_ledger" collection in MongoDB.
+ */
+@Document(collection = "ingestion_ledger")
+public class IngestionLedgerEntry {
+
+    @Id
+    private String id;
+    private int season;
+    private String round;
+    private String session;
+    private String payloadHash;
+
+    // Increments applied so far, keyed by document id, then field name
+    private Map<String, Map<String, Number>> drivers;
+    private Map<String, Map<String, Number>> constructors;
+
+    private long appliedAt;
+    private int revision;
+
+    @Version
+    private Long version;
+
+    public IngestionLedgerEntry() {
+    }
+
+    public IngestionLedgerEntry(int season, String round, String session) {
+        this.id = key(season, round, session);
+        this.season = season;
+        this.round = round;
+        this.session = session;
+    }
+
+    /**
+     * Ledger id for a session, e.g. {@code 2026-5-race}.
+     */
+    public static String key(int season, String round, String session) {
+        return season + "-" + round + "-" + session;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public int getSeason() {
+        return season;
+    }
+
+    public void setSeason(int season) {
+        this.season = season;
+    }
+
+    public String getRound() {
+        return round;
+    }
+
+    public void setRound(String round) {
+        this.round = round;
+    }
+
+    public String getSession() {
+        return session;
+    }
+
+    public void setSession(String session) {
+        this.session = session;
+    }
+
+    public String getPayloadHash() {
+        return payloadHash;
+    }
+
+    public void setPayloadHash(String payloadHash) {
+        this.payloadHash = payloadHash;
+    }
+
+    public Map<String, Map<String, Number>> getDrivers() {
+        return drivers;
+    }
+
+    public void setDrivers(Map<String, Map<String, Number>> drivers) {
+        this.drivers = drivers;
+    }
+
+    public Map<String, Map<String, Number>> getConstructors() {
+        return constructors;
+    }
+
+    public void setConstructors(Map<String, Map<String, Number>> constructors) {
+        this.constructors = constructors;
+    }
+
+    public long getAppliedAt() {
+        return appliedAt;
+    }
+
+    public void setAppliedAt(long appliedAt) {
+        this.appliedAt = appliedAt;
+    }
+
+    public int getRevision() {
+        return revision;
+    }
+
+    public void setRevision(int revision) {
+        this.revision = revision;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
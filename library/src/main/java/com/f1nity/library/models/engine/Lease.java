@@ -0,0 +1,60 @@
+package com.f1nity.library.models.engine;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * A named, time-limited lease held by one engine instance (e.g. the leader
+ * lease). {@code token} grows by one every time the lease changes hands and
+ * serves as a fencing token. Expiry is a timestamp rather than a TTL index:
+ * the document must outlive its holders so the token never goes backwards.
+ */
+@Document(collection = "leases")
+public class Lease {
+    @Id
+    private String id;
+    private String holder;
+    private long token;
+    private long expiresAt;
+    private long acquiredAt;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getHolder() {
+        return holder;
+    }
+
+    public void setHolder(String holder) {
+        this.holder = holder;
+    }
+
+    public long getToken() {
+        return token;
+    }
+
+    public void setToken(long token) {
+        this.token = token;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public long getAcquiredAt() {
+        return acquiredAt;
+    }
+
+    public void setAcquiredAt(long acquiredAt) {
+        this.acquiredAt = acquiredAt;
+    }
+}
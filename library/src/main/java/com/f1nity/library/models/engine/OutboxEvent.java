@@ -0,0 +1,112 @@
+package com.f1nity.library.models.engine;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * A domain event written in the same unit of work as the data change it
+ * describes, and deleted once the engine's outbox relay has published it to
+ * Kafka. Consumers may see an event more than once and should dedupe on id.
+ * Events that cannot be published are kept as dead for an operator.
+ */
+@Document(collection = "outbox")
+@CompoundIndex(name = "claimable", def = "{'claimedUntil': 1, 'createdAt': 1}")
+public class OutboxEvent {
+    @Id
+    private String id;
+    private String type;
+    // Kafka record key, "season-round"
+    private String key;
+    // JSON
+    private String payload;
+    private long createdAt;
+
+    // Relay bookkeeping
+    private int attempts;
+    private long claimedUntil;
+    private String lastError;
+    private boolean dead;
+
+    public OutboxEvent() {
+    }
+
+    public OutboxEvent(String type, String key, String payload) {
+        this.type = type;
+        this.key = key;
+        this.payload = payload;
+        this.createdAt = System.currentTimeMillis();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(long createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public long getClaimedUntil() {
+        return claimedUntil;
+    }
+
+    public void setClaimedUntil(long claimedUntil) {
+        this.claimedUntil = claimedUntil;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public boolean isDead() {
+        return dead;
+    }
+
+    public void setDead(boolean dead) {
+        this.dead = dead;
+    }
+}
@@ -0,0 +1,124 @@
+package com.f1nity.library.models.engine;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * One raw upstream response body as it was received, before any mapping.
+ * The body is stored compressed together with the SHA-256 of the uncompressed
+ * bytes; the same content for the same request is stored once, a changed
+ * payload is stored as a new version.
+ * Stored in the "raw_payloads" collection in MongoDB.
+ */
+@Document(collection = "raw_payloads")
+@CompoundIndex(name = "source_season_session", def = "{'source': 1, 'season': 1, 'session': 1, 'fetchedAt': 1}")
+public class RawPayload {
+
+    public static final String GZIP = "gzip";
+
+    @Id
+    private String id;
+    private String source;
+    private String uri;
+
+    // Null when the request is not season, round or session specific
+    private Integer season;
+    private String round;
+    private String session;
+
+    private String contentHash;
+    private String encoding;
+    private int rawSize;
+    private byte[] body;
+    private long fetchedAt;
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    public void setUri(String uri) {
+        this.uri = uri;
+    }
+
+    public Integer getSeason() {
+        return season;
+    }
+
+    public void setSeason(Integer season) {
+        this.season = season;
+    }
+
+    public String getRound() {
+        return round;
+    }
+
+    public void setRound(String round) {
+        this.round = round;
+    }
+
+    public String getSession() {
+        return session;
+    }
+
+    public void setSession(String session) {
+        this.session = session;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public String getEncoding() {
+        return encoding;
+    }
+
+    public void setEncoding(String encoding) {
+        this.encoding = encoding;
+    }
+
+    public int getRawSize() {
+        return rawSize;
+    }
+
+    public void setRawSize(int rawSize) {
+        this.rawSize = rawSize;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public void setBody(byte[] body) {
+        this.body = body;
+    }
+
+    public long getFetchedAt() {
+        return fetchedAt;
+    }
+
+    public void setFetchedAt(long fetchedAt) {
+        this.fetchedAt = fetchedAt;
+    }
+}
@@ -0,0 +1,21 @@
+package com.f1nity.library.repository.engine;
+
+import java.util.Map;
+
+/**
+ * Custom repository fragment for atomic career statistics updates.
+ * Increments are applied server-side with {@code $inc} instead of loading,
+ * mutating and re-saving whole documents, so concurrent writers cannot lose
+ * each other's updates.
+ */
+public interface CareerStatsRepository {
+
+    /**
+     * Applies the given increments in one unordered bulk write. Documents that
+     * do not exist yet are created (upsert).
+     *
+     * @param increments Field increments keyed by document id, then field name
+     * @return Number of documents matched or created
+     */
+    int incrementStats(Map<String, Map<String, Number>> increments);
+}
@@ -0,0 +1,53 @@
+package com.f1nity.library.repository.engine;
+
+import java.util.Map;
+
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.mongodb.bulk.BulkWriteResult;
+
+/**
+ * Shared {@code $inc} bulk writer behind the driver and constructor
+ * {@link CareerStatsRepository} fragments.
+ */
+class CareerStatsWriter {
+
+    private final MongoTemplate mongoTemplate;
+    private final Class<?> entityClass;
+
+    CareerStatsWriter(MongoTemplate mongoTemplate, Class<?> entityClass) {
+        this.mongoTemplate = mongoTemplate;
+        this.entityClass = entityClass;
+    }
+
+    int incrementStats(Map<String, Map<String, Number>> increments) {
+        if (increments == null || increments.isEmpty()) {
+            return 0;
+        }
+        BulkOperations ops = mongoTemplate.bulkOps(BulkMode.UNORDERED, entityClass);
+        int queued = 0;
+        for (Map.Entry<String, Map<String, Number>> entry : increments.entrySet()) {
+            Update update = new Update();
+            entry.getValue().forEach((field, amount) -> {
+                if (amount != null && amount.doubleValue() != 0) {
+                    update.inc(field, amount);
+                }
+            });
+            if (update.getUpdateObject().isEmpty()) {
+                continue;
+            }
+            ops.upsert(Query.query(Criteria.where("_id").is(entry.getKey())), update);
+            queued++;
+        }
+        if (queued == 0) {
+            return 0;
+        }
+        BulkWriteResult result = ops.execute();
+        return result.getMatchedCount() + result.getUpserts().size();
+    }
+}
@@ -6,9 +6,10 @@ import com.f1nity.library.models.engine.Constructor;
 
 /**
  * Repository interface for Constructor entity operations.
- * Provides methods for querying constructor data from MongoDB.
+ * Provides methods for querying constructor data from MongoDB and atomic
+ * career statistics increments via {@link ConstructorStatsRepository}.
  */
-public interface ConstructorRepository extends MongoRepository<Constructor, String> {
+public interface ConstructorRepository extends MongoRepository<Constructor, String>, ConstructorStatsRepository {
     
     /**
      * Find a constructor by its ID.
@@ -0,0 +1,24 @@
+package com.f1nity.library.repository.engine;
+
+import java.util.Map;
+
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.f1nity.library.models.engine.Constructor;
+
+/**
+ * {@link ConstructorStatsRepository} fragment implementation for constructors.
+ */
+public class ConstructorStatsRepositoryImpl implements ConstructorStatsRepository {
+
+    private final CareerStatsWriter writer;
+
+    public ConstructorStatsRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.writer = new CareerStatsWriter(mongoTemplate, Constructor.class);
+    }
+
+    @Override
+    public int incrementStats(Map<String, Map<String, Number>> increments) {
+        return writer.incrementStats(increments);
+    }
+}
@@ -8,9 +8,10 @@ import com.f1nity.library.models.engine.Driver;
 
 /**
  * Repository interface for Driver entity operations.
- * Provides methods for querying driver data from MongoDB.
+ * Provides methods for querying driver data from MongoDB and atomic career
+ * statistics increments via {@link DriverStatsRepository}.
  */
-public interface DriverRepository extends MongoRepository<Driver, String> {
+public interface DriverRepository extends MongoRepository<Driver, String>, DriverStatsRepository {
     
     /**
      * Find drivers by their driver number.
@@ -0,0 +1,7 @@
+package com.f1nity.library.repository.engine;
+
+/**
+ * Career statistics fragment of {@link DriverRepository}.
+ */
+public interface DriverStatsRepository extends CareerStatsRepository {
+}
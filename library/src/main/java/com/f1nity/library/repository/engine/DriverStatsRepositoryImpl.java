@@ -0,0 +1,24 @@
+package com.f1nity.library.repository.engine;
+
+import java.util.Map;
+
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.f1nity.library.models.engine.Driver;
+
+/**
+ * {@link DriverStatsRepository} fragment implementation for drivers.
+ */
+public class DriverStatsRepositoryImpl implements DriverStatsRepository {
+
+    private final CareerStatsWriter writer;
+
+    public DriverStatsRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.writer = new CareerStatsWriter(mongoTemplate, Driver.class);
+    }
+
+    @Override
+    public int incrementStats(Map<String, Map<String, Number>> increments) {
+        return writer.incrementStats(increments);
+    }
+}
@@ -0,0 +1,22 @@
+package com.f1nity.library.repository.engine;
+
+import java.util.List;
+
+import com.f1nity.library.models.engine.FailedRequest;
+
+/**
+ * Custom repository fragment for claiming failed requests to replay.
+ */
+public interface FailedRequestClaimRepository {
+
+    /**
+     * Atomically claims up to {@code limit} pending failures that are due,
+     * oldest first. A claim is a lease: records not released within
+     * {@code leaseMillis} (e.g. because the worker died) become claimable again.
+     *
+     * @param limit       Maximum number of records to claim
+     * @param leaseMillis How long the claim is held
+     * @return Claimed records
+     */
+    List<FailedRequest> claimBatch(int limit, long leaseMillis);
+}
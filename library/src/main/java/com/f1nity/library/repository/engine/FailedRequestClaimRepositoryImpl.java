@@ -0,0 +1,52 @@
+package com.f1nity.library.repository.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.f1nity.library.models.engine.FailedRequest;
+
+/**
+ * {@link FailedRequestClaimRepository} implementation using one findAndModify
+ * per record, so two workers never claim the same failure.
+ */
+public class FailedRequestClaimRepositoryImpl implements FailedRequestClaimRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    public FailedRequestClaimRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<FailedRequest> claimBatch(int limit, long leaseMillis) {
+        long now = System.currentTimeMillis();
+        // Records written before replay existed have no bookkeeping fields
+        Query due = Query.query(new Criteria().andOperator(
+                Criteria.where("processed").is(false),
+                Criteria.where("dead").ne(true),
+                new Criteria().orOperator(Criteria.where("nextAttemptAt").exists(false),
+                        Criteria.where("nextAttemptAt").lte(now)),
+                new Criteria().orOperator(Criteria.where("claimedUntil").exists(false),
+                        Criteria.where("claimedUntil").lte(now))))
+                .with(Sort.by(Sort.Direction.ASC, "timestamp"));
+        Update claim = new Update().set("claimedUntil", now + leaseMillis);
+
+        List<FailedRequest> claimed = new ArrayList<>();
+        while (claimed.size() < limit) {
+            FailedRequest request = mongoTemplate.findAndModify(due, claim,
+                    FindAndModifyOptions.options().returnNew(true), FailedRequest.class);
+            if (request == null) {
+                break;
+            }
+            claimed.add(request);
+        }
+        return claimed;
+    }
+}
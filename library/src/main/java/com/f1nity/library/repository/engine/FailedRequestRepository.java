@@ -1,9 +1,26 @@
 package com.f1nity.library.repository.engine;
 
 import java.util.List;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
 import com.f1nity.library.models.engine.FailedRequest;
 
-public interface FailedRequestRepository extends MongoRepository<FailedRequest, String> {
+public interface FailedRequestRepository extends MongoRepository<FailedRequest, String>, FailedRequestClaimRepository {
     List<FailedRequest> findByProcessedFalse();
+
+    // Pending = not processed and not dead-lettered; older records have no "dead" field
+    @Query(value = "{ 'processed': false, 'dead': { $ne: true } }", count = true)
+    long countPending();
+
+    @Query(value = "{ 'processed': false, 'dead': { $ne: true } }", sort = "{ 'timestamp': 1 }")
+    List<FailedRequest> findPending(Pageable pageable);
+
+    @Query(value = "{ 'year': ?0, 'round': ?1, 'type': ?2, 'processed': false, 'dead': { $ne: true } }",
+            exists = true)
+    boolean existsPending(int year, String round, String type);
+
+    long countByDeadTrue();
 }
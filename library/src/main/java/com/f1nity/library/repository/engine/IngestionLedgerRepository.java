@@ -0,0 +1,11 @@
+package com.f1nity.library.repository.engine;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import com.f1nity.library.models.engine.IngestionLedgerEntry;
+
+/**
+ * Repository for the ingestion ledger, keyed by season, round and session.
+ */
+public interface IngestionLedgerRepository extends MongoRepository<IngestionLedgerEntry, String> {
+}
@@ -0,0 +1,31 @@
+package com.f1nity.library.repository.engine;
+
+import com.f1nity.library.models.engine.Lease;
+
+/**
+ * Custom repository fragment for acquiring, renewing and releasing leases.
+ */
+public interface LeaseClaimRepository {
+
+    /**
+     * Renews the lease if {@code holder} holds it, otherwise takes it over if
+     * it is free or expired, incrementing its token.
+     *
+     * @param name     Lease name
+     * @param holder   Instance asking for the lease
+     * @param ttlMillis How long the lease is held from now
+     * @return The lease if {@code holder} holds it now, otherwise null
+     */
+    Lease acquireOrRenew(String name, String holder, long ttlMillis);
+
+    /**
+     * Whether {@code holder} still holds the lease with this token.
+     */
+    boolean isHeld(String name, String holder, long token);
+
+    /**
+     * Expires the lease now if {@code holder} still holds it with this token,
+     * so another instance can take it over without waiting for the TTL.
+     */
+    void release(String name, String holder, long token);
+}
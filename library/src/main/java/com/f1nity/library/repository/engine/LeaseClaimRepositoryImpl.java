@@ -0,0 +1,58 @@
+package com.f1nity.library.repository.engine;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.f1nity.library.models.engine.Lease;
+
+/**
+ * {@link LeaseClaimRepository} implementation using findAndModify, so at most
+ * one instance holds a lease at any time (by the clocks of the instances,
+ * which are assumed to agree to well within the TTL).
+ */
+public class LeaseClaimRepositoryImpl implements LeaseClaimRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    public LeaseClaimRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Lease acquireOrRenew(String name, String holder, long ttlMillis) {
+        long now = System.currentTimeMillis();
+        Lease renewed = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(name).and("holder").is(holder).and("expiresAt").gt(now)),
+                new Update().set("expiresAt", now + ttlMillis),
+                FindAndModifyOptions.options().returnNew(true), Lease.class);
+        if (renewed != null) {
+            return renewed;
+        }
+        try {
+            // Matches only a free or expired lease; otherwise the upsert collides on _id
+            return mongoTemplate.findAndModify(
+                    Query.query(Criteria.where("_id").is(name).and("expiresAt").lte(now)),
+                    new Update().set("holder", holder).set("expiresAt", now + ttlMillis).set("acquiredAt", now)
+                            .inc("token", 1),
+                    FindAndModifyOptions.options().returnNew(true).upsert(true), Lease.class);
+        } catch (DuplicateKeyException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public boolean isHeld(String name, String holder, long token) {
+        return mongoTemplate.exists(Query.query(Criteria.where("_id").is(name).and("holder").is(holder)
+                .and("token").is(token).and("expiresAt").gt(System.currentTimeMillis())), Lease.class);
+    }
+
+    @Override
+    public void release(String name, String holder, long token) {
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(name).and("holder").is(holder)
+                .and("token").is(token)), new Update().set("expiresAt", 0L), Lease.class);
+    }
+}
@@ -0,0 +1,8 @@
+package com.f1nity.library.repository.engine;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import com.f1nity.library.models.engine.Lease;
+
+public interface LeaseRepository extends MongoRepository<Lease, String>, LeaseClaimRepository {
+}
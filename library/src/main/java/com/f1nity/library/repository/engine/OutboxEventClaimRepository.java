@@ -0,0 +1,24 @@
+package com.f1nity.library.repository.engine;
+
+import java.util.List;
+
+import com.f1nity.library.models.engine.OutboxEvent;
+
+/**
+ * Custom repository fragment for claiming outbox events to publish.
+ */
+public interface OutboxEventClaimRepository {
+
+    /**
+     * Atomically claims up to {@code limit} unclaimed events, oldest first.
+     * Claims not released within {@code leaseMillis} (e.g. because the relay
+     * died mid-batch) become claimable again. An event is held back while an
+     * earlier event with the same key is claimed or waiting for a retry, so
+     * each key is published in creation order; dead events hold nothing back.
+     *
+     * @param limit       Maximum number of events to claim
+     * @param leaseMillis How long the claim is held
+     * @return Claimed events in creation order
+     */
+    List<OutboxEvent> claimBatch(int limit, long leaseMillis);
+}
@@ -0,0 +1,76 @@
+package com.f1nity.library.repository.engine;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.f1nity.library.models.engine.OutboxEvent;
+
+/**
+ * {@link OutboxEventClaimRepository} implementation using one findAndModify
+ * per event, like {@link FailedRequestClaimRepositoryImpl}. Both queries
+ * range over the {@code claimable} index on claimedUntil and createdAt.
+ */
+public class OutboxEventClaimRepositoryImpl implements OutboxEventClaimRepository {
+
+    // Creation order, with the id breaking ties within a millisecond
+    private static final Comparator<OutboxEvent> ORDER = Comparator.comparingLong(OutboxEvent::getCreatedAt)
+            .thenComparing(OutboxEvent::getId);
+
+    private final MongoTemplate mongoTemplate;
+
+    public OutboxEventClaimRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<OutboxEvent> claimBatch(int limit, long leaseMillis) {
+        long now = System.currentTimeMillis();
+
+        // Earliest in-flight or backing-off event per key: later ones must wait for it
+        Map<String, OutboxEvent> blockers = new HashMap<>();
+        Query held = Query.query(Criteria.where("claimedUntil").gt(now).and("dead").ne(true));
+        held.fields().include("key", "createdAt");
+        for (OutboxEvent event : mongoTemplate.find(held, OutboxEvent.class)) {
+            blockers.merge(event.getKey(), event, (a, b) -> ORDER.compare(a, b) <= 0 ? a : b);
+        }
+
+        Query due = Query.query(Criteria.where("claimedUntil").lte(now).and("dead").ne(true))
+                .with(Sort.by(Sort.Direction.ASC, "createdAt", "_id"));
+        Update claim = new Update().set("claimedUntil", now + leaseMillis);
+
+        List<OutboxEvent> claimed = new ArrayList<>();
+        try (Stream<OutboxEvent> candidates = mongoTemplate.stream(due, OutboxEvent.class)) {
+            for (OutboxEvent candidate : (Iterable<OutboxEvent>) candidates::iterator) {
+                if (claimed.size() >= limit) {
+                    break;
+                }
+                OutboxEvent blocker = blockers.get(candidate.getKey());
+                if (blocker != null && ORDER.compare(blocker, candidate) < 0) {
+                    continue;
+                }
+                Query unclaimed = Query.query(Criteria.where("_id").is(candidate.getId())
+                        .and("claimedUntil").lte(now).and("dead").ne(true));
+                OutboxEvent event = mongoTemplate.findAndModify(unclaimed, claim,
+                        FindAndModifyOptions.options().returnNew(true), OutboxEvent.class);
+                if (event == null) {
+                    // Claimed by another relay since the query: hold its key back too
+                    blockers.putIfAbsent(candidate.getKey(), candidate);
+                    continue;
+                }
+                claimed.add(event);
+            }
+        }
+        return claimed;
+    }
+}
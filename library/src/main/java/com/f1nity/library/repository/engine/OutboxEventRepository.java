@@ -0,0 +1,10 @@
+package com.f1nity.library.repository.engine;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import com.f1nity.library.models.engine.OutboxEvent;
+
+public interface OutboxEventRepository extends MongoRepository<OutboxEvent, String>, OutboxEventClaimRepository {
+
+    long countByDeadTrue();
+}
@@ -0,0 +1,23 @@
+package com.f1nity.library.repository.engine;
+
+import java.util.stream.Stream;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import com.f1nity.library.models.engine.RawPayload;
+
+/**
+ * Repository for the raw upstream payload archive.
+ */
+public interface RawPayloadRepository extends MongoRepository<RawPayload, String> {
+
+    /**
+     * Every archived version for a source, season and session, oldest first.
+     * Streamed from a cursor so a season can be replayed without loading the
+     * whole archive.
+     */
+    Stream<RawPayload> findBySourceAndSeasonAndSessionOrderByFetchedAtAsc(String source, Integer season,
+            String session);
+
+    long countBySource(String source);
+}
@@ -0,0 +1,154 @@
+package com.f1nity.library.repository.engine;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.f1nity.library.models.engine.Driver;
+import com.mongodb.bulk.BulkWriteResult;
+
+class CareerStatsWriterTest {
+
+    private static final int GRID_SIZE = 20;
+
+    @Test
+    void testIncrementsAreUpsertedInOneBulkWrite() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        BulkOperations ops = mock(BulkOperations.class);
+        BulkWriteResult result = mock(BulkWriteResult.class);
+        when(mongoTemplate.bulkOps(BulkMode.UNORDERED, Driver.class)).thenReturn(ops);
+        when(ops.execute()).thenReturn(result);
+        when(result.getMatchedCount()).thenReturn(1);
+        when(result.getUpserts()).thenReturn(List.of());
+
+        Map<String, Map<String, Number>> increments = new LinkedHashMap<>();
+        increments.put("max_verstappen", Map.of("wins", 1, "points", 25.0, "poles", 0));
+        increments.put("norris", Map.of("wins", 0));
+
+        int written = new CareerStatsWriter(mongoTemplate, Driver.class).incrementStats(increments);
+
+        assertEquals(1, written);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        // Only the document with non-zero amounts is sent
+        verify(ops, times(1)).upsert(query.capture(), update.capture());
+        verify(ops, times(1)).execute();
+        assertEquals("max_verstappen", query.getValue().getQueryObject().get("_id"));
+        Document inc = (Document) update.getValue().getUpdateObject().get("$inc");
+        assertEquals(Map.of("wins", 1, "points", 25.0), inc);
+    }
+
+    @Test
+    void testNothingToIncrementSkipsTheWrite() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        BulkOperations ops = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(eq(BulkMode.UNORDERED), eq(Driver.class))).thenReturn(ops);
+
+        CareerStatsWriter writer = new CareerStatsWriter(mongoTemplate, Driver.class);
+
+        assertEquals(0, writer.incrementStats(Map.of()));
+        assertEquals(0, writer.incrementStats(Map.of("norris", Map.of("wins", 0))));
+        verify(ops, never()).upsert(any(Query.class), any(Update.class));
+        verify(ops, never()).execute();
+    }
+
+    /**
+     * Compares what goes over the wire for one round of a full grid: the old
+     * path reads every driver document and writes it back whole, the new one
+     * sends a single {@code $inc} update per driver and reads nothing.
+     */
+    @Test
+    void testIncrementPayloadIsSmallerThanFullDocumentRewrite() {
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE,
+                new MongoMappingContext());
+        converter.afterPropertiesSet();
+        DocumentCodec codec = new DocumentCodec();
+
+        List<Driver> drivers = new ArrayList<>();
+        Map<String, Map<String, Number>> increments = new LinkedHashMap<>();
+        for (int i = 0; i < GRID_SIZE; i++) {
+            drivers.add(driver(i));
+            Map<String, Number> fields = new LinkedHashMap<>();
+            fields.put("wins", i == 0 ? 1 : 0);
+            fields.put("podiums", i < 3 ? 1 : 0);
+            fields.put("points", Math.max(0, 25 - i));
+            fields.put("totalRaces", 1);
+            increments.put("driver" + i, fields);
+        }
+
+        long startedAt = System.nanoTime();
+        long saveAllBytes = 0;
+        for (Driver driver : drivers) {
+            Document document = new Document();
+            converter.write(driver, document);
+            // Read once, written back once
+            saveAllBytes += 2L * new RawBsonDocument(document, codec).getByteBuffer().remaining();
+        }
+        long saveAllMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startedAt);
+
+        startedAt = System.nanoTime();
+        long incBytes = 0;
+        for (Map.Entry<String, Map<String, Number>> entry : increments.entrySet()) {
+            Update update = new Update();
+            entry.getValue().forEach((field, amount) -> {
+                if (amount.doubleValue() != 0) {
+                    update.inc(field, amount);
+                }
+            });
+            Document op = new Document("q", new Document("_id", entry.getKey()))
+                    .append("u", update.getUpdateObject())
+                    .append("upsert", true);
+            incBytes += new RawBsonDocument(op, codec).getByteBuffer().remaining();
+        }
+        long incMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startedAt);
+
+        System.out.println(String.format("Career stats payload per round: saveAll %d bytes / %d us, "
+                + "$inc %d bytes / %d us", saveAllBytes, saveAllMicros, incBytes, incMicros));
+        assertTrue(incBytes * 2 < saveAllBytes);
+    }
+
+    private static Driver driver(int i) {
+        Driver driver = new Driver();
+        driver.setDriverId("driver" + i);
+        driver.setDriverNumber(String.valueOf(i + 1));
+        driver.setFirstName("First" + i);
+        driver.setLastName("Last" + i);
+        driver.setFullName("First" + i + " Last" + i);
+        driver.setTeamName("Team " + (i / 2));
+        driver.setDriverImageUrl("https://media.formula1.com/d_driver_fallback_image.png/content/dam/fom-website/"
+                + "drivers/driver" + i + ".png");
+        driver.setNationality("British");
+        driver.setDateOfBirth("1999-01-01");
+        driver.setWins(10);
+        driver.setPodiums(30);
+        driver.setPoints(1200.5);
+        driver.setPoles(8);
+        driver.setFastestLaps(12);
+        driver.setTotalRaces(120);
+        driver.setSprintWins(2);
+        driver.setSprintPodiums(6);
+        driver.setSprintRaces(18);
+        return driver;
+    }
+}
@@ -0,0 +1,63 @@
+package com.f1nity.library.repository.engine;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.f1nity.library.models.engine.OutboxEvent;
+
+class OutboxEventClaimRepositoryImplTest {
+
+    @Test
+    void testEventsWaitForAnEarlierEventOfTheirKey() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        // e1 of 2026-5 is backing off after a failed send
+        when(mongoTemplate.find(any(Query.class), eq(OutboxEvent.class)))
+                .thenReturn(List.of(event("e1", "2026-5", 100)));
+        OutboxEvent e2 = event("e2", "2026-5", 200);
+        OutboxEvent e3 = event("e3", "2026-6", 300);
+        OutboxEvent e4 = event("e4", "2026-5", 400);
+        when(mongoTemplate.stream(any(Query.class), eq(OutboxEvent.class))).thenReturn(Stream.of(e2, e3, e4));
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(OutboxEvent.class))).thenReturn(e3);
+
+        List<OutboxEvent> claimed = new OutboxEventClaimRepositoryImpl(mongoTemplate).claimBatch(10, 60000);
+
+        assertEquals(List.of(e3), claimed);
+        verify(mongoTemplate, times(1)).findAndModify(any(Query.class), any(Update.class),
+                any(FindAndModifyOptions.class), eq(OutboxEvent.class));
+    }
+
+    @Test
+    void testEventClaimedElsewhereHoldsBackItsKey() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.find(any(Query.class), eq(OutboxEvent.class))).thenReturn(List.of());
+        OutboxEvent e1 = event("e1", "2026-5", 100);
+        OutboxEvent e2 = event("e2", "2026-5", 200);
+        when(mongoTemplate.stream(any(Query.class), eq(OutboxEvent.class))).thenReturn(Stream.of(e1, e2));
+        // Another relay took e1 between the query and the claim
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(OutboxEvent.class))).thenReturn(null);
+
+        assertTrue(new OutboxEventClaimRepositoryImpl(mongoTemplate).claimBatch(10, 60000).isEmpty());
+        verify(mongoTemplate, times(1)).findAndModify(any(Query.class), any(Update.class),
+                any(FindAndModifyOptions.class), eq(OutboxEvent.class));
+    }
+
+    private static OutboxEvent event(String id, String key, long createdAt) {
+        OutboxEvent event = new OutboxEvent("StandingsUpdated", key, "{}");
+        event.setId(id);
+        event.setCreatedAt(createdAt);
+        return event;
+    }
+}